@@ -48,6 +48,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 public abstract class AbstractArchiveAdaptor<
         R extends ArchiveReadHandle, W extends ArchiveWriteHandle>
     implements ArchiveAdaptor {
+  /** The number of bytes read from an entry when determining its content type. */
+  static final int ENTRY_HEADER_LENGTH = 8 * 1024;
+
   @Autowired @Getter private FileTypeAdaptor fileTypeAdaptor;
 
   @Getter @NonNull private ArchiveType archiveType;
@@ -98,12 +101,35 @@ public abstract class AbstractArchiveAdaptor<
     }
   }
 
+  @Override
+  public void readAllEntries(
+      @NonNull final ArchiveReadHandle archiveHandle, @NonNull final ArchiveEntryHandler handler)
+      throws ArchiveAdaptorException {
+    try {
+      this.doReadAllEntries((R) archiveHandle, handler);
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to read archive entries", error);
+    }
+  }
+
+  protected abstract void doReadAllEntries(final R archiveHandle, final ArchiveEntryHandler handler)
+      throws Exception;
+
   protected ComicArchiveEntry createArchiveEntry(
       final int index, final String name, final long size, final InputStream input)
       throws IOException {
-    final byte[] content = IOUtils.toByteArray(input);
-    final String mimeType = this.getFileTypeAdaptor().getSubtype(new ByteArrayInputStream(content));
-    final ArchiveEntryType entryType = this.getFileTypeAdaptor().getArchiveEntryType(mimeType);
+    log.trace("Reading entry header: {}", name);
+    final byte[] header = IOUtils.readRange(input, ENTRY_HEADER_LENGTH);
+    String mimeType = this.getFileTypeAdaptor().getSubtype(new ByteArrayInputStream(header));
+    ArchiveEntryType entryType = this.getFileTypeAdaptor().getArchiveEntryType(mimeType);
+    if (entryType == null) {
+      final String extensionMimeType = this.getFileTypeAdaptor().getSubtypeForFilename(name);
+      if (extensionMimeType != null) {
+        log.trace("Using entry extension to determine type: {}", extensionMimeType);
+        mimeType = extensionMimeType;
+        entryType = this.getFileTypeAdaptor().getArchiveEntryType(mimeType);
+      }
+    }
     return new ComicArchiveEntry(index, name, size, mimeType, entryType);
   }
 
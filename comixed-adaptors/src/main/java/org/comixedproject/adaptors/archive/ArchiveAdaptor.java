@@ -74,6 +74,17 @@ public interface ArchiveAdaptor {
    */
   byte[] readEntry(ArchiveReadHandle archiveHandle, String filename) throws ArchiveAdaptorException;
 
+  /**
+   * Reads every entry in the archive in a single pass, handing the content of each entry to the
+   * provided handler as it is decompressed.
+   *
+   * @param archiveHandle the archive handle
+   * @param handler the entry handler
+   * @throws ArchiveAdaptorException if an error occurs reading an entry or handling its content
+   */
+  void readAllEntries(ArchiveReadHandle archiveHandle, ArchiveEntryHandler handler)
+      throws ArchiveAdaptorException;
+
   /**
    * Opens an archive for write operations. Creates a new file or overwrites any existing file.
    *
@@ -0,0 +1,37 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+/**
+ * <code>ArchiveEntryHandler</code> defines a type that receives the content of each entry as an
+ * archive is read in a single pass.
+ *
+ * @author Darryl L. Pierce
+ */
+@FunctionalInterface
+public interface ArchiveEntryHandler {
+  /**
+   * Invoked with the content of a single archive entry.
+   *
+   * @param filename the entry filename
+   * @param content the entry content
+   * @throws Exception if an error occurs processing the entry
+   */
+  void handleEntry(String filename, byte[] content) throws Exception;
+}
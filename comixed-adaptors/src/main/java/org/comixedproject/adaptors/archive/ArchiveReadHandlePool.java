@@ -0,0 +1,197 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.file.FileTypeAdaptor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>ArchiveReadHandlePool</code> keeps recently used archives open between reads, so reading a
+ * comic one page at a time only parses the archive once. A handle is used by one caller at a time;
+ * it is borrowed, used, and then either released back to the pool or discarded.
+ *
+ * <p>Handles are closed when they have been idle for longer than the idle timeout, when the pool
+ * goes over its maximum size, or when the file on disk is moved, replaced or modified.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class ArchiveReadHandlePool implements DisposableBean {
+  @Autowired private FileTypeAdaptor fileTypeAdaptor;
+
+  @Value("${comixed.archives.read-handle-pool.maximum-size:16}")
+  int maximumSize;
+
+  @Value("${comixed.archives.read-handle-pool.idle-timeout:60000}")
+  long idleTimeout;
+
+  private final Map<String, PooledArchiveReadHandle> idleHandles =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Borrows an open handle for the given file, opening the archive if no idle handle is available.
+   *
+   * @param filename the archive filename
+   * @return the handle
+   * @throws AdaptorException if the archive type could not be determined
+   * @throws ArchiveAdaptorException if the archive could not be opened
+   */
+  public PooledArchiveReadHandle borrow(final String filename)
+      throws AdaptorException, ArchiveAdaptorException {
+    final BasicFileAttributes attributes = this.doReadAttributes(filename);
+    final PooledArchiveReadHandle idle;
+    synchronized (this) {
+      idle = this.idleHandles.remove(filename);
+    }
+    if (idle != null) {
+      if (idle.matches(attributes)) {
+        log.trace("Reusing open archive: {}", filename);
+        return idle;
+      }
+      log.debug("Archive changed on disk, reopening: {}", filename);
+      this.doClose(idle);
+    }
+    log.trace("Opening archive: {}", filename);
+    final ArchiveAdaptor archiveAdaptor = this.fileTypeAdaptor.getArchiveAdaptorFor(filename);
+    return new PooledArchiveReadHandle(
+        filename, archiveAdaptor, archiveAdaptor.openArchiveForRead(filename), attributes);
+  }
+
+  /**
+   * Returns a handle to the pool once the caller is done with it.
+   *
+   * @param handle the handle
+   */
+  public void release(final PooledArchiveReadHandle handle) {
+    final List<PooledArchiveReadHandle> closing = new ArrayList<>();
+    synchronized (this) {
+      if (this.maximumSize <= 0 || this.idleHandles.containsKey(handle.getFilename())) {
+        closing.add(handle);
+      } else {
+        log.trace("Returning archive to pool: {}", handle.getFilename());
+        handle.setLastUsed(System.currentTimeMillis());
+        this.idleHandles.put(handle.getFilename(), handle);
+        final Iterator<PooledArchiveReadHandle> iterator = this.idleHandles.values().iterator();
+        while (this.idleHandles.size() > this.maximumSize && iterator.hasNext()) {
+          closing.add(iterator.next());
+          iterator.remove();
+        }
+      }
+    }
+    closing.forEach(this::doClose);
+  }
+
+  /**
+   * Closes a borrowed handle that should not be reused, such as after a read error.
+   *
+   * @param handle the handle
+   */
+  public void discard(final PooledArchiveReadHandle handle) {
+    log.trace("Discarding archive handle: {}", handle.getFilename());
+    this.doClose(handle);
+  }
+
+  /**
+   * Closes any idle handle for the given file. Called before a file is moved or deleted.
+   *
+   * @param filename the archive filename
+   */
+  public void invalidate(final String filename) {
+    final PooledArchiveReadHandle handle;
+    synchronized (this) {
+      handle = this.idleHandles.remove(filename);
+    }
+    if (handle != null) {
+      log.debug("Invalidating open archive: {}", filename);
+      this.doClose(handle);
+    }
+  }
+
+  /** Closes handles that have not been used within the idle timeout. */
+  @Scheduled(fixedDelayString = "${comixed.archives.read-handle-pool.idle-timeout:60000}")
+  public void evictIdleHandles() {
+    final long cutoff = System.currentTimeMillis() - this.idleTimeout;
+    final List<PooledArchiveReadHandle> closing = new ArrayList<>();
+    synchronized (this) {
+      final Iterator<PooledArchiveReadHandle> iterator = this.idleHandles.values().iterator();
+      while (iterator.hasNext()) {
+        final PooledArchiveReadHandle handle = iterator.next();
+        if (handle.getLastUsed() <= cutoff) {
+          closing.add(handle);
+          iterator.remove();
+        }
+      }
+    }
+    if (!closing.isEmpty()) log.debug("Closing {} idle archive(s)", closing.size());
+    closing.forEach(this::doClose);
+  }
+
+  /**
+   * Returns the number of idle handles in the pool.
+   *
+   * @return the count
+   */
+  public synchronized int getIdleCount() {
+    return this.idleHandles.size();
+  }
+
+  @Override
+  public void destroy() {
+    final List<PooledArchiveReadHandle> closing;
+    synchronized (this) {
+      closing = new ArrayList<>(this.idleHandles.values());
+      this.idleHandles.clear();
+    }
+    closing.forEach(this::doClose);
+  }
+
+  private BasicFileAttributes doReadAttributes(final String filename)
+      throws ArchiveAdaptorException {
+    try {
+      return Files.readAttributes(Paths.get(filename), BasicFileAttributes.class);
+    } catch (IOException error) {
+      this.invalidate(filename);
+      throw new ArchiveAdaptorException("Failed to read archive attributes", error);
+    }
+  }
+
+  private void doClose(final PooledArchiveReadHandle handle) {
+    try {
+      handle.getArchiveAdaptor().closeArchiveForRead(handle.getReadHandle());
+    } catch (ArchiveAdaptorException error) {
+      log.error("Failed to close archive: {}", handle.getFilename(), error);
+    }
+  }
+}
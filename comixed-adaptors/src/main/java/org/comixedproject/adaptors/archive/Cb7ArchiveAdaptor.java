@@ -69,9 +69,10 @@ public class Cb7ArchiveAdaptor
     while (iter.hasNext()) {
       final SevenZArchiveEntry archiveEntry = iter.next();
       log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry);
-      result.add(
-          createArchiveEntry(index++, archiveEntry.getName(), archiveEntry.getSize(), stream));
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
+        result.add(
+            createArchiveEntry(index++, archiveEntry.getName(), archiveEntry.getSize(), stream));
+      }
     }
     log.trace("Returning entries");
     return result;
@@ -96,6 +97,25 @@ public class Cb7ArchiveAdaptor
     throw new ArchiveAdaptorException("No such entry: " + filename);
   }
 
+  @Override
+  protected void doReadAllEntries(
+      final Cb7ArchiveReadHandle archiveHandle, final ArchiveEntryHandler handler)
+      throws Exception {
+    log.trace("Reading all 7Z entries");
+    for (SevenZArchiveEntry archiveEntry : archiveHandle.getArchiveHandle().getEntries()) {
+      if (archiveEntry.isDirectory()) {
+        log.trace("Skipping directory entry: {}", archiveEntry.getName());
+        continue;
+      }
+      final byte[] content;
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
+        content = IOUtils.toByteArray(stream);
+      }
+      log.trace("Handling entry content: {} [{} bytes]", archiveEntry.getName(), content.length);
+      handler.handleEntry(archiveEntry.getName(), content);
+    }
+  }
+
   @Override
   protected Cb7ArchiveWriteHandle doOpenArchiveForWrite(final String filename) throws Exception {
     log.trace("Opening CB7 file: {}", filename);
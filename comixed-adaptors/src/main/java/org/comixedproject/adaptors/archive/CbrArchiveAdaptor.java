@@ -20,6 +20,7 @@ package org.comixedproject.adaptors.archive;
 
 import com.github.junrar.Archive;
 import com.github.junrar.rarfile.FileHeader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -45,6 +46,9 @@ import org.springframework.stereotype.Component;
 @Log4j2
 public class CbrArchiveAdaptor
     extends AbstractArchiveAdaptor<CbrArchiveReadHandle, CbrArchiveWriteHandle> {
+  // the unpack size comes from the archive header, so it only sizes the initial buffer
+  static final long MAXIMUM_INITIAL_BUFFER_SIZE = 1L << 20;
+
   public CbrArchiveAdaptor() {
     super(ArchiveType.CBR);
   }
@@ -70,8 +74,7 @@ public class CbrArchiveAdaptor
     while (iter.hasNext()) {
       final FileHeader fileHeader = iter.next();
       log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(fileHeader);
-      try {
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(fileHeader)) {
         result.add(
             createArchiveEntry(
                 index++, fileHeader.getFileName(), fileHeader.getFullUnpackSize(), stream));
@@ -99,6 +102,27 @@ public class CbrArchiveAdaptor
     return result;
   }
 
+  @Override
+  protected void doReadAllEntries(
+      final CbrArchiveReadHandle archiveHandle, final ArchiveEntryHandler handler)
+      throws Exception {
+    log.trace("Reading all RAR entries");
+    for (FileHeader fileHeader : archiveHandle.getArchiveHandle().getFileHeaders()) {
+      if (fileHeader.isDirectory()) {
+        log.trace("Skipping directory entry: {}", fileHeader.getFileName());
+        continue;
+      }
+      final ByteArrayOutputStream content =
+          new ByteArrayOutputStream(
+              (int)
+                  Math.min(
+                      Math.max(fileHeader.getFullUnpackSize(), 0L), MAXIMUM_INITIAL_BUFFER_SIZE));
+      archiveHandle.getArchiveHandle().extractFile(fileHeader, content);
+      log.trace("Handling entry content: {} [{} bytes]", fileHeader.getFileName(), content.size());
+      handler.handleEntry(fileHeader.getFileName(), content.toByteArray());
+    }
+  }
+
   @Override
   protected CbrArchiveWriteHandle doOpenArchiveForWrite(final String filename)
       throws ArchiveAdaptorException {
@@ -70,8 +70,7 @@ public class CbzArchiveAdaptor
     while (iter.hasMoreElements()) {
       final ZipArchiveEntry archiveEntry = iter.nextElement();
       log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry);
-      try {
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
         result.add(
             createArchiveEntry(index++, archiveEntry.getName(), archiveEntry.getSize(), stream));
       } catch (Exception error) {
@@ -104,6 +103,30 @@ public class CbzArchiveAdaptor
     return result;
   }
 
+  @Override
+  protected void doReadAllEntries(
+      final CbzArchiveReadHandle archiveHandle, final ArchiveEntryHandler handler)
+      throws Exception {
+    log.trace("Reading all ZIP entries");
+    final Enumeration<ZipArchiveEntry> iter = archiveHandle.getArchiveHandle().getEntries();
+    while (iter.hasMoreElements()) {
+      final ZipArchiveEntry archiveEntry = iter.nextElement();
+      if (archiveEntry.isDirectory()) {
+        log.trace("Skipping directory entry: {}", archiveEntry.getName());
+        continue;
+      }
+      byte[] content;
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
+        content = IOUtils.toByteArray(stream);
+      } catch (Exception error) {
+        log.error("Failed to load zipfile entry", error);
+        content = this.doLoadMissingPageContent();
+      }
+      log.trace("Handling entry content: {} [{} bytes]", archiveEntry.getName(), content.length);
+      handler.handleEntry(archiveEntry.getName(), content);
+    }
+  }
+
   @Override
   protected CbzArchiveWriteHandle doOpenArchiveForWrite(final String filename) throws Exception {
     return new CbzArchiveWriteHandle(
@@ -0,0 +1,67 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.Setter;
+import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
+
+/**
+ * <code>PooledArchiveReadHandle</code> holds an open {@link ArchiveReadHandle} along with the
+ * adaptor that opened it and the attributes the file had when it was opened.
+ *
+ * @author Darryl L. Pierce
+ */
+public class PooledArchiveReadHandle {
+  @Getter private final String filename;
+  @Getter private final ArchiveAdaptor archiveAdaptor;
+  @Getter private final ArchiveReadHandle readHandle;
+  private final Object fileKey;
+  private final FileTime lastModifiedTime;
+  private final long size;
+  @Getter @Setter private long lastUsed;
+
+  public PooledArchiveReadHandle(
+      final String filename,
+      final ArchiveAdaptor archiveAdaptor,
+      final ArchiveReadHandle readHandle,
+      final BasicFileAttributes attributes) {
+    this.filename = filename;
+    this.archiveAdaptor = archiveAdaptor;
+    this.readHandle = readHandle;
+    this.fileKey = attributes.fileKey();
+    this.lastModifiedTime = attributes.lastModifiedTime();
+    this.size = attributes.size();
+  }
+
+  /**
+   * Returns if the file on disk is still the one this handle was opened for.
+   *
+   * @param attributes the current file attributes
+   * @return true if the file is unchanged
+   */
+  public boolean matches(final BasicFileAttributes attributes) {
+    return Objects.equals(this.fileKey, attributes.fileKey())
+        && Objects.equals(this.lastModifiedTime, attributes.lastModifiedTime())
+        && this.size == attributes.size();
+  }
+}
@@ -30,6 +30,8 @@ import org.apache.commons.lang.StringUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptorException;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
+import org.comixedproject.adaptors.archive.PooledArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
@@ -60,6 +62,7 @@ public class ComicBookAdaptor {
   @Autowired private ComicPageAdaptor comicPageAdaptor;
   @Autowired private ComicMetadataContentAdaptor comicMetadataContentAdaptor;
   @Autowired private FileAdaptor fileAdaptor;
+  @Autowired private ArchiveReadHandlePool archiveReadHandlePool;
 
   /**
    * Creates a new comic. Determines the archive type for the underlying file.
@@ -98,29 +101,34 @@ public class ComicBookAdaptor {
       final ArchiveReadHandle readHandle =
           archiveAdaptor.openArchiveForRead(comicBook.getComicDetail().getFilename());
       log.trace("Loading comic book file entries");
-      final List<ComicArchiveEntry> entries = archiveAdaptor.getEntries(readHandle);
-      for (int index = 0; index < entries.size(); index++) {
-        final ComicArchiveEntry entry = entries.get(index);
-        log.trace("Loading entry content: {}", entry.getFilename());
-        final byte[] content = archiveAdaptor.readEntry(readHandle, entry.getFilename());
-        if (content.length > 0) {
-          log.trace("Getting content adaptor for entry: {}", entry.getFilename());
-          final ContentAdaptor adaptor = this.fileTypeAdaptor.getContentAdaptorFor(content);
-          if (adaptor != null) {
-            log.trace("Invoking content adaptor");
-            adaptor.loadContent(comicBook, entry.getFilename(), content, rules);
-          }
-        } else {
-          log.trace("Content contains no data");
-        }
-      }
+      archiveAdaptor.readAllEntries(
+          readHandle,
+          (filename, content) -> this.loadEntryContent(comicBook, filename, content, rules));
       log.trace("Closing comic book file");
       archiveAdaptor.closeArchiveForRead(readHandle);
-    } catch (AdaptorException | ArchiveAdaptorException | ContentAdaptorException error) {
+    } catch (AdaptorException | ArchiveAdaptorException error) {
       throw new AdaptorException("Failed to load comic book file", error);
     }
   }
 
+  void loadEntryContent(
+      final ComicBook comicBook,
+      final String filename,
+      final byte[] content,
+      final ContentAdaptorRules rules)
+      throws AdaptorException, ContentAdaptorException {
+    if (content.length > 0) {
+      log.trace("Getting content adaptor for entry: {}", filename);
+      final ContentAdaptor adaptor = this.fileTypeAdaptor.getContentAdaptorFor(content);
+      if (adaptor != null) {
+        log.trace("Invoking content adaptor");
+        adaptor.loadContent(comicBook, filename, content, rules);
+      }
+    } else {
+      log.trace("Content contains no data");
+    }
+  }
+
   /**
    * Saves the comic book using the supplied archive format. Removes deleted pages if the flag is
    * set. Renames pages if the flag is set.
@@ -138,7 +146,8 @@ public class ComicBookAdaptor {
       final String pageRenamingRule)
       throws AdaptorException {
     log.trace(
-        "Saving comic book file: filename={} archive type={} remove deleted pages={} page renaming rule={}",
+        "Saving comic book file: filename={} archive type={} remove deleted pages={} page renaming"
+            + " rule={}",
         comicBook.getComicDetail().getFilename(),
         targetArchiveType,
         removeDeletedPages,
@@ -273,17 +282,28 @@ public class ComicBookAdaptor {
   public byte[] loadPageContent(final ComicBook comicBook, final int pageNumber)
       throws AdaptorException {
     try {
-      log.trace("Getting archive adaptor for comic book file");
-      final ArchiveAdaptor archiveAdaptor =
-          this.fileTypeAdaptor.getArchiveAdaptorFor(comicBook.getComicDetail().getFilename());
-      log.trace("Opening archive");
-      final ArchiveReadHandle readHandle =
-          archiveAdaptor.openArchiveForRead(comicBook.getComicDetail().getFilename());
-      log.trace("Loading page content");
-      final byte[] content =
-          archiveAdaptor.readEntry(readHandle, comicBook.getPages().get(pageNumber).getFilename());
-      log.trace("Closing archive");
-      archiveAdaptor.closeArchiveForRead(readHandle);
+      log.trace("Borrowing archive handle for comic book file");
+      final PooledArchiveReadHandle handle =
+          this.archiveReadHandlePool.borrow(comicBook.getComicDetail().getFilename());
+      final byte[] content;
+      boolean loaded = false;
+      try {
+        log.trace("Loading page content");
+        content =
+            handle
+                .getArchiveAdaptor()
+                .readEntry(
+                    handle.getReadHandle(), comicBook.getPages().get(pageNumber).getFilename());
+        loaded = true;
+      } finally {
+        if (loaded) {
+          log.trace("Returning archive handle");
+          this.archiveReadHandlePool.release(handle);
+        } else {
+          log.trace("Discarding archive handle");
+          this.archiveReadHandlePool.discard(handle);
+        }
+      }
       log.trace("Returning {} bytes", content.length);
       return content;
     } catch (AdaptorException | ArchiveAdaptorException error) {
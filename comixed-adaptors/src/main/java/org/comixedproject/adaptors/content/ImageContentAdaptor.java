@@ -18,10 +18,16 @@
 
 package org.comixedproject.adaptors.content;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
@@ -53,14 +59,15 @@ public class ImageContentAdaptor extends AbstractContentAdaptor {
       final String hash = genericUtilitiesAdaptor.createHash(content);
 
       try {
-        final BufferedImage bimage = ImageIO.read(new ByteArrayInputStream(content));
-        final int width = bimage.getWidth();
-        final int height = bimage.getHeight();
+        final Dimension dimension = this.getImageDimension(content);
+        final int width = dimension.width;
+        final int height = dimension.height;
         var page = new Page();
         page.setFilename(filename);
         page.setHash(hash);
         page.setWidth(width);
         page.setHeight(height);
+        page.setMimeType(this.getImageMimeType(content));
         page.setComicBook(comicBook);
         comicBook.getPages().add(page);
         page.setPageNumber(comicBook.getPages().size());
@@ -69,4 +76,62 @@ public class ImageContentAdaptor extends AbstractContentAdaptor {
       }
     }
   }
+
+  /**
+   * Returns the dimensions of the given image. The dimensions are read from the image header when
+   * possible, and the image is only fully decoded if no reader could read the header.
+   *
+   * @param content the image content
+   * @return the image dimensions
+   * @throws IOException if the image could not be read
+   */
+  Dimension getImageDimension(final byte[] content) throws IOException {
+    try (ImageInputStream input =
+        new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      while (readers.hasNext()) {
+        final ImageReader reader = readers.next();
+        try {
+          log.trace("Reading image dimensions from header");
+          reader.setInput(input, false, true);
+          return new Dimension(reader.getWidth(0), reader.getHeight(0));
+        } catch (IOException | RuntimeException error) {
+          log.debug("Failed to read image header", error);
+          input.seek(0);
+        } finally {
+          reader.dispose();
+        }
+      }
+    }
+    log.debug("Decoding image to determine dimensions");
+    final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+    if (image == null) throw new IOException("No image reader found for content");
+    return new Dimension(image.getWidth(), image.getHeight());
+  }
+
+  /**
+   * Returns the MIME type of the given image, as reported by the first image reader that recognizes
+   * its content.
+   *
+   * @param content the image content
+   * @return the MIME type, or <code>null</code> if no reader recognizes the content
+   * @throws IOException if the content could not be read
+   */
+  String getImageMimeType(final byte[] content) throws IOException {
+    try (ImageInputStream input =
+        new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      while (readers.hasNext()) {
+        final ImageReader reader = readers.next();
+        final ImageReaderSpi provider = reader.getOriginatingProvider();
+        reader.dispose();
+        if (provider != null
+            && provider.getMIMETypes() != null
+            && provider.getMIMETypes().length > 0) {
+          return provider.getMIMETypes()[0];
+        }
+      }
+    }
+    return null;
+  }
 }
@@ -25,6 +25,8 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOCase;
 import org.apache.commons.lang.SystemUtils;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
@@ -36,6 +38,8 @@ import org.springframework.stereotype.Component;
 @Component
 @Log4j2
 public class FileAdaptor {
+  @Autowired private ArchiveReadHandlePool archiveReadHandlePool;
+
   /**
    * Deletes an disk file file.
    *
@@ -43,6 +47,7 @@ public class FileAdaptor {
    */
   public void deleteFile(final File file) {
     log.trace("Deleting file: {}", file);
+    this.archiveReadHandlePool.invalidate(file.getPath());
     try {
       FileUtils.forceDelete(file);
     } catch (IOException error) {
@@ -94,6 +99,7 @@ public class FileAdaptor {
    */
   public void moveFile(final File source, final File destination) throws IOException {
     log.trace("Moving file: {} => {}", source.getAbsoluteFile(), destination.getAbsoluteFile());
+    this.archiveReadHandlePool.invalidate(source.getPath());
     FileUtils.moveFile(source, destination);
   }
 
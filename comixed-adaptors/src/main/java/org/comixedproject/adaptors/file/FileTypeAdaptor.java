@@ -206,6 +206,24 @@ public class FileTypeAdaptor {
     return loader.isPresent() ? loader.get().archiveEntryType : null;
   }
 
+  /**
+   * Returns the MIME subtype associated with the extension of the given entry filename. Used when
+   * the content of an entry could not be identified from its header.
+   *
+   * @param filename the entry filename
+   * @return the MIME subtype, or null if the extension is not known
+   * @see #entryTypeLoaders
+   */
+  public String getSubtypeForFilename(final String filename) {
+    final String extension = FilenameUtils.getExtension(filename).toLowerCase();
+    if (StringUtils.isEmpty(extension)) return null;
+    return this.entryTypeLoaders.stream()
+        .filter(definition -> definition.extensions.contains(extension))
+        .map(EntryTypeDefinition::getType)
+        .findFirst()
+        .orElse(null);
+  }
+
   public String getMimeTypeFor(final InputStream input) {
     try {
       return this.getMimeType(input).toString();
@@ -236,6 +254,7 @@ public class FileTypeAdaptor {
     @Getter @Setter @NonNull private String type;
     @Getter @Setter @NonNull private String name;
     @Getter @Setter @NonNull private ArchiveEntryType archiveEntryType;
+    @Getter @Setter private List<String> extensions = new ArrayList<>();
     @Getter @Setter private ContentAdaptor bean = null;
   }
 }
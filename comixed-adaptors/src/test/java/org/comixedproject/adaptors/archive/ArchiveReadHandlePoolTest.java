@@ -0,0 +1,209 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import static junit.framework.TestCase.*;
+
+import java.io.File;
+import java.io.IOException;
+import org.apache.commons.io.FileUtils;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
+import org.comixedproject.adaptors.file.FileTypeAdaptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArchiveReadHandlePoolTest {
+  private static final File TEST_ARCHIVE_FILE = new File("target/test-classes/pooled-archive.cbz");
+  private static final File TEST_OTHER_ARCHIVE_FILE =
+      new File("target/test-classes/pooled-archive-other.cbz");
+  private static final String TEST_FILENAME = TEST_ARCHIVE_FILE.getPath();
+  private static final String TEST_OTHER_FILENAME = TEST_OTHER_ARCHIVE_FILE.getPath();
+
+  @InjectMocks private ArchiveReadHandlePool pool;
+  @Mock private FileTypeAdaptor fileTypeAdaptor;
+  @Mock private ArchiveAdaptor archiveAdaptor;
+  @Mock private ArchiveReadHandle readHandle;
+  @Mock private ArchiveReadHandle otherReadHandle;
+
+  @Before
+  public void setUp() throws IOException, AdaptorException, ArchiveAdaptorException {
+    FileUtils.writeStringToFile(TEST_ARCHIVE_FILE, "archive content", "UTF-8");
+    FileUtils.writeStringToFile(TEST_OTHER_ARCHIVE_FILE, "other archive content", "UTF-8");
+    pool.maximumSize = 1;
+    pool.idleTimeout = 60000L;
+    Mockito.when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.anyString()))
+        .thenReturn(archiveAdaptor);
+    Mockito.when(archiveAdaptor.openArchiveForRead(TEST_FILENAME)).thenReturn(readHandle);
+  }
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEST_ARCHIVE_FILE);
+    FileUtils.deleteQuietly(TEST_OTHER_ARCHIVE_FILE);
+  }
+
+  @Test(expected = ArchiveAdaptorException.class)
+  public void testBorrowMissingFile() throws AdaptorException, ArchiveAdaptorException {
+    FileUtils.deleteQuietly(TEST_ARCHIVE_FILE);
+
+    pool.borrow(TEST_FILENAME);
+  }
+
+  @Test
+  public void testBorrowOpensArchive() throws AdaptorException, ArchiveAdaptorException {
+    final PooledArchiveReadHandle result = pool.borrow(TEST_FILENAME);
+
+    assertNotNull(result);
+    assertSame(archiveAdaptor, result.getArchiveAdaptor());
+    assertSame(readHandle, result.getReadHandle());
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getArchiveAdaptorFor(TEST_FILENAME);
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).openArchiveForRead(TEST_FILENAME);
+  }
+
+  @Test
+  public void testBorrowReusesReleasedHandle() throws AdaptorException, ArchiveAdaptorException {
+    final PooledArchiveReadHandle handle = pool.borrow(TEST_FILENAME);
+    pool.release(handle);
+
+    final PooledArchiveReadHandle result = pool.borrow(TEST_FILENAME);
+
+    assertSame(handle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).openArchiveForRead(TEST_FILENAME);
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testBorrowReopensChangedFile()
+      throws AdaptorException, ArchiveAdaptorException, IOException {
+    final PooledArchiveReadHandle handle = pool.borrow(TEST_FILENAME);
+    pool.release(handle);
+    FileUtils.writeStringToFile(TEST_ARCHIVE_FILE, "replaced archive content", "UTF-8");
+
+    final PooledArchiveReadHandle result = pool.borrow(TEST_FILENAME);
+
+    assertNotSame(handle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+    Mockito.verify(archiveAdaptor, Mockito.times(2)).openArchiveForRead(TEST_FILENAME);
+  }
+
+  @Test
+  public void testReleaseWhenAlreadyPooled() throws AdaptorException, ArchiveAdaptorException {
+    final PooledArchiveReadHandle first = pool.borrow(TEST_FILENAME);
+    final PooledArchiveReadHandle second = pool.borrow(TEST_FILENAME);
+
+    pool.release(first);
+    pool.release(second);
+
+    assertEquals(1, pool.getIdleCount());
+    assertSame(first, pool.borrow(TEST_FILENAME));
+  }
+
+  @Test
+  public void testReleaseEvictsLeastRecentlyUsed()
+      throws AdaptorException, ArchiveAdaptorException {
+    Mockito.when(archiveAdaptor.openArchiveForRead(TEST_OTHER_FILENAME))
+        .thenReturn(otherReadHandle);
+
+    pool.release(pool.borrow(TEST_FILENAME));
+    pool.release(pool.borrow(TEST_OTHER_FILENAME));
+
+    assertEquals(1, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(otherReadHandle);
+  }
+
+  @Test
+  public void testReleasePoolDisabled() throws AdaptorException, ArchiveAdaptorException {
+    pool.maximumSize = 0;
+
+    pool.release(pool.borrow(TEST_FILENAME));
+
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testDiscard() throws AdaptorException, ArchiveAdaptorException {
+    pool.discard(pool.borrow(TEST_FILENAME));
+
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testInvalidate() throws AdaptorException, ArchiveAdaptorException {
+    pool.release(pool.borrow(TEST_FILENAME));
+
+    pool.invalidate(TEST_FILENAME);
+
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testEvictIdleHandles() throws AdaptorException, ArchiveAdaptorException {
+    pool.release(pool.borrow(TEST_FILENAME));
+    pool.idleTimeout = -1L;
+
+    pool.evictIdleHandles();
+
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testEvictIdleHandlesKeepsRecentlyUsed()
+      throws AdaptorException, ArchiveAdaptorException {
+    pool.release(pool.borrow(TEST_FILENAME));
+
+    pool.evictIdleHandles();
+
+    assertEquals(1, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  public void testDestroy() throws AdaptorException, ArchiveAdaptorException {
+    pool.release(pool.borrow(TEST_FILENAME));
+
+    pool.destroy();
+
+    assertEquals(0, pool.getIdleCount());
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+}
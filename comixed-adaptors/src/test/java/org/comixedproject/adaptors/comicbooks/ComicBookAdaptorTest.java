@@ -27,6 +27,9 @@ import java.util.List;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptorException;
+import org.comixedproject.adaptors.archive.ArchiveEntryHandler;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
+import org.comixedproject.adaptors.archive.PooledArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
@@ -84,6 +87,8 @@ public class ComicBookAdaptorTest {
   @Mock private ComicMetadataContentAdaptor comicMetadataContentAdaptor;
   @Mock private FileAdaptor fileAdaptor;
   @Mock private ContentAdaptorRules contentAdaptorRules;
+  @Mock private ArchiveReadHandlePool archiveReadHandlePool;
+  @Mock private PooledArchiveReadHandle pooledReadHandle;
 
   @Captor private ArgumentCaptor<File> moveSourceFile;
   @Captor private ArgumentCaptor<File> moveDestinationFile;
@@ -92,6 +97,7 @@ public class ComicBookAdaptorTest {
   private File comicFile = new File(TEST_REAL_COMIC_FILE);
   private List<ComicArchiveEntry> archiveEntryList = new ArrayList<>();
   private List<Page> pageList = new ArrayList<>();
+  private byte[] archiveEntryContent = TEST_ARCHIVE_ENTRY_CONTENT;
 
   @Before
   public void setUp()
@@ -110,6 +116,20 @@ public class ComicBookAdaptorTest {
     Mockito.when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(byte[].class)))
         .thenReturn(contentAdaptor);
     Mockito.when(archiveEntry.getFilename()).thenReturn(TEST_ENTRY_FILENAME);
+    Mockito.doAnswer(
+            invocation -> {
+              final ArchiveEntryHandler handler = invocation.getArgument(1);
+              for (ComicArchiveEntry entry : archiveEntryList) {
+                try {
+                  handler.handleEntry(entry.getFilename(), archiveEntryContent);
+                } catch (Exception error) {
+                  throw new ArchiveAdaptorException("Failed to read archive entries", error);
+                }
+              }
+              return null;
+            })
+        .when(readableArchiveAdaptor)
+        .readAllEntries(Mockito.any(ArchiveReadHandle.class), Mockito.any());
 
     Mockito.when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.anyString()))
         .thenReturn(readableArchiveAdaptor);
@@ -196,33 +216,18 @@ public class ComicBookAdaptorTest {
   }
 
   @Test(expected = AdaptorException.class)
-  public void testLoadGetEntriesThrowsException()
-      throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
-    Mockito.when(readableArchiveAdaptor.getEntries(Mockito.any(ArchiveReadHandle.class)))
-        .thenThrow(ArchiveAdaptorException.class);
-
-    try {
-      adaptor.load(comicBook, contentAdaptorRules);
-    } finally {
-      Mockito.verify(readableArchiveAdaptor, Mockito.times(1)).getEntries(readHandle);
-    }
-  }
-
-  @Test(expected = AdaptorException.class)
-  public void testLoadReadEntryThrowsException()
+  public void testLoadReadAllEntriesThrowsException()
       throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
-    archiveEntryList.add(archiveEntry);
-
-    Mockito.when(
-            readableArchiveAdaptor.readEntry(
-                Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenThrow(ArchiveAdaptorException.class);
+    Mockito.doThrow(ArchiveAdaptorException.class)
+        .when(readableArchiveAdaptor)
+        .readAllEntries(Mockito.any(ArchiveReadHandle.class), Mockito.any());
 
     try {
       adaptor.load(comicBook, contentAdaptorRules);
     } finally {
       Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
-          .readEntry(readHandle, TEST_ENTRY_FILENAME);
+          .readAllEntries(Mockito.eq(readHandle), Mockito.any());
+      Mockito.verify(readableArchiveAdaptor, Mockito.never()).getEntries(readHandle);
     }
   }
 
@@ -237,9 +242,8 @@ public class ComicBookAdaptorTest {
 
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
         .openArchiveForRead(TEST_COMIC_FILENAME);
-    Mockito.verify(readableArchiveAdaptor, Mockito.times(1)).getEntries(readHandle);
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
-        .readEntry(readHandle, TEST_ENTRY_FILENAME);
+        .readAllEntries(Mockito.eq(readHandle), Mockito.any());
     Mockito.verify(fileTypeAdaptor, Mockito.times(1))
         .getContentAdaptorFor(TEST_ARCHIVE_ENTRY_CONTENT);
   }
@@ -269,10 +273,7 @@ public class ComicBookAdaptorTest {
   @Test
   public void testLoadNoContent()
       throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
-    Mockito.when(
-            readableArchiveAdaptor.readEntry(
-                Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenReturn(new byte[0]);
+    archiveEntryContent = new byte[0];
 
     archiveEntryList.add(archiveEntry);
 
@@ -280,9 +281,8 @@ public class ComicBookAdaptorTest {
 
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
         .openArchiveForRead(TEST_COMIC_FILENAME);
-    Mockito.verify(readableArchiveAdaptor, Mockito.times(1)).getEntries(readHandle);
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
-        .readEntry(readHandle, TEST_ENTRY_FILENAME);
+        .readAllEntries(Mockito.eq(readHandle), Mockito.any());
     Mockito.verify(contentAdaptor, Mockito.never())
         .loadContent(
             Mockito.any(ComicBook.class),
@@ -300,9 +300,11 @@ public class ComicBookAdaptorTest {
 
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
         .openArchiveForRead(TEST_COMIC_FILENAME);
-    Mockito.verify(readableArchiveAdaptor, Mockito.times(1)).getEntries(readHandle);
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
-        .readEntry(readHandle, TEST_ENTRY_FILENAME);
+        .readAllEntries(Mockito.eq(readHandle), Mockito.any());
+    Mockito.verify(readableArchiveAdaptor, Mockito.never()).getEntries(readHandle);
+    Mockito.verify(readableArchiveAdaptor, Mockito.never())
+        .readEntry(Mockito.any(ArchiveReadHandle.class), Mockito.anyString());
     Mockito.verify(fileTypeAdaptor, Mockito.times(1))
         .getContentAdaptorFor(TEST_ARCHIVE_ENTRY_CONTENT);
     Mockito.verify(contentAdaptor, Mockito.times(1))
@@ -468,43 +470,65 @@ public class ComicBookAdaptorTest {
   }
 
   @Test(expected = AdaptorException.class)
-  public void testLoadPageExceptionOnGetArchiveAdaptor() throws AdaptorException {
-    Mockito.when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.anyString()))
-        .thenThrow(AdaptorException.class);
+  public void testLoadPageExceptionOnBorrowArchive()
+      throws AdaptorException, ArchiveAdaptorException {
+    Mockito.when(archiveReadHandlePool.borrow(Mockito.anyString()))
+        .thenThrow(ArchiveAdaptorException.class);
 
     try {
       adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX);
     } finally {
-      Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getArchiveAdaptorFor(TEST_COMIC_FILENAME);
+      Mockito.verify(archiveReadHandlePool, Mockito.times(1)).borrow(TEST_COMIC_FILENAME);
     }
   }
 
   @Test(expected = AdaptorException.class)
-  public void testLoadPageExceptionOnOpenArchive()
-      throws AdaptorException, ArchiveAdaptorException {
-    Mockito.when(readableArchiveAdaptor.openArchiveForRead(Mockito.anyString()))
+  public void testLoadPageExceptionOnReadEntry() throws AdaptorException, ArchiveAdaptorException {
+    Mockito.when(archiveReadHandlePool.borrow(Mockito.anyString())).thenReturn(pooledReadHandle);
+    Mockito.when(pooledReadHandle.getArchiveAdaptor()).thenReturn(readableArchiveAdaptor);
+    Mockito.when(pooledReadHandle.getReadHandle()).thenReturn(readHandle);
+    Mockito.when(
+            readableArchiveAdaptor.readEntry(
+                Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
         .thenThrow(ArchiveAdaptorException.class);
 
     try {
       adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX);
     } finally {
-      Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getArchiveAdaptorFor(TEST_COMIC_FILENAME);
+      Mockito.verify(archiveReadHandlePool, Mockito.times(1)).discard(pooledReadHandle);
+      Mockito.verify(archiveReadHandlePool, Mockito.never()).release(pooledReadHandle);
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testLoadPageInvalidPageNumber() throws AdaptorException, ArchiveAdaptorException {
+    Mockito.when(archiveReadHandlePool.borrow(Mockito.anyString())).thenReturn(pooledReadHandle);
+    Mockito.when(pooledReadHandle.getArchiveAdaptor()).thenReturn(readableArchiveAdaptor);
+
+    try {
+      adaptor.loadPageContent(comicBook, pageList.size());
+    } finally {
+      Mockito.verify(archiveReadHandlePool, Mockito.times(1)).discard(pooledReadHandle);
+      Mockito.verify(archiveReadHandlePool, Mockito.never()).release(pooledReadHandle);
     }
   }
 
   @Test
   public void testLoadPage() throws AdaptorException, ArchiveAdaptorException {
+    Mockito.when(archiveReadHandlePool.borrow(Mockito.anyString())).thenReturn(pooledReadHandle);
+    Mockito.when(pooledReadHandle.getArchiveAdaptor()).thenReturn(readableArchiveAdaptor);
+    Mockito.when(pooledReadHandle.getReadHandle()).thenReturn(readHandle);
+
     final byte[] result = adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX);
 
     assertNotNull(result);
     assertSame(TEST_ARCHIVE_ENTRY_CONTENT, result);
 
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getArchiveAdaptorFor(TEST_COMIC_FILENAME);
-    Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
-        .openArchiveForRead(TEST_COMIC_FILENAME);
+    Mockito.verify(archiveReadHandlePool, Mockito.times(1)).borrow(TEST_COMIC_FILENAME);
     Mockito.verify(readableArchiveAdaptor, Mockito.times(1))
         .readEntry(readHandle, TEST_ENTRY_FILENAME);
-    Mockito.verify(readableArchiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+    Mockito.verify(archiveReadHandlePool, Mockito.times(1)).release(pooledReadHandle);
+    Mockito.verify(readableArchiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
   }
 
   @Test(expected = AdaptorException.class)
@@ -20,7 +20,11 @@ package org.comixedproject.adaptors.content;
 
 import static org.junit.Assert.*;
 
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import javax.imageio.ImageIO;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.junit.Before;
@@ -40,6 +44,7 @@ public class ImageContentAdaptorTest extends BaseContentAdaptorTest {
   private static final String TEST_JPEG_FILENAME = "src/test/resources/example.jpg";
   private static final String TEST_WEBP_FILENAME = "src/test/resources/example.webp";
   private static final String TEST_HASH = "928375298571098571209857";
+  private static final byte[] TEST_INVALID_IMAGE_CONTENT = "This is not an image".getBytes();
 
   @InjectMocks private ImageContentAdaptor loader;
   @Mock private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
@@ -62,6 +67,32 @@ public class ImageContentAdaptorTest extends BaseContentAdaptorTest {
 
     assertEquals(1, comicBook.getPageCount());
     assertNotNull(comicBook.getPage(0));
+    assertEquals("image/jpeg", comicBook.getPage(0).getMimeType());
+  }
+
+  @Test
+  public void testLoadInvalidImage() {
+    loader.loadContent(
+        comicBook, TEST_JPEG_FILENAME, TEST_INVALID_IMAGE_CONTENT, contentAdaptorRules);
+
+    assertEquals(0, comicBook.getPageCount());
+  }
+
+  @Test
+  public void testGetImageDimension() throws IOException {
+    byte[] content = loadFile(TEST_JPEG_FILENAME);
+    final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+
+    final Dimension result = loader.getImageDimension(content);
+
+    assertNotNull(result);
+    assertEquals(image.getWidth(), result.width);
+    assertEquals(image.getHeight(), result.height);
+  }
+
+  @Test(expected = IOException.class)
+  public void testGetImageDimensionInvalidImage() throws IOException {
+    loader.getImageDimension(TEST_INVALID_IMAGE_CONTENT);
   }
 
   @Test
@@ -72,5 +103,11 @@ public class ImageContentAdaptorTest extends BaseContentAdaptorTest {
 
     assertEquals(1, comicBook.getPageCount());
     assertNotNull(comicBook.getPage(0));
+    assertEquals("image/webp", comicBook.getPage(0).getMimeType());
+  }
+
+  @Test
+  public void testGetImageMimeTypeInvalidImage() throws IOException {
+    assertNull(loader.getImageMimeType(TEST_INVALID_IMAGE_CONTENT));
   }
 }
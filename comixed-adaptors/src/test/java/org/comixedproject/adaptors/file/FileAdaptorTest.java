@@ -25,10 +25,13 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import org.apache.commons.lang.SystemUtils;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -41,6 +44,7 @@ public class FileAdaptorTest {
   private static final File TEST_NOT_FILE_1 = new File("target/maven-javadoc-stale-data.txt");
 
   @InjectMocks private FileAdaptor adaptor;
+  @Mock private ArchiveReadHandlePool archiveReadHandlePool;
 
   @Before
   public void setUp() throws IOException {
@@ -54,6 +58,9 @@ public class FileAdaptorTest {
     adaptor.deleteFile(TEST_DELETABLE_FILE);
 
     assertFalse(TEST_DELETABLE_FILE.exists());
+
+    Mockito.verify(archiveReadHandlePool, Mockito.times(1))
+        .invalidate(TEST_DELETABLE_FILE.getPath());
   }
 
   @Test
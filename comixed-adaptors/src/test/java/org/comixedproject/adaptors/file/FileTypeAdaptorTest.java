@@ -49,6 +49,7 @@ public class FileTypeAdaptorTest {
   private static final byte[] TEST_CONTENT = "Some file content".getBytes();
   private static final String TEST_EXTENSION = "cbz";
   private static final String TEST_FORMAT = "zip";
+  private static final String TEST_ENTRY_EXTENSION = "zip";
 
   @InjectMocks private FileTypeAdaptor adaptor;
   @Mock private ApplicationContext applicationContext;
@@ -75,6 +76,7 @@ public class FileTypeAdaptorTest {
   public void setUp() {
     Mockito.when(tika.getDetector()).thenReturn(detector);
     adaptor.getArchiveAdaptors().add(archiveAdaptorEntry);
+    entryLoader.getExtensions().add(TEST_ENTRY_EXTENSION);
     adaptor.getEntryTypeLoaders().add(entryLoader);
   }
 
@@ -141,6 +143,29 @@ public class FileTypeAdaptorTest {
     assertSame(TEST_ARCHIVE_ENTRY_TYPE, result);
   }
 
+  @Test
+  public void testGetSubtypeForFilenameNoExtension() {
+    final String result = adaptor.getSubtypeForFilename("entry");
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testGetSubtypeForFilenameUnknownExtension() {
+    final String result = adaptor.getSubtypeForFilename("entry." + TEST_ENTRY_EXTENSION + "x");
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testGetSubtypeForFilename() {
+    final String result =
+        adaptor.getSubtypeForFilename("entry." + TEST_ENTRY_EXTENSION.toUpperCase());
+
+    assertNotNull(result);
+    assertEquals(TEST_MEDIA_TYPE.getSubtype(), result);
+  }
+
   @Test
   public void testGetTypeForInvalidInput() throws IOException {
     Mockito.when(detector.detect(Mockito.any(), Mockito.any())).thenThrow(IOException.class);
@@ -18,6 +18,8 @@
 
 package org.comixedproject.auth;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,12 +27,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -38,6 +46,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 /**
  * <code>ComiXedAuthenticationFilter</code> authenticates the user request.
  *
+ * <p>Credentials that have been validated are remembered for a short time, so that the many
+ * requests made while reading a comic do not each decode and validate the same token or hash the
+ * same password. A remembered credential is only reused while the cached user details it was
+ * validated against are still current.
+ *
  * @author Darryl L. Pierce
  */
 @Component
@@ -52,11 +65,73 @@ public class ComiXedAuthenticationFilter extends OncePerRequestFilter {
   @Autowired private JwtTokenUtil jwtTokenUtil;
   @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
 
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
+  @Value("${comixed.auth.credentials.maximum-entries:256}")
+  int maximumCredentials;
+
+  @Value("${comixed.auth.credentials.time-to-live:30000}")
+  long credentialsTimeToLive;
+
+  private final Map<String, ValidatedCredentials> validatedCredentials =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Override
+  protected void initFilterBean() {
+    if (this.meterRegistry == null) return;
+    log.debug("Registering validated credentials cache metrics");
+    FunctionCounter.builder("comixed.auth.credentials.hits", this.hits, AtomicLong::get)
+        .register(this.meterRegistry);
+    FunctionCounter.builder("comixed.auth.credentials.misses", this.misses, AtomicLong::get)
+        .register(this.meterRegistry);
+  }
+
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
     String header = request.getHeader(HEADER_STRING);
+    if (StringUtils.isNotEmpty(header)
+        && (SecurityContextHolder.getContext().getAuthentication() == null)) {
+      var userDetails = this.doGetValidatedUser(header);
+      if (userDetails == null) {
+        userDetails = this.doValidateCredentials(header);
+      }
+
+      if (userDetails != null) {
+        var authentication =
+            new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        log.trace("authenticated user " + userDetails.getUsername() + ", setting security context");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+      }
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * Returns the number of remembered credentials.
+   *
+   * @return the count
+   */
+  public synchronized int getCount() {
+    return this.validatedCredentials.size();
+  }
+
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  private UserDetails doValidateCredentials(final String header) {
     String username = null;
     String password = null;
     String authToken = null;
@@ -80,22 +155,77 @@ public class ComiXedAuthenticationFilter extends OncePerRequestFilter {
     } else {
       log.trace("couldn't find bearer string, will ignore the header");
     }
-    if (!StringUtils.isEmpty(username)
-        && (SecurityContextHolder.getContext().getAuthentication() == null)) {
+    if (StringUtils.isEmpty(username)) return null;
 
-      var userDetails = this.userDetailsService.loadUserByUsername(username);
+    var userDetails = this.userDetailsService.loadUserByUsername(username);
 
-      if (userDetails.getPassword().equals(password)
-          || this.jwtTokenUtil.validateToken(authToken, userDetails).booleanValue()) {
-        var authentication =
-            new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
-        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        log.trace("authenticated user " + username + ", setting security context");
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    if (password != null && password.equals(userDetails.getPassword())) {
+      if (this.doIsRememberingCredentials()) {
+        this.doRememberCredentials(header, username, userDetails, Long.MAX_VALUE);
+      }
+      return userDetails;
+    }
+    if (this.jwtTokenUtil.validateToken(authToken, userDetails).booleanValue()) {
+      if (this.doIsRememberingCredentials()) {
+        this.doRememberCredentials(
+            header,
+            username,
+            userDetails,
+            this.jwtTokenUtil.getExpirationDateFromToken(authToken).getTime());
       }
+      return userDetails;
     }
+    return null;
+  }
 
-    filterChain.doFilter(request, response);
+  private boolean doIsRememberingCredentials() {
+    return this.credentialsTimeToLive > 0L && this.maximumCredentials > 0;
+  }
+
+  private UserDetails doGetValidatedUser(final String header) {
+    final ValidatedCredentials entry;
+    synchronized (this) {
+      entry = this.validatedCredentials.get(header);
+      if (entry != null && System.currentTimeMillis() >= entry.expires) {
+        this.validatedCredentials.remove(header);
+        this.misses.incrementAndGet();
+        return null;
+      }
+    }
+    if (entry == null) {
+      this.misses.incrementAndGet();
+      return null;
+    }
+    final var userDetails = this.userDetailsService.loadUserByUsername(entry.email);
+    if (userDetails != entry.userDetails) {
+      log.trace("User details changed, validating credentials again: email={}", entry.email);
+      synchronized (this) {
+        this.validatedCredentials.remove(header);
+      }
+      this.misses.incrementAndGet();
+      return null;
+    }
+    this.hits.incrementAndGet();
+    return userDetails;
+  }
+
+  private synchronized void doRememberCredentials(
+      final String header,
+      final String email,
+      final UserDetails userDetails,
+      final long validUntil) {
+    final long expires =
+        Math.min(System.currentTimeMillis() + this.credentialsTimeToLive, validUntil);
+    this.validatedCredentials.put(header, new ValidatedCredentials(email, userDetails, expires));
+    while (this.validatedCredentials.size() > this.maximumCredentials) {
+      this.validatedCredentials.remove(this.validatedCredentials.keySet().iterator().next());
+    }
+  }
+
+  @AllArgsConstructor
+  private static class ValidatedCredentials {
+    private final String email;
+    private final UserDetails userDetails;
+    private final long expires;
   }
 }
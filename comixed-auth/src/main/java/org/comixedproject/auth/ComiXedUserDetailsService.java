@@ -18,10 +18,21 @@
 
 package org.comixedproject.auth;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.user.ComiXedUser;
 import org.comixedproject.repositories.users.ComiXedUserRepository;
+import org.comixedproject.service.user.UserChangeListener;
+import org.comixedproject.service.user.UserService;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.User.UserBuilder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,15 +44,61 @@ import org.springframework.stereotype.Component;
  * <code>ComiXedUserDetailsService</code> handles mapping instances of {@link ComiXedUser} to
  * instances of {@link UserDetails}.
  *
+ * <p>Loaded user details are kept for a short time, since they are needed for every authenticated
+ * request. They are discarded whenever a user's account details change.
+ *
  * @author Darryl L. Pierce
  */
 @Component
 @Log4j2
-public class ComiXedUserDetailsService implements UserDetailsService {
+public class ComiXedUserDetailsService
+    implements UserDetailsService, InitializingBean, UserChangeListener {
   @Autowired private ComiXedUserRepository userRepository;
+  @Autowired private UserService userService;
+
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
+  @Value("${comixed.auth.user-details.maximum-entries:256}")
+  int maximumEntries;
+
+  @Value("${comixed.auth.user-details.time-to-live:30000}")
+  long timeToLive;
+
+  private final Map<String, CachedUserDetails> userDetails = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Override
+  public void afterPropertiesSet() {
+    log.trace("Subscribing to user changes");
+    this.userService.addListener(this);
+    if (this.meterRegistry == null) return;
+    log.debug("Registering user details cache metrics");
+    FunctionCounter.builder("comixed.auth.user-details.hits", this.hits, AtomicLong::get)
+        .register(this.meterRegistry);
+    FunctionCounter.builder("comixed.auth.user-details.misses", this.misses, AtomicLong::get)
+        .register(this.meterRegistry);
+    Gauge.builder("comixed.auth.user-details.entries", this, ComiXedUserDetailsService::getCount)
+        .register(this.meterRegistry);
+  }
+
+  @Override
+  public void onUserChanged(final ComiXedUser user) {
+    log.trace("User changed, clearing cached user details: {}", user.getEmail());
+    this.clearCache();
+  }
 
   @Override
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    final UserDetails cached = this.doGetCachedUserDetails(email);
+    if (cached != null) {
+      log.trace("Returning cached user: email={}", email);
+      this.hits.incrementAndGet();
+      return cached;
+    }
+    this.misses.incrementAndGet();
+
     log.debug("Loading user: email={}", email);
 
     ComiXedUser user = userRepository.findByEmail(email);
@@ -58,6 +115,55 @@ public class ComiXedUserDetailsService implements UserDetailsService {
     }
     result.roles(roles);
 
-    return result.build();
+    final UserDetails userDetails = result.build();
+    this.doPutCachedUserDetails(email, userDetails);
+    return userDetails;
+  }
+
+  /** Removes all cached user details. */
+  public synchronized void clearCache() {
+    this.userDetails.clear();
+  }
+
+  /**
+   * Returns the number of cached user details.
+   *
+   * @return the count
+   */
+  public synchronized int getCount() {
+    return this.userDetails.size();
+  }
+
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  private synchronized UserDetails doGetCachedUserDetails(final String email) {
+    final CachedUserDetails entry = this.userDetails.get(email);
+    if (entry == null) return null;
+    if (System.currentTimeMillis() - entry.created >= this.timeToLive) {
+      this.userDetails.remove(email);
+      return null;
+    }
+    return entry.userDetails;
+  }
+
+  private synchronized void doPutCachedUserDetails(
+      final String email, final UserDetails userDetails) {
+    if (this.timeToLive <= 0L || this.maximumEntries <= 0) return;
+    this.userDetails.put(email, new CachedUserDetails(userDetails, System.currentTimeMillis()));
+    while (this.userDetails.size() > this.maximumEntries) {
+      this.userDetails.remove(this.userDetails.keySet().iterator().next());
+    }
+  }
+
+  @AllArgsConstructor
+  private static class CachedUserDetails {
+    private final UserDetails userDetails;
+    private final long created;
   }
 }
@@ -18,6 +18,7 @@
 
 package org.comixedproject.auth;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertSame;
 import static org.comixedproject.auth.ComiXedAuthenticationFilter.*;
@@ -28,6 +29,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Base64;
+import java.util.Date;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,6 +49,8 @@ public class ComiXedAuthenticationFilterTest {
       Base64.getEncoder().encodeToString((TEST_EMAIL + ":" + TEST_PASSWORD).getBytes());
   private static final String TEST_TOKEN_AUTH_TOKEN = TOKEN_PREFIX + TEST_AUTH_TOKEN;
   private static final String TEST_BASIC_AUTH_HEADER = BASIC_PREFIX + TEST_AUTH_TOKEN;
+  private static final int TEST_MAXIMUM_CREDENTIALS = 16;
+  private static final long TEST_CREDENTIALS_TIME_TO_LIVE = 60000L;
 
   @InjectMocks private ComiXedAuthenticationFilter authenticationFilter;
   @Mock private ComiXedUserDetailsService userDetailsService;
@@ -56,6 +60,7 @@ public class ComiXedAuthenticationFilterTest {
   @Mock private HttpServletResponse response;
   @Mock private FilterChain filterChain;
   @Mock private UserDetails userDetails;
+  @Mock private UserDetails reloadedUserDetails;
   @Mock private SecurityContext securityContext;
 
   @Captor
@@ -125,4 +130,101 @@ public class ComiXedAuthenticationFilterTest {
     Mockito.verify(jwtTokenUtil, Mockito.times(1)).validateToken(TEST_AUTH_TOKEN, userDetails);
     Mockito.verify(filterChain, Mockito.times(1)).doFilter(request, response);
   }
+
+  @Test
+  public void testDoFilterInternalNoHeader() throws ServletException, IOException {
+    Mockito.when(request.getHeader(HEADER_STRING)).thenReturn(null);
+
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+
+    Mockito.verify(userDetailsService, Mockito.never()).loadUserByUsername(Mockito.anyString());
+    Mockito.verify(filterChain, Mockito.times(1)).doFilter(request, response);
+  }
+
+  @Test
+  public void testDoFilterInternalBasicAuthCached() throws ServletException, IOException {
+    this.doEnableCredentialsCache();
+    Mockito.when(request.getHeader(HEADER_STRING)).thenReturn(TEST_BASIC_AUTH_HEADER);
+    Mockito.when(genericUtilitiesAdaptor.createHash(Mockito.any(byte[].class)))
+        .thenReturn(TEST_PASSWORD);
+
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+
+    assertEquals(1L, authenticationFilter.getHits());
+    assertEquals(1L, authenticationFilter.getMisses());
+
+    Mockito.verify(genericUtilitiesAdaptor, Mockito.times(1)).createHash(Mockito.any(byte[].class));
+    Mockito.verify(securityContext, Mockito.times(2))
+        .setAuthentication(Mockito.any(UsernamePasswordAuthenticationToken.class));
+    Mockito.verify(filterChain, Mockito.times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void testDoFilterInternalTokenCached() throws ServletException, IOException {
+    this.doEnableCredentialsCache();
+    Mockito.when(request.getHeader(HEADER_STRING)).thenReturn(TEST_TOKEN_AUTH_TOKEN);
+    Mockito.when(jwtTokenUtil.getEmailFromToken(Mockito.anyString())).thenReturn(TEST_EMAIL);
+    Mockito.when(jwtTokenUtil.validateToken(Mockito.anyString(), Mockito.any(UserDetails.class)))
+        .thenReturn(true);
+    Mockito.when(jwtTokenUtil.getExpirationDateFromToken(Mockito.anyString()))
+        .thenReturn(new Date(System.currentTimeMillis() + TEST_CREDENTIALS_TIME_TO_LIVE));
+
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+
+    assertEquals(1, authenticationFilter.getCount());
+    assertEquals(1L, authenticationFilter.getHits());
+
+    Mockito.verify(jwtTokenUtil, Mockito.times(1)).getEmailFromToken(TEST_AUTH_TOKEN);
+    Mockito.verify(jwtTokenUtil, Mockito.times(1)).validateToken(TEST_AUTH_TOKEN, userDetails);
+    Mockito.verify(userDetailsService, Mockito.times(2)).loadUserByUsername(TEST_EMAIL);
+    Mockito.verify(securityContext, Mockito.times(2))
+        .setAuthentication(Mockito.any(UsernamePasswordAuthenticationToken.class));
+  }
+
+  @Test
+  public void testDoFilterInternalTokenCachedForChangedUser() throws ServletException, IOException {
+    this.doEnableCredentialsCache();
+    Mockito.when(request.getHeader(HEADER_STRING)).thenReturn(TEST_TOKEN_AUTH_TOKEN);
+    Mockito.when(jwtTokenUtil.getEmailFromToken(Mockito.anyString())).thenReturn(TEST_EMAIL);
+    Mockito.when(jwtTokenUtil.validateToken(Mockito.anyString(), Mockito.any(UserDetails.class)))
+        .thenReturn(true);
+    Mockito.when(jwtTokenUtil.getExpirationDateFromToken(Mockito.anyString()))
+        .thenReturn(new Date(System.currentTimeMillis() + TEST_CREDENTIALS_TIME_TO_LIVE));
+
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+    Mockito.when(userDetailsService.loadUserByUsername(Mockito.anyString()))
+        .thenReturn(reloadedUserDetails);
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+
+    assertEquals(0L, authenticationFilter.getHits());
+
+    Mockito.verify(jwtTokenUtil, Mockito.times(1)).validateToken(TEST_AUTH_TOKEN, userDetails);
+    Mockito.verify(jwtTokenUtil, Mockito.times(1))
+        .validateToken(TEST_AUTH_TOKEN, reloadedUserDetails);
+  }
+
+  @Test
+  public void testDoFilterInternalExpiredTokenNotCached() throws ServletException, IOException {
+    this.doEnableCredentialsCache();
+    Mockito.when(request.getHeader(HEADER_STRING)).thenReturn(TEST_TOKEN_AUTH_TOKEN);
+    Mockito.when(jwtTokenUtil.getEmailFromToken(Mockito.anyString())).thenReturn(TEST_EMAIL);
+    Mockito.when(jwtTokenUtil.validateToken(Mockito.anyString(), Mockito.any(UserDetails.class)))
+        .thenReturn(true);
+    Mockito.when(jwtTokenUtil.getExpirationDateFromToken(Mockito.anyString()))
+        .thenReturn(new Date(System.currentTimeMillis() - 1000L));
+
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+    authenticationFilter.doFilterInternal(request, response, filterChain);
+
+    assertEquals(0L, authenticationFilter.getHits());
+
+    Mockito.verify(jwtTokenUtil, Mockito.times(2)).validateToken(TEST_AUTH_TOKEN, userDetails);
+  }
+
+  private void doEnableCredentialsCache() {
+    authenticationFilter.maximumCredentials = TEST_MAXIMUM_CREDENTIALS;
+    authenticationFilter.credentialsTimeToLive = TEST_CREDENTIALS_TIME_TO_LIVE;
+  }
 }
@@ -20,6 +20,8 @@ package org.comixedproject.auth;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +29,7 @@ import org.comixedproject.model.user.ComiXedRole;
 import org.comixedproject.model.user.ComiXedUser;
 import org.comixedproject.repositories.users.ComiXedUserRepository;
 import org.comixedproject.service.user.ComiXedUserException;
+import org.comixedproject.service.user.UserService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,9 +44,12 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 public class ComiXedUserDetailsViewServiceTest {
   private static final String TEST_PASSWORD_HASH = "the password hash";
   private static final String TEST_USER_EMAIL = "reader@comixedproject.org";
+  private static final int TEST_MAXIMUM_ENTRIES = 16;
+  private static final long TEST_TIME_TO_LIVE = 60000L;
 
   @InjectMocks private ComiXedUserDetailsService userDetailsService;
   @Mock private ComiXedUserRepository userRepository;
+  @Mock private UserService userService;
   @Mock private ComiXedUser user;
 
   private List<ComiXedRole> roles = new ArrayList<>();
@@ -79,4 +85,64 @@ public class ComiXedUserDetailsViewServiceTest {
 
     Mockito.verify(userRepository, Mockito.times(1)).findByEmail(TEST_USER_EMAIL);
   }
+
+  @Test
+  public void testAfterPropertiesSet() {
+    userDetailsService.afterPropertiesSet();
+
+    Mockito.verify(userService, Mockito.times(1)).addListener(userDetailsService);
+  }
+
+  @Test
+  public void testLoadUserByUsernameCached() {
+    this.doEnableCache();
+    Mockito.when(userRepository.findByEmail(Mockito.anyString())).thenReturn(user);
+    Mockito.when(user.getRoles()).thenReturn(roles);
+    Mockito.when(user.getPasswordHash()).thenReturn(TEST_PASSWORD_HASH);
+
+    final UserDetails first = userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+    final UserDetails result = userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+
+    assertSame(first, result);
+    assertEquals(1, userDetailsService.getCount());
+    assertEquals(1L, userDetailsService.getHits());
+    assertEquals(1L, userDetailsService.getMisses());
+
+    Mockito.verify(userRepository, Mockito.times(1)).findByEmail(TEST_USER_EMAIL);
+  }
+
+  @Test
+  public void testLoadUserByUsernameCacheDisabled() {
+    Mockito.when(userRepository.findByEmail(Mockito.anyString())).thenReturn(user);
+    Mockito.when(user.getRoles()).thenReturn(roles);
+    Mockito.when(user.getPasswordHash()).thenReturn(TEST_PASSWORD_HASH);
+
+    userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+    userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+
+    assertEquals(0, userDetailsService.getCount());
+
+    Mockito.verify(userRepository, Mockito.times(2)).findByEmail(TEST_USER_EMAIL);
+  }
+
+  @Test
+  public void testLoadUserByUsernameClearedOnUserChange() {
+    this.doEnableCache();
+    Mockito.when(userRepository.findByEmail(Mockito.anyString())).thenReturn(user);
+    Mockito.when(user.getRoles()).thenReturn(roles);
+    Mockito.when(user.getPasswordHash()).thenReturn(TEST_PASSWORD_HASH);
+
+    final UserDetails first = userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+    userDetailsService.onUserChanged(user);
+    final UserDetails result = userDetailsService.loadUserByUsername(TEST_USER_EMAIL);
+
+    assertNotSame(first, result);
+
+    Mockito.verify(userRepository, Mockito.times(2)).findByEmail(TEST_USER_EMAIL);
+  }
+
+  private void doEnableCache() {
+    userDetailsService.maximumEntries = TEST_MAXIMUM_ENTRIES;
+    userDetailsService.timeToLive = TEST_TIME_TO_LIVE;
+  }
 }
@@ -20,6 +20,7 @@ package org.comixedproject.batch.comicbooks;
 
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.batch.comicbooks.listeners.*;
+import org.comixedproject.batch.comicbooks.partitioners.LoadFileContentsPartitioner;
 import org.comixedproject.batch.comicbooks.processors.*;
 import org.comixedproject.batch.comicbooks.readers.*;
 import org.comixedproject.batch.comicbooks.writers.*;
@@ -34,6 +35,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
@@ -48,31 +50,75 @@ public class ProcessComicBooksConfiguration {
   public static final String JOB_PROCESS_COMIC_BOOKS_BATCH_NAME =
       "job.process-comic-books.batch-name";
 
+  public static final String LOAD_FILE_CONTENTS_PARTITION = "load-file-contents.partition";
+  public static final String LOAD_FILE_CONTENTS_PARTITION_COUNT =
+      "load-file-contents.partition-count";
+
   @Value("${comixed.batch.chunk-size}")
   private int batchChunkSize = 1;
 
+  @Value("${comixed.batch.load-file-contents.thread-count:1}")
+  private int loadFileContentsThreadCount = 1;
+
   /**
    * Returns the process comics job.
    *
    * @param jobRepository the job repository
    * @param jobListener the job listener
-   * @param loadFileContentsStep the load file contents step
+   * @param loadFileContentsPartitionStep the partitioned load file contents step
+   * @param markComicBatchCompletedStep the mark comic batch completed step
    * @return the job
    */
   @Bean(name = "processComicBooksJob")
   public Job processComicBooksJob(
       final JobRepository jobRepository,
       final ProcessComicBooksJobListener jobListener,
-      @Qualifier("loadFileContentsStep") final Step loadFileContentsStep,
+      @Qualifier("loadFileContentsPartitionStep") final Step loadFileContentsPartitionStep,
       @Qualifier("markComicBatchCompletedStep") final Step markComicBatchCompletedStep) {
     return new JobBuilder("processComicBooksJob", jobRepository)
         .incrementer(new RunIdIncrementer())
         .listener(jobListener)
-        .start(loadFileContentsStep)
+        .start(loadFileContentsPartitionStep)
         .next(markComicBatchCompletedStep)
         .build();
   }
 
+  /**
+   * Returns the step that runs the load file contents step across multiple partitions in parallel.
+   *
+   * @param jobRepository the job repository
+   * @param loadFileContentsStep the load file contents step
+   * @param partitioner the partitioner
+   * @param taskExecutor the task executor
+   * @return the step
+   */
+  @Bean(name = "loadFileContentsPartitionStep")
+  public Step loadFileContentsPartitionStep(
+      final JobRepository jobRepository,
+      @Qualifier("loadFileContentsStep") final Step loadFileContentsStep,
+      final LoadFileContentsPartitioner partitioner,
+      @Qualifier("stepTaskExecutor") final TaskExecutor taskExecutor) {
+    return new StepBuilder("loadFileContentsPartitionStep", jobRepository)
+        .partitioner("loadFileContentsStep", partitioner)
+        .step(loadFileContentsStep)
+        .gridSize(this.getLoadFileContentsThreadCount())
+        .taskExecutor(taskExecutor)
+        .build();
+  }
+
+  /**
+   * Returns the number of threads used to load file contents. A value less than one uses a thread
+   * for each available processor.
+   *
+   * @return the thread count
+   */
+  int getLoadFileContentsThreadCount() {
+    if (this.loadFileContentsThreadCount < 1) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    return this.loadFileContentsThreadCount;
+  }
+
   /**
    * Returns the load file contents step.
    *
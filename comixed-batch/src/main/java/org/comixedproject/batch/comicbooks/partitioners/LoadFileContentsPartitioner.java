@@ -0,0 +1,52 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicbooks.partitioners;
+
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION_COUNT;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>LoadFileContentsPartitioner</code> splits the comics waiting to have their contents loaded
+ * into separate partitions so that each can be processed on its own thread.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class LoadFileContentsPartitioner implements Partitioner {
+  @Override
+  public Map<String, ExecutionContext> partition(final int gridSize) {
+    log.debug("Creating load file contents partitions: count={}", gridSize);
+    final Map<String, ExecutionContext> result = new HashMap<>();
+    for (int partition = 0; partition < gridSize; partition++) {
+      final ExecutionContext context = new ExecutionContext();
+      context.putInt(LOAD_FILE_CONTENTS_PARTITION, partition);
+      context.putInt(LOAD_FILE_CONTENTS_PARTITION_COUNT, gridSize);
+      result.put(String.format("partition%d", partition), context);
+    }
+    return result;
+  }
+}
@@ -18,16 +18,23 @@
 
 package org.comixedproject.batch.comicbooks.readers;
 
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION_COUNT;
+
 import java.util.List;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * <code>LoadFileContentsReader</code> loads unprocessed comics that need to have metadata loaded.
+ * When the step is partitioned, only the comics in the reader's partition are loaded.
  *
  * @author Darryl L. Piere
  */
@@ -37,9 +44,22 @@ import org.springframework.stereotype.Component;
 public class LoadFileContentsReader extends AbstractComicReader {
   @Autowired private ComicBookService comicBookService;
 
+  @Getter private int partition = 0;
+  @Getter private int partitionCount = 1;
+
+  @Override
+  public void beforeStep(final StepExecution stepExecution) {
+    super.beforeStep(stepExecution);
+    final ExecutionContext context = stepExecution.getExecutionContext();
+    this.partition = context.getInt(LOAD_FILE_CONTENTS_PARTITION, 0);
+    this.partitionCount = context.getInt(LOAD_FILE_CONTENTS_PARTITION_COUNT, 1);
+    log.debug(
+        "Loading file contents for partition: {} of {}", this.partition + 1, this.partitionCount);
+  }
+
   @Override
   protected List<ComicBook> doLoadComics() {
     return this.comicBookService.findUnprocessedComicsWithoutContent(
-        this.getBatchName(), this.getBatchChunkSize());
+        this.getBatchName(), this.partition, this.partitionCount, this.getBatchChunkSize());
   }
 }
@@ -18,6 +18,7 @@
 
 package org.comixedproject.batch.comicbooks.writers;
 
+import java.util.ArrayList;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -45,10 +46,7 @@ public abstract class AbstractComicBookWriter implements ItemWriter<ComicBook> {
 
   @Override
   public void write(final Chunk<? extends ComicBook> comics) {
-    comics.forEach(
-        comic -> {
-          log.trace("Firing event: {}", this.comicEvent);
-          this.comicStateHandler.fireEvent(comic, this.comicEvent);
-        });
+    log.trace("Firing event: {} => {} comic(s)", this.comicEvent, comics.size());
+    this.comicStateHandler.fireEvents(new ArrayList<>(comics.getItems()), this.comicEvent);
   }
 }
@@ -20,11 +20,16 @@ import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration
 import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.JOB_PROCESS_COMIC_BOOKS_STARTED;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.batch.ComicBatch;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicState;
 import org.comixedproject.service.batch.ComicBatchService;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChangeListener;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.JobParametersInvalidException;
@@ -32,20 +37,30 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.statemachine.state.State;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
- * <code>ProcessComicBooksInitiator</code> provides an initiator that periodically scans the library
- * for unprocessed comic books and starts a batch job to process them.
+ * <code>ProcessComicBooksInitiator</code> provides an initiator that starts a batch job to process
+ * unprocessed comic books.
+ *
+ * <p>Rather than polling the database, the initiator listens for comic books entering the
+ * unprocessed state and then starts a single job for all such comics on the next check. A periodic
+ * sweep catches any comics whose state was changed without firing an event.
  *
  * @author Darryl L. Pierce
  */
 @Component
 @Log4j2
-public class ProcessComicBooksInitiator {
+public class ProcessComicBooksInitiator implements InitializingBean, ComicStateChangeListener {
+  @Autowired private ComicStateHandler comicStateHandler;
   @Autowired private ComicBookService comicBookService;
   @Autowired private ComicBatchService comicBatchService;
 
@@ -57,9 +72,65 @@ public class ProcessComicBooksInitiator {
   @Qualifier("batchJobLauncher")
   private JobLauncher jobLauncher;
 
-  /** Checks for unprocessed comics not in a group and kicks off a new batch job to process them. */
-  @Scheduled(fixedDelay = 1000L)
+  // start out requested so comics left unprocessed at shutdown are picked up
+  private final AtomicInteger pendingChecks = new AtomicInteger(1);
+
+  @Override
+  public void afterPropertiesSet() throws Exception {
+    log.trace("Subscribing to comic book state changes");
+    this.comicStateHandler.addListener(this);
+  }
+
+  @Override
+  public void onComicStateChange(
+      final State<ComicState, ComicEvent> state, final Message<ComicEvent> message) {
+    if (state.getId() != ComicState.UNPROCESSED) return;
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.trace("Requesting comic book processing after commit");
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              requestProcessing();
+            }
+          });
+    } else {
+      // without a transaction the comic is saved after the listeners return, so the next check
+      // can run before the state is written; check once more on the following tick
+      log.trace("Requesting comic book processing on the next two checks");
+      this.doRequestChecks(2);
+    }
+  }
+
+  /** Requests that unprocessed comic books be processed on the next check. */
+  public void requestProcessing() {
+    log.trace("Comic book processing requested");
+    this.doRequestChecks(1);
+  }
+
+  private void doRequestChecks(final int checks) {
+    this.pendingChecks.accumulateAndGet(checks, Math::max);
+  }
+
+  /**
+   * Starts processing comic books if any have entered the unprocessed state since the last check.
+   * Requests made between checks are coalesced into a single batch.
+   */
+  @Scheduled(fixedDelayString = "${comixed.batch.process-comic-books.delay:1000}")
   public void execute() {
+    if (this.pendingChecks.getAndUpdate(checks -> Math.max(checks - 1, 0)) == 0) return;
+    this.doProcessComicBooks();
+  }
+
+  /** Periodically checks for unprocessed comics not in a batch, regardless of any requests. */
+  @Scheduled(cron = "${comixed.batch.process-comic-books.schedule:0 0,15,30,45 * * * *}")
+  public void sweep() {
+    log.debug("Sweeping for unprocessed comic books");
+    this.pendingChecks.set(0);
+    this.doProcessComicBooks();
+  }
+
+  private synchronized void doProcessComicBooks() {
     log.debug("Looking for unprocessed comic books");
     final List<ComicBook> comicBooks = this.comicBookService.getComicBooksForProcessing();
     if (comicBooks.isEmpty()) {
@@ -34,6 +34,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
@@ -50,8 +52,11 @@ public class MetadataProcessConfiguration {
   public static final String PARAM_METADATA_UPDATE_TOTAL_COMICS =
       "job.metadata-process.total-comics";
 
-  @Value("${comixed.batch.chunk-size}")
-  private int batchChunkSize = 10;
+  @Value("${comixed.batch.metadata-process.chunk-size:10}")
+  private int scrapingChunkSize = 10;
+
+  @Value("${comixed.batch.metadata-process.thread-count:4}")
+  private int scrapingThreadCount = 4;
 
   /**
    * Returns the job bean to perform the batch comic scraping process.
@@ -71,6 +76,19 @@ public class MetadataProcessConfiguration {
         .build();
   }
 
+  /**
+   * Returns the task executor used to fetch metadata while comics are scraped. It limits how many
+   * requests are in flight at once.
+   *
+   * @return the task executor
+   */
+  @Bean(name = "scrapingTaskExecutor")
+  public TaskExecutor scrapingTaskExecutor() {
+    final SimpleAsyncTaskExecutor result = new SimpleAsyncTaskExecutor("CX-Lucius");
+    result.setConcurrencyLimit(Math.max(1, this.scrapingThreadCount));
+    return result;
+  }
+
   /**
    * The scrape comic book step.
    *
@@ -90,7 +108,7 @@ public class MetadataProcessConfiguration {
       final ScrapeComicBookProcessor processor,
       final ScrapeComicBookWriter writer) {
     return new StepBuilder("scrapeComicBook", jobRepository)
-        .<ComicBook, ComicBook>chunk(this.batchChunkSize, platformTransactionManager)
+        .<ComicBook, ComicBook>chunk(this.scrapingChunkSize, platformTransactionManager)
         .reader(reader)
         .processor(processor)
         .writer(writer)
@@ -20,40 +20,84 @@ package org.comixedproject.batch.metadata.processors;
 
 import static org.comixedproject.batch.metadata.MetadataProcessConfiguration.PARAM_SKIP_CACHE;
 
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicMetadataSource;
 import org.comixedproject.service.metadata.MetadataService;
 import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
 /**
  * <code>ScrapeComicBookProcessor</code> performs the work of actually loading and applying metadata
  * to a comic.
  *
+ * <p>As each comic is read, the metadata for it is fetched in the background. By the time a comic
+ * is processed its metadata is usually already in the cache, so the comics in a chunk wait on the
+ * metadata source together rather than one after another.
+ *
  * @author Darryl L. Pierce
  */
 @Component
 @Log4j2
 public class ScrapeComicBookProcessor
-    implements ItemProcessor<ComicBook, ComicBook>, StepExecutionListener {
+    implements ItemProcessor<ComicBook, ComicBook>,
+        ItemReadListener<ComicBook>,
+        StepExecutionListener {
   @Autowired private MetadataService metadataService;
 
+  @Autowired
+  @Qualifier("scrapingTaskExecutor")
+  private TaskExecutor scrapingTaskExecutor;
+
   private JobParameters jobParameters;
+  private final Map<Long, CompletableFuture<Void>> prefetches = new ConcurrentHashMap<>();
+
+  @Override
+  public void afterRead(final ComicBook comicBook) {
+    if (!this.hasMetadataSource(comicBook)) return;
+    final ComicMetadataSource source = comicBook.getMetadata();
+    final Long metadataSourceId = source.getMetadataSource().getId();
+    final String referenceId = source.getReferenceId();
+    final boolean skipCache = this.isSkipCache();
+    log.debug("Prefetching metadata for comic book: id={}", comicBook.getId());
+    this.prefetches.put(
+        comicBook.getId(),
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                this.metadataService.prefetchIssueDetails(metadataSourceId, referenceId, skipCache);
+              } catch (MetadataException error) {
+                throw new CompletionException(error);
+              }
+            },
+            this.scrapingTaskExecutor));
+  }
 
   @Override
   public ComicBook process(final ComicBook comicBook) throws Exception {
     ComicBook result = comicBook;
-    if (comicBook.getMetadata() == null || comicBook.getMetadata().getId() == null) {
+    if (!this.hasMetadataSource(comicBook)) {
       log.error("No metadata source associated with comic: {}", comicBook.getId());
     } else {
-      final boolean skipCache =
-          Boolean.parseBoolean(this.jobParameters.getString(PARAM_SKIP_CACHE));
+      boolean skipCache = this.isSkipCache();
+      if (this.doWaitForPrefetch(comicBook.getId())) {
+        log.trace("Using prefetched metadata");
+        skipCache = false;
+      }
       log.info("Scraping comic book: id={}", comicBook.getId());
       final ComicMetadataSource source = comicBook.getMetadata();
       result =
@@ -76,6 +120,29 @@ public class ScrapeComicBookProcessor
 
   @Override
   public ExitStatus afterStep(final StepExecution stepExecution) {
+    log.trace("Cancelling unused metadata prefetches");
+    this.prefetches.values().forEach(prefetch -> prefetch.cancel(false));
+    this.prefetches.clear();
     return null;
   }
+
+  private boolean hasMetadataSource(final ComicBook comicBook) {
+    return comicBook.getMetadata() != null && comicBook.getMetadata().getId() != null;
+  }
+
+  private boolean isSkipCache() {
+    return Boolean.parseBoolean(this.jobParameters.getString(PARAM_SKIP_CACHE));
+  }
+
+  private boolean doWaitForPrefetch(final Long comicBookId) {
+    final CompletableFuture<Void> prefetch = this.prefetches.remove(comicBookId);
+    if (prefetch == null) return false;
+    try {
+      prefetch.join();
+      return true;
+    } catch (CompletionException | CancellationException error) {
+      log.error("Failed to prefetch metadata", error);
+      return false;
+    }
+  }
 }
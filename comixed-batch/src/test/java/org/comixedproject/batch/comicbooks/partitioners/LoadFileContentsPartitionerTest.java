@@ -0,0 +1,51 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicbooks.partitioners;
+
+import static junit.framework.TestCase.*;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION_COUNT;
+
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.batch.item.ExecutionContext;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoadFileContentsPartitionerTest {
+  private static final int TEST_GRID_SIZE = 7;
+
+  @InjectMocks private LoadFileContentsPartitioner partitioner;
+
+  @Test
+  public void testPartition() {
+    final Map<String, ExecutionContext> result = partitioner.partition(TEST_GRID_SIZE);
+
+    assertNotNull(result);
+    assertEquals(TEST_GRID_SIZE, result.size());
+    for (int index = 0; index < TEST_GRID_SIZE; index++) {
+      final ExecutionContext context = result.get(String.format("partition%d", index));
+      assertNotNull(context);
+      assertEquals(index, context.getInt(LOAD_FILE_CONTENTS_PARTITION));
+      assertEquals(TEST_GRID_SIZE, context.getInt(LOAD_FILE_CONTENTS_PARTITION_COUNT));
+    }
+  }
+}
@@ -20,6 +20,8 @@ package org.comixedproject.batch.comicbooks.readers;
 
 import static junit.framework.TestCase.*;
 import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.JOB_PROCESS_COMIC_BOOKS_BATCH_NAME;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION;
+import static org.comixedproject.batch.comicbooks.ProcessComicBooksConfiguration.LOAD_FILE_CONTENTS_PARTITION_COUNT;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,11 +37,14 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
 
 @RunWith(MockitoJUnitRunner.class)
 public class LoadFileContentsReaderTest {
   private static final int MAX_RECORDS = 25;
   private static final String TEST_BATCH_NAME = "The batch name";
+  private static final int TEST_PARTITION = 5;
+  private static final int TEST_PARTITION_COUNT = 16;
 
   @InjectMocks private LoadFileContentsReader reader;
   @Mock private ComicBookService comicBookService;
@@ -49,6 +54,7 @@ public class LoadFileContentsReaderTest {
   @Mock private StepExecution stepExecution;
 
   private List<ComicBook> comicBookList = new ArrayList<>();
+  private ExecutionContext executionContext = new ExecutionContext();
 
   @Before
   public void setUp() {
@@ -56,6 +62,7 @@ public class LoadFileContentsReaderTest {
         .thenReturn(TEST_BATCH_NAME);
     Mockito.when(jobExecution.getJobParameters()).thenReturn(jobParameters);
     Mockito.when(stepExecution.getJobExecution()).thenReturn(jobExecution);
+    Mockito.when(stepExecution.getExecutionContext()).thenReturn(executionContext);
     reader.batchName = TEST_BATCH_NAME;
   }
 
@@ -67,6 +74,19 @@ public class LoadFileContentsReaderTest {
 
     assertNotNull(reader.getBatchName());
     assertEquals(TEST_BATCH_NAME, reader.getBatchName());
+    assertEquals(0, reader.getPartition());
+    assertEquals(1, reader.getPartitionCount());
+  }
+
+  @Test
+  public void testBeforeStepWithPartition() {
+    executionContext.putInt(LOAD_FILE_CONTENTS_PARTITION, TEST_PARTITION);
+    executionContext.putInt(LOAD_FILE_CONTENTS_PARTITION_COUNT, TEST_PARTITION_COUNT);
+
+    reader.beforeStep(stepExecution);
+
+    assertEquals(TEST_PARTITION, reader.getPartition());
+    assertEquals(TEST_PARTITION_COUNT, reader.getPartitionCount());
   }
 
   @Test
@@ -75,7 +95,7 @@ public class LoadFileContentsReaderTest {
 
     Mockito.when(
             comicBookService.findUnprocessedComicsWithoutContent(
-                Mockito.anyString(), Mockito.anyInt()))
+                Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt()))
         .thenReturn(comicBookList);
 
     final ComicBook result = reader.read();
@@ -86,14 +106,18 @@ public class LoadFileContentsReaderTest {
     assertEquals(MAX_RECORDS - 1, comicBookList.size());
 
     Mockito.verify(comicBookService, Mockito.times(1))
-        .findUnprocessedComicsWithoutContent(TEST_BATCH_NAME, reader.getBatchChunkSize());
+        .findUnprocessedComicsWithoutContent(
+            TEST_BATCH_NAME,
+            reader.getPartition(),
+            reader.getPartitionCount(),
+            reader.getBatchChunkSize());
   }
 
   @Test
   public void testReadNoneRemaining() {
     Mockito.when(
             comicBookService.findUnprocessedComicsWithoutContent(
-                Mockito.anyString(), Mockito.anyInt()))
+                Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt()))
         .thenReturn(comicBookList);
 
     reader.comicBookList = comicBookList;
@@ -104,14 +128,18 @@ public class LoadFileContentsReaderTest {
     assertNull(reader.comicBookList);
 
     Mockito.verify(comicBookService, Mockito.times(1))
-        .findUnprocessedComicsWithoutContent(TEST_BATCH_NAME, reader.getBatchChunkSize());
+        .findUnprocessedComicsWithoutContent(
+            TEST_BATCH_NAME,
+            reader.getPartition(),
+            reader.getPartitionCount(),
+            reader.getBatchChunkSize());
   }
 
   @Test
   public void testReadNoneLoadedNoneFound() {
     Mockito.when(
             comicBookService.findUnprocessedComicsWithoutContent(
-                Mockito.anyString(), Mockito.anyInt()))
+                Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt()))
         .thenReturn(comicBookList);
 
     final ComicBook result = reader.read();
@@ -120,6 +148,10 @@ public class LoadFileContentsReaderTest {
     assertNull(reader.comicBookList);
 
     Mockito.verify(comicBookService, Mockito.times(1))
-        .findUnprocessedComicsWithoutContent(TEST_BATCH_NAME, reader.getBatchChunkSize());
+        .findUnprocessedComicsWithoutContent(
+            TEST_BATCH_NAME,
+            reader.getPartition(),
+            reader.getPartitionCount(),
+            reader.getBatchChunkSize());
   }
 }
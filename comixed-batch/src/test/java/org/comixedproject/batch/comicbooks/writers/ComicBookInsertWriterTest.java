@@ -60,8 +60,8 @@ public class ComicBookInsertWriterTest {
 
     writer.write(comicBookList);
 
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.readyForProcessing);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList.getItems(), ComicEvent.readyForProcessing);
     Mockito.verify(comicFileService, Mockito.times(comicBookList.size()))
         .getComicFileDescriptorByFilename(TEST_FILENAME);
     Mockito.verify(comicFileService, Mockito.times(comicBookList.size()))
@@ -44,7 +44,7 @@ public class LoadFileContentsWriterTest {
 
     writer.write(comicBookList);
 
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.fileContentsLoaded);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList.getItems(), ComicEvent.fileContentsLoaded);
   }
 }
@@ -44,7 +44,7 @@ public class MoveComicBookWriterTest {
 
     writer.write(comicBookList);
 
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.comicOrganized);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList.getItems(), ComicEvent.comicOrganized);
   }
 }
@@ -44,7 +44,7 @@ public class PurgeMarkedComicBooksWriterTest {
 
     writer.write(comicBookList);
 
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.comicPurged);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList.getItems(), ComicEvent.comicPurged);
   }
 }
@@ -44,7 +44,7 @@ public class ReaderInsertedWriterTest {
 
     writer.write(comicBookList);
 
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.recordInserted);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList.getItems(), ComicEvent.recordInserted);
   }
 }
@@ -25,8 +25,11 @@ import java.util.ArrayList;
 import java.util.List;
 import org.comixedproject.model.batch.ComicBatch;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicState;
 import org.comixedproject.service.batch.ComicBatchService;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +43,10 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ProcessComicBooksInitiatorTest {
@@ -48,6 +55,7 @@ public class ProcessComicBooksInitiatorTest {
   private static final String TEST_BATCH_NAME = "The batch  name";
 
   @InjectMocks private ProcessComicBooksInitiator initiator;
+  @Mock private ComicStateHandler comicStateHandler;
   @Mock private ComicBookService comicBookService;
   @Mock private ComicBatchService comicBatchService;
 
@@ -59,6 +67,8 @@ public class ProcessComicBooksInitiatorTest {
 
   @Mock private JobExecution jobExecution;
   @Mock private ComicBatch comicBatch;
+  @Mock private State<ComicState, ComicEvent> state;
+  @Mock private Message<ComicEvent> message;
 
   @Captor private ArgumentCaptor<JobParameters> jobParametersArgumentCaptor;
   private List<ComicBook> comicBookList = new ArrayList<>();
@@ -78,6 +88,94 @@ public class ProcessComicBooksInitiatorTest {
     Mockito.when(comicBookService.getComicBooksForProcessing()).thenReturn(comicBookList);
   }
 
+  @Test
+  public void testAfterPropertiesSet() throws Exception {
+    initiator.afterPropertiesSet();
+
+    Mockito.verify(comicStateHandler, Mockito.times(1)).addListener(initiator);
+  }
+
+  @Test
+  public void testExecuteNotRequested() throws Exception {
+    initiator.execute();
+    Mockito.reset(comicBookService);
+
+    initiator.execute();
+
+    Mockito.verify(comicBookService, Mockito.never()).getComicBooksForProcessing();
+    Mockito.verify(jobLauncher, Mockito.times(1)).run(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testOnComicStateChangeOtherState() throws Exception {
+    Mockito.when(state.getId()).thenReturn(ComicState.STABLE);
+    initiator.execute();
+    Mockito.reset(comicBookService);
+
+    initiator.onComicStateChange(state, message);
+    initiator.execute();
+
+    Mockito.verify(comicBookService, Mockito.never()).getComicBooksForProcessing();
+  }
+
+  @Test
+  public void testOnComicStateChangeUnprocessed() throws Exception {
+    Mockito.when(state.getId()).thenReturn(ComicState.UNPROCESSED);
+    initiator.execute();
+
+    initiator.onComicStateChange(state, message);
+    initiator.onComicStateChange(state, message);
+    initiator.execute();
+
+    Mockito.verify(comicBookService, Mockito.times(2)).getComicBooksForProcessing();
+  }
+
+  @Test
+  public void testOnComicStateChangeUnprocessedChecksAgainOnNextTick() throws Exception {
+    Mockito.when(state.getId()).thenReturn(ComicState.UNPROCESSED);
+    initiator.execute();
+
+    initiator.onComicStateChange(state, message);
+    initiator.execute();
+    initiator.execute();
+    initiator.execute();
+
+    Mockito.verify(comicBookService, Mockito.times(3)).getComicBooksForProcessing();
+  }
+
+  @Test
+  public void testOnComicStateChangeUnprocessedInTransaction() throws Exception {
+    Mockito.when(state.getId()).thenReturn(ComicState.UNPROCESSED);
+    initiator.execute();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      initiator.onComicStateChange(state, message);
+      initiator.execute();
+
+      Mockito.verify(comicBookService, Mockito.times(1)).getComicBooksForProcessing();
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    initiator.execute();
+    initiator.execute();
+
+    Mockito.verify(comicBookService, Mockito.times(2)).getComicBooksForProcessing();
+  }
+
+  @Test
+  public void testSweep() throws Exception {
+    initiator.execute();
+
+    initiator.sweep();
+
+    Mockito.verify(comicBookService, Mockito.times(2)).getComicBooksForProcessing();
+    Mockito.verify(jobLauncher, Mockito.times(2)).run(Mockito.any(), Mockito.any());
+  }
+
   @Test
   public void testExecuteWithComicsWithoutContent()
       throws JobInstanceAlreadyCompleteException,
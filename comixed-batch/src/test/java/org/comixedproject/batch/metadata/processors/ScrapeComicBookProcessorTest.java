@@ -22,6 +22,7 @@ import static junit.framework.TestCase.*;
 import static org.comixedproject.batch.metadata.MetadataProcessConfiguration.PARAM_SKIP_CACHE;
 
 import org.apache.commons.lang.math.RandomUtils;
+import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicMetadataSource;
 import org.comixedproject.model.metadata.MetadataSource;
@@ -32,9 +33,11 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.core.task.SyncTaskExecutor;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ScrapeComicBookProcessorTest {
@@ -46,6 +49,7 @@ public class ScrapeComicBookProcessorTest {
 
   @InjectMocks private ScrapeComicBookProcessor processor;
   @Mock private MetadataService metadataService;
+  @Spy private SyncTaskExecutor scrapingTaskExecutor;
   @Mock private ComicBook comicBook;
   @Mock private ComicMetadataSource comicMetadataSource;
   @Mock private ComicBook scrapedComicBook;
@@ -113,6 +117,85 @@ public class ScrapeComicBookProcessorTest {
     Mockito.verify(scrapedComicBook, Mockito.times(1)).setBatchMetadataUpdate(false);
   }
 
+  @Test
+  public void testAfterReadNoMetadataSource() throws MetadataException {
+    Mockito.when(comicBook.getMetadata()).thenReturn(null);
+
+    processor.afterRead(comicBook);
+
+    Mockito.verify(metadataService, Mockito.never())
+        .prefetchIssueDetails(Mockito.anyLong(), Mockito.anyString(), Mockito.anyBoolean());
+  }
+
+  @Test
+  public void testProcessWithPrefetch() throws Exception {
+    Mockito.when(
+            metadataService.scrapeComic(
+                Mockito.anyLong(), Mockito.anyLong(), Mockito.anyString(), Mockito.anyBoolean()))
+        .thenReturn(scrapedComicBook);
+
+    processor.beforeStep(stepExecution);
+    processor.afterRead(comicBook);
+
+    final ComicBook result = processor.process(comicBook);
+
+    assertNotNull(result);
+    assertSame(scrapedComicBook, result);
+
+    Mockito.verify(metadataService, Mockito.times(1))
+        .prefetchIssueDetails(TEST_METADATA_SOURCE_ID, TEST_METADATA_REFERENCE_ID, TEST_SKIP_CACHE);
+    Mockito.verify(metadataService, Mockito.times(1))
+        .scrapeComic(
+            TEST_METADATA_SOURCE_ID, TEST_COMIC_BOOK_ID, TEST_METADATA_REFERENCE_ID, false);
+  }
+
+  @Test
+  public void testProcessWithFailedPrefetch() throws Exception {
+    Mockito.doThrow(MetadataException.class)
+        .when(metadataService)
+        .prefetchIssueDetails(Mockito.anyLong(), Mockito.anyString(), Mockito.anyBoolean());
+    Mockito.when(
+            metadataService.scrapeComic(
+                Mockito.anyLong(), Mockito.anyLong(), Mockito.anyString(), Mockito.anyBoolean()))
+        .thenReturn(scrapedComicBook);
+
+    processor.beforeStep(stepExecution);
+    processor.afterRead(comicBook);
+
+    final ComicBook result = processor.process(comicBook);
+
+    assertNotNull(result);
+    assertSame(scrapedComicBook, result);
+
+    Mockito.verify(metadataService, Mockito.times(1))
+        .scrapeComic(
+            TEST_METADATA_SOURCE_ID,
+            TEST_COMIC_BOOK_ID,
+            TEST_METADATA_REFERENCE_ID,
+            TEST_SKIP_CACHE);
+  }
+
+  @Test
+  public void testAfterStepDiscardsPrefetches() throws Exception {
+    Mockito.when(
+            metadataService.scrapeComic(
+                Mockito.anyLong(), Mockito.anyLong(), Mockito.anyString(), Mockito.anyBoolean()))
+        .thenReturn(scrapedComicBook);
+
+    processor.beforeStep(stepExecution);
+    processor.afterRead(comicBook);
+    processor.afterStep(stepExecution);
+
+    processor.process(comicBook);
+
+    Mockito.verify(metadataService, Mockito.times(1))
+        .scrapeComic(
+            TEST_METADATA_SOURCE_ID,
+            TEST_COMIC_BOOK_ID,
+            TEST_METADATA_REFERENCE_ID,
+            TEST_SKIP_CACHE);
+  }
+
   @Test
   public void testAfterStep() {
     assertNull(processor.afterStep(stepExecution));
@@ -0,0 +1,45 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.messaging.comicbooks;
+
+import java.util.List;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.messaging.AbstractPublishAction;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.views.View;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>PublishComicBookListUpdateAction</code> publishes a single message when a set of comics are
+ * updated together.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class PublishComicBookListUpdateAction extends AbstractPublishAction<List<ComicBook>> {
+  public static final String COMIC_LIST_BATCH_UPDATE_TOPIC = "/topic/comic-book-list.batch-update";
+
+  @Override
+  public void publish(final List<ComicBook> comicBooks) throws PublishingException {
+    log.trace("Publishing comic book list batch update: {} comic(s)", comicBooks.size());
+    this.doPublish(COMIC_LIST_BATCH_UPDATE_TOPIC, comicBooks, View.ComicDetailsView.class);
+  }
+}
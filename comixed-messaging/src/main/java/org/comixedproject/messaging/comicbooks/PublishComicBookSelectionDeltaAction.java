@@ -0,0 +1,48 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.messaging.comicbooks;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.messaging.AbstractPublishAction;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.model.messaging.comicbooks.ComicBookSelectionDelta;
+import org.comixedproject.views.View;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>PublishComicBookSelectionDeltaAction</code> publishes the comic books added to and removed
+ * from a user's selections.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class PublishComicBookSelectionDeltaAction
+    extends AbstractPublishAction<ComicBookSelectionDelta> {
+  static final String COMIC_BOOK_SELECTION_DELTA_TOPIC = "/topic/user/comic-book-selection.delta";
+
+  @Override
+  public void publish(final ComicBookSelectionDelta delta) throws PublishingException {
+    log.debug(
+        "Publishing comic book selection delta: {} added range(s), {} removed range(s)",
+        delta.getAdded().size(),
+        delta.getRemoved().size());
+    this.doPublish(COMIC_BOOK_SELECTION_DELTA_TOPIC, delta, View.GenericObjectView.class);
+  }
+}
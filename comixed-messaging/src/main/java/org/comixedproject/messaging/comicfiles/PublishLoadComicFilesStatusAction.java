@@ -0,0 +1,43 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.messaging.comicfiles;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.messaging.AbstractPublishAction;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.model.messaging.comicfiles.LoadComicFilesStatus;
+import org.comixedproject.views.View;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>PublishLoadComicFilesStatusAction</code> publishes the progress of scanning a directory for
+ * comic files.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class PublishLoadComicFilesStatusAction extends AbstractPublishAction<LoadComicFilesStatus> {
+  static final String LOAD_COMIC_FILES_STATUS_TOPIC = "/topic/load-comic-files.status";
+
+  @Override
+  public void publish(final LoadComicFilesStatus subject) throws PublishingException {
+    this.doPublish(LOAD_COMIC_FILES_STATUS_TOPIC, subject, View.GenericObjectView.class);
+  }
+}
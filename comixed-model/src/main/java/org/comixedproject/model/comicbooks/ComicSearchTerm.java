@@ -0,0 +1,59 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.model.comicbooks;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <code>ComicSearchTerm</code> is a single entry in the search index, relating one lowercased word
+ * to the {@link ComicDetail} that contains it.
+ *
+ * @author Darryl L. Pierce
+ */
+@Entity
+@Table(name = "comic_search_terms")
+@NoArgsConstructor
+@RequiredArgsConstructor
+public class ComicSearchTerm {
+  public static final int MAXIMUM_TERM_LENGTH = 64;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Getter
+  private Long id;
+
+  @Column(name = "comic_detail_id", nullable = false, updatable = false)
+  @Getter
+  @NonNull
+  private Long comicDetailId;
+
+  @Column(name = "term", length = MAXIMUM_TERM_LENGTH, nullable = false, updatable = false)
+  @Getter
+  @NonNull
+  private String term;
+}
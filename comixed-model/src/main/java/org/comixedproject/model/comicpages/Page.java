@@ -97,6 +97,12 @@ public class Page {
   @Setter
   private Integer height = -1;
 
+  @Column(name = "mime_type", length = 64, updatable = true)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private String mimeType;
+
   @Column(name = "adding_to_cache", updatable = true)
   @JsonIgnore
   @Getter
@@ -104,7 +110,8 @@ public class Page {
   private Boolean addingToCache = false;
 
   @Formula(
-      "(SELECT CASE WHEN (file_hash IN (SELECT b.hash_value FROM blocked_hashes b)) THEN true ELSE false END)")
+      "(SELECT CASE WHEN (file_hash IN (SELECT b.hash_value FROM blocked_hashes b)) THEN true ELSE"
+          + " false END)")
   @JsonProperty("blocked")
   @JsonView({View.ComicListView.class})
   @Getter
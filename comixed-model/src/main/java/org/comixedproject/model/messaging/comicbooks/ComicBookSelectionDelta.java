@@ -0,0 +1,48 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.model.messaging.comicbooks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.comixedproject.views.View;
+
+/**
+ * <code>ComicBookSelectionDelta</code> represents a change to a user's comic book selections. The
+ * added and removed comic books are sent as runs of consecutive ids, each a pair of the first and
+ * last id in the run.
+ *
+ * @author Darryl L. Pierce
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComicBookSelectionDelta {
+  @JsonProperty("added")
+  @JsonView(View.GenericObjectView.class)
+  @Getter
+  private List<long[]> added;
+
+  @JsonProperty("removed")
+  @JsonView(View.GenericObjectView.class)
+  @Getter
+  private List<long[]> removed;
+}
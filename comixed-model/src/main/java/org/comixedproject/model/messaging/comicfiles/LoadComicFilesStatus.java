@@ -1,6 +1,6 @@
 /*
  * ComiXed - A digital comic book library management application.
- * Copyright (C) 2020, The ComiXed Project
+ * Copyright (C) 2024, The ComiXed Project
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,39 +16,39 @@
  * along with this program. If not, see <http://www.gnu.org/licenses>
  */
 
-package org.comixedproject.model.metadata;
+package org.comixedproject.model.messaging.comicfiles;
 
-import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
+import org.comixedproject.views.View;
 
 /**
- * <code>MetadataCacheEntry</code> represents a single entry in a cached set of data.
+ * <code>LoadComicFilesStatus</code> represents the progress of scanning a directory for comic files
+ * to import.
  *
  * @author Darryl L. Pierce
  */
-@Entity
-@Table(name = "metadata_cache_entries")
-public class MetadataCacheEntry {
-  @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+@AllArgsConstructor
+public class LoadComicFilesStatus {
+  @JsonProperty("active")
+  @JsonView(View.GenericObjectView.class)
   @Getter
-  private Long id;
+  private boolean active;
 
-  @ManyToOne(fetch = FetchType.EAGER)
-  @JoinColumn(name = "metadata_cache_id", updatable = false, nullable = false)
+  @JsonProperty("directory")
+  @JsonView(View.GenericObjectView.class)
   @Getter
-  @Setter
-  private MetadataCache metadataCache;
+  private String directory;
 
-  @Column(name = "entry_number", updatable = false, nullable = false)
+  @JsonProperty("scanned")
+  @JsonView(View.GenericObjectView.class)
   @Getter
-  @Setter
-  private Integer entryNumber;
+  private long scanned;
 
-  @Column(name = "entry_value", updatable = false, nullable = false)
-  @Lob
+  @JsonProperty("found")
+  @JsonView(View.GenericObjectView.class)
   @Getter
-  @Setter
-  private String entryValue;
+  private long found;
 }
@@ -19,15 +19,16 @@
 package org.comixedproject.model.metadata;
 
 import jakarta.persistence.*;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * <code>MetadataCache</code> holds the details for a single scraping interaction. The data is
- * stored and retrieved to avoid having to go back to data source.
+ * stored and retrieved to avoid having to go back to data source. The cached values are kept
+ * together as a single compressed value.
  *
  * @author Darryl L. Pierce
  */
@@ -49,18 +50,15 @@ public class MetadataCache {
   @Setter
   private String cacheKey;
 
-  @Column(name = "created_on", nullable = false, updatable = false)
+  @Column(name = "created_on", nullable = false)
   @Getter
   @Setter
   @Temporal(TemporalType.TIMESTAMP)
   private Date createdOn = new Date();
 
-  @OneToMany(
-      mappedBy = "metadataCache",
-      fetch = FetchType.EAGER,
-      cascade = CascadeType.ALL,
-      orphanRemoval = true)
-  @OrderColumn(name = "entry_number")
+  @Column(name = "cached_values", nullable = false)
+  @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
   @Getter
-  private List<MetadataCacheEntry> entries = new ArrayList<>();
+  @Setter
+  private byte[] cachedValues;
 }
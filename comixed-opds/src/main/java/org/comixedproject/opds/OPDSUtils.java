@@ -22,6 +22,9 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
@@ -31,8 +34,10 @@ import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicbooks.ComicTagType;
 import org.comixedproject.opds.model.OPDSAcquisitionFeedContent;
 import org.comixedproject.opds.model.OPDSAcquisitionFeedEntry;
+import org.comixedproject.opds.model.OPDSFeed;
 import org.comixedproject.opds.model.OPDSLink;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -50,11 +55,70 @@ public class OPDSUtils {
   public static final String OPDS_IMAGE_THUMBNAIL = "http://opds-spec.org/image/thumbnail";
   public static final String MIME_TYPE_IMAGE = "image/*";
   public static final String ENCODED_SLASH = "[SLASH]";
+  public static final String FIRST = "first";
+  public static final String PREVIOUS = "previous";
+  public static final String NEXT = "next";
+  public static final String LAST = "last";
 
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
 
+  @Value("${comixed.opds.feed.page-size:100}")
+  @Getter
+  int pageSize;
+
+  /**
+   * Returns one page of feed entries. If paging is disabled then all entries are returned.
+   *
+   * @param entries all entries
+   * @param page the zero-based page number
+   * @param <T> the entry type
+   * @return the entries for the page
+   */
+  public <T> List<T> getPageOfEntries(final List<T> entries, final int page) {
+    if (this.pageSize <= 0) return entries;
+    final int start = Math.max(page, 0) * this.pageSize;
+    if (start >= entries.size()) return Collections.emptyList();
+    return entries.subList(start, Math.min(start + this.pageSize, entries.size()));
+  }
+
+  /**
+   * Adds the links to the first, previous, next and last pages of a feed. No links are added if all
+   * entries fit on a single page.
+   *
+   * @param feed the feed
+   * @param linkType the link type
+   * @param url the feed url
+   * @param page the zero-based page number
+   * @param total the total number of entries
+   */
+  public void addPaginationLinks(
+      final OPDSFeed<?> feed,
+      final String linkType,
+      final String url,
+      final int page,
+      final int total) {
+    if (this.pageSize <= 0 || total <= this.pageSize) return;
+    final int last = (total - 1) / this.pageSize;
+    log.trace("Adding pagination links: page={} last={}", page, last);
+    feed.getLinks().add(new OPDSLink(linkType, FIRST, this.getPageUrl(url, 0)));
+    if (page > 0) {
+      feed.getLinks()
+          .add(
+              new OPDSLink(linkType, PREVIOUS, this.getPageUrl(url, Math.min(page, last + 1) - 1)));
+    }
+    if (page < last) {
+      feed.getLinks()
+          .add(new OPDSLink(linkType, NEXT, this.getPageUrl(url, Math.max(page, -1) + 1)));
+    }
+    feed.getLinks().add(new OPDSLink(linkType, LAST, this.getPageUrl(url, last)));
+  }
+
+  String getPageUrl(final String url, final int page) {
+    return String.format("%s%spage=%d", url, url.contains("?") ? "&" : "?", page);
+  }
+
   /**
    * Creates a link for the given comicBook.
    *
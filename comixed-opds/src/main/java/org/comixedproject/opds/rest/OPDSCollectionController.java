@@ -51,6 +51,7 @@ public class OPDSCollectionController {
    * @param principal the user principal
    * @param collectionType the collection type
    * @param unread the unread flag
+   * @param page the page number
    * @return the feed
    */
   @GetMapping(value = "/opds/collections/{type}", produces = MediaType.APPLICATION_XML_VALUE)
@@ -60,14 +61,15 @@ public class OPDSCollectionController {
   public OPDSNavigationFeed getCollectionFeed(
       final Principal principal,
       @NonNull @PathVariable("type") final CollectionType collectionType,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     log.info(
         "Loading OPDS navigation feed for collection: {} email={} unread={}",
         collectionType,
         email,
         unread);
-    return this.opdsNavigationService.getCollectionFeed(collectionType, email, unread);
+    return this.opdsNavigationService.getCollectionFeed(collectionType, email, unread, page);
   }
 
   /**
@@ -77,6 +79,7 @@ public class OPDSCollectionController {
    * @param collectionType the collection type
    * @param name the collection name
    * @param unread the unread flag
+   * @param page the page number
    * @return the feed
    */
   @GetMapping(value = "/opds/collections/{type}/{name}", produces = MediaType.APPLICATION_XML_VALUE)
@@ -86,7 +89,8 @@ public class OPDSCollectionController {
       final Principal principal,
       @PathVariable("type") final CollectionType collectionType,
       @PathVariable("name") final String name,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String collectionName = this.opdsUtils.urlDecodeString(name);
     final String email = principal.getName();
     log.info(
@@ -96,6 +100,6 @@ public class OPDSCollectionController {
         collectionName,
         unread);
     return this.opdsAcquisitionService.getEntriesForCollectionFeed(
-        email, collectionType, collectionName, unread);
+        email, collectionType, collectionName, unread, page);
   }
 }
@@ -19,25 +19,24 @@
 package org.comixedproject.opds.rest;
 
 import io.micrometer.core.annotation.Timed;
-import java.awt.image.BufferedImage;
 import java.io.*;
 import java.security.Principal;
-import javax.imageio.ImageIO;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.IOUtils;
-import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.encoders.WebResponseEncoder;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.opds.OPDSException;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.library.LastReadException;
 import org.comixedproject.service.library.LastReadService;
-import org.imgscalr.Scalr;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -56,7 +55,7 @@ public class OPDSComicBookController {
   @Autowired private ComicBookService comicBookService;
   @Autowired private LastReadService lastReadService;
   @Autowired private WebResponseEncoder webResponseEncoder;
-  @Autowired private ComicBookAdaptor comicBookAdaptor;
+  @Autowired private PageCacheService pageCacheService;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
 
   /**
@@ -93,7 +92,8 @@ public class OPDSComicBookController {
   }
 
   /**
-   * Loads a single page from a comic.
+   * Loads a single page from a comic. Pages wider than the maximum width are scaled down, and the
+   * scaled image is kept in the image cache for later requests.
    *
    * @param id the comic id
    * @param index the page index
@@ -103,7 +103,7 @@ public class OPDSComicBookController {
    */
   @GetMapping(value = "/opds/comics/{id}/pages/{index}/{maxWidth}")
   @Timed(value = "comixed.opds.comic-book.cover")
-  public ResponseEntity<byte[]> getPageByComicAndIndexWithMaxWidth(
+  public ResponseEntity<Resource> getPageByComicAndIndexWithMaxWidth(
       @PathVariable("id") long id,
       @PathVariable("index") int index,
       @PathVariable("maxWidth") int maxWidth)
@@ -111,40 +111,31 @@ public class OPDSComicBookController {
     try {
       log.trace("Getting page content");
       var comic = this.comicBookService.getComic(id);
-      byte[] content = null;
-      String filename = null;
       if (index >= comic.getPages().size()) {
         log.trace("Returning page placeholder");
-        content =
+        final byte[] content =
             IOUtils.toByteArray(this.getClass().getResourceAsStream("/images/pagemissing.png"));
-        filename = "missingpage.png";
-      } else {
-        log.trace("Loading comic book page content");
-        var page = comic.getPages().get(index);
-        content = this.comicBookAdaptor.loadPageContent(comic, index);
-
-        if (maxWidth > 0 && page.getWidth() > maxWidth) {
-          log.trace("Scaling page");
-          ByteArrayInputStream bais = new ByteArrayInputStream(content);
-          BufferedImage originalImage = ImageIO.read(bais);
-          BufferedImage resizedImage =
-              Scalr.resize(
-                  originalImage, Scalr.Method.ULTRA_QUALITY, Scalr.Mode.FIT_TO_WIDTH, maxWidth);
-          ByteArrayOutputStream baos = new ByteArrayOutputStream();
-          ImageIO.write(resizedImage, "jpg", baos);
-          baos.flush();
-          content = baos.toByteArray();
-
-          baos.close();
-        }
-        filename = page.getFilename();
+        final InputStream input = new ByteArrayInputStream(content);
+        String type = this.fileTypeAdaptor.getMimeTypeFor(input);
+        return this.webResponseEncoder.encode(
+            content.length,
+            new ByteArrayResource(content),
+            "missingpage.png",
+            MediaType.valueOf(type));
       }
 
-      final InputStream baos = new ByteArrayInputStream(content);
-      String type = this.fileTypeAdaptor.getMimeTypeFor(baos);
+      log.trace("Loading comic book page content");
+      var page = comic.getPages().get(index);
+      final PageImage image = this.pageCacheService.getScaledPageImage(page, maxWidth);
+      if (image == null) {
+        throw new OPDSException("Failed to load comic page: id=" + id + " index=" + index);
+      }
       return this.webResponseEncoder.encode(
-          content.length, content, filename, MediaType.valueOf(type));
-    } catch (ComicBookException | IOException | AdaptorException error) {
+          (int) image.getResource().contentLength(),
+          image.getResource(),
+          page.getFilename(),
+          MediaType.valueOf(image.getContentType()));
+    } catch (ComicBookException | IOException error) {
       throw new OPDSException("Failed to get comic page: id=" + id + " index=" + index, error);
     }
   }
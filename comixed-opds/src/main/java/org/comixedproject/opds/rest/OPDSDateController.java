@@ -53,6 +53,7 @@ public class OPDSDateController {
    *
    * @param principal the user principal
    * @param unread the unread flag
+   * @param page the page number
    * @return the years as navigation links
    */
   @GetMapping(value = "/opds/dates/released", produces = MediaType.APPLICATION_XML_VALUE)
@@ -61,10 +62,11 @@ public class OPDSDateController {
   @ResponseBody
   public OPDSNavigationFeed getYearsFeed(
       final Principal principal,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     log.info("Loading comic years: email={} unread={}", email, unread);
-    return this.opdsNavigationService.getYearsFeed(email, unread);
+    return this.opdsNavigationService.getYearsFeed(email, unread, page);
   }
 
   /**
@@ -73,6 +75,7 @@ public class OPDSDateController {
    * @param principal the user principal
    * @param year the year
    * @param unread the unread flag
+   * @param page the page number
    * @return the weeks as navigation links
    * @throws OPDSException if an error occurs
    */
@@ -85,11 +88,12 @@ public class OPDSDateController {
   public OPDSNavigationFeed getWeeksFeedForYear(
       final Principal principal,
       @PathVariable("year") @NonNull final Integer year,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread)
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page)
       throws OPDSException {
     final String email = principal.getName();
     log.info("Loading comics: year={} email={} unread={}", year, email, unread);
-    return this.opdsNavigationService.getWeeksFeedForYear(year, email, unread);
+    return this.opdsNavigationService.getWeeksFeedForYear(year, email, unread, page);
   }
 
   /**
@@ -99,6 +103,7 @@ public class OPDSDateController {
    * @param year the year
    * @param week the week
    * @param unread the unread flag
+   * @param page the page number
    * @return the comics as acquisition links
    */
   @GetMapping(
@@ -111,9 +116,10 @@ public class OPDSDateController {
       final Principal principal,
       @PathVariable("year") @NonNull final Integer year,
       @PathVariable("week") @NonNull final Integer week,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     log.info("Loading comics for year {} and week {} for {}", year, week, email);
-    return this.opdsAcquisitionService.getComicsFeedForYearAndWeek(email, year, week, unread);
+    return this.opdsAcquisitionService.getComicsFeedForYearAndWeek(email, year, week, unread, page);
   }
 }
@@ -34,6 +34,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -54,6 +55,7 @@ public class OPDSListsController {
    * Returns navigation links for the user's reading lists.
    *
    * @param principal the user principal
+   * @param page the page number
    * @return the reading list links
    * @throws OPDSException if an error occurs
    */
@@ -61,10 +63,12 @@ public class OPDSListsController {
   @PreAuthorize("hasRole('READER')")
   @Timed(value = "comixed.opds.reading-lists.get-all")
   @ResponseBody
-  public OPDSNavigationFeed loadReadingLists(final Principal principal) throws OPDSException {
+  public OPDSNavigationFeed loadReadingLists(
+      final Principal principal, @RequestParam(name = "page", defaultValue = "0") final int page)
+      throws OPDSException {
     final String email = principal.getName();
     log.info("Getting reading lists for user: {}", email);
-    return this.opdsNavigationService.getReadingListsFeed(email);
+    return this.opdsNavigationService.getReadingListsFeed(email, page);
   }
 
   /**
@@ -72,6 +76,7 @@ public class OPDSListsController {
    *
    * @param principal the user principal
    * @param id the reading list record id
+   * @param page the page number
    * @return the reading list links
    * @throws OPDSException if an error occurs
    */
@@ -80,9 +85,12 @@ public class OPDSListsController {
   @Timed(value = "comixed.opds.reading-lists.get-one")
   @ResponseBody
   public OPDSAcquisitionFeed loadReadingListEntries(
-      final Principal principal, @PathVariable("id") final Long id) throws OPDSException {
+      final Principal principal,
+      @PathVariable("id") final Long id,
+      @RequestParam(name = "page", defaultValue = "0") final int page)
+      throws OPDSException {
     final String email = principal.getName();
     log.info("Getting reading list for user: {} id={}", email, id);
-    return this.opdsAcquisitionService.getComicFeedForReadingList(email, id);
+    return this.opdsAcquisitionService.getComicFeedForReadingList(email, id, page);
   }
 }
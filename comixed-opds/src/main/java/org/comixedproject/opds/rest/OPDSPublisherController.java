@@ -50,6 +50,7 @@ public class OPDSPublisherController {
    *
    * @param principal the user principal
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   @GetMapping(value = "/opds/collections/publishers", produces = MediaType.APPLICATION_XML_VALUE)
@@ -57,10 +58,12 @@ public class OPDSPublisherController {
   @Timed(value = "comixed.opds.collections.publisher.get-root")
   @ResponseBody
   public OPDSNavigationFeed getRootFeedForPublishers(
-      final Principal principal, @RequestParam(name = "unread") final boolean unread) {
+      final Principal principal,
+      @RequestParam(name = "unread") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     log.info("Getting publisher root feed: email={} unread={}", email, unread);
-    return this.opdsNavigationService.getRootFeedForPublishers(email, unread);
+    return this.opdsNavigationService.getRootFeedForPublishers(email, unread, page);
   }
 
   /**
@@ -68,6 +71,7 @@ public class OPDSPublisherController {
    *
    * @param publisher the publisher name
    * @param unread the unread flag
+   * @param page the page number
    * @return the feed
    */
   @GetMapping(
@@ -79,7 +83,8 @@ public class OPDSPublisherController {
   OPDSNavigationFeed getSeriesFeedForPublisher(
       final Principal principal,
       @PathVariable("publisher") @NonNull final String publisher,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String publisherName = this.opdsUtils.urlDecodeString(publisher);
     final String email = principal.getName();
     log.info(
@@ -87,7 +92,7 @@ public class OPDSPublisherController {
         publisherName,
         email,
         unread);
-    return this.opdsNavigationService.getSeriesFeedForPublisher(publisherName, email, unread);
+    return this.opdsNavigationService.getSeriesFeedForPublisher(publisherName, email, unread, page);
   }
 
   /**
@@ -96,6 +101,7 @@ public class OPDSPublisherController {
    * @param publisher the publisher name
    * @param series the series name
    * @param unread the unread flag
+   * @param page the page number
    * @return the feed
    */
   @GetMapping(
@@ -108,7 +114,8 @@ public class OPDSPublisherController {
       final Principal principal,
       @PathVariable("publisher") @NonNull final String publisher,
       @PathVariable("series") @NonNull final String series,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String publisherName = this.opdsUtils.urlDecodeString(publisher);
     final String seriesName = this.opdsUtils.urlDecodeString(series);
     final String email = principal.getName();
@@ -119,7 +126,7 @@ public class OPDSPublisherController {
         email,
         unread);
     return this.opdsNavigationService.getVolumeFeedForPublisherAndSeries(
-        publisherName, seriesName, email, unread);
+        publisherName, seriesName, email, unread, page);
   }
 
   /**
@@ -130,6 +137,7 @@ public class OPDSPublisherController {
    * @param publisher the publisher name
    * @param series the series name
    * @param volume the volume
+   * @param page the page number
    * @return the feed
    */
   @GetMapping(
@@ -143,7 +151,8 @@ public class OPDSPublisherController {
       @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
       @PathVariable("publisher") @NonNull final String publisher,
       @PathVariable("series") @NonNull final String series,
-      @PathVariable("volume") @NonNull final String volume) {
+      @PathVariable("volume") @NonNull final String volume,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     final String publisherName = this.opdsUtils.urlDecodeString(publisher);
     final String seriesName = this.opdsUtils.urlDecodeString(series);
@@ -155,6 +164,6 @@ public class OPDSPublisherController {
         seriesName,
         volumeName);
     return this.opdsAcquisitionService.getComicFeedsForPublisherAndSeriesAndVolume(
-        publisherName, seriesName, volumeName, email, unread);
+        publisherName, seriesName, volumeName, email, unread, page);
   }
 }
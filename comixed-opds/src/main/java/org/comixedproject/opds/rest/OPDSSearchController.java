@@ -53,9 +53,11 @@ public class OPDSSearchController {
 
   @GetMapping(value = "/opds/search", produces = MediaType.APPLICATION_XML_VALUE)
   @PreAuthorize("hasRole('READER')")
-  public OPDSAcquisitionFeed search(final @RequestParam("terms") String searchTerms) {
+  public OPDSAcquisitionFeed search(
+      final @RequestParam("terms") String searchTerms,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     log.info("Searching for {}", searchTerms);
     return this.opdsAcquisitionService.getComicsFeedForSearchTerms(
-        this.opdsUtils.urlDecodeString(searchTerms));
+        this.opdsUtils.urlDecodeString(searchTerms), page);
   }
 }
@@ -49,6 +49,7 @@ public class OPDSSeriesController {
    *
    * @param principal the user principal
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   @GetMapping(value = "/opds/collections/series", produces = MediaType.APPLICATION_XML_VALUE)
@@ -56,10 +57,12 @@ public class OPDSSeriesController {
   @Timed(value = "comixed.opds.collections.series.get-root")
   @ResponseBody
   public OPDSNavigationFeed getRootFeedForSeries(
-      final Principal principal, @RequestParam(name = "unread") final boolean unread) {
+      final Principal principal,
+      @RequestParam(name = "unread") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String email = principal.getName();
     log.info("Getting series root feed: email={} unread={}", email, unread);
-    return this.opdsNavigationService.getRootFeedForSeries(email, unread);
+    return this.opdsNavigationService.getRootFeedForSeries(email, unread, page);
   }
 
   /**
@@ -68,6 +71,7 @@ public class OPDSSeriesController {
    * @param principal the user principal
    * @param name the series name
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   @GetMapping(value = "/opds/collections/series/{name}", produces = MediaType.APPLICATION_XML_VALUE)
@@ -77,10 +81,11 @@ public class OPDSSeriesController {
   public OPDSNavigationFeed getPublishersFeedForSeries(
       final Principal principal,
       @PathVariable("name") @NonNull final String name,
-      @RequestParam(name = "unread", defaultValue = "false") final boolean unread) {
+      @RequestParam(name = "unread", defaultValue = "false") final boolean unread,
+      @RequestParam(name = "page", defaultValue = "0") final int page) {
     final String seriesName = this.opdsUtils.urlDecodeString(name);
     final String email = principal.getName();
     log.info("Getting volumes feed: series={} email={} unread={}", seriesName, email, unread);
-    return this.opdsNavigationService.getPublishersFeedForSeries(seriesName, email, unread);
+    return this.opdsNavigationService.getPublishersFeedForSeries(seriesName, email, unread, page);
   }
 }
@@ -18,9 +18,12 @@
 
 package org.comixedproject.opds.service;
 
+import static org.comixedproject.opds.model.OPDSAcquisitionFeed.ACQUISITION_FEED_LINK_TYPE;
 import static org.comixedproject.opds.model.OPDSNavigationFeed.NAVIGATION_FEED_LINK_TYPE;
 import static org.comixedproject.opds.service.OPDSNavigationService.*;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -53,6 +56,7 @@ public class OPDSAcquisitionService {
   @Autowired private ComicDetailService comicDetailService;
   @Autowired private ReadingListService readingListService;
   @Autowired private OPDSUtils opdsUtils;
+  @Autowired private OPDSFeedCacheService opdsFeedCacheService;
 
   private SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM dd yyyy");
 
@@ -64,6 +68,7 @@ public class OPDSAcquisitionService {
    * @param collectionType the collection type
    * @param collectionName the collection name
    * @param unread the unread flag
+   * @param page the page number
    * @return the feed
    */
   @Transactional
@@ -71,26 +76,45 @@ public class OPDSAcquisitionService {
       final String email,
       final CollectionType collectionType,
       final String collectionName,
-      final boolean unread) {
-
-    return this.createCollectionEntriesFeed(
-        new OPDSAcquisitionFeed(
-            String.format(
-                String.format(
-                    "%s: %s", collectionType.getOpdsNavigationFeedTitle(), collectionName),
-                collectionName),
-            String.valueOf(collectionType.getOpdsIdKey())),
-        this.comicDetailService.getAllComicsForTag(
-            collectionType.getComicTagType(), collectionName, email, unread));
+      final boolean unread,
+      final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format(
+            "collection-entries:%s:%s:%s:%d", collectionType, collectionName, unread, page),
+        () ->
+            this.createCollectionEntriesFeed(
+                new OPDSAcquisitionFeed(
+                    String.format(
+                        String.format(
+                            "%s: %s", collectionType.getOpdsNavigationFeedTitle(), collectionName),
+                        collectionName),
+                    String.valueOf(collectionType.getOpdsIdKey())),
+                collectionType,
+                this.opdsFeedCacheService.getEntries(
+                    email,
+                    String.format(
+                        "collection-entries:%s:%s:%s", collectionType, collectionName, unread),
+                    () ->
+                        this.comicDetailService.getAllComicsForTag(
+                            collectionType.getComicTagType(), collectionName, email, unread)),
+                unread,
+                page));
   }
 
   private OPDSAcquisitionFeed createCollectionEntriesFeed(
-      final OPDSAcquisitionFeed feed, final List<ComicDetail> entries) {
-    entries.forEach(
-        comic -> {
-          log.trace("Adding comic to collection entries: {}", comic.getId());
-          feed.getEntries().add(this.opdsUtils.createComicEntry(comic));
-        });
+      final OPDSAcquisitionFeed feed,
+      final CollectionType collectionType,
+      final List<ComicDetail> entries,
+      final boolean unread,
+      final int page) {
+    this.opdsUtils
+        .getPageOfEntries(entries, page)
+        .forEach(
+            comic -> {
+              log.trace("Adding comic to collection entries: {}", comic.getId());
+              feed.getEntries().add(this.opdsUtils.createComicEntry(comic));
+            });
     String type = feed.getTitle().split(": ")[0];
     String name = this.opdsUtils.urlEncodeString(feed.getTitle().split(": ")[1]);
     feed.getLinks()
@@ -99,6 +123,13 @@ public class OPDSAcquisitionService {
                 NAVIGATION_FEED_LINK_TYPE,
                 SELF,
                 String.format("/opds/collections/%s/%s", type, name)));
+    this.opdsUtils.addPaginationLinks(
+        feed,
+        ACQUISITION_FEED_LINK_TYPE,
+        String.format(
+            "/opds/collections/%s/%s?unread=%s", collectionType.getOpdsPathValue(), name, unread),
+        page,
+        entries.size());
     return feed;
   }
 
@@ -111,6 +142,7 @@ public class OPDSAcquisitionService {
    * @param volume the volume
    * @param email the reader's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the acquisition feed
    */
   @Transactional
@@ -119,7 +151,23 @@ public class OPDSAcquisitionService {
       final String series,
       final String volume,
       final String email,
-      final boolean unread) {
+      final boolean unread,
+      final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("volume-entries:%s:%s:%s:%s:%d", publisher, series, volume, unread, page),
+        () ->
+            this.doGetComicFeedsForPublisherAndSeriesAndVolume(
+                publisher, series, volume, email, unread, page));
+  }
+
+  private OPDSAcquisitionFeed doGetComicFeedsForPublisherAndSeriesAndVolume(
+      final String publisher,
+      final String series,
+      final String volume,
+      final String email,
+      final boolean unread,
+      final int page) {
     log.debug(
         "Getting comic feed for publisher={} series={} volume={} for {} [unread={}]",
         publisher,
@@ -133,25 +181,30 @@ public class OPDSAcquisitionService {
             String.valueOf(
                 this.opdsUtils.createIdForEntry(
                     "PUBLISHER:SERIES:VOLUME", publisher + ":" + series + ":" + volume)));
-    this.comicDetailService
-        .getAllComicBooksForPublisherAndSeriesAndVolume(publisher, series, volume, email, unread)
+    final List<ComicDetail> comicDetails =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("volume-entries:%s:%s:%s:%s", publisher, series, volume, unread),
+            () ->
+                this.comicDetailService.getAllComicBooksForPublisherAndSeriesAndVolume(
+                    publisher, series, volume, email, unread));
+    this.opdsUtils
+        .getPageOfEntries(comicDetails, page)
         .forEach(
             comicBook -> {
               log.trace("Adding comic book to feed");
               result.getEntries().add(this.opdsUtils.createComicEntry(comicBook));
             });
-    result
-        .getLinks()
-        .add(
-            new OPDSLink(
-                NAVIGATION_FEED_LINK_TYPE,
-                SELF,
-                String.format(
-                    "/opds/collections/publishers/%s/series/%s/volumes/%s?unread=%s",
-                    this.opdsUtils.urlEncodeString(publisher),
-                    this.opdsUtils.urlEncodeString(series),
-                    this.opdsUtils.urlEncodeString(volume),
-                    String.valueOf(unread))));
+    final String url =
+        String.format(
+            "/opds/collections/publishers/%s/series/%s/volumes/%s?unread=%s",
+            this.opdsUtils.urlEncodeString(publisher),
+            this.opdsUtils.urlEncodeString(series),
+            this.opdsUtils.urlEncodeString(volume),
+            String.valueOf(unread));
+    result.getLinks().add(new OPDSLink(NAVIGATION_FEED_LINK_TYPE, SELF, url));
+    this.opdsUtils.addPaginationLinks(
+        result, ACQUISITION_FEED_LINK_TYPE, url, page, comicDetails.size());
     return result;
   }
 
@@ -160,13 +213,26 @@ public class OPDSAcquisitionService {
    *
    * @param email the reader's email
    * @param id the reading list id
+   * @param page the page number
    * @return the acquisition feed
    * @throws OPDSException if an error occurs loading the reading list or its entries
    */
-  public OPDSAcquisitionFeed getComicFeedForReadingList(final String email, final long id)
-      throws OPDSException {
+  public OPDSAcquisitionFeed getComicFeedForReadingList(
+      final String email, final long id, final int page) throws OPDSException {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("reading-list-entries:%d:%d", id, page),
+        () -> this.doGetComicFeedForReadingList(email, id, page));
+  }
+
+  private OPDSAcquisitionFeed doGetComicFeedForReadingList(
+      final String email, final long id, final int page) throws OPDSException {
     try {
-      final ReadingList list = this.readingListService.loadReadingListForUser(email, id);
+      final ReadingList list =
+          this.opdsFeedCacheService.getFeed(
+              email,
+              String.format("reading-list:%d", id),
+              () -> this.readingListService.loadReadingListForUser(email, id));
       final OPDSAcquisitionFeed response =
           new OPDSAcquisitionFeed(
               String.format("Reading List: %s (%d)", list.getName(), list.getEntries().size()),
@@ -174,12 +240,19 @@ public class OPDSAcquisitionService {
       response
           .getLinks()
           .add(new OPDSLink(NAVIGATION_FEED_LINK_TYPE, SELF, String.format("/opds/lists/%d", id)));
-      list.getEntries().stream()
+      this.opdsUtils
+          .getPageOfEntries(list.getEntries(), page)
           .forEach(
               comic -> {
                 log.trace("Adding comic to reading list entries: {}", comic.getId());
                 response.getEntries().add(this.opdsUtils.createComicEntry(comic));
               });
+      this.opdsUtils.addPaginationLinks(
+          response,
+          ACQUISITION_FEED_LINK_TYPE,
+          String.format("/opds/lists/%d", id),
+          page,
+          list.getEntries().size());
 
       return response;
     } catch (ReadingListException error) {
@@ -195,11 +268,20 @@ public class OPDSAcquisitionService {
    * @param year the target year
    * @param week the target week
    * @param unread the unread flag
+   * @param page the page number
    * @return the acquisition feed
    */
   @Transactional
   public OPDSAcquisitionFeed getComicsFeedForYearAndWeek(
-      final String email, final int year, final int week, final boolean unread) {
+      final String email, final int year, final int week, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("week-entries:%d:%d:%s:%d", year, week, unread, page),
+        () -> this.doGetComicsFeedForYearAndWeek(email, year, week, unread, page));
+  }
+
+  private OPDSAcquisitionFeed doGetComicsFeedForYearAndWeek(
+      final String email, final int year, final int week, final boolean unread, final int page) {
     final Date weekStarts = this.getDateFor(year, week, Calendar.SUNDAY);
     final Date weekEnds = this.getDateFor(year, week, Calendar.SATURDAY);
 
@@ -210,20 +292,23 @@ public class OPDSAcquisitionService {
                 simpleDateFormat.format(weekStarts), simpleDateFormat.format(weekEnds)),
             String.valueOf(COMIC_STORE_DATE_FOR_YEAR_ID + year));
     log.trace("Loading comics");
-    this.comicDetailService.getComicsForYearAndWeek(year, week, email, unread).stream()
+    final List<ComicDetail> comicDetails =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("week-entries:%d:%d:%s", year, week, unread),
+            () -> this.comicDetailService.getComicsForYearAndWeek(year, week, email, unread));
+    this.opdsUtils
+        .getPageOfEntries(comicDetails, page)
         .forEach(
             comicBook -> {
               log.trace("Adding comic to collection entries: {}", comicBook.getId());
               response.getEntries().add(this.opdsUtils.createComicEntry(comicBook));
             });
-    response
-        .getLinks()
-        .add(
-            new OPDSLink(
-                NAVIGATION_FEED_LINK_TYPE,
-                SELF,
-                String.format(
-                    "/opds/dates/released/years/%d/weeks/%d?unread=%s", year, week, unread)));
+    final String url =
+        String.format("/opds/dates/released/years/%d/weeks/%d?unread=%s", year, week, unread);
+    response.getLinks().add(new OPDSLink(NAVIGATION_FEED_LINK_TYPE, SELF, url));
+    this.opdsUtils.addPaginationLinks(
+        response, ACQUISITION_FEED_LINK_TYPE, url, page, comicDetails.size());
     return response;
   }
 
@@ -239,23 +324,37 @@ public class OPDSAcquisitionService {
    * Returns a feed contain those comics that match the provided search term.
    *
    * @param term the term
+   * @param page the page number
    * @return the feeds
    */
-  public OPDSAcquisitionFeed getComicsFeedForSearchTerms(final String term) {
+  public OPDSAcquisitionFeed getComicsFeedForSearchTerms(final String term, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        null,
+        String.format("search:%s:%d", term, page),
+        () -> this.doGetComicsFeedForSearchTerms(term, page));
+  }
+
+  private OPDSAcquisitionFeed doGetComicsFeedForSearchTerms(final String term, final int page) {
     final OPDSAcquisitionFeed response =
         new OPDSAcquisitionFeed(String.format("Search for term: %s", term), term);
     log.trace("Loading comics");
-    this.comicDetailService.getComicForSearchTerm(term).stream()
+    final List<ComicDetail> comicDetails =
+        this.opdsFeedCacheService.getEntries(
+            null,
+            String.format("search:%s", term),
+            () -> this.comicDetailService.getComicForSearchTerm(term));
+    this.opdsUtils
+        .getPageOfEntries(comicDetails, page)
         .forEach(
             comicDetail -> {
               log.trace("Adding comic to collection entries: {}", comicDetail.getId());
               response.getEntries().add(this.opdsUtils.createComicEntry(comicDetail));
             });
-    response
-        .getLinks()
-        .add(
-            new OPDSLink(
-                NAVIGATION_FEED_LINK_TYPE, SELF, String.format("/opds/search?terms=%s", term)));
+    final String url =
+        String.format("/opds/search?terms=%s", URLEncoder.encode(term, StandardCharsets.UTF_8));
+    response.getLinks().add(new OPDSLink(NAVIGATION_FEED_LINK_TYPE, SELF, url));
+    this.opdsUtils.addPaginationLinks(
+        response, ACQUISITION_FEED_LINK_TYPE, url, page, comicDetails.size());
     return response;
   }
 }
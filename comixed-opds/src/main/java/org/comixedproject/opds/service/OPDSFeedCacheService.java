@@ -0,0 +1,185 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.opds.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.comixedproject.model.lists.ReadingListState;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChange;
+import org.comixedproject.state.comicbooks.ComicStateChangeListener;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
+import org.comixedproject.state.lists.ReadingListEvent;
+import org.comixedproject.state.lists.ReadingListStateChangeListener;
+import org.comixedproject.state.lists.ReadingListStateHandler;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
+import org.springframework.stereotype.Service;
+
+/**
+ * <code>OPDSFeedCacheService</code> keeps recently generated OPDS feeds for each user, so that
+ * readers paging back and forth through a feed do not cause it to be generated again. The complete
+ * list of entries behind a paged feed is cached as well, so that each page is sliced from one load.
+ * The cache is cleared whenever a comic or a reading list changes, and entries expire after a fixed
+ * time.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class OPDSFeedCacheService
+    implements InitializingBean, ComicStateChangeListener, ReadingListStateChangeListener {
+  static final String SHARED_FEED_OWNER = "*";
+  static final String ENTRIES_KEY_PREFIX = "entries:";
+
+  @Autowired private ComicStateHandler comicStateHandler;
+  @Autowired private ReadingListStateHandler readingListStateHandler;
+
+  @Value("${comixed.opds.feed-cache.maximum-entries:256}")
+  int maximumEntries;
+
+  @Value("${comixed.opds.feed-cache.time-to-live:300000}")
+  long timeToLive;
+
+  private final Map<String, CachedFeed> feeds = new LinkedHashMap<>(16, 0.75f, true);
+
+  @Override
+  public void afterPropertiesSet() {
+    log.trace("Subscribing to comic and reading list state changes");
+    this.comicStateHandler.addListener(this);
+    this.readingListStateHandler.addListener(this);
+  }
+
+  /**
+   * Returns a cached feed, generating and caching it if it is not cached or has expired.
+   *
+   * @param email the user's email, or <code>null</code> if the feed is the same for all users
+   * @param key the key identifying the feed and page
+   * @param loader generates the feed
+   * @param <F> the feed type
+   * @param <E> the exception type
+   * @return the feed
+   * @throws E if an error occurs generating the feed
+   */
+  public <F, E extends Exception> F getFeed(
+      final String email, final String key, final OPDSFeedLoader<F, E> loader) throws E {
+    final String cacheKey =
+        String.format("%s:%s", Objects.requireNonNullElse(email, SHARED_FEED_OWNER), key);
+    final Object cached = this.doGetFeed(cacheKey);
+    if (cached != null) {
+      log.trace("Returning cached feed: {}", cacheKey);
+      // each key is only ever loaded by one loader, so the cached value has the loader's type
+      @SuppressWarnings("unchecked")
+      final F result = (F) cached;
+      return result;
+    }
+    log.debug("Generating feed: {}", cacheKey);
+    final F result = loader.load();
+    this.doPutFeed(cacheKey, result);
+    return result;
+  }
+
+  /**
+   * Returns all entries for a paged feed, loading and caching them if they are not cached or have
+   * expired.
+   *
+   * @param email the user's email, or <code>null</code> if the entries are the same for all users
+   * @param key the key identifying the feed, without the page
+   * @param loader loads the entries
+   * @param <T> the entry type
+   * @param <E> the exception type
+   * @return the entries
+   * @throws E if an error occurs loading the entries
+   */
+  public <T, E extends Exception> List<T> getEntries(
+      final String email, final String key, final OPDSFeedLoader<List<T>, E> loader) throws E {
+    return this.getFeed(email, ENTRIES_KEY_PREFIX + key, loader);
+  }
+
+  /**
+   * Returns the number of cached feeds.
+   *
+   * @return the count
+   */
+  public synchronized int getCount() {
+    return this.feeds.size();
+  }
+
+  /** Removes all cached feeds. */
+  public synchronized void clear() {
+    if (!this.feeds.isEmpty()) {
+      log.debug("Clearing {} cached feed(s)", this.feeds.size());
+      this.feeds.clear();
+    }
+  }
+
+  @Override
+  public void onComicStateChange(
+      final State<ComicState, ComicEvent> state, final Message<ComicEvent> message) {
+    this.clear();
+  }
+
+  @Override
+  public void onComicStateChanges(final List<ComicStateChange> changes) {
+    this.clear();
+  }
+
+  @Override
+  public void onReadingListStateChange(
+      final State<ReadingListState, ReadingListEvent> state,
+      final Message<ReadingListEvent> message) {
+    this.clear();
+  }
+
+  private synchronized Object doGetFeed(final String key) {
+    final CachedFeed cached = this.feeds.get(key);
+    if (cached == null) return null;
+    if (System.currentTimeMillis() - cached.created > this.timeToLive) {
+      log.trace("Cached feed expired: {}", key);
+      this.feeds.remove(key);
+      return null;
+    }
+    return cached.feed;
+  }
+
+  private synchronized void doPutFeed(final String key, final Object feed) {
+    if (this.maximumEntries <= 0) return;
+    this.feeds.put(key, new CachedFeed(feed, System.currentTimeMillis()));
+    final Iterator<CachedFeed> iterator = this.feeds.values().iterator();
+    while (this.feeds.size() > this.maximumEntries && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  @AllArgsConstructor
+  private static class CachedFeed {
+    private final Object feed;
+    private final long created;
+  }
+}
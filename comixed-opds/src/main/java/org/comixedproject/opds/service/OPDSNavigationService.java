@@ -22,7 +22,10 @@ import static org.comixedproject.opds.model.OPDSAcquisitionFeed.ACQUISITION_FEED
 import static org.comixedproject.opds.model.OPDSNavigationFeed.NAVIGATION_FEED_LINK_TYPE;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
@@ -73,6 +76,7 @@ public class OPDSNavigationService {
   @Autowired private ComicDetailService comicDetailService;
   @Autowired private ReadingListService readingListService;
   @Autowired private OPDSUtils opdsUtils;
+  @Autowired private OPDSFeedCacheService opdsFeedCacheService;
 
   private SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MMM dd yyyy");
 
@@ -211,13 +215,28 @@ public class OPDSNavigationService {
    *
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
-  public OPDSNavigationFeed getRootFeedForPublishers(final String email, final boolean unread) {
+  public OPDSNavigationFeed getRootFeedForPublishers(
+      final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("publishers:%s:%d", unread, page),
+        () -> this.doGetRootFeedForPublishers(email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetRootFeedForPublishers(
+      final String email, final boolean unread, final int page) {
     log.trace("Getting root feed for publishers");
     final OPDSNavigationFeed feed =
         new OPDSNavigationFeed("Publishers", String.valueOf(PUBLISHERS_ID));
-    this.comicDetailService.getAllPublishers(email, unread).stream()
+    final List<String> publishers =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("publishers:%s", unread),
+            () -> this.doSortEntries(this.comicDetailService.getAllPublishers(email, unread)));
+    this.opdsUtils.getPageOfEntries(publishers, page).stream()
         .map(
             publisher ->
                 new CollectionFeedEntry(
@@ -242,6 +261,12 @@ public class OPDSNavigationService {
                               String.valueOf(unread))));
               feed.getEntries().add(feedEntry);
             });
+    this.opdsUtils.addPaginationLinks(
+        feed,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format("/opds/collections/publishers?unread=%s", unread),
+        page,
+        publishers.size());
     return feed;
   }
 
@@ -252,14 +277,30 @@ public class OPDSNavigationService {
    * @param publisher the publisher @Param email the user's email
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   public OPDSNavigationFeed getSeriesFeedForPublisher(
-      final String publisher, final String email, final boolean unread) {
+      final String publisher, final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("publisher:%s:%s:%d", publisher, unread, page),
+        () -> this.doGetSeriesFeedForPublisher(publisher, email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetSeriesFeedForPublisher(
+      final String publisher, final String email, final boolean unread, final int page) {
     OPDSNavigationFeed result =
         new OPDSNavigationFeed(
             String.format("Publisher: %s", publisher), String.valueOf(PUBLISHERS_ID));
-    this.comicDetailService.getAllSeriesForPublisher(publisher, email, unread).stream()
+    final List<String> seriesList =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("publisher:%s:%s", publisher, unread),
+            () ->
+                this.doSortEntries(
+                    this.comicDetailService.getAllSeriesForPublisher(publisher, email, unread)));
+    this.opdsUtils.getPageOfEntries(seriesList, page).stream()
         .forEach(
             series -> {
               final OPDSNavigationFeedEntry feedEntry =
@@ -278,6 +319,14 @@ public class OPDSNavigationService {
                               String.valueOf(unread))));
               result.getEntries().add(feedEntry);
             });
+    this.opdsUtils.addPaginationLinks(
+        result,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format(
+            "/opds/collections/publishers/%s?unread=%s",
+            this.opdsUtils.urlEncodeString(publisher), unread),
+        page,
+        seriesList.size());
     return result;
   }
 
@@ -289,15 +338,38 @@ public class OPDSNavigationService {
    * @param series the series @Param email the user's email
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   public OPDSNavigationFeed getVolumeFeedForPublisherAndSeries(
-      final String publisher, final String series, final String email, final boolean unread) {
+      final String publisher,
+      final String series,
+      final String email,
+      final boolean unread,
+      final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("volumes:%s:%s:%s:%d", publisher, series, unread, page),
+        () -> this.doGetVolumeFeedForPublisherAndSeries(publisher, series, email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetVolumeFeedForPublisherAndSeries(
+      final String publisher,
+      final String series,
+      final String email,
+      final boolean unread,
+      final int page) {
     OPDSNavigationFeed result =
         new OPDSNavigationFeed(String.format("Series: %s", series), String.valueOf(SERIES_ID));
-    this.comicDetailService
-        .getAllVolumesForPublisherAndSeries(publisher, series, email, unread)
-        .stream()
+    final List<String> volumes =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("volumes:%s:%s:%s", publisher, series, unread),
+            () ->
+                this.doSortEntries(
+                    this.comicDetailService.getAllVolumesForPublisherAndSeries(
+                        publisher, series, email, unread)));
+    this.opdsUtils.getPageOfEntries(volumes, page).stream()
         .forEach(
             volume -> {
               final OPDSNavigationFeedEntry feedEntry =
@@ -319,6 +391,16 @@ public class OPDSNavigationService {
                               String.valueOf(unread))));
               result.getEntries().add(feedEntry);
             });
+    this.opdsUtils.addPaginationLinks(
+        result,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format(
+            "/opds/collections/publishers/%s/series/%s?unread=%s",
+            this.opdsUtils.urlEncodeString(publisher),
+            this.opdsUtils.urlEncodeString(series),
+            unread),
+        page,
+        volumes.size());
     return result;
   }
 
@@ -328,12 +410,27 @@ public class OPDSNavigationService {
    *
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
-  public OPDSNavigationFeed getRootFeedForSeries(final String email, final boolean unread) {
+  public OPDSNavigationFeed getRootFeedForSeries(
+      final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("series:%s:%d", unread, page),
+        () -> this.doGetRootFeedForSeries(email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetRootFeedForSeries(
+      final String email, final boolean unread, final int page) {
     log.trace("Loading root feed for series");
     final OPDSNavigationFeed feed = new OPDSNavigationFeed("Series", String.valueOf(SERIES_ID));
-    this.comicDetailService.getAllSeries(email, unread).stream()
+    final List<String> seriesList =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("series:%s", unread),
+            () -> this.doSortEntries(this.comicDetailService.getAllSeries(email, unread)));
+    this.opdsUtils.getPageOfEntries(seriesList, page).stream()
         .map(
             series ->
                 new CollectionFeedEntry(series, this.opdsUtils.createIdForEntry("SERIES", series)))
@@ -365,6 +462,12 @@ public class OPDSNavigationService {
                 NAVIGATION_FEED_LINK_TYPE,
                 SELF,
                 String.format("/opds/library?unread=%s", String.valueOf(unread))));
+    this.opdsUtils.addPaginationLinks(
+        feed,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format("/opds/collections/series?unread=%s", unread),
+        page,
+        seriesList.size());
     return feed;
   }
 
@@ -375,14 +478,30 @@ public class OPDSNavigationService {
    * @param name the series name
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   public OPDSNavigationFeed getPublishersFeedForSeries(
-      final String name, final String email, final boolean unread) {
+      final String name, final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("series-publishers:%s:%s:%d", name, unread, page),
+        () -> this.doGetPublishersFeedForSeries(name, email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetPublishersFeedForSeries(
+      final String name, final String email, final boolean unread, final int page) {
     log.trace("Loading volumes feed for series: {}", name);
     OPDSNavigationFeed result =
         new OPDSNavigationFeed(String.format("Series: %s", name), String.valueOf(SERIES_ID));
-    this.comicDetailService.getAllPublishersForSeries(name, email, unread).stream()
+    final List<String> publishers =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("series-publishers:%s:%s", name, unread),
+            () ->
+                this.doSortEntries(
+                    this.comicDetailService.getAllPublishersForSeries(name, email, unread)));
+    this.opdsUtils.getPageOfEntries(publishers, page).stream()
         .forEach(
             publisher -> {
               final OPDSNavigationFeedEntry feedEntry =
@@ -404,6 +523,13 @@ public class OPDSNavigationService {
                               String.valueOf(unread))));
               result.getEntries().add(feedEntry);
             });
+    this.opdsUtils.addPaginationLinks(
+        result,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format(
+            "/opds/collections/series/%s?unread=%s", this.opdsUtils.urlEncodeString(name), unread),
+        page,
+        publishers.size());
     return result;
   }
 
@@ -414,60 +540,106 @@ public class OPDSNavigationService {
    * @param collectionType the collection type
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   public OPDSNavigationFeed getCollectionFeed(
-      @NonNull final CollectionType collectionType, final String email, final boolean unread) {
+      @NonNull final CollectionType collectionType,
+      final String email,
+      final boolean unread,
+      final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("collection:%s:%s:%d", collectionType, unread, page),
+        () -> this.doGetCollectionFeed(collectionType, email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetCollectionFeed(
+      final CollectionType collectionType,
+      final String email,
+      final boolean unread,
+      final int page) {
     log.info("Fetching the feed root for a collection: {}", collectionType);
 
-    return createCollectionFeed(
-        collectionType,
-        new OPDSNavigationFeed("Characters", String.valueOf(collectionType.getOpdsIdValue())),
-        collectionType.getOpdsIdKey(),
-        this.comicDetailService
-            .getAllValuesForTag(collectionType.getComicTagType(), email, unread)
-            .stream()
-            .map(
-                value ->
-                    new CollectionFeedEntry(
-                        value,
-                        this.opdsUtils.createIdForEntry(
-                            collectionType.getComicTagType(),
-                            this.opdsUtils.urlEncodeString(value))))
-            .collect(Collectors.toUnmodifiableList()),
-        unread);
+    final List<String> values =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("collection:%s:%s", collectionType, unread),
+            () ->
+                this.doSortEntries(
+                    this.comicDetailService.getAllValuesForTag(
+                        collectionType.getComicTagType(), email, unread)));
+    final OPDSNavigationFeed feed =
+        createCollectionFeed(
+            collectionType,
+            new OPDSNavigationFeed("Characters", String.valueOf(collectionType.getOpdsIdValue())),
+            collectionType.getOpdsIdKey(),
+            this.opdsUtils.getPageOfEntries(values, page).stream()
+                .map(
+                    value ->
+                        new CollectionFeedEntry(
+                            value,
+                            this.opdsUtils.createIdForEntry(
+                                collectionType.getComicTagType(),
+                                this.opdsUtils.urlEncodeString(value))))
+                .collect(Collectors.toUnmodifiableList()),
+            unread);
+    this.opdsUtils.addPaginationLinks(
+        feed,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format("/opds/collections/%s?unread=%s", collectionType.getOpdsPathValue(), unread),
+        page,
+        values.size());
+    return feed;
   }
 
   /**
    * Retrieves the navigation feed for the given user's reading lists.
    *
    * @param email the user's email
+   * @param page the page number
    * @return the navigation feed
    * @throws OPDSException if there was an error loading the reading lists
    */
-  public OPDSNavigationFeed getReadingListsFeed(@NonNull final String email) throws OPDSException {
+  public OPDSNavigationFeed getReadingListsFeed(@NonNull final String email, final int page)
+      throws OPDSException {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("reading-lists:%d", page),
+        () -> this.doGetReadingListsFeed(email, page));
+  }
+
+  private OPDSNavigationFeed doGetReadingListsFeed(final String email, final int page)
+      throws OPDSException {
     try {
-      final List<ReadingList> lists = this.readingListService.loadReadingListsForUser(email);
+      final List<ReadingList> lists =
+          this.opdsFeedCacheService.getEntries(
+              email, "reading-lists", () -> this.readingListService.loadReadingListsForUser(email));
       final OPDSNavigationFeed response = new OPDSNavigationFeed("Reading lists", READING_LISTS_ID);
       response.getLinks().add(new OPDSLink(NAVIGATION_FEED_LINK_TYPE, SELF, "/opds/lists"));
-      lists.forEach(
-          readingList -> {
-            log.trace("Adding reading list: {}", readingList.getName());
-            final OPDSNavigationFeedEntry entry =
-                new OPDSNavigationFeedEntry(
-                    String.format(
-                        "%s (%d comics)", readingList.getName(), readingList.getEntries().size()),
-                    String.valueOf(READING_LIST_FACTOR_ID + readingList.getId()));
-            entry.setContent(new OPDSNavigationFeedContent(readingList.getSummary()));
-            entry
-                .getLinks()
-                .add(
-                    new OPDSLink(
-                        ACQUISITION_FEED_LINK_TYPE,
-                        SUBSECTION,
-                        String.format("/opds/lists/%d", readingList.getId())));
-            response.getEntries().add(entry);
-          });
+      this.opdsUtils
+          .getPageOfEntries(lists, page)
+          .forEach(
+              readingList -> {
+                log.trace("Adding reading list: {}", readingList.getName());
+                final OPDSNavigationFeedEntry entry =
+                    new OPDSNavigationFeedEntry(
+                        String.format(
+                            "%s (%d comics)",
+                            readingList.getName(), readingList.getEntries().size()),
+                        String.valueOf(READING_LIST_FACTOR_ID + readingList.getId()));
+                entry.setContent(new OPDSNavigationFeedContent(readingList.getSummary()));
+                entry
+                    .getLinks()
+                    .add(
+                        new OPDSLink(
+                            ACQUISITION_FEED_LINK_TYPE,
+                            SUBSECTION,
+                            String.format("/opds/lists/%d", readingList.getId())));
+                response.getEntries().add(entry);
+              });
+      this.opdsUtils.addPaginationLinks(
+          response, NAVIGATION_FEED_LINK_TYPE, "/opds/lists", page, lists.size());
       return response;
     } catch (ReadingListException error) {
       throw new OPDSException("failed to load reading lists for user", error);
@@ -480,13 +652,27 @@ public class OPDSNavigationService {
    *
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
-  public OPDSNavigationFeed getYearsFeed(final String email, final boolean unread) {
+  public OPDSNavigationFeed getYearsFeed(final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("years:%s:%d", unread, page),
+        () -> this.doGetYearsFeed(email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetYearsFeed(
+      final String email, final boolean unread, final int page) {
     final OPDSNavigationFeed response =
         new OPDSNavigationFeed("Store Date: Years", STORE_DATE_YEARS_ID);
-    this.comicDetailService.getAllYears(email, unread).stream()
-        .sorted()
+    final List<Integer> years =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("years:%s", unread),
+            () -> this.doSortEntries(this.comicDetailService.getAllYears(email, unread)));
+    this.opdsUtils
+        .getPageOfEntries(years, page)
         .forEach(
             year -> {
               log.trace("Adding year: {}", year);
@@ -503,6 +689,12 @@ public class OPDSNavigationService {
                               "/opds/dates/released/years/%d/weeks?unread=%s", year, unread)));
               response.getEntries().add(entry);
             });
+    this.opdsUtils.addPaginationLinks(
+        response,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format("/opds/dates/released?unread=%s", unread),
+        page,
+        years.size());
     return response;
   }
 
@@ -513,16 +705,32 @@ public class OPDSNavigationService {
    * @param year the year
    * @param email the user's email
    * @param unread the unread flag
+   * @param page the page number
    * @return the navigation feed
    */
   public OPDSNavigationFeed getWeeksFeedForYear(
-      final int year, final String email, final boolean unread) {
+      final int year, final String email, final boolean unread, final int page) {
+    return this.opdsFeedCacheService.getFeed(
+        email,
+        String.format("weeks:%d:%s:%d", year, unread, page),
+        () -> this.doGetWeeksFeedForYear(year, email, unread, page));
+  }
+
+  private OPDSNavigationFeed doGetWeeksFeedForYear(
+      final int year, final String email, final boolean unread, final int page) {
     final OPDSNavigationFeed response =
         new OPDSNavigationFeed(
             "Comics For Year: " + year, String.valueOf(COMIC_STORE_DATE_FOR_YEAR_ID + year));
     log.trace("Loading days with comics for year: year={} email={} unread={}", year, email, unread);
-    this.comicDetailService.getAllWeeksForYear(year, email, unread).stream()
-        .sorted()
+    final List<Integer> weeks =
+        this.opdsFeedCacheService.getEntries(
+            email,
+            String.format("weeks:%d:%s", year, unread),
+            () ->
+                this.doSortEntries(
+                    this.comicDetailService.getAllWeeksForYear(year, email, unread)));
+    this.opdsUtils
+        .getPageOfEntries(weeks, page)
         .forEach(
             weekNumber -> {
               log.trace("Adding week {} of {}", weekNumber, year);
@@ -549,6 +757,12 @@ public class OPDSNavigationService {
                               year, weekNumber, String.valueOf(unread))));
               response.getEntries().add(entry);
             });
+    this.opdsUtils.addPaginationLinks(
+        response,
+        NAVIGATION_FEED_LINK_TYPE,
+        String.format("/opds/dates/released/years/%d/weeks?unread=%s", year, unread),
+        page,
+        weeks.size());
     return response;
   }
 
@@ -591,6 +805,12 @@ public class OPDSNavigationService {
     return feed;
   }
 
+  private <T extends Comparable<T>> List<T> doSortEntries(final Collection<T> entries) {
+    final List<T> result = new ArrayList<>(entries);
+    result.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+    return result;
+  }
+
   private Date getDateFor(final Integer year, final Integer week, final int dayOfWeek) {
     final GregorianCalendar calendar = new GregorianCalendar();
     calendar.set(Calendar.YEAR, year);
@@ -21,11 +21,16 @@ package org.comixedproject.opds;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
 import static org.comixedproject.opds.OPDSUtils.*;
+import static org.comixedproject.opds.model.OPDSNavigationFeed.NAVIGATION_FEED_LINK_TYPE;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.comixedproject.adaptors.comicbooks.ComicBookMetadataAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.archives.ArchiveType;
@@ -35,6 +40,7 @@ import org.comixedproject.model.comicbooks.ComicTag;
 import org.comixedproject.model.comicbooks.ComicTagType;
 import org.comixedproject.opds.model.OPDSAcquisitionFeedEntry;
 import org.comixedproject.opds.model.OPDSLink;
+import org.comixedproject.opds.model.OPDSNavigationFeed;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -49,6 +55,8 @@ public class OPDSUtilsTest {
   private static final String TEST_DISPLAYABLE_TITLE = "The Displayable Title";
   private static final String TEST_CREDIT_NAME = "Joey Writer";
   private static final String TEST_SERIES = "The Series Name";
+  private static final int TEST_PAGE_SIZE = 10;
+  private static final String TEST_FEED_URL = "/opds/collections/series/?unread=false";
 
   @InjectMocks private OPDSUtils utils;
   @Mock private ComicBook comicBook;
@@ -57,12 +65,15 @@ public class OPDSUtilsTest {
   @Mock private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
 
   private Set<ComicTag> comicTags = new HashSet<>();
+  private List<Integer> entries = new ArrayList<>();
 
   @Before
   public void setUp() {
     Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
     Mockito.when(comicDetail.getBaseFilename()).thenReturn(TEST_BASE_FILENAME);
     comicTags.add(new ComicTag(comicDetail, ComicTagType.WRITER, TEST_CREDIT_NAME));
+    for (int index = 0; index < 25; index++) entries.add(index);
+    utils.pageSize = TEST_PAGE_SIZE;
   }
 
   @Test
@@ -134,4 +145,95 @@ public class OPDSUtilsTest {
     assertEquals(result, utils.createIdForEntry("SERIES", TEST_SERIES));
     assertNotEquals(result, utils.createIdForEntry("SERIES", TEST_SERIES.substring(1)));
   }
+
+  @Test
+  public void testGetPageOfEntries() {
+    final List<Integer> result = utils.getPageOfEntries(entries, 1);
+
+    assertEquals(TEST_PAGE_SIZE, result.size());
+    assertEquals(Integer.valueOf(TEST_PAGE_SIZE), result.get(0));
+  }
+
+  @Test
+  public void testGetPageOfEntriesLastPage() {
+    final List<Integer> result = utils.getPageOfEntries(entries, 2);
+
+    assertEquals(5, result.size());
+  }
+
+  @Test
+  public void testGetPageOfEntriesPastLastPage() {
+    assertTrue(utils.getPageOfEntries(entries, 3).isEmpty());
+  }
+
+  @Test
+  public void testGetPageOfEntriesPagingDisabled() {
+    utils.pageSize = 0;
+
+    assertEquals(entries, utils.getPageOfEntries(entries, 1));
+  }
+
+  @Test
+  public void testGetPageUrl() {
+    assertEquals(TEST_FEED_URL + "&page=2", utils.getPageUrl(TEST_FEED_URL, 2));
+    assertEquals("/opds/lists/?page=2", utils.getPageUrl("/opds/lists/", 2));
+  }
+
+  @Test
+  public void testAddPaginationLinksSinglePage() {
+    final OPDSNavigationFeed feed = new OPDSNavigationFeed("title", "id");
+    final int linkCount = feed.getLinks().size();
+
+    utils.addPaginationLinks(feed, NAVIGATION_FEED_LINK_TYPE, TEST_FEED_URL, 0, TEST_PAGE_SIZE);
+
+    assertEquals(linkCount, feed.getLinks().size());
+  }
+
+  @Test
+  public void testAddPaginationLinksFirstPage() {
+    final OPDSNavigationFeed feed = new OPDSNavigationFeed("title", "id");
+
+    utils.addPaginationLinks(feed, NAVIGATION_FEED_LINK_TYPE, TEST_FEED_URL, 0, entries.size());
+
+    final List<String> relations = this.getRelations(feed);
+    assertTrue(relations.contains(FIRST));
+    assertFalse(relations.contains(PREVIOUS));
+    assertTrue(relations.contains(NEXT));
+    assertTrue(relations.contains(LAST));
+    assertEquals(TEST_FEED_URL + "&page=1", this.getReference(feed, NEXT));
+    assertEquals(TEST_FEED_URL + "&page=2", this.getReference(feed, LAST));
+  }
+
+  @Test
+  public void testAddPaginationLinksMiddlePage() {
+    final OPDSNavigationFeed feed = new OPDSNavigationFeed("title", "id");
+
+    utils.addPaginationLinks(feed, NAVIGATION_FEED_LINK_TYPE, TEST_FEED_URL, 1, entries.size());
+
+    assertEquals(TEST_FEED_URL + "&page=0", this.getReference(feed, PREVIOUS));
+    assertEquals(TEST_FEED_URL + "&page=2", this.getReference(feed, NEXT));
+  }
+
+  @Test
+  public void testAddPaginationLinksLastPage() {
+    final OPDSNavigationFeed feed = new OPDSNavigationFeed("title", "id");
+
+    utils.addPaginationLinks(feed, NAVIGATION_FEED_LINK_TYPE, TEST_FEED_URL, 2, entries.size());
+
+    final List<String> relations = this.getRelations(feed);
+    assertTrue(relations.contains(PREVIOUS));
+    assertFalse(relations.contains(NEXT));
+  }
+
+  private List<String> getRelations(final OPDSNavigationFeed feed) {
+    return feed.getLinks().stream().map(OPDSLink::getRelation).collect(Collectors.toList());
+  }
+
+  private String getReference(final OPDSNavigationFeed feed, final String relation) {
+    return feed.getLinks().stream()
+        .filter(link -> relation.equals(link.getRelation()))
+        .map(OPDSLink::getReference)
+        .findFirst()
+        .orElse(null);
+  }
 }
@@ -38,6 +38,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSCollectionControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final String TEST_ENCODED_NAME = "Collection Entry Name";
   private static final String TEST_DECODED_NAME = "The decoded collection name";
   private static final String TEST_EMAIL = "reader@comixedproject.org";
@@ -62,17 +63,20 @@ public class OPDSCollectionControllerTest {
   public void testGetCollectionFeed() {
     Mockito.when(
             opdsNavigationService.getCollectionFeed(
-                Mockito.any(CollectionType.class), Mockito.anyString(), Mockito.anyBoolean()))
+                Mockito.any(CollectionType.class),
+                Mockito.anyString(),
+                Mockito.anyBoolean(),
+                Mockito.anyInt()))
         .thenReturn(navigationFeed);
 
     final OPDSNavigationFeed response =
-        controller.getCollectionFeed(principal, TEST_COLLECTION_TYPE, TEST_UNREAD);
+        controller.getCollectionFeed(principal, TEST_COLLECTION_TYPE, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(navigationFeed, response);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getCollectionFeed(TEST_COLLECTION_TYPE, TEST_EMAIL, TEST_UNREAD);
+        .getCollectionFeed(TEST_COLLECTION_TYPE, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
@@ -83,18 +87,19 @@ public class OPDSCollectionControllerTest {
                 Mockito.anyString(),
                 Mockito.any(CollectionType.class),
                 Mockito.anyString(),
-                Mockito.anyBoolean()))
+                Mockito.anyBoolean(),
+                Mockito.anyInt()))
         .thenReturn(acquisitionFeed);
 
     final OPDSAcquisitionFeed response =
         controller.getEntriesForCollectionFeed(
-            principal, TEST_COLLECTION_TYPE, TEST_ENCODED_NAME, TEST_UNREAD);
+            principal, TEST_COLLECTION_TYPE, TEST_ENCODED_NAME, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(acquisitionFeed, response);
 
     Mockito.verify(opdsAcquisitionService, Mockito.times(1))
         .getEntriesForCollectionFeed(
-            TEST_EMAIL, TEST_COLLECTION_TYPE, TEST_DECODED_NAME, TEST_UNREAD);
+            TEST_EMAIL, TEST_COLLECTION_TYPE, TEST_DECODED_NAME, TEST_UNREAD, TEST_PAGE);
   }
 }
@@ -24,13 +24,10 @@ import static junit.framework.TestCase.assertSame;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.IOUtils;
-import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.encoders.WebResponseEncoder;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.archives.ArchiveType;
@@ -41,6 +38,8 @@ import org.comixedproject.opds.OPDSException;
 import org.comixedproject.opds.OPDSUtils;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.library.LastReadException;
 import org.comixedproject.service.library.LastReadService;
 import org.junit.Before;
@@ -48,7 +47,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
@@ -68,7 +69,7 @@ public class OPDSComicBookControllerTest {
   @InjectMocks private OPDSComicBookController controller;
   @Mock private ComicBookService comicBookService;
   @Mock private LastReadService lastReadService;
-  @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private PageCacheService pageCacheService;
   @Mock private FileTypeAdaptor fileTypeAdaptor;
   @Mock private OPDSUtils opdsUtils;
   @Mock private WebResponseEncoder webResponseEncoder;
@@ -76,7 +77,7 @@ public class OPDSComicBookControllerTest {
   @Mock private ComicDetail comicDetail;
   @Mock private ResponseEntity<InputStreamResource> encodedInputStreamResourceResponse;
   @Mock private Page page;
-  @Mock private ResponseEntity<byte[]> encodedByteArrayResponse;
+  @Mock private ResponseEntity<Resource> encodedResourceResponse;
   @Mock private Principal principal;
 
   @Captor private ArgumentCaptor<InputStreamResource> inputStreamResourceArgumentCaptor;
@@ -172,44 +173,67 @@ public class OPDSComicBookControllerTest {
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
-                Mockito.any(byte[].class),
+                Mockito.any(Resource.class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedByteArrayResponse);
+        .thenReturn(encodedResourceResponse);
 
-    final ResponseEntity<byte[]> result =
+    final ResponseEntity<Resource> result =
         controller.getPageByComicAndIndexWithMaxWidth(
             TEST_COMIC_ID, pageList.size() + 1, TEST_PAGE_WIDTH);
 
     assertNotNull(result);
-    assertSame(encodedByteArrayResponse, result);
+    assertSame(encodedResourceResponse, result);
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+    Mockito.verify(pageCacheService, Mockito.never())
+        .getScaledPageImage(Mockito.any(Page.class), Mockito.anyInt());
+  }
+
+  @Test(expected = OPDSException.class)
+  public void testGetPageByComicAndIndexWithMaxWidthFailedToLoad()
+      throws ComicBookException, OPDSException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(pageCacheService.getScaledPageImage(Mockito.any(Page.class), Mockito.anyInt()))
+        .thenReturn(null);
+
+    try {
+      controller.getPageByComicAndIndexWithMaxWidth(TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1);
+    } finally {
+      Mockito.verify(pageCacheService, Mockito.times(1))
+          .getScaledPageImage(page, TEST_PAGE_WIDTH - 1);
+    }
   }
 
   @Test
-  public void testGetPageByComicAndIndexWithMaxWidth()
-      throws ComicBookException, OPDSException, AdaptorException {
+  public void testGetPageByComicAndIndexWithMaxWidth() throws ComicBookException, OPDSException {
+    final Resource resource = new ByteArrayResource(imageContent);
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenReturn(imageContent);
-    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
-        .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
+    Mockito.when(pageCacheService.getScaledPageImage(Mockito.any(Page.class), Mockito.anyInt()))
+        .thenReturn(
+            new PageImage(resource, String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE)));
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
-                Mockito.any(byte[].class),
+                Mockito.any(Resource.class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedByteArrayResponse);
+        .thenReturn(encodedResourceResponse);
 
-    final ResponseEntity<byte[]> result =
+    final ResponseEntity<Resource> result =
         controller.getPageByComicAndIndexWithMaxWidth(TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1);
 
     assertNotNull(result);
-    assertSame(encodedByteArrayResponse, result);
+    assertSame(encodedResourceResponse, result);
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, 0);
+    Mockito.verify(pageCacheService, Mockito.times(1))
+        .getScaledPageImage(page, TEST_PAGE_WIDTH - 1);
+    Mockito.verify(webResponseEncoder, Mockito.times(1))
+        .encode(
+            imageContent.length,
+            resource,
+            TEST_PAGE_NAME,
+            MediaType.valueOf(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE)));
   }
 }
@@ -37,6 +37,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSDateControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final Integer TEST_YEAR = 2022;
   private static final Integer TEST_WEEK = RandomUtils.nextInt(52);
   private static final boolean TEST_UNREAD = RandomUtils.nextBoolean();
@@ -56,48 +57,56 @@ public class OPDSDateControllerTest {
 
   @Test
   public void testGetYearsFeed() {
-    Mockito.when(opdsNavigationService.getYearsFeed(Mockito.anyString(), Mockito.anyBoolean()))
+    Mockito.when(
+            opdsNavigationService.getYearsFeed(
+                Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(opdsNavigationFeed);
 
-    final OPDSNavigationFeed response = controller.getYearsFeed(principal, TEST_UNREAD);
+    final OPDSNavigationFeed response = controller.getYearsFeed(principal, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(opdsNavigationFeed, response);
 
-    Mockito.verify(opdsNavigationService, Mockito.times(1)).getYearsFeed(TEST_EMAIL, TEST_UNREAD);
+    Mockito.verify(opdsNavigationService, Mockito.times(1))
+        .getYearsFeed(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
   public void testGetWeeksForYear() throws OPDSException {
     Mockito.when(
             opdsNavigationService.getWeeksFeedForYear(
-                Mockito.anyInt(), Mockito.anyString(), Mockito.anyBoolean()))
+                Mockito.anyInt(), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(opdsNavigationFeed);
 
     final OPDSNavigationFeed response =
-        controller.getWeeksFeedForYear(principal, TEST_YEAR, TEST_UNREAD);
+        controller.getWeeksFeedForYear(principal, TEST_YEAR, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(opdsNavigationFeed, response);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getWeeksFeedForYear(TEST_YEAR, TEST_EMAIL, TEST_UNREAD);
+        .getWeeksFeedForYear(TEST_YEAR, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
   public void testLoadComicsForYearAndWeek() throws OPDSException {
     Mockito.when(
             opdsAcquisitionService.getComicsFeedForYearAndWeek(
-                Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyBoolean()))
+                Mockito.anyString(),
+                Mockito.anyInt(),
+                Mockito.anyInt(),
+                Mockito.anyBoolean(),
+                Mockito.anyInt()))
         .thenReturn(opdsAcquisitionFeed);
 
     final OPDSAcquisitionFeed response =
-        controller.loadComicsForYearAndWeek(principal, TEST_YEAR, TEST_WEEK, TEST_UNREAD);
+        controller.loadComicsForYearAndWeek(
+            principal, TEST_YEAR, TEST_WEEK, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(opdsAcquisitionFeed, response);
 
     Mockito.verify(opdsAcquisitionService, Mockito.times(1))
-        .getComicsFeedForYearAndWeek(TEST_EMAIL, TEST_YEAR, TEST_WEEK, TEST_UNREAD);
+        .getComicsFeedForYearAndWeek(TEST_EMAIL, TEST_YEAR, TEST_WEEK, TEST_UNREAD, TEST_PAGE);
   }
 }
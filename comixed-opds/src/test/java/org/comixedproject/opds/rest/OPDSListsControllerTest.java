@@ -39,6 +39,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSListsControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final String TEST_EMAIL = "reader@comixedproject.org";
   private static final long TEST_READING_LIST_ID = 217L;
 
@@ -58,31 +59,32 @@ public class OPDSListsControllerTest {
 
   @Test
   public void testLoadReadingLists() throws OPDSException {
-    Mockito.when(opdsNavigationService.getReadingListsFeed(Mockito.anyString()))
+    Mockito.when(opdsNavigationService.getReadingListsFeed(Mockito.anyString(), Mockito.anyInt()))
         .thenReturn(opdsNavigationFeed);
 
-    final OPDSNavigationFeed response = controller.loadReadingLists(principal);
+    final OPDSNavigationFeed response = controller.loadReadingLists(principal, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(opdsNavigationFeed, response);
 
-    Mockito.verify(opdsNavigationService, Mockito.times(1)).getReadingListsFeed(TEST_EMAIL);
+    Mockito.verify(opdsNavigationService, Mockito.times(1))
+        .getReadingListsFeed(TEST_EMAIL, TEST_PAGE);
   }
 
   @Test
   public void testLoadReadingListEntries() throws OPDSException {
     Mockito.when(
             opdsAcquisitionService.getComicFeedForReadingList(
-                Mockito.anyString(), Mockito.anyLong()))
+                Mockito.anyString(), Mockito.anyLong(), Mockito.anyInt()))
         .thenReturn(opdsAcquisitionFeed);
 
     final OPDSAcquisitionFeed result =
-        controller.loadReadingListEntries(principal, TEST_READING_LIST_ID);
+        controller.loadReadingListEntries(principal, TEST_READING_LIST_ID, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(opdsAcquisitionFeed, result);
 
     Mockito.verify(opdsAcquisitionService, Mockito.times(1))
-        .getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID);
+        .getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID, TEST_PAGE);
   }
 }
@@ -43,6 +43,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSPublisherControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final String TEST_PUBLISHER_ENCODED = "The+Publisher";
   private static final String TEST_PUBLISHER = "The Publisher";
   private static final boolean TEST_UNREAD = RandomUtils.nextBoolean();
@@ -82,33 +83,35 @@ public class OPDSPublisherControllerTest {
   public void testGetRootFeedForPublishers() {
     Mockito.when(
             opdsNavigationService.getRootFeedForPublishers(
-                Mockito.anyString(), Mockito.anyBoolean()))
+                Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(navigationFeed);
 
-    final OPDSNavigationFeed result = controller.getRootFeedForPublishers(principal, TEST_UNREAD);
+    final OPDSNavigationFeed result =
+        controller.getRootFeedForPublishers(principal, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(navigationFeed, result);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getRootFeedForPublishers(TEST_EMAIL, TEST_UNREAD);
+        .getRootFeedForPublishers(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
   public void testGetSeriesFeedForPublisher() {
     Mockito.when(
             opdsNavigationService.getSeriesFeedForPublisher(
-                Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean()))
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(navigationFeed);
 
     final OPDSNavigationFeed result =
-        controller.getSeriesFeedForPublisher(principal, TEST_PUBLISHER_ENCODED, TEST_UNREAD);
+        controller.getSeriesFeedForPublisher(
+            principal, TEST_PUBLISHER_ENCODED, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(navigationFeed, result);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getSeriesFeedForPublisher(TEST_PUBLISHER, TEST_EMAIL, TEST_UNREAD);
+        .getSeriesFeedForPublisher(TEST_PUBLISHER, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
@@ -118,18 +121,20 @@ public class OPDSPublisherControllerTest {
                 Mockito.anyString(),
                 Mockito.anyString(),
                 Mockito.anyString(),
-                Mockito.anyBoolean()))
+                Mockito.anyBoolean(),
+                Mockito.anyInt()))
         .thenReturn(navigationFeed);
 
     final OPDSNavigationFeed response =
         controller.getVolumeFeedForPublisherAndSeries(
-            principal, TEST_PUBLISHER_ENCODED, TEST_SERIES_ENCODED, TEST_UNREAD);
+            principal, TEST_PUBLISHER_ENCODED, TEST_SERIES_ENCODED, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(response);
     assertSame(navigationFeed, response);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getVolumeFeedForPublisherAndSeries(TEST_PUBLISHER, TEST_SERIES, TEST_EMAIL, TEST_UNREAD);
+        .getVolumeFeedForPublisherAndSeries(
+            TEST_PUBLISHER, TEST_SERIES, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
@@ -140,7 +145,8 @@ public class OPDSPublisherControllerTest {
                 Mockito.anyString(),
                 Mockito.anyString(),
                 Mockito.anyString(),
-                Mockito.anyBoolean()))
+                Mockito.anyBoolean(),
+                Mockito.anyInt()))
         .thenReturn(acquisitionFeed);
 
     final OPDSAcquisitionFeed result =
@@ -149,13 +155,14 @@ public class OPDSPublisherControllerTest {
             TEST_UNREAD,
             TEST_PUBLISHER_ENCODED,
             TEST_SERIES_ENCODED,
-            TEST_VOLUME_ENCODED);
+            TEST_VOLUME_ENCODED,
+            TEST_PAGE);
 
     assertNotNull(result);
     assertSame(acquisitionFeed, result);
 
     Mockito.verify(opdsAcquisitionService, Mockito.times(1))
         .getComicFeedsForPublisherAndSeriesAndVolume(
-            TEST_PUBLISHER, TEST_SERIES, TEST_VOLUME, TEST_EMAIL, TEST_UNREAD);
+            TEST_PUBLISHER, TEST_SERIES, TEST_VOLUME, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 }
@@ -34,6 +34,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSSearchControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final String TEST_ENCODED_STRING = "The encoded string";
   private static final String TEST_DECODED_STRING = "The decoded string";
 
@@ -53,16 +54,18 @@ public class OPDSSearchControllerTest {
   @Test
   public void testSearch() {
     Mockito.when(opdsUtils.urlDecodeString(Mockito.anyString())).thenReturn(TEST_DECODED_STRING);
-    Mockito.when(opdsAcquisitionService.getComicsFeedForSearchTerms(Mockito.anyString()))
+    Mockito.when(
+            opdsAcquisitionService.getComicsFeedForSearchTerms(
+                Mockito.anyString(), Mockito.anyInt()))
         .thenReturn(feed);
 
-    final OPDSAcquisitionFeed result = controller.search(TEST_ENCODED_STRING);
+    final OPDSAcquisitionFeed result = controller.search(TEST_ENCODED_STRING, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(feed, result);
 
     Mockito.verify(opdsUtils, Mockito.times(1)).urlDecodeString(TEST_ENCODED_STRING);
     Mockito.verify(opdsAcquisitionService, Mockito.times(1))
-        .getComicsFeedForSearchTerms(TEST_DECODED_STRING);
+        .getComicsFeedForSearchTerms(TEST_DECODED_STRING, TEST_PAGE);
   }
 }
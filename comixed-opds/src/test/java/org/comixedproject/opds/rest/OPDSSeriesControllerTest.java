@@ -37,6 +37,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSSeriesControllerTest {
+  private static final int TEST_PAGE = 3;
   private static final boolean TEST_UNREAD = RandomUtils.nextBoolean();
   private static final String TEST_SERIES_NAME_ENCODED = "The encoded series";
   private static final String TEST_SERIES_NAME_DECODED = "The decoded series";
@@ -60,16 +61,18 @@ public class OPDSSeriesControllerTest {
   @Test
   public void testGetRootFeedForSeries() {
     Mockito.when(
-            opdsNavigationService.getRootFeedForSeries(Mockito.anyString(), Mockito.anyBoolean()))
+            opdsNavigationService.getRootFeedForSeries(
+                Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(opdsNavigationFeed);
 
-    final OPDSNavigationFeed result = controller.getRootFeedForSeries(principal, TEST_UNREAD);
+    final OPDSNavigationFeed result =
+        controller.getRootFeedForSeries(principal, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(opdsNavigationFeed, result);
 
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getRootFeedForSeries(TEST_EMAIL, TEST_UNREAD);
+        .getRootFeedForSeries(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 
   @Test
@@ -78,17 +81,18 @@ public class OPDSSeriesControllerTest {
         .thenReturn(TEST_SERIES_NAME_DECODED);
     Mockito.when(
             opdsNavigationService.getPublishersFeedForSeries(
-                Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean()))
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyInt()))
         .thenReturn(opdsNavigationFeed);
 
     final OPDSNavigationFeed result =
-        controller.getPublishersFeedForSeries(principal, TEST_SERIES_NAME_ENCODED, TEST_UNREAD);
+        controller.getPublishersFeedForSeries(
+            principal, TEST_SERIES_NAME_ENCODED, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertSame(opdsNavigationFeed, result);
 
     Mockito.verify(opdsUtils, Mockito.times(1)).urlDecodeString(TEST_SERIES_NAME_ENCODED);
     Mockito.verify(opdsNavigationService, Mockito.times(1))
-        .getPublishersFeedForSeries(TEST_SERIES_NAME_DECODED, TEST_EMAIL, TEST_UNREAD);
+        .getPublishersFeedForSeries(TEST_SERIES_NAME_DECODED, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
   }
 }
@@ -19,6 +19,7 @@
 package org.comixedproject.opds.service;
 
 import static junit.framework.TestCase.*;
+import static org.comixedproject.opds.model.OPDSAcquisitionFeed.ACQUISITION_FEED_LINK_TYPE;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +49,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSAcquisitionServiceTest {
+  private static final int TEST_PAGE = 3;
   private static final boolean TEST_UNREAD = RandomUtils.nextBoolean();
   private static final String TEST_COLLECTION_ENTRY_NAME = "The Collection Name";
   private static final String TEST_SUBSET_ENTRY_NAME = "The Subtype Name";
@@ -60,7 +62,8 @@ public class OPDSAcquisitionServiceTest {
   private static final long TEST_COMIC_ID = 279L;
   private static final Integer TEST_YEAR = 2022;
   private static final Integer TEST_WEEK = RandomUtils.nextInt(52);
-  private static final String TEST_SEARCH_TERM = "the search term";
+  private static final String TEST_SEARCH_TERM = "the search & term #1";
+  private static final String TEST_ENCODED_SEARCH_TERM = "the+search+%26+term+%231";
   private static final String TEST_TAG_NAME = "Tag value";
 
   @InjectMocks private OPDSAcquisitionService service;
@@ -68,6 +71,7 @@ public class OPDSAcquisitionServiceTest {
   @Mock private ComicDetailService comicDetailService;
   @Mock private ReadingListService readingListService;
   @Mock private OPDSUtils opdsUtils;
+  @Mock private OPDSFeedCacheService opdsFeedCacheService;
   @Mock private ComicBook comicBook;
   @Mock private ComicDetail comicDetail;
   @Mock private ReadingList readingList;
@@ -78,6 +82,16 @@ public class OPDSAcquisitionServiceTest {
 
   @Before
   public void setUp() {
+    Mockito.when(
+            opdsFeedCacheService.getFeed(
+                Mockito.any(), Mockito.anyString(), Mockito.any(OPDSFeedLoader.class)))
+        .thenAnswer(invocation -> invocation.getArgument(2, OPDSFeedLoader.class).load());
+    Mockito.when(
+            opdsFeedCacheService.getEntries(
+                Mockito.any(), Mockito.anyString(), Mockito.any(OPDSFeedLoader.class)))
+        .thenAnswer(invocation -> invocation.getArgument(2, OPDSFeedLoader.class).load());
+    Mockito.when(opdsUtils.getPageOfEntries(Mockito.anyList(), Mockito.anyInt()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     readingLists.add(readingList);
     Mockito.when(readingList.getId()).thenReturn(TEST_READING_LIST_ID);
     Mockito.when(readingList.getEntries()).thenReturn(comicDetailList);
@@ -97,7 +111,11 @@ public class OPDSAcquisitionServiceTest {
 
     final OPDSAcquisitionFeed result =
         service.getEntriesForCollectionFeed(
-            TEST_EMAIL, CollectionType.characters, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD);
+            TEST_EMAIL,
+            CollectionType.characters,
+            TEST_COLLECTION_ENTRY_NAME,
+            TEST_UNREAD,
+            TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -119,7 +137,7 @@ public class OPDSAcquisitionServiceTest {
 
     final OPDSAcquisitionFeed result =
         service.getEntriesForCollectionFeed(
-            TEST_EMAIL, CollectionType.teams, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD);
+            TEST_EMAIL, CollectionType.teams, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -140,7 +158,11 @@ public class OPDSAcquisitionServiceTest {
 
     final OPDSAcquisitionFeed result =
         service.getEntriesForCollectionFeed(
-            TEST_EMAIL, CollectionType.locations, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD);
+            TEST_EMAIL,
+            CollectionType.locations,
+            TEST_COLLECTION_ENTRY_NAME,
+            TEST_UNREAD,
+            TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -162,7 +184,7 @@ public class OPDSAcquisitionServiceTest {
 
     final OPDSAcquisitionFeed result =
         service.getEntriesForCollectionFeed(
-            TEST_EMAIL, CollectionType.stories, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD);
+            TEST_EMAIL, CollectionType.stories, TEST_COLLECTION_ENTRY_NAME, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -185,7 +207,7 @@ public class OPDSAcquisitionServiceTest {
 
     final OPDSAcquisitionFeed result =
         service.getComicFeedsForPublisherAndSeriesAndVolume(
-            TEST_PUBLISHER_NAME, TEST_SERIES_NAME, TEST_VOLUME, TEST_EMAIL, TEST_UNREAD);
+            TEST_PUBLISHER_NAME, TEST_SERIES_NAME, TEST_VOLUME, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     Assertions.assertNotNull(result);
 
@@ -201,7 +223,7 @@ public class OPDSAcquisitionServiceTest {
         .thenThrow(ReadingListException.class);
 
     try {
-      service.getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID);
+      service.getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID, TEST_PAGE);
     } finally {
       Mockito.verify(readingListService, Mockito.times(1))
           .loadReadingListForUser(TEST_EMAIL, TEST_READING_LIST_ID);
@@ -215,7 +237,7 @@ public class OPDSAcquisitionServiceTest {
     Mockito.when(opdsUtils.createComicEntry(Mockito.any(ComicDetail.class))).thenReturn(comicEntry);
 
     final OPDSAcquisitionFeed result =
-        service.getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID);
+        service.getComicFeedForReadingList(TEST_EMAIL, TEST_READING_LIST_ID, TEST_PAGE);
 
     assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -235,7 +257,8 @@ public class OPDSAcquisitionServiceTest {
     Mockito.when(opdsUtils.createComicEntry(Mockito.any(ComicDetail.class))).thenReturn(comicEntry);
 
     final OPDSAcquisitionFeed result =
-        service.getComicsFeedForYearAndWeek(TEST_EMAIL, TEST_YEAR, TEST_WEEK, TEST_UNREAD);
+        service.getComicsFeedForYearAndWeek(
+            TEST_EMAIL, TEST_YEAR, TEST_WEEK, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -252,7 +275,8 @@ public class OPDSAcquisitionServiceTest {
         .thenReturn(comicDetailList);
     Mockito.when(opdsUtils.createComicEntry(Mockito.any(ComicDetail.class))).thenReturn(comicEntry);
 
-    final OPDSAcquisitionFeed result = service.getComicsFeedForSearchTerms(TEST_SEARCH_TERM);
+    final OPDSAcquisitionFeed result =
+        service.getComicsFeedForSearchTerms(TEST_SEARCH_TERM, TEST_PAGE);
 
     assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -260,5 +284,12 @@ public class OPDSAcquisitionServiceTest {
 
     Mockito.verify(comicDetailService, Mockito.times(1)).getComicForSearchTerm(TEST_SEARCH_TERM);
     Mockito.verify(opdsUtils, Mockito.times(1)).createComicEntry(comicDetail);
+    Mockito.verify(opdsUtils, Mockito.times(1))
+        .addPaginationLinks(
+            result,
+            ACQUISITION_FEED_LINK_TYPE,
+            "/opds/search?terms=" + TEST_ENCODED_SEARCH_TERM,
+            TEST_PAGE,
+            comicDetailList.size());
   }
 }
@@ -0,0 +1,196 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.opds.service;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.comixedproject.model.lists.ReadingListState;
+import org.comixedproject.opds.OPDSException;
+import org.comixedproject.opds.model.OPDSNavigationFeed;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChange;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
+import org.comixedproject.state.lists.ReadingListEvent;
+import org.comixedproject.state.lists.ReadingListStateHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OPDSFeedCacheServiceTest {
+  private static final String TEST_EMAIL = "reader@comixedproject.org";
+  private static final String TEST_KEY = "publishers:false:0";
+  private static final int TEST_MAXIMUM_ENTRIES = 2;
+  private static final long TEST_TIME_TO_LIVE = 60000L;
+
+  @InjectMocks private OPDSFeedCacheService service;
+  @Mock private ComicStateHandler comicStateHandler;
+  @Mock private ReadingListStateHandler readingListStateHandler;
+  @Mock private OPDSFeedLoader<OPDSNavigationFeed, OPDSException> loader;
+  @Mock private OPDSNavigationFeed feed;
+  @Mock private OPDSFeedLoader<List<String>, OPDSException> entriesLoader;
+  @Mock private List<String> entries;
+  @Mock private State<ComicState, ComicEvent> comicState;
+  @Mock private Message<ComicEvent> comicMessage;
+  @Mock private State<ReadingListState, ReadingListEvent> readingListState;
+  @Mock private Message<ReadingListEvent> readingListMessage;
+
+  private List<ComicStateChange> comicStateChangeList = new ArrayList<>();
+
+  @Before
+  public void setUp() throws OPDSException {
+    service.maximumEntries = TEST_MAXIMUM_ENTRIES;
+    service.timeToLive = TEST_TIME_TO_LIVE;
+    Mockito.when(loader.load()).thenReturn(feed);
+  }
+
+  @Test
+  public void testAfterPropertiesSet() {
+    service.afterPropertiesSet();
+
+    Mockito.verify(comicStateHandler, Mockito.times(1)).addListener(service);
+    Mockito.verify(readingListStateHandler, Mockito.times(1)).addListener(service);
+  }
+
+  @Test
+  public void testGetFeedNotCached() throws OPDSException {
+    final OPDSNavigationFeed result = service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    assertSame(feed, result);
+    assertEquals(1, service.getCount());
+
+    Mockito.verify(loader, Mockito.times(1)).load();
+  }
+
+  @Test
+  public void testGetFeedCached() throws OPDSException {
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    final OPDSNavigationFeed result = service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    assertSame(feed, result);
+
+    Mockito.verify(loader, Mockito.times(1)).load();
+  }
+
+  @Test
+  public void testGetFeedCachedPerUser() throws OPDSException {
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+    service.getFeed(null, TEST_KEY, loader);
+
+    assertEquals(2, service.getCount());
+
+    Mockito.verify(loader, Mockito.times(2)).load();
+  }
+
+  @Test
+  public void testGetEntriesCached() throws OPDSException {
+    Mockito.when(entriesLoader.load()).thenReturn(entries);
+
+    service.getEntries(TEST_EMAIL, TEST_KEY, entriesLoader);
+    final List<String> result = service.getEntries(TEST_EMAIL, TEST_KEY, entriesLoader);
+
+    assertSame(entries, result);
+    assertSame(feed, service.getFeed(TEST_EMAIL, TEST_KEY, loader));
+
+    Mockito.verify(entriesLoader, Mockito.times(1)).load();
+    Mockito.verify(loader, Mockito.times(1)).load();
+  }
+
+  @Test
+  public void testGetFeedExpired() throws OPDSException {
+    service.timeToLive = -1L;
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    Mockito.verify(loader, Mockito.times(2)).load();
+  }
+
+  @Test
+  public void testGetFeedCachingDisabled() throws OPDSException {
+    service.maximumEntries = 0;
+
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    assertEquals(0, service.getCount());
+  }
+
+  @Test
+  public void testGetFeedEvictsLeastRecentlyUsed() throws OPDSException {
+    service.getFeed(TEST_EMAIL, "first", loader);
+    service.getFeed(TEST_EMAIL, "second", loader);
+    service.getFeed(TEST_EMAIL, "first", loader);
+
+    service.getFeed(TEST_EMAIL, "third", loader);
+    service.getFeed(TEST_EMAIL, "first", loader);
+
+    assertEquals(TEST_MAXIMUM_ENTRIES, service.getCount());
+
+    Mockito.verify(loader, Mockito.times(3)).load();
+  }
+
+  @Test(expected = OPDSException.class)
+  public void testGetFeedLoaderThrowsException() throws OPDSException {
+    Mockito.when(loader.load()).thenThrow(OPDSException.class);
+
+    try {
+      service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+    } finally {
+      assertEquals(0, service.getCount());
+    }
+  }
+
+  @Test
+  public void testOnComicStateChange() throws OPDSException {
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    service.onComicStateChange(comicState, comicMessage);
+
+    assertEquals(0, service.getCount());
+  }
+
+  @Test
+  public void testOnComicStateChanges() throws OPDSException {
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    service.onComicStateChanges(comicStateChangeList);
+
+    assertEquals(0, service.getCount());
+  }
+
+  @Test
+  public void testOnReadingListStateChange() throws OPDSException {
+    service.getFeed(TEST_EMAIL, TEST_KEY, loader);
+
+    service.onReadingListStateChange(readingListState, readingListMessage);
+
+    assertEquals(0, service.getCount());
+  }
+}
@@ -51,6 +51,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OPDSNavigationServiceTest {
+  private static final int TEST_PAGE = 3;
   private static final boolean TEST_UNREAD = RandomUtils.nextBoolean();
   private static final String TEST_COLLECTION_ENTRY_NAME = "The Collection Name";
   private static final String TEST_SUBSET_ENTRY_NAME = "The collection subset name";
@@ -66,6 +67,7 @@ public class OPDSNavigationServiceTest {
   @Mock private ReadingListService readingListService;
   @Mock private ReadingList readingList;
   @Mock private OPDSUtils opdsUtils;
+  @Mock private OPDSFeedCacheService opdsFeedCacheService;
   @Mock private ComicBook comicBook;
 
   private Set<String> collectionList = new HashSet<>();
@@ -78,6 +80,16 @@ public class OPDSNavigationServiceTest {
 
   @Before
   public void setUp() {
+    Mockito.when(
+            opdsFeedCacheService.getFeed(
+                Mockito.any(), Mockito.anyString(), Mockito.any(OPDSFeedLoader.class)))
+        .thenAnswer(invocation -> invocation.getArgument(2, OPDSFeedLoader.class).load());
+    Mockito.when(
+            opdsFeedCacheService.getEntries(
+                Mockito.any(), Mockito.anyString(), Mockito.any(OPDSFeedLoader.class)))
+        .thenAnswer(invocation -> invocation.getArgument(2, OPDSFeedLoader.class).load());
+    Mockito.when(opdsUtils.getPageOfEntries(Mockito.anyList(), Mockito.anyInt()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     collectionList.add(TEST_COLLECTION_ENTRY_NAME);
     collectionSet.add(TEST_COLLECTION_ENTRY_NAME);
     readingLists.add(readingList);
@@ -137,7 +149,8 @@ public class OPDSNavigationServiceTest {
     Mockito.when(comicDetailService.getAllPublishers(Mockito.anyString(), Mockito.anyBoolean()))
         .thenReturn(collectionList);
 
-    final OPDSNavigationFeed result = service.getRootFeedForPublishers(TEST_EMAIL, TEST_UNREAD);
+    final OPDSNavigationFeed result =
+        service.getRootFeedForPublishers(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -154,7 +167,8 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getSeriesFeedForPublisher(TEST_COLLECTION_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD);
+        service.getSeriesFeedForPublisher(
+            TEST_COLLECTION_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -175,7 +189,7 @@ public class OPDSNavigationServiceTest {
 
     final OPDSNavigationFeed result =
         service.getVolumeFeedForPublisherAndSeries(
-            TEST_COLLECTION_ENTRY_NAME, TEST_SUBSET_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD);
+            TEST_COLLECTION_ENTRY_NAME, TEST_SUBSET_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -190,7 +204,8 @@ public class OPDSNavigationServiceTest {
     Mockito.when(comicDetailService.getAllSeries(Mockito.anyString(), Mockito.anyBoolean()))
         .thenReturn(collectionList);
 
-    final OPDSNavigationFeed result = service.getRootFeedForSeries(TEST_EMAIL, TEST_UNREAD);
+    final OPDSNavigationFeed result =
+        service.getRootFeedForSeries(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -207,7 +222,8 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getPublishersFeedForSeries(TEST_COLLECTION_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD);
+        service.getPublishersFeedForSeries(
+            TEST_COLLECTION_ENTRY_NAME, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -224,7 +240,7 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getCollectionFeed(CollectionType.characters, TEST_EMAIL, TEST_UNREAD);
+        service.getCollectionFeed(CollectionType.characters, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -241,7 +257,7 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getCollectionFeed(CollectionType.teams, TEST_EMAIL, TEST_UNREAD);
+        service.getCollectionFeed(CollectionType.teams, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -258,7 +274,7 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getCollectionFeed(CollectionType.locations, TEST_EMAIL, TEST_UNREAD);
+        service.getCollectionFeed(CollectionType.locations, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -275,7 +291,7 @@ public class OPDSNavigationServiceTest {
         .thenReturn(collectionSet);
 
     final OPDSNavigationFeed result =
-        service.getCollectionFeed(CollectionType.stories, TEST_EMAIL, TEST_UNREAD);
+        service.getCollectionFeed(CollectionType.stories, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     assertNotNull(result);
     assertTrue(result.getEntries().get(0).getTitle().contains(TEST_COLLECTION_ENTRY_NAME));
@@ -291,7 +307,7 @@ public class OPDSNavigationServiceTest {
         .thenThrow(ReadingListException.class);
 
     try {
-      service.getReadingListsFeed(TEST_EMAIL);
+      service.getReadingListsFeed(TEST_EMAIL, TEST_PAGE);
     } finally {
       Mockito.verify(readingListService, Mockito.times(1)).loadReadingListsForUser(TEST_EMAIL);
     }
@@ -302,7 +318,7 @@ public class OPDSNavigationServiceTest {
     Mockito.when(readingListService.loadReadingListsForUser(Mockito.anyString()))
         .thenReturn(readingLists);
 
-    final OPDSNavigationFeed result = service.getReadingListsFeed(TEST_EMAIL);
+    final OPDSNavigationFeed result = service.getReadingListsFeed(TEST_EMAIL, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -318,7 +334,7 @@ public class OPDSNavigationServiceTest {
     Mockito.when(comicDetailService.getAllYears(Mockito.anyString(), Mockito.anyBoolean()))
         .thenReturn(yearsList);
 
-    final OPDSNavigationFeed result = service.getYearsFeed(TEST_EMAIL, TEST_UNREAD);
+    final OPDSNavigationFeed result = service.getYearsFeed(TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
@@ -335,7 +351,7 @@ public class OPDSNavigationServiceTest {
         .thenReturn(weekList);
 
     final OPDSNavigationFeed result =
-        service.getWeeksFeedForYear(TEST_YEAR, TEST_EMAIL, TEST_UNREAD);
+        service.getWeeksFeedForYear(TEST_YEAR, TEST_EMAIL, TEST_UNREAD, TEST_PAGE);
 
     TestCase.assertNotNull(result);
     assertFalse(result.getEntries().isEmpty());
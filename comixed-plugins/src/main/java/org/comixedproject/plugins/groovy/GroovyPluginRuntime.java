@@ -19,9 +19,9 @@
 package org.comixedproject.plugins.groovy;
 
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.log4j.Log4j2;
@@ -34,7 +34,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * <code>GroovyPluginRuntime</code> provides a runtime environment that loads and executes a Groovy
- * plugin.
+ * plugin. Compiled plugin scripts are shared by all runtimes through a {@link GroovyScriptCache}.
  *
  * @author Darryl L. Pierce
  */
@@ -42,12 +42,15 @@ import org.springframework.stereotype.Component;
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @Log4j2
 public class GroovyPluginRuntime extends AbstractPluginRuntime {
+  private static final GroovyScriptCache SCRIPT_CACHE = new GroovyScriptCache();
+
+  private GroovyScriptCache scriptCache = SCRIPT_CACHE;
+
   @Override
   public String getName(final String filename) {
-    final GroovyShell shell = doCreatePluginShell();
     try {
       log.trace("Loading plugin properties: {}", filename);
-      final Script script = shell.parse(new File(filename));
+      final Script script = this.doCreatePluginScript(new File(filename), new Binding());
       return (String) script.invokeMethod("plugin_name", new Object[] {});
     } catch (Exception error) {
       log.error("Failed to load plugin properties", error);
@@ -57,10 +60,9 @@ public class GroovyPluginRuntime extends AbstractPluginRuntime {
 
   @Override
   public String getVersion(final String filename) {
-    final GroovyShell shell = doCreatePluginShell();
     try {
       log.trace("Loading plugin properties: {}", filename);
-      final Script script = shell.parse(new File(filename));
+      final Script script = this.doCreatePluginScript(new File(filename), new Binding());
       return (String) script.invokeMethod("plugin_version", new Object[] {});
     } catch (Exception error) {
       log.error("Failed to load plugin properties", error);
@@ -70,10 +72,9 @@ public class GroovyPluginRuntime extends AbstractPluginRuntime {
 
   @Override
   public List<LibraryPluginProperty> getProperties(final String filename) {
-    final GroovyShell shell = doCreatePluginShell();
     try {
       log.trace("Loading plugin properties: {}", filename);
-      final Script script = shell.parse(new File(filename));
+      final Script script = this.doCreatePluginScript(new File(filename), new Binding());
       return (List<LibraryPluginProperty>)
           script.invokeMethod("plugin_properties", new Object[] {});
     } catch (Exception error) {
@@ -84,14 +85,12 @@ public class GroovyPluginRuntime extends AbstractPluginRuntime {
 
   @Override
   public Boolean execute(final LibraryPlugin libraryPlugin) {
-    final var shell = doCreatePluginShell();
     try {
       log.trace(
           "Executing libraryPlugin: {} v{}", libraryPlugin.getName(), libraryPlugin.getVersion());
-      this.getProperties()
-          .entrySet()
-          .forEach(entry -> shell.setProperty(entry.getKey(), entry.getValue()));
-      shell.evaluate(new File(libraryPlugin.getFilename()));
+      final Binding binding = new Binding();
+      this.getProperties().forEach(binding::setVariable);
+      this.doCreatePluginScript(new File(libraryPlugin.getFilename()), binding).run();
       log.trace("LibraryPlugin completed without error");
       return true;
     } catch (Exception error) {
@@ -100,10 +99,8 @@ public class GroovyPluginRuntime extends AbstractPluginRuntime {
     }
   }
 
-  private GroovyShell doCreatePluginShell() {
-    log.trace("Creating plugin binding");
-    final Binding binding = new Binding();
-    log.trace("Creating plugin runtime shell");
-    return new GroovyShell(binding);
+  private Script doCreatePluginScript(final File file, final Binding binding) throws IOException {
+    log.trace("Creating plugin script");
+    return this.scriptCache.createScript(file, binding);
   }
 }
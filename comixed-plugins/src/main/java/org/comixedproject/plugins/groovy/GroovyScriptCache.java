@@ -0,0 +1,101 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.plugins.groovy;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+/**
+ * <code>GroovyScriptCache</code> keeps the compiled classes for plugin scripts, so that each script
+ * is only compiled again when its file changes. Every call creates a new script instance with its
+ * own binding.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class GroovyScriptCache {
+  private final Map<String, CompiledScript> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Returns a new instance of the given script, compiling it if it has not been loaded or has
+   * changed since it was loaded.
+   *
+   * @param file the script file
+   * @param binding the binding
+   * @return the script
+   * @throws IOException if the script cannot be read
+   */
+  public Script createScript(final File file, final Binding binding) throws IOException {
+    return InvokerHelper.createScript(this.getScriptClass(file), binding);
+  }
+
+  /**
+   * Returns the compiled class for the given script.
+   *
+   * @param file the script file
+   * @return the script class
+   * @throws IOException if the script cannot be read
+   */
+  public Class<?> getScriptClass(final File file) throws IOException {
+    final String key = file.getCanonicalPath();
+    if (!file.isFile()) {
+      log.trace("Removing missing script from cache: {}", key);
+      this.entries.remove(key);
+      throw new FileNotFoundException(key);
+    }
+
+    final long lastModified = file.lastModified();
+    final CompiledScript cached = this.entries.get(key);
+    if (cached != null && cached.lastModified == lastModified) {
+      log.trace("Using cached script: {}", key);
+      return cached.scriptClass;
+    }
+
+    log.debug("Compiling script: {}", key);
+    final GroovyClassLoader classLoader =
+        new GroovyClassLoader(GroovyScriptCache.class.getClassLoader());
+    final Class<?> result = classLoader.parseClass(file);
+    this.entries.put(key, new CompiledScript(result, lastModified));
+    return result;
+  }
+
+  /**
+   * Returns the number of cached scripts.
+   *
+   * @return the count
+   */
+  public int getCount() {
+    return this.entries.size();
+  }
+
+  @AllArgsConstructor
+  private static class CompiledScript {
+    private final Class<?> scriptClass;
+    private final long lastModified;
+  }
+}
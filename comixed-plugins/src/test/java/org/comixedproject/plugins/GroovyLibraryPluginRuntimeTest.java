@@ -24,11 +24,13 @@ import java.util.List;
 import org.comixedproject.model.plugin.LibraryPlugin;
 import org.comixedproject.model.plugin.LibraryPluginProperty;
 import org.comixedproject.plugins.groovy.GroovyPluginRuntime;
+import org.comixedproject.plugins.groovy.GroovyScriptCache;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -44,6 +46,7 @@ public class GroovyLibraryPluginRuntimeTest {
 
   @InjectMocks private GroovyPluginRuntime runner;
   @Mock private LibraryPlugin libraryPlugin;
+  @Spy private GroovyScriptCache scriptCache;
 
   @Test
   public void testExecuteHelloWorld() {
@@ -72,6 +75,17 @@ public class GroovyLibraryPluginRuntimeTest {
     assertFalse(result);
   }
 
+  @Test
+  public void testExecuteUsesCachedScript() {
+    Mockito.when(libraryPlugin.getFilename()).thenReturn(TEST_GOOD_PLUGIN);
+
+    assertEquals(TEST_PLUGIN_NAME, runner.getName(TEST_GOOD_PLUGIN));
+    assertEquals(TEST_PLUGIN_VERSION, runner.getVersion(TEST_GOOD_PLUGIN));
+    assertTrue(runner.execute(libraryPlugin));
+
+    assertEquals(1, scriptCache.getCount());
+  }
+
   @Test
   public void testGetName() {
     final String result = runner.getName(TEST_GOOD_PLUGIN);
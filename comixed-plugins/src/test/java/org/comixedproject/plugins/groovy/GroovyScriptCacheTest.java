@@ -0,0 +1,112 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.plugins.groovy;
+
+import static junit.framework.TestCase.*;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GroovyScriptCacheTest {
+  private static final String TEST_GOOD_PLUGIN = "src/test/resources/good.cxplugin";
+  private static final String TEST_BROKEN_PLUGIN = "src/test/resources/broken.cxplugin";
+  private static final String TEST_VARIABLE_NAME = "variable";
+  private static final String TEST_VARIABLE_VALUE = "The variable value";
+
+  @InjectMocks private GroovyScriptCache scriptCache;
+
+  private File pluginFile;
+
+  @Before
+  public void setUp() throws IOException {
+    pluginFile = File.createTempFile("plugin", ".cxplugin");
+    Files.copy(
+        new File(TEST_GOOD_PLUGIN).toPath(),
+        pluginFile.toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @After
+  public void tearDown() {
+    pluginFile.delete();
+  }
+
+  @Test
+  public void testGetScriptClassIsCached() throws IOException {
+    final Class<?> result = scriptCache.getScriptClass(pluginFile);
+
+    assertNotNull(result);
+    assertSame(result, scriptCache.getScriptClass(pluginFile));
+    assertEquals(1, scriptCache.getCount());
+  }
+
+  @Test
+  public void testGetScriptClassRecompilesModifiedScript() throws IOException {
+    final Class<?> result = scriptCache.getScriptClass(pluginFile);
+
+    pluginFile.setLastModified(pluginFile.lastModified() - 60000L);
+
+    assertNotSame(result, scriptCache.getScriptClass(pluginFile));
+    assertEquals(1, scriptCache.getCount());
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void testGetScriptClassMissingScript() throws IOException {
+    scriptCache.getScriptClass(pluginFile);
+    pluginFile.delete();
+
+    try {
+      scriptCache.getScriptClass(pluginFile);
+    } finally {
+      assertEquals(0, scriptCache.getCount());
+    }
+  }
+
+  @Test(expected = CompilationFailedException.class)
+  public void testGetScriptClassBrokenScript() throws IOException {
+    scriptCache.getScriptClass(new File(TEST_BROKEN_PLUGIN));
+  }
+
+  @Test
+  public void testCreateScriptUsesNewBinding() throws IOException {
+    final Binding binding = new Binding();
+    binding.setVariable(TEST_VARIABLE_NAME, TEST_VARIABLE_VALUE);
+
+    final Script first = scriptCache.createScript(pluginFile, binding);
+    final Script second = scriptCache.createScript(pluginFile, new Binding());
+
+    assertNotSame(first, second);
+    assertSame(first.getClass(), second.getClass());
+    assertSame(binding, first.getBinding());
+    assertFalse(second.getBinding().hasVariable(TEST_VARIABLE_NAME));
+  }
+}
@@ -18,6 +18,7 @@
 
 package org.comixedproject.repositories.comicbooks;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -56,6 +57,16 @@ public interface ComicBookRepository extends JpaRepository<ComicBook, Long> {
   @Query("SELECT c FROM ComicBook c WHERE c.comicDetail.filename = :filename")
   ComicBook findByFilename(@Param("filename") String filename);
 
+  /**
+   * Returns which of the given filenames are already in the library.
+   *
+   * @param filenames the filenames
+   * @return the filenames found
+   */
+  @Query(
+      "SELECT c.comicDetail.filename FROM ComicBook c WHERE c.comicDetail.filename IN (:filenames)")
+  List<String> findExistingFilenames(@Param("filenames") Collection<String> filenames);
+
   /**
    * Returns all comic entries for the given series name.
    *
@@ -130,16 +141,23 @@ public interface ComicBookRepository extends JpaRepository<ComicBook, Long> {
       @Param("batchName") String batchName, Pageable pageable);
 
   /**
-   * Returns unprocessed comics that have their file loaded flag turned off.
+   * Returns unprocessed comics that have their file loaded flag turned off. Only comics whose id
+   * falls into the given partition are returned, so that separate workers never load the same
+   * comic.
    *
    * @param batchName the batch name
+   * @param partition the partition index
+   * @param partitionCount the total number of partitions
    * @param pageable the page request
    * @return the list of comics
    */
   @Query(
-      "SELECT c FROM ComicBook c WHERE c.id IN (SELECT e.comicBook.id FROM ComicBatchEntry e WHERE e.batch.name = :batchName) AND c.comicDetail.comicState = 'UNPROCESSED' AND c.fileContentsLoaded = false")
+      "SELECT c FROM ComicBook c WHERE c.id IN (SELECT e.comicBook.id FROM ComicBatchEntry e WHERE e.batch.name = :batchName) AND c.comicDetail.comicState = 'UNPROCESSED' AND c.fileContentsLoaded = false AND MOD(c.id, :partitionCount) = :partition")
   List<ComicBook> findUnprocessedComicsWithoutContent(
-      @Param("batchName") String batchName, Pageable pageable);
+      @Param("batchName") String batchName,
+      @Param("partition") int partition,
+      @Param("partitionCount") int partitionCount,
+      Pageable pageable);
 
   /**
    * Returns the number of unprocessed comics without file contents loaded.
@@ -526,17 +544,6 @@ public interface ComicBookRepository extends JpaRepository<ComicBook, Long> {
   @Query("SELECT COUNT(c) FROM ComicBook c WHERE c.batchMetadataUpdate = true")
   long findComicsForBatchMetadataUpdateCount();
 
-  /**
-   * Performs a case-insensitive search for comics whose title or description contain the given
-   * term.
-   *
-   * @param term the search term
-   * @return the list of comics
-   */
-  @Query(
-      "SELECT d FROM ComicDetail d JOIN FETCH d.comicBook WHERE LOWER(CAST(d.title AS STRING)) LIKE LOWER(concat('%', :term, '%')) OR LOWER(CAST(d.description AS STRING)) LIKE LOWER(concat('%', :term, '%'))")
-  List<ComicDetail> findForSearchTerms(@Param("term") String term);
-
   /**
    * Returns comics that have their edit details flag set.
    *
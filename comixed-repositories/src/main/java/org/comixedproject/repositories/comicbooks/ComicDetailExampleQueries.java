@@ -0,0 +1,85 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.repositories.comicbooks;
+
+import java.util.List;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.CoverDateFacets;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * <code>ComicDetailExampleQueries</code> defines queries against {@link ComicDetail} records that
+ * match an example, which return only the values needed rather than loading the records themselves.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicDetailExampleQueries {
+  /**
+   * Returns the comic book ids for all records that match the provided example.
+   *
+   * @param example the example
+   * @return the comic book ids
+   */
+  List<Long> findComicIdsByExample(Example<ComicDetail> example);
+
+  /**
+   * Returns the distinct cover years and months, and the total count, for all records that match
+   * the provided example. Records without a cover date are reported with a year and month of 0.
+   *
+   * @param example the example
+   * @return the facets
+   */
+  CoverDateFacets getCoverDateFacetsByExample(Example<ComicDetail> example);
+
+  /**
+   * Returns the records that match all of the provided search terms. Each term must match the start
+   * of a word indexed for the record. An empty list of search terms matches nothing.
+   *
+   * @param terms the search terms
+   * @param pageable the page and sort order
+   * @return the records
+   */
+  List<ComicDetail> findBySearchTerms(List<String> terms, Pageable pageable);
+
+  /**
+   * Returns the number of records that match all of the provided search terms.
+   *
+   * @param terms the search terms
+   * @return the count
+   */
+  long countBySearchTerms(List<String> terms);
+
+  /**
+   * Returns the comic book ids for all records that match all of the provided search terms.
+   *
+   * @param terms the search terms
+   * @return the comic book ids
+   */
+  List<Long> findComicIdsBySearchTerms(List<String> terms);
+
+  /**
+   * Returns the distinct cover years and months, and the total count, for all records that match
+   * all of the provided search terms.
+   *
+   * @param terms the search terms
+   * @return the facets
+   */
+  CoverDateFacets getCoverDateFacetsBySearchTerms(List<String> terms);
+}
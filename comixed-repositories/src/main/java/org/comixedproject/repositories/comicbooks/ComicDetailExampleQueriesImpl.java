@@ -0,0 +1,179 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.repositories.comicbooks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicSearchTerm;
+import org.comixedproject.model.comicbooks.CoverDateFacets;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * <code>ComicDetailExampleQueriesImpl</code> provides the implementation of {@link
+ * ComicDetailExampleQueries}. The example is turned into the same predicate used when loading
+ * records by example, but only the needed columns are selected. Search terms are turned into one
+ * subquery against the search index per term, each of which uses a prefix match so that the index
+ * on the terms can be used.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicDetailExampleQueriesImpl implements ComicDetailExampleQueries {
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<Long> findComicIdsByExample(final Example<ComicDetail> example) {
+    log.trace("Finding comic book ids by example");
+    return this.doFindComicIds(
+        (query, root, builder) ->
+            QueryByExamplePredicateBuilder.getPredicate(
+                root, builder, example, EscapeCharacter.DEFAULT));
+  }
+
+  @Override
+  public CoverDateFacets getCoverDateFacetsByExample(final Example<ComicDetail> example) {
+    log.trace("Finding cover date facets by example");
+    return this.doGetCoverDateFacets(
+        (query, root, builder) ->
+            QueryByExamplePredicateBuilder.getPredicate(
+                root, builder, example, EscapeCharacter.DEFAULT));
+  }
+
+  @Override
+  public List<ComicDetail> findBySearchTerms(final List<String> terms, final Pageable pageable) {
+    log.trace("Finding comic details by search terms: {}", terms);
+    final CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+    final CriteriaQuery<ComicDetail> query = builder.createQuery(ComicDetail.class);
+    final Root<ComicDetail> root = query.from(ComicDetail.class);
+    query.select(root);
+    this.doApplyFilter(query, root, builder, this.doCreateSearchTermsFilter(terms));
+    if (pageable.getSort().isSorted()) {
+      query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+    }
+    final TypedQuery<ComicDetail> typedQuery = this.entityManager.createQuery(query);
+    if (pageable.isPaged()) {
+      typedQuery.setFirstResult((int) pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    return typedQuery.getResultList();
+  }
+
+  @Override
+  public long countBySearchTerms(final List<String> terms) {
+    log.trace("Counting comic details by search terms: {}", terms);
+    final CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+    final Root<ComicDetail> root = query.from(ComicDetail.class);
+    query.select(builder.count(root));
+    this.doApplyFilter(query, root, builder, this.doCreateSearchTermsFilter(terms));
+    return this.entityManager.createQuery(query).getSingleResult();
+  }
+
+  @Override
+  public List<Long> findComicIdsBySearchTerms(final List<String> terms) {
+    log.trace("Finding comic book ids by search terms: {}", terms);
+    return this.doFindComicIds(this.doCreateSearchTermsFilter(terms));
+  }
+
+  @Override
+  public CoverDateFacets getCoverDateFacetsBySearchTerms(final List<String> terms) {
+    log.trace("Finding cover date facets by search terms: {}", terms);
+    return this.doGetCoverDateFacets(this.doCreateSearchTermsFilter(terms));
+  }
+
+  private List<Long> doFindComicIds(final ComicDetailFilter filter) {
+    final CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+    final Root<ComicDetail> root = query.from(ComicDetail.class);
+    query.select(root.get("comicBook").get("id"));
+    this.doApplyFilter(query, root, builder, filter);
+    return this.entityManager.createQuery(query).getResultList();
+  }
+
+  private CoverDateFacets doGetCoverDateFacets(final ComicDetailFilter filter) {
+    final CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    final Root<ComicDetail> root = query.from(ComicDetail.class);
+    final Expression<Integer> year = builder.function("year", Integer.class, root.get("coverDate"));
+    final Expression<Integer> month =
+        builder.function("month", Integer.class, root.get("coverDate"));
+    query.multiselect(year, month, builder.count(root));
+    this.doApplyFilter(query, root, builder, filter);
+    query.groupBy(year, month);
+
+    final Set<Integer> years = new TreeSet<>();
+    final Set<Integer> months = new TreeSet<>();
+    long count = 0L;
+    for (Tuple row : this.entityManager.createQuery(query).getResultList()) {
+      years.add(Objects.requireNonNullElse(row.get(0, Integer.class), 0));
+      months.add(Objects.requireNonNullElse(row.get(1, Integer.class), 0));
+      count += row.get(2, Long.class);
+    }
+    return new CoverDateFacets(new ArrayList<>(years), new ArrayList<>(months), count);
+  }
+
+  private ComicDetailFilter doCreateSearchTermsFilter(final List<String> terms) {
+    return (query, root, builder) -> {
+      if (terms.isEmpty()) return builder.disjunction();
+      final List<Predicate> predicates = new ArrayList<>();
+      for (String term : terms) {
+        final Subquery<Long> subquery = query.subquery(Long.class);
+        final Root<ComicSearchTerm> searchTerm = subquery.from(ComicSearchTerm.class);
+        subquery
+            .select(searchTerm.get("comicDetailId"))
+            .where(builder.like(searchTerm.get("term"), term + "%"));
+        predicates.add(root.get("id").in(subquery));
+      }
+      return builder.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  private void doApplyFilter(
+      final CriteriaQuery<?> query,
+      final Root<ComicDetail> root,
+      final CriteriaBuilder builder,
+      final ComicDetailFilter filter) {
+    final Predicate predicate = filter.getPredicate(query, root, builder);
+    if (predicate != null) query.where(predicate);
+  }
+
+  @FunctionalInterface
+  private interface ComicDetailFilter {
+    Predicate getPredicate(CriteriaQuery<?> query, Root<ComicDetail> root, CriteriaBuilder builder);
+  }
+}
@@ -18,6 +18,7 @@
 
 package org.comixedproject.repositories.comicbooks;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -38,7 +39,8 @@ import org.springframework.stereotype.Repository;
  * @author Darryl L. Pierce
  */
 @Repository
-public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long> {
+public interface ComicDetailRepository
+    extends JpaRepository<ComicDetail, Long>, ComicDetailExampleQueries {
   /**
    * Returns a set of records with an id greater than the one provided.
    *
@@ -56,7 +58,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the publishers
    */
   @Query(
-      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.publisher IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.publisher IS NOT NULL AND d NOT IN"
+          + " (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
   Set<String> getAllUnreadPublishers(@Param("email") String email);
 
   /**
@@ -76,7 +79,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the series
    */
   @Query(
-      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.publisher = :publisher AND d.series IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.publisher = :publisher AND d.series IS"
+          + " NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email ="
+          + " :email)")
   Set<String> getAllUnreadSeriesForPublisher(
       @Param("publisher") String publisher, @Param("email") String email);
 
@@ -87,7 +92,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the series
    */
   @Query(
-      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.publisher = :publisher AND d.series IS NOT NULL")
+      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.publisher = :publisher AND d.series IS"
+          + " NOT NULL")
   Set<String> getAllSeriesForPublisher(@Param("publisher") String publisher);
 
   /**
@@ -100,7 +106,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the volumes
    */
   @Query(
-      "SELECT DISTINCT d.volume FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND d.series IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.volume FROM ComicDetail d WHERE d.publisher = :publisher AND d.series ="
+          + " :series AND d.series IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r"
+          + " WHERE r.user.email = :email)")
   Set<String> getAllUnreadVolumesForPublisherAndSeries(
       @Param("publisher") String publisher,
       @Param("series") String series,
@@ -114,7 +122,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the volumes
    */
   @Query(
-      "SELECT DISTINCT d.volume FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND d.volume IS NOT NULL")
+      "SELECT DISTINCT d.volume FROM ComicDetail d WHERE d.publisher = :publisher AND d.series ="
+          + " :series AND d.volume IS NOT NULL")
   Set<String> getAllVolumesForPublisherAndSeries(
       @Param("publisher") String publisher, @Param("series") String series);
 
@@ -125,7 +134,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the series
    */
   @Query(
-      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.series IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.series FROM ComicDetail d WHERE d.series IS NOT NULL AND d NOT IN (SELECT"
+          + " r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
   Set<String> getAllUnreadSeries(@Param("email") String email);
 
   /**
@@ -145,7 +155,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the volumes
    */
   @Query(
-      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.series = :series AND d.publisher IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.series = :series AND d.publisher IS"
+          + " NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email ="
+          + " :email)")
   Set<String> getAllUnreadPublishersForSeries(
       @Param("series") String series, @Param("email") String email);
 
@@ -156,7 +168,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the volumes
    */
   @Query(
-      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.series = :series AND d.publisher IS NOT NULL")
+      "SELECT DISTINCT d.publisher FROM ComicDetail d WHERE d.series = :series AND d.publisher IS"
+          + " NOT NULL")
   Set<String> getAllPublishersForSeries(@Param("series") String series);
 
   /**
@@ -170,7 +183,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching records
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND d.volume = :volume AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email) ORDER BY d.coverDate")
+      "SELECT d FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND"
+          + " d.volume = :volume AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE"
+          + " r.user.email = :email) ORDER BY d.coverDate")
   List<ComicDetail> getAllUnreadForPublisherAndSeriesAndVolume(
       @Param("publisher") String publisher,
       @Param("series") String series,
@@ -186,7 +201,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching records
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND d.volume = :volume ORDER BY d.coverDate")
+      "SELECT d FROM ComicDetail d WHERE d.publisher = :publisher AND d.series = :series AND"
+          + " d.volume = :volume ORDER BY d.coverDate")
   List<ComicDetail> getAllForPublisherAndSeriesAndVolume(
       @Param("publisher") String publisher,
       @Param("series") String series,
@@ -200,7 +216,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching records
    */
   @Query(
-      "SELECT DISTINCT t.value FROM ComicTag t WHERE t.type = :tagType AND t.comicDetail NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT t.value FROM ComicTag t WHERE t.type = :tagType AND t.comicDetail NOT IN"
+          + " (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
   Set<String> getAllUnreadValuesForTagType(
       @Param("tagType") ComicTagType tagType, @Param("email") String email);
 
@@ -220,7 +237,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching years
    */
   @Query(
-      "SELECT DISTINCT YEAR(d.coverDate) FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d NOT IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT YEAR(d.coverDate) FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d NOT"
+          + " IN (SELECT r.comicDetail FROM LastRead r WHERE r.user.email = :email)")
   Set<Integer> getAllUnreadYears(@Param("email") String email);
 
   /**
@@ -239,7 +257,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching weeks
    */
   @Query(
-      "SELECT DISTINCT d.coverDate FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND year(d.coverDate) = :year AND d NOT IN (SELECT r.comicDetail from LastRead r WHERE r.user.email = :email)")
+      "SELECT DISTINCT d.coverDate FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND"
+          + " year(d.coverDate) = :year AND d NOT IN (SELECT r.comicDetail from LastRead r WHERE"
+          + " r.user.email = :email)")
   Set<Date> getAllUnreadWeeksForYear(@Param("year") int year, @Param("email") String email);
 
   /**
@@ -249,7 +269,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching weeks
    */
   @Query(
-      "SELECT DISTINCT d.coverDate FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND year(d.coverDate) = :year")
+      "SELECT DISTINCT d.coverDate FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND"
+          + " year(d.coverDate) = :year")
   Set<Date> getAllWeeksForYear(@Param("year") int year);
 
   /**
@@ -261,26 +282,37 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching records
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d.coverDate IS NOT NULL AND d.coverDate >= :startDate AND d.coverDate <= :endDate AND d.comicBook.id NOT IN (SELECT r.comicDetail.id FROM LastRead r WHERE r.user.email = :email) ORDER BY d.comicBook")
+      "SELECT d FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d.coverDate IS NOT NULL AND"
+          + " d.coverDate >= :startDate AND d.coverDate <= :endDate AND d.comicBook.id NOT IN"
+          + " (SELECT r.comicDetail.id FROM LastRead r WHERE r.user.email = :email) ORDER BY"
+          + " d.comicBook")
   List<ComicDetail> getAllUnreadForYearAndWeek(
       @Param("startDate") Date startDate,
       @Param("endDate") Date endDate,
       @Param("email") String email);
 
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d.coverDate IS NOT NULL AND d.coverDate >= :startDate AND d.coverDate <= :endDate ORDER BY d.comicBook")
+      "SELECT d FROM ComicDetail d WHERE d.coverDate IS NOT NULL AND d.coverDate IS NOT NULL AND"
+          + " d.coverDate >= :startDate AND d.coverDate <= :endDate ORDER BY d.comicBook")
   List<ComicDetail> getAllForYearAndWeek(
       @Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
   /**
-   * Returns all comics that match the given search term.
+   * Returns the ids for all records.
    *
-   * @param term the search term
-   * @return the matching records
+   * @return the ids
    */
-  @Query(
-      "SELECT d FROM ComicDetail d JOIN FETCH d.comicBook WHERE LOWER(CAST(d.title AS STRING)) LIKE LOWER(concat('%', :term, '%')) OR LOWER(CAST(d.description AS STRING)) LIKE LOWER(concat('%', :term, '%'))")
-  List<ComicDetail> getForSearchTerm(@Param("term") String term);
+  @Query("SELECT d.id FROM ComicDetail d")
+  List<Long> getAllIds();
+
+  /**
+   * Loads the given records along with their tags, for adding them to the search index.
+   *
+   * @param ids the record ids
+   * @return the records
+   */
+  @Query("SELECT DISTINCT d FROM ComicDetail d LEFT JOIN FETCH d.tags WHERE d.id IN (:ids)")
+  List<ComicDetail> loadForSearchIndex(@Param("ids") Collection<Long> ids);
 
   /**
    * Returns all unread comics with the given tag type that do not have a read entry for the given
@@ -292,7 +324,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching comics
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue) AND d NOT IN (SELECT r.comicDetail from LastRead r WHERE r.user.email = :email)")
+      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type ="
+          + " :tagType AND t.value = :tagValue) AND d NOT IN (SELECT r.comicDetail from LastRead r"
+          + " WHERE r.user.email = :email)")
   List<ComicDetail> getAllUnreadComicsForTagType(
       @Param("tagType") ComicTagType tagType,
       @Param("tagValue") String tagValue,
@@ -306,10 +340,24 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching comics
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
+      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type ="
+          + " :tagType AND t.value = :tagValue)")
   List<ComicDetail> getAllComicsForTagType(
       @Param("tagType") ComicTagType tagType, @Param("tagValue") String tagValue);
 
+  /**
+   * Returns the comic book ids for all comics with the given tag.
+   *
+   * @param tagType the tag type
+   * @param tagValue the tag value
+   * @return the comic book ids
+   */
+  @Query(
+      "SELECT DISTINCT t.comicDetail.comicBook.id FROM ComicTag t WHERE t.type = :tagType AND"
+          + " t.value = :tagValue")
+  List<Long> getAllComicIdsForTagType(
+      @Param("tagType") ComicTagType tagType, @Param("tagValue") String tagValue);
+
   /**
    * Loads comics with the given tag type and value
    *
@@ -319,7 +367,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the matching comics
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
+      "SELECT d FROM ComicDetail d WHERE d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type ="
+          + " :tagType AND t.value = :tagValue)")
   List<ComicDetail> loadForTagTypeAndValue(
       @Param("tagType") ComicTagType tagType,
       @Param("tagValue") String tagValue,
@@ -333,7 +382,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the years
    */
   @Query(
-      "SELECT DISTINCT(d.yearPublished) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
+      "SELECT DISTINCT(d.yearPublished) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d"
+          + " IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value ="
+          + " :tagValue)")
   List<Integer> getCoverYears(ComicTagType tagType, String tagValue);
 
   /**
@@ -344,7 +395,9 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the montsh
    */
   @Query(
-      "SELECT DISTINCT(d.monthPublished) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
+      "SELECT DISTINCT(d.monthPublished) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d"
+          + " IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value ="
+          + " :tagValue)")
   List<Integer> getCoverMonths(ComicTagType tagType, String tagValue);
 
   /**
@@ -355,7 +408,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the comic count
    */
   @Query(
-      "SELECT COUNT(d) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d IN (SELECT t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
+      "SELECT COUNT(d) FROM ComicDetail d WHERE d.yearPublished IS NOT NULL AND d IN (SELECT"
+          + " t.comicDetail FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue)")
   long getFilterCount(ComicTagType tagType, String tagValue);
 
   /**
@@ -372,7 +426,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
   long getFilterCount(@Param("tagType") ComicTagType tag);
 
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d.id NOT IN (SELECT r.comicDetail.id FROM LastRead r WHERE r.user.email = :email)")
+      "SELECT d FROM ComicDetail d WHERE d.id NOT IN (SELECT r.comicDetail.id FROM LastRead r WHERE"
+          + " r.user.email = :email)")
   List<ComicDetail> loadUnreadComicDetails(@Param("email") String email, Pageable pageable);
 
   /**
@@ -383,7 +438,8 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    * @return the entries
    */
   @Query(
-      "SELECT d FROM ComicDetail d WHERE d IN (SELECT l.entries FROM ReadingList  l WHERE l.id = :readingListId)")
+      "SELECT d FROM ComicDetail d WHERE d IN (SELECT l.entries FROM ReadingList  l WHERE l.id ="
+          + " :readingListId)")
   List<ComicDetail> loadComicDetailsForReadingList(
       @Param("readingListId") long readingListId, Pageable pageable);
 }
@@ -0,0 +1,46 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.repositories.comicbooks;
+
+import java.util.Collection;
+import org.comixedproject.model.comicbooks.ComicSearchTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * <code>ComicSearchTermRepository</code> handles storing and removing instances of {@link
+ * ComicSearchTerm}.
+ *
+ * @author Darryl L. Pierce
+ */
+@Repository
+public interface ComicSearchTermRepository extends JpaRepository<ComicSearchTerm, Long> {
+  /**
+   * Deletes the search terms for the given comic details.
+   *
+   * @param comicDetailIds the comic detail ids
+   * @return the number of terms deleted
+   */
+  @Modifying
+  @Query("DELETE FROM ComicSearchTerm t WHERE t.comicDetailId IN (:comicDetailIds)")
+  int deleteForComicDetails(@Param("comicDetailIds") Collection<Long> comicDetailIds);
+}
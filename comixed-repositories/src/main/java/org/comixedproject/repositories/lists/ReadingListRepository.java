@@ -18,12 +18,15 @@
 
 package org.comixedproject.repositories.lists;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.lists.ReadingList;
 import org.comixedproject.model.user.ComiXedUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -47,7 +50,8 @@ public interface ReadingListRepository extends JpaRepository<ReadingList, Long>
    * @return the reading list
    */
   @Query(
-      "SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM ReadingList l WHERE l.owner = :owner AND l.nameKey = UPPER(:listName)")
+      "SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM ReadingList l WHERE l.owner ="
+          + " :owner AND l.nameKey = UPPER(:listName)")
   boolean checkForExistingReadingList(
       @Param("owner") ComiXedUser owner, @Param("listName") String listName);
 
@@ -62,7 +66,8 @@ public interface ReadingListRepository extends JpaRepository<ReadingList, Long>
   ReadingList getReadingListForUserAndId(@Param("owner") ComiXedUser owner, @Param("id") long id);
 
   @Query(
-      "SELECT l FROM ReadingList l JOIN FETCH l.entries WHERE l.owner.email = :email AND :comicBook MEMBER OF l.entries")
+      "SELECT l FROM ReadingList l JOIN FETCH l.entries WHERE l.owner.email = :email AND :comicBook"
+          + " MEMBER OF l.entries")
   List<ReadingList> findByOwnerAndComic(
       @Param("email") String email, @Param("comicBook") ComicBook comicBook);
 
@@ -77,4 +82,70 @@ public interface ReadingListRepository extends JpaRepository<ReadingList, Long>
 
   @Query("SELECT l FROM ReadingList l WHERE :comicDetail MEMBER OF l.entries ")
   List<ReadingList> getReadingListsWithComic(@Param("comicDetail") ComicDetail comicDetail);
+
+  /**
+   * Adds the given comic books to a reading list. Comic books already in the list are skipped.
+   *
+   * @param readingListId the reading list id
+   * @param comicBookIds the comic book ids
+   * @return the number of entries added
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO reading_list_entries (reading_list_id, comic_detail_id) SELECT"
+              + " :readingListId, d.id FROM comic_details d WHERE d.comic_book_id IN"
+              + " (:comicBookIds) AND d.id NOT IN (SELECT e.comic_detail_id FROM"
+              + " reading_list_entries e WHERE e.reading_list_id = :readingListId)")
+  int addEntries(
+      @Param("readingListId") long readingListId,
+      @Param("comicBookIds") Collection<Long> comicBookIds);
+
+  /**
+   * Removes the given comic books from a reading list.
+   *
+   * @param readingListId the reading list id
+   * @param comicBookIds the comic book ids
+   * @return the number of entries removed
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM reading_list_entries WHERE reading_list_id = :readingListId AND"
+              + " comic_detail_id IN (SELECT d.id FROM comic_details d WHERE d.comic_book_id IN"
+              + " (:comicBookIds))")
+  int removeEntries(
+      @Param("readingListId") long readingListId,
+      @Param("comicBookIds") Collection<Long> comicBookIds);
+
+  /**
+   * Updates the last modified date for all reading lists that contain the given comic.
+   *
+   * @param comicDetailId the comic detail id
+   * @param lastModifiedOn the last modified date
+   * @return the number of reading lists updated
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE reading_lists SET last_modified_on = :lastModifiedOn WHERE id IN (SELECT"
+              + " e.reading_list_id FROM reading_list_entries e WHERE e.comic_detail_id ="
+              + " :comicDetailId)")
+  int touchReadingListsWithComic(
+      @Param("comicDetailId") long comicDetailId, @Param("lastModifiedOn") Date lastModifiedOn);
+
+  /**
+   * Removes the given comic from all reading lists.
+   *
+   * @param comicDetailId the comic detail id
+   * @return the number of entries removed
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value = "DELETE FROM reading_list_entries WHERE comic_detail_id = :comicDetailId")
+  int removeEntriesForComic(@Param("comicDetailId") long comicDetailId);
 }
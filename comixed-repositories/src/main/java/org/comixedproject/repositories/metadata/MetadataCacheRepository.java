@@ -18,8 +18,10 @@
 
 package org.comixedproject.repositories.metadata;
 
+import java.util.Date;
 import org.comixedproject.model.metadata.MetadataCache;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,4 +43,14 @@ public interface MetadataCacheRepository extends JpaRepository<MetadataCache, Lo
    */
   @Query("SELECT c FROM MetadataCache c WHERE c.source = :source AND c.cacheKey = :key")
   MetadataCache getFromCache(@Param("source") String source, @Param("key") String key);
+
+  /**
+   * Deletes all cache entries created before the given threshold.
+   *
+   * @param threshold the threshold
+   * @return the number of entries deleted
+   */
+  @Modifying
+  @Query("DELETE FROM MetadataCache c WHERE c.createdOn < :threshold")
+  int deleteCreatedBefore(@Param("threshold") Date threshold);
 }
@@ -82,6 +82,9 @@ public class ComicBookRepositoryTest {
   private static final String TEST_HASH_WITH_COMICS = "0123456789ABCDEF0123456789ABCDEF";
   private static final int TEST_BATCH_SIZE = 1;
   private static final String TEST_COMICBOOK_FILENAME = "src/test/resources/comicbook.cbz";
+  private static final String TEST_EXISTING_FILENAME =
+      "C:/users/comixeduser/Documents/comicBooks/example.cbz";
+  private static final String TEST_MISSING_FILENAME = "/home/comixed/missing.cbz";
 
   @Autowired private ComicBookRepository repository;
 
@@ -364,4 +367,14 @@ public class ComicBookRepositoryTest {
     assertNull(record.get().getComicDetail().getTitle());
     assertNull(record.get().getComicDetail().getDescription());
   }
+
+  @Test
+  public void testFindExistingFilenames() {
+    final List<String> result =
+        repository.findExistingFilenames(List.of(TEST_EXISTING_FILENAME, TEST_MISSING_FILENAME));
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertTrue(result.contains(TEST_EXISTING_FILENAME));
+  }
 }
@@ -24,12 +24,18 @@ import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
 import java.util.List;
 import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicTagType;
+import org.comixedproject.model.comicbooks.CoverDateFacets;
 import org.comixedproject.repositories.RepositoryContext;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -55,6 +61,9 @@ public class ComicDetailRepositoryTest {
   private static final String TEST_READ_VOLUME = "2017";
   private static final String TEST_EMAIL = "comixedreader@localhost";
   private static final long TEST_READING_LIST_ID = 1001L;
+  private static final String TEST_TAG_VALUE = "Captain America";
+  private static final List<String> TEST_SEARCH_TERMS = List.of("capt", "ameri");
+  private static final List<String> TEST_MARVEL_SEARCH_TERMS = List.of("capt", "marv");
 
   @Autowired private ComicDetailRepository repository;
 
@@ -104,4 +113,144 @@ public class ComicDetailRepositoryTest {
     assertFalse(result.isEmpty());
     assertEquals(1, result.size());
   }
+
+  @Test
+  public void testFindComicIdsByExample() {
+    final ComicDetail detail = new ComicDetail();
+    detail.setComicState(null);
+    detail.setCoverDate(null);
+    detail.setMonthPublished(null);
+    detail.setYearPublished(null);
+    detail.setAddedDate(null);
+    detail.setComicType(null);
+    detail.setUnscraped(null);
+    detail.setSeries(TEST_READ_SERIES);
+    final Example<ComicDetail> example = Example.of(detail, ExampleMatcher.matching());
+
+    final List<Long> result = repository.findComicIdsByExample(example);
+
+    assertNotNull(result);
+    assertEquals(
+        repository.findAll(example).stream().map(ComicDetail::getComicId).sorted().toList(),
+        result.stream().sorted().toList());
+    assertFalse(result.isEmpty());
+  }
+
+  @Test
+  public void testFindComicIdsByUnfilteredExample() {
+    final ComicDetail detail = new ComicDetail();
+    detail.setComicState(null);
+    detail.setCoverDate(null);
+    detail.setMonthPublished(null);
+    detail.setYearPublished(null);
+    detail.setAddedDate(null);
+    detail.setComicType(null);
+    detail.setUnscraped(null);
+    final Example<ComicDetail> example = Example.of(detail, ExampleMatcher.matching());
+
+    final List<Long> result = repository.findComicIdsByExample(example);
+
+    assertNotNull(result);
+    assertEquals(
+        repository.findAll().stream().map(ComicDetail::getComicId).sorted().toList(),
+        result.stream().sorted().toList());
+  }
+
+  @Test
+  public void testGetCoverDateFacetsByExample() {
+    final ComicDetail detail = new ComicDetail();
+    detail.setComicState(null);
+    detail.setCoverDate(null);
+    detail.setMonthPublished(null);
+    detail.setYearPublished(null);
+    detail.setAddedDate(null);
+    detail.setComicType(null);
+    detail.setUnscraped(null);
+    final Example<ComicDetail> example = Example.of(detail, ExampleMatcher.matching());
+
+    final CoverDateFacets result = repository.getCoverDateFacetsByExample(example);
+
+    assertNotNull(result);
+    final List<ComicDetail> expected = repository.findAll(example);
+    assertFalse(result.getCoverYears().isEmpty());
+    assertEquals(
+        expected.stream().map(ComicDetail::getYearPublished).distinct().sorted().toList(),
+        result.getCoverYears());
+    assertEquals(
+        expected.stream().map(ComicDetail::getMonthPublished).distinct().sorted().toList(),
+        result.getCoverMonths());
+    assertEquals(expected.size(), result.getCount());
+  }
+
+  @Test
+  public void testGetAllComicIdsForTagType() {
+    final List<Long> result =
+        repository.getAllComicIdsForTagType(ComicTagType.CHARACTER, TEST_TAG_VALUE);
+
+    assertNotNull(result);
+    assertEquals(
+        repository.getAllComicsForTagType(ComicTagType.CHARACTER, TEST_TAG_VALUE).stream()
+            .map(ComicDetail::getComicId)
+            .sorted()
+            .toList(),
+        result.stream().sorted().toList());
+    assertFalse(result.isEmpty());
+  }
+
+  @Test
+  public void testFindBySearchTerms() {
+    final List<ComicDetail> result =
+        repository.findBySearchTerms(TEST_SEARCH_TERMS, Pageable.unpaged());
+
+    assertNotNull(result);
+    assertEquals(List.of(2000L, 2001L), result.stream().map(ComicDetail::getId).sorted().toList());
+  }
+
+  @Test
+  public void testFindBySearchTermsAllTermsMustMatch() {
+    final List<ComicDetail> result =
+        repository.findBySearchTerms(TEST_MARVEL_SEARCH_TERMS, Pageable.unpaged());
+
+    assertNotNull(result);
+    assertEquals(List.of(2001L), result.stream().map(ComicDetail::getId).toList());
+  }
+
+  @Test
+  public void testFindBySearchTermsWithoutTerms() {
+    assertTrue(repository.findBySearchTerms(List.of(), Pageable.unpaged()).isEmpty());
+  }
+
+  @Test
+  public void testFindBySearchTermsPaged() {
+    final List<ComicDetail> result =
+        repository.findBySearchTerms(
+            TEST_SEARCH_TERMS, PageRequest.of(1, 1, Sort.by(Sort.Direction.ASC, "id")));
+
+    assertNotNull(result);
+    assertEquals(List.of(2001L), result.stream().map(ComicDetail::getId).toList());
+  }
+
+  @Test
+  public void testCountBySearchTerms() {
+    assertEquals(2L, repository.countBySearchTerms(TEST_SEARCH_TERMS));
+  }
+
+  @Test
+  public void testFindComicIdsBySearchTerms() {
+    final List<Long> result = repository.findComicIdsBySearchTerms(TEST_SEARCH_TERMS);
+
+    assertNotNull(result);
+    assertEquals(List.of(1000L, 1001L), result.stream().sorted().toList());
+  }
+
+  @Test
+  public void testGetCoverDateFacetsBySearchTerms() {
+    final CoverDateFacets result =
+        repository.getCoverDateFacetsBySearchTerms(TEST_MARVEL_SEARCH_TERMS);
+
+    assertNotNull(result);
+    assertEquals(List.of(2017), result.getCoverYears());
+    assertEquals(List.of(2), result.getCoverMonths());
+    assertEquals(1L, result.getCount());
+  }
 }
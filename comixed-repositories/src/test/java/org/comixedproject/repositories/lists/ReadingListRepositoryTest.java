@@ -22,6 +22,7 @@ import static org.junit.Assert.*;
 
 import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import org.comixedproject.model.comicbooks.ComicDetail;
@@ -41,6 +42,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
 import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+import org.springframework.transaction.annotation.Transactional;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = RepositoryContext.class)
@@ -59,6 +61,9 @@ public class ReadingListRepositoryTest {
   public static final long TEST_COMIC_ID_2 = 1001L;
   private static final long TEST_USER_ID_1 = 1000L;
   private static final long TEST_READING_LIST_ID_1 = 1000L;
+  private static final long TEST_READING_LIST_ID_2 = 1001L;
+  private static final long TEST_SHARED_COMIC_ID = 1004L;
+  private static final long TEST_SHARED_COMIC_DETAIL_ID = 2004L;
 
   @Autowired private ReadingListRepository repository;
   @Autowired private ComiXedUserRepository userRepository;
@@ -155,4 +160,42 @@ public class ReadingListRepositoryTest {
 
     assertNotNull(result);
   }
+
+  @Test
+  @Transactional
+  public void testAddEntries() {
+    final int result =
+        repository.addEntries(
+            TEST_READING_LIST_ID_2, List.of(TEST_COMIC_ID_1, TEST_SHARED_COMIC_ID));
+
+    assertEquals(1, result);
+    assertEquals(2, repository.getById(TEST_READING_LIST_ID_2).getEntries().size());
+  }
+
+  @Test
+  @Transactional
+  public void testRemoveEntries() {
+    final int result =
+        repository.removeEntries(TEST_READING_LIST_ID_1, List.of(TEST_COMIC_ID_1, TEST_COMIC_ID_2));
+
+    assertEquals(2, result);
+    assertEquals(3, repository.getById(TEST_READING_LIST_ID_1).getEntries().size());
+  }
+
+  @Test
+  @Transactional
+  public void testTouchReadingListsWithComic() {
+    final int result =
+        repository.touchReadingListsWithComic(TEST_SHARED_COMIC_DETAIL_ID, new Date());
+
+    assertEquals(2, result);
+  }
+
+  @Test
+  @Transactional
+  public void testRemoveEntriesForComic() {
+    final int result = repository.removeEntriesForComic(TEST_SHARED_COMIC_DETAIL_ID);
+
+    assertEquals(2, result);
+  }
 }
@@ -19,12 +19,14 @@
 package org.comixedproject.repositories.metadata;
 
 import static junit.framework.TestCase.*;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import org.comixedproject.model.metadata.MetadataCache;
-import org.comixedproject.model.metadata.MetadataCacheEntry;
 import org.comixedproject.repositories.RepositoryContext;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,6 +38,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 import org.springframework.test.context.support.DirtiesContextTestExecutionListener;
 import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+import org.springframework.transaction.annotation.Transactional;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = RepositoryContext.class)
@@ -50,7 +53,10 @@ import org.springframework.test.context.transaction.TransactionalTestExecutionLi
 public class MetadataCacheRepositoryTest {
   private static final String TEST_SOURCE = "ComicVine";
   private static final String TEST_CACHE_KEY = "volumes[Iron Man]";
+  private static final String TEST_EXPIRED_CACHE_KEY = "volumes[Spider-Man]";
   private static final String TEST_NEW_ENTRY_CACHE_KEY = "volumes[The Avengers]";
+  private static final byte[] TEST_CACHED_VALUES = "cached-values".getBytes(StandardCharsets.UTF_8);
+  private static final Date TEST_EXPIRE_THRESHOLD = new Date(1609459200000L);
 
   @Autowired private MetadataCacheRepository metadataCacheRepository;
 
@@ -70,12 +76,7 @@ public class MetadataCacheRepositoryTest {
     assertNotNull(result);
     assertEquals(TEST_SOURCE, result.getSource());
     assertEquals(TEST_CACHE_KEY, result.getCacheKey());
-    assertFalse(result.getEntries().isEmpty());
-    for (int index = 0; index < result.getEntries().size(); index++) {
-      final MetadataCacheEntry entry = result.getEntries().get(index);
-      assertEquals(index, entry.getEntryNumber().intValue());
-      assertEquals(String.format("cached-value-%d", index), entry.getEntryValue());
-    }
+    assertArrayEquals(TEST_CACHED_VALUES, result.getCachedValues());
   }
 
   @Test
@@ -83,13 +84,7 @@ public class MetadataCacheRepositoryTest {
     final MetadataCache entry = new MetadataCache();
     entry.setSource(TEST_SOURCE);
     entry.setCacheKey(TEST_NEW_ENTRY_CACHE_KEY);
-    for (int index = 0; index < 100; index++) {
-      final MetadataCacheEntry value = new MetadataCacheEntry();
-      value.setEntryNumber(index);
-      value.setEntryValue(String.valueOf(System.currentTimeMillis()));
-      value.setMetadataCache(entry);
-      entry.getEntries().add(value);
-    }
+    entry.setCachedValues(String.valueOf(System.currentTimeMillis()).getBytes());
 
     this.metadataCacheRepository.save(entry);
 
@@ -99,12 +94,16 @@ public class MetadataCacheRepositoryTest {
     assertNotNull(result);
     assertEquals(TEST_SOURCE, result.getSource());
     assertEquals(TEST_NEW_ENTRY_CACHE_KEY, result.getCacheKey());
-    assertFalse(result.getEntries().isEmpty());
-    for (int index = 0; index < entry.getEntries().size(); index++) {
-      assertEquals(index, result.getEntries().get(index).getEntryNumber().intValue());
-      assertEquals(
-          entry.getEntries().get(index).getEntryValue(),
-          result.getEntries().get(index).getEntryValue());
-    }
+    assertArrayEquals(entry.getCachedValues(), result.getCachedValues());
+  }
+
+  @Test
+  @Transactional
+  public void testDeleteCreatedBefore() {
+    final int result = this.metadataCacheRepository.deleteCreatedBefore(TEST_EXPIRE_THRESHOLD);
+
+    assertEquals(1, result);
+    assertNull(this.metadataCacheRepository.getFromCache(TEST_SOURCE, TEST_EXPIRED_CACHE_KEY));
+    assertNotNull(this.metadataCacheRepository.getFromCache(TEST_SOURCE, TEST_CACHE_KEY));
   }
 }
@@ -33,28 +33,32 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicbooks.ComicTagType;
+import org.comixedproject.model.comicbooks.CoverDateFacets;
 import org.comixedproject.model.comicpages.Page;
 import org.comixedproject.model.net.DownloadDocument;
 import org.comixedproject.model.net.comicbooks.*;
 import org.comixedproject.service.comicbooks.*;
 import org.comixedproject.service.comicfiles.ComicFileService;
 import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.library.LastReadException;
 import org.comixedproject.service.library.LastReadService;
 import org.comixedproject.service.lists.ReadingListException;
 import org.comixedproject.service.lists.ReadingListService;
 import org.comixedproject.views.View.ComicDetailsView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * <code>ComicBookController</code> provides REST endpoints for instances of {@link ComicBook}.
@@ -76,7 +80,6 @@ public class ComicBookController {
   @Autowired private ComicFileService comicFileService;
   @Autowired private ReadingListService readingListService;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
-  @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private LastReadService lastReadService;
 
   /**
@@ -150,14 +153,15 @@ public class ComicBookController {
   public void deleteSelectedComicBooks(final HttpSession session) throws ComicBookException {
 
     try {
-      final List<Long> ids =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> ids = selections.toList();
       log.debug("Deleting multiple comics: ids={}", ids.toArray());
       this.comicBookService.deleteComicBooksById(ids);
 
-      this.comicBookSelectionService.clearSelectedComicBooks(ids);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(ids));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     } catch (ComicBookSelectionException error) {
       throw new ComicBookException("Failed to delete selected comic books", error);
     }
@@ -175,15 +179,16 @@ public class ComicBookController {
   @Timed(value = "comixed.comics.mark-many.undelete-selected")
   public void undeleteSelectedComicBooks(final HttpSession session) throws ComicBookException {
     try {
-      final List<Long> ids =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> ids = selections.toList();
 
       log.debug("Undeleting multiple comic: {}", ids.toArray());
       this.comicBookService.undeleteComicBooksById(ids);
 
-      this.comicBookSelectionService.clearSelectedComicBooks(ids);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(ids));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     } catch (ComicBookSelectionException error) {
       throw new ComicBookException("Failed to delete selected comic books", error);
     }
@@ -228,14 +233,19 @@ public class ComicBookController {
    * Retrieves the cover page content for a comic.
    *
    * @param id the comic id
+   * @param size the optional width of a downscaled rendition
+   * @param request the web request
    * @return the page content
    * @throws ComicBookException if an error occurs
    */
   @GetMapping(value = "/api/comics/{id}/cover/content")
   @Timed(value = "comixed.comic-book.pages.get-cover")
-  public ResponseEntity<byte[]> getCoverImage(@PathVariable("id") final long id)
+  public ResponseEntity<Resource> getCoverImage(
+      @PathVariable("id") final long id,
+      @RequestParam(name = "size", required = false) final Integer size,
+      final WebRequest request)
       throws ComicBookException {
-    log.debug("Getting cover for comicBook: id={}", id);
+    log.debug("Getting cover for comicBook: id={} size={}", id, size);
     final ComicBook comicBook = this.comicBookService.getComic(id);
 
     if (comicBook == null || comicBook.isMissing()) {
@@ -243,21 +253,24 @@ public class ComicBookController {
     }
 
     if (comicBook.getPageCount() > 0) {
-      final String filename = comicBook.getPage(0).getFilename();
       final Page page = comicBook.getPage(0);
-      log.debug("Looking for cached image: hash={}", page.getHash());
-      byte[] content = this.pageCacheService.findByHash(page.getHash());
-      if (content == null) {
-        log.debug("Loading page from archive");
-        try {
-          content = this.comicBookAdaptor.loadPageContent(comicBook, 0);
-          this.pageCacheService.saveByHash(page.getHash(), content);
-        } catch (AdaptorException error) {
-          log.error("Failed to load page content", error);
-        }
+      final String filename = page.getFilename();
+      final String etag = this.pageCacheService.getETagForPage(page, size);
+      if (request.checkNotModified(etag)) {
+        log.debug("Cover not modified: etag={}", etag);
+        return null;
       }
-      log.debug("Returning comicBook cover: filename={} size={}", filename, content.length);
-      return this.getResponseEntityForImage(content, filename);
+      final PageImage image = this.pageCacheService.getPageImage(page, size);
+      if (image == null) {
+        return this.getResponseEntityForImage(this.doLoadMissingPageImage(), MISSING_COMIC_COVER);
+      }
+      log.debug("Returning comicBook cover: filename={}", filename);
+      return ResponseEntity.ok()
+          .header("Content-Disposition", String.format(ATTACHMENT_FILENAME_FORMAT, filename))
+          .contentType(MediaType.valueOf(image.getContentType()))
+          .cacheControl(CacheControl.maxAge(24, TimeUnit.DAYS))
+          .eTag(etag)
+          .body(image.getResource());
     } else {
       log.debug("ComicBook is unprocessed; getting the first image instead");
       byte[] coverContent;
@@ -282,18 +295,20 @@ public class ComicBookController {
     }
   }
 
-  private ResponseEntity<byte[]> getResponseEntityForImage(byte[] content, String filename) {
-    final ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
-    String type =
-        this.fileTypeAdaptor.getType(inputStream)
-            + "/"
-            + this.fileTypeAdaptor.getSubtype(inputStream);
+  private ResponseEntity<Resource> getResponseEntityForImage(byte[] content, String filename) {
     return ResponseEntity.ok()
         .contentLength(content.length)
         .header("Content-Disposition", String.format(ATTACHMENT_FILENAME_FORMAT, filename))
-        .contentType(MediaType.valueOf(type))
+        .contentType(MediaType.valueOf(this.doGetContentType(content)))
         .cacheControl(CacheControl.maxAge(24, TimeUnit.DAYS))
-        .body(content);
+        .body(new ByteArrayResource(content));
+  }
+
+  private String doGetContentType(final byte[] content) {
+    final ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
+    return this.fileTypeAdaptor.getType(inputStream)
+        + "/"
+        + this.fileTypeAdaptor.getSubtype(inputStream);
   }
 
   /**
@@ -347,32 +362,8 @@ public class ComicBookController {
             request.getVolume(),
             request.getSortBy(),
             request.getSortDirection());
-    final List<Integer> coverYears =
-        this.comicDetailService.getCoverYears(
-            request.getCoverYear(),
-            request.getCoverMonth(),
-            request.getArchiveType(),
-            request.getComicType(),
-            request.getComicState(),
-            request.getUnscrapedState(),
-            request.getSearchText(),
-            request.getPublisher(),
-            request.getSeries(),
-            request.getVolume());
-    final List<Integer> coverMonths =
-        this.comicDetailService.getCoverMonths(
-            request.getCoverYear(),
-            request.getCoverMonth(),
-            request.getArchiveType(),
-            request.getComicType(),
-            request.getComicState(),
-            request.getUnscrapedState(),
-            request.getSearchText(),
-            request.getPublisher(),
-            request.getSeries(),
-            request.getVolume());
-    final long filterCount =
-        this.comicDetailService.getFilterCount(
+    final CoverDateFacets coverDateFacets =
+        this.comicDetailService.getCoverDateFacets(
             request.getCoverYear(),
             request.getCoverMonth(),
             request.getArchiveType(),
@@ -385,10 +376,10 @@ public class ComicBookController {
             request.getVolume());
     return new LoadComicDetailsResponse(
         comicDetails,
-        coverYears,
-        coverMonths,
+        coverDateFacets.getCoverYears(),
+        coverDateFacets.getCoverMonths(),
         this.comicBookService.getComicBookCount(),
-        filterCount,
+        coverDateFacets.getCount(),
         this.lastReadService.loadForComicDetails(email, comicDetails));
   }
 
@@ -536,7 +527,8 @@ public class ComicBookController {
     final String sortBy = request.getSortBy();
     final String sortDirection = request.getSortDirection();
     log.debug(
-        "Loading comic details for a reading list: reading list={} size={} index={} sort by ={} [{}]",
+        "Loading comic details for a reading list: reading list={} size={} index={} sort by ={}"
+            + " [{}]",
         readingListId,
         pageSize,
         pageIndex,
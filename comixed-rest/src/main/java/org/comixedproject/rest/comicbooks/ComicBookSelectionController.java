@@ -26,6 +26,7 @@ import org.comixedproject.model.comicbooks.ComicTagType;
 import org.comixedproject.model.net.comicbooks.AddComicBookSelectionsByIdRequest;
 import org.comixedproject.model.net.comicbooks.MultipleComicBooksSelectionRequest;
 import org.comixedproject.opds.OPDSUtils;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,10 +58,11 @@ public class ComicBookSelectionController {
   @GetMapping(value = "/api/comics/selections", produces = MediaType.APPLICATION_JSON_VALUE)
   @PreAuthorize("hasRole('READER')")
   @Timed(value = "comixed.comic-book.selections.load")
-  public List getAllSelections(final HttpSession session) throws ComicBookSelectionException {
+  public List<Long> getAllSelections(final HttpSession session) throws ComicBookSelectionException {
     log.info("Loading comic book selections");
-    return this.comicBookSelectionService.decodeSelections(
-        session.getAttribute(LIBRARY_SELECTIONS));
+    return this.comicBookSelectionService
+        .decodeSelections(session.getAttribute(LIBRARY_SELECTIONS))
+        .toList();
   }
 
   /**
@@ -79,7 +81,7 @@ public class ComicBookSelectionController {
   public void addSingleSelection(
       final HttpSession session, @PathVariable("comicBookId") final Long comicBookId)
       throws ComicBookSelectionException {
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     log.info("Adding comic selection: comic book id={}", comicBookId);
     this.comicBookSelectionService.addComicSelectionForUser(selections, comicBookId);
@@ -102,7 +104,7 @@ public class ComicBookSelectionController {
       final HttpSession session, @PathVariable("comicBookId") final Long comicBookId)
       throws ComicBookSelectionException {
     log.info("Removing comic selection:comic book id={}", comicBookId);
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     this.comicBookSelectionService.removeComicSelectionFromUser(selections, comicBookId);
     session.setAttribute(
@@ -126,7 +128,7 @@ public class ComicBookSelectionController {
       final HttpSession session, @RequestBody() final MultipleComicBooksSelectionRequest request)
       throws ComicBookSelectionException {
     log.info("Updating multiple comic books selection: {}", request);
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     this.comicBookSelectionService.selectByFilter(
         selections,
@@ -164,10 +166,9 @@ public class ComicBookSelectionController {
         "Adding multiple comic books by tag type and value: type={} value={}",
         tagType,
         decodedTagValue);
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     this.comicBookSelectionService.addByTagTypeAndValue(selections, tagType, tagValue);
-    this.comicBookSelectionService.publisherSelections(selections);
     session.setAttribute(
         LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
   }
@@ -195,10 +196,9 @@ public class ComicBookSelectionController {
         "Removing multiple comic books by tag type and value: type={} value={}",
         tagType,
         decodedTagValue);
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     this.comicBookSelectionService.removeByTagTypeAndValue(selections, tagType, tagValue);
-    this.comicBookSelectionService.publisherSelections(selections);
     session.setAttribute(
         LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
   }
@@ -216,18 +216,16 @@ public class ComicBookSelectionController {
   public void addComicBookSelectionsById(
       final HttpSession session, @RequestBody() final AddComicBookSelectionsByIdRequest request)
       throws ComicBookSelectionException {
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
 
     if (request.isSelected()) {
       log.info("Adding ids from comic book selections");
-      selections.addAll(request.getComicBookIds());
     } else {
       log.info("Removing ids from comic book selections");
-      selections.removeAll(request.getComicBookIds());
     }
-
-    this.comicBookSelectionService.publisherSelections(selections);
+    this.comicBookSelectionService.selectByIds(
+        selections, request.getComicBookIds(), request.isSelected());
     session.setAttribute(
         LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
   }
@@ -242,7 +240,7 @@ public class ComicBookSelectionController {
   @PreAuthorize("hasRole('READER')")
   @Timed(value = "comixed.comic-book.selections.clear")
   public void clearSelections(final HttpSession session) throws ComicBookSelectionException {
-    final List selections =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
     log.info("Clearing comic selections");
     this.comicBookSelectionService.clearSelectedComicBooks(selections);
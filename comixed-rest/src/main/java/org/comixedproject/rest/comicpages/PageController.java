@@ -21,26 +21,24 @@ package org.comixedproject.rest.comicpages;
 import static org.comixedproject.rest.comicbooks.ComicBookController.MISSING_COMIC_COVER_FILENAME;
 
 import io.micrometer.core.annotation.Timed;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.log4j.Log4j2;
-import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
-import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicpages.Page;
 import org.comixedproject.model.net.comicpages.UpdatePageDeletionRequest;
 import org.comixedproject.service.comicpages.PageCacheService;
 import org.comixedproject.service.comicpages.PageException;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.comicpages.PageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * <code>PageController</code> provides REST APIs for working with instances of {@link Page}.
@@ -52,79 +50,83 @@ import org.springframework.web.bind.annotation.*;
 public class PageController {
   @Autowired private PageService pageService;
   @Autowired private PageCacheService pageCacheService;
-  @Autowired private FileTypeAdaptor fileTypeAdaptor;
-  @Autowired private ComicBookAdaptor comicBookAdaptor;
 
   /**
    * Retrieves the content for a single comic page by comic id and page index.
    *
    * @param pageId the comic id
+   * @param size the optional width of a downscaled rendition
+   * @param request the web request
    * @return the page content
    * @throws PageException if an error occurs
    */
   @GetMapping(value = "/api/pages/{pageId}/content")
   @Timed(value = "comixed.page.get-content")
-  public ResponseEntity<byte[]> getPageContent(@PathVariable("pageId") long pageId)
+  public ResponseEntity<Resource> getPageContent(
+      @PathVariable("pageId") long pageId,
+      @RequestParam(name = "size", required = false) final Integer size,
+      final WebRequest request)
       throws PageException {
-    log.info("Getting image content for page: pageId={}", pageId);
-    return this.getResponseEntityForPage(this.pageService.getForId(pageId));
+    log.info("Getting image content for page: pageId={} size={}", pageId, size);
+    return this.getResponseEntityForPage(this.pageService.getForId(pageId), size, request);
   }
 
   /**
-   * Retrieves a page's content from either the page cache or the comic file itself.
+   * Retrieves a page's content from either the page cache or the comic file itself. Since pages are
+   * identified by their content hash, the hash is used as the entity tag and requests for content
+   * the client already has are answered without loading it.
    *
    * @param page the page
-   * @return the content
-   * @throws PageException if the page could not be found in the comic file
+   * @param size the optional width of a downscaled rendition
+   * @param request the web request
+   * @return the content, or <code>null</code> if the client's copy is current
    */
-  private ResponseEntity<byte[]> getResponseEntityForPage(Page page) throws PageException {
+  private ResponseEntity<Resource> getResponseEntityForPage(
+      final Page page, final Integer size, final WebRequest request) {
     log.debug("creating response entity for page: id={}", page.getId());
-    byte[] content = this.pageCacheService.findByHash(page.getHash());
-
-    if (content == null) {
-      try {
-        log.debug("Fetching content for page");
-        content = this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber());
-        log.debug("Caching image for hash: {} bytes hash={}", content.length, page.getHash());
-        this.pageCacheService.saveByHash(page.getHash(), content);
-      } catch (AdaptorException error) {
-        log.error("Failed to load page content", error);
-      }
+    final String etag = this.pageCacheService.getETagForPage(page, size);
+    if (request.checkNotModified(etag)) {
+      log.debug("Page not modified: etag={}", etag);
+      return null;
     }
 
-    if (content == null) {
-      content = this.doLoadMissingPageImage();
+    final PageImage image = this.pageCacheService.getPageImage(page, size);
+    if (image == null) {
+      return ResponseEntity.ok()
+          .header("Content-Disposition", "attachment; filename=\"" + page.getFilename() + "\"")
+          .contentType(MediaType.IMAGE_PNG)
+          .body(new ClassPathResource(MISSING_COMIC_COVER_FILENAME));
     }
 
-    String type =
-        this.fileTypeAdaptor.getType(new ByteArrayInputStream(content))
-            + "/"
-            + this.fileTypeAdaptor.getSubtype(new ByteArrayInputStream(content));
-    log.debug("Page type: {}", type);
-
+    log.debug("Page type: {}", image.getContentType());
     return ResponseEntity.ok()
-        .contentLength(content != null ? content.length : 0)
         .header("Content-Disposition", "attachment; filename=\"" + page.getFilename() + "\"")
-        .contentType(MediaType.valueOf(type))
+        .contentType(MediaType.valueOf(image.getContentType()))
         .cacheControl(CacheControl.maxAge(24, TimeUnit.DAYS))
-        .body(content);
+        .eTag(etag)
+        .body(image.getResource());
   }
 
   /**
    * Returns the page content for the given hash value.
    *
    * @param hash the page hash
+   * @param size the optional width of a downscaled rendition
+   * @param request the web request
    * @return the page content
    * @throws PageException if an error occurs
    */
   @GetMapping(value = "/api/pages/hashes/{hash}/content")
   @Timed(value = "comixed.page.get-content-for-hash")
-  public ResponseEntity<byte[]> getPageForHash(@PathVariable("hash") final String hash)
+  public ResponseEntity<Resource> getPageForHash(
+      @PathVariable("hash") final String hash,
+      @RequestParam(name = "size", required = false) final Integer size,
+      final WebRequest request)
       throws PageException {
-    log.info("Getting image content for page hash: {}", hash);
+    log.info("Getting image content for page hash: {} size={}", hash, size);
     final Page page = this.pageService.getOneForHash(hash);
     if (page == null) return null;
-    return this.getResponseEntityForPage(page);
+    return this.getResponseEntityForPage(page, size, request);
   }
 
   /**
@@ -154,14 +156,4 @@ public class PageController {
     log.info("Unmarking {} page{} as deleted", ids.size(), ids.size() == 1 ? "" : "s");
     this.pageService.updatePageDeletion(ids, false);
   }
-
-  private byte[] doLoadMissingPageImage() {
-    try (final InputStream input =
-        this.getClass().getResourceAsStream(MISSING_COMIC_COVER_FILENAME)) {
-      return input.readAllBytes();
-    } catch (IOException error) {
-      log.error("Failed to load missing page image", error);
-      return null;
-    }
-  }
 }
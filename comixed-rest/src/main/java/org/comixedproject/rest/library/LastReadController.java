@@ -26,6 +26,7 @@ import java.security.Principal;
 import java.util.List;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.net.comicbooks.LoadUnreadComicBookCountResponse;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.library.LastReadException;
@@ -132,10 +133,10 @@ public class LastReadController {
   private void doSetSelectedComicBooksReadState(
       final HttpSession session, final Principal principal, final boolean markAsRead)
       throws LastReadException {
-    final List<Long> ids;
     try {
-      ids =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> ids = selections.toList();
       final String email = principal.getName();
       if (markAsRead) {
         log.info(
@@ -146,9 +147,9 @@ public class LastReadController {
             "Marking {} comic{} as unread for {}", ids.size(), ids.size() == 1 ? "" : "s", email);
         this.lastReadService.markComicBooksAsUnread(email, ids);
       }
-      this.comicBookSelectionService.clearSelectedComicBooks(ids);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(ids));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     } catch (ComicBookSelectionException error) {
       throw new LastReadException("Failed to update last read state for selected comics", error);
     }
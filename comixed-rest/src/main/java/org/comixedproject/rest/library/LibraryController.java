@@ -81,6 +81,7 @@ public class LibraryController {
   @Autowired private ComicDetailService comicDetailService;
   @Autowired private ConfigurationService configurationService;
   @Autowired private ComicBookSelectionService comicBookSelectionService;
+  @Autowired private ComicSearchIndexService comicSearchIndexService;
 
   @Autowired
   @Qualifier("batchJobLauncher")
@@ -183,8 +184,9 @@ public class LibraryController {
 
     log.trace("Loading comic book selections");
     try {
-      final List<Long> idList =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> idList = selections.toList();
       final ArchiveType archiveType = request.getArchiveType();
       final boolean renamePages = request.isRenamePages();
       final boolean deletePages = request.isDeletePages();
@@ -202,10 +204,10 @@ public class LibraryController {
       this.doStartConversionBatchProcess(archiveType, deletePages);
 
       log.trace("Clearing comic book selections");
-      this.comicBookSelectionService.clearSelectedComicBooks(idList);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       log.trace("Saving comic book selections");
       session.setAttribute(
-          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(idList));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     } catch (ComicBookSelectionException error) {
       throw new LibraryException("Failed to start converting selected comic books", error);
     }
@@ -245,8 +247,9 @@ public class LibraryController {
   public void organizeLibrary(
       final HttpSession session, @RequestBody() OrganizeLibraryRequest request) throws Exception {
     final boolean deleteRemovedComicFiles = request.getDeletePhysicalFiles();
-    final List<Long> selectedIds =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+    final List<Long> selectedIds = selections.toList();
     log.info(
         "Organizing library: count={} delete physic files={}",
         selectedIds.size(),
@@ -271,10 +274,10 @@ public class LibraryController {
             .addString(JOB_ORGANIZATION_RENAMING_RULE, renamingRule)
             .toJobParameters());
     log.debug("Clearing comic book selections");
-    this.comicBookSelectionService.clearSelectedComicBooks(selectedIds);
+    this.comicBookSelectionService.clearSelectedComicBooks(selections);
     log.debug("Deleting selections from session");
     session.setAttribute(
-        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selectedIds));
+        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
   }
 
   /**
@@ -369,13 +372,14 @@ public class LibraryController {
   @PreAuthorize("hasRole('ADMIN')")
   @Timed(value = "comixed.library.batch.rescan-selected")
   public void rescanSelectedComicBooks(final HttpSession session) throws Exception {
-    final List selectedIdList =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+    final List<Long> selectedIdList = selections.toList();
     log.info("Rescanning selected comic books");
     this.comicBookService.prepareForRescan(selectedIdList);
-    this.comicBookSelectionService.clearSelectedComicBooks(selectedIdList);
+    this.comicBookSelectionService.clearSelectedComicBooks(selections);
     session.setAttribute(
-        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selectedIdList));
+        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     log.trace("Launching rescan batch process");
     this.jobLauncher.run(
         processComicBooksJob,
@@ -418,16 +422,17 @@ public class LibraryController {
   @PreAuthorize("hasRole('ADMIN')")
   @Timed(value = "comixed.library.batch.metadata-update-selected-comic-books")
   public void updateSelectedComicBooksMetadata(final HttpSession session) throws Exception {
-    final List<Long> selectedComicBookIds =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+    final List<Long> selectedComicBookIds = selections.toList();
     log.info(
         "Updating the metadata for {} comic{}",
         selectedComicBookIds.size(),
         selectedComicBookIds.size() == 1 ? "" : "s");
     this.libraryService.updateMetadata(selectedComicBookIds);
-    this.comicBookSelectionService.clearSelectedComicBooks(selectedComicBookIds);
+    this.comicBookSelectionService.clearSelectedComicBooks(selections);
     session.setAttribute(
-        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selectedComicBookIds));
+        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     log.trace("Launching batch process");
     this.jobLauncher.run(
         this.updateMetadataJob,
@@ -457,6 +462,15 @@ public class LibraryController {
             .toJobParameters());
   }
 
+  /** Clears the search index and queues every comic in the library to be indexed again. */
+  @PostMapping(value = "/api/library/search/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  @Timed(value = "comixed.library.search.rebuild")
+  public void rebuildSearchIndex() {
+    log.info("Rebuilding the search index");
+    this.comicSearchIndexService.rebuildSearchIndex();
+  }
+
   /**
    * Updates a set of comics with the provided details.
    *
@@ -34,6 +34,7 @@ import org.comixedproject.model.net.lists.DeleteReadingListsRequest;
 import org.comixedproject.model.net.lists.SaveReadingListRequest;
 import org.comixedproject.model.net.lists.UpdateReadingListRequest;
 import org.comixedproject.repositories.lists.ReadingListRepository;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.lists.ReadingListException;
@@ -178,8 +179,9 @@ public class ReadingListController {
       throws ReadingListException {
     String email = principal.getName();
     try {
-      List<Long> selectedComicBookIds =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> selectedComicBookIds = selections.toList();
 
       log.info(
           "Adding {} comic{} to the reading list for {}: id={}",
@@ -190,10 +192,9 @@ public class ReadingListController {
       final ReadingList readingList =
           this.readingListService.addComicsToList(email, id, selectedComicBookIds);
 
-      this.comicBookSelectionService.clearSelectedComicBooks(selectedComicBookIds);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS,
-          this.comicBookSelectionService.encodeSelections(selectedComicBookIds));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
 
       return readingList;
     } catch (ComicBookSelectionException error) {
@@ -219,8 +220,9 @@ public class ReadingListController {
       throws ReadingListException {
     String email = principal.getName();
     try {
-      List<Long> selectedComicBookIds =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> selectedComicBookIds = selections.toList();
 
       log.info(
           "Removing {} comic{} from the reading list for {}: id={}",
@@ -231,10 +233,9 @@ public class ReadingListController {
       final ReadingList readingList =
           this.readingListService.removeComicsFromList(email, id, selectedComicBookIds);
 
-      this.comicBookSelectionService.clearSelectedComicBooks(selectedComicBookIds);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS,
-          this.comicBookSelectionService.encodeSelections(selectedComicBookIds));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
 
       return readingList;
     } catch (ReadingListException | ComicBookSelectionException error) {
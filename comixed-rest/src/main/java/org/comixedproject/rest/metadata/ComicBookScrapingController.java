@@ -32,6 +32,7 @@ import org.comixedproject.metadata.model.IssueMetadata;
 import org.comixedproject.metadata.model.VolumeMetadata;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.net.metadata.*;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.comicbooks.ComicBookService;
@@ -171,9 +172,9 @@ public class ComicBookScrapingController {
       final HttpSession session, @RequestBody() final StartMetadataUpdateProcessRequest request)
       throws Exception {
     log.info("Starting batch metadata update process");
-    @NonNull
-    final List<Long> selectedComicBookIdList =
+    final ComicBookSelectionBitmap selections =
         this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+    final List<Long> selectedComicBookIdList = selections.toList();
     @NonNull final Boolean skipCache = request.getSkipCache();
     log.trace(
         "Marking {} comic book{} for batch metadadata update",
@@ -189,10 +190,9 @@ public class ComicBookScrapingController {
                 System.currentTimeMillis())
             .addString(MetadataProcessConfiguration.PARAM_SKIP_CACHE, String.valueOf(skipCache))
             .toJobParameters());
-    this.comicBookSelectionService.clearSelectedComicBooks(selectedComicBookIdList);
+    this.comicBookSelectionService.clearSelectedComicBooks(selections);
     session.setAttribute(
-        LIBRARY_SELECTIONS,
-        this.comicBookSelectionService.encodeSelections(selectedComicBookIdList));
+        LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
   }
 
   /** Initiates clearing the metadata cache. */
@@ -241,18 +241,18 @@ public class ComicBookScrapingController {
   public StartMultiBookScrapingResponse startMultiBookScraping(final HttpSession session)
       throws MetadataException {
     try {
-      final List selectedIds =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
-      final List comicDetailIds =
+      final ComicBookSelectionBitmap comicDetailIds =
           this.comicBookSelectionService.decodeSelections(
               session.getAttribute(MULTI_BOOK_SCRAPING_SELECTIONS));
 
-      if (!selectedIds.isEmpty()) {
-        comicDetailIds.addAll(selectedIds);
+      if (!selections.isEmpty()) {
+        comicDetailIds.addAll(selections);
 
-        this.comicBookSelectionService.clearSelectedComicBooks(selectedIds);
+        this.comicBookSelectionService.clearSelectedComicBooks(selections);
         session.setAttribute(
-            LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selectedIds));
+            LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
       }
 
       session.setAttribute(
@@ -260,7 +260,7 @@ public class ComicBookScrapingController {
           this.comicBookSelectionService.encodeSelections(comicDetailIds));
 
       return new StartMultiBookScrapingResponse(
-          this.comicBookService.loadByComicDetailId(comicDetailIds));
+          this.comicBookService.loadByComicDetailId(comicDetailIds.toList()));
     } catch (ComicBookSelectionException error) {
       throw new MetadataException("Failed to start multi-book scraping", error);
     }
@@ -314,17 +314,20 @@ public class ComicBookScrapingController {
 
   private StartMultiBookScrapingResponse doRemoveComicBook(
       final HttpSession session, final long comicBookId) throws ComicBookSelectionException {
-    final List comicDetailIds =
+    final ComicBookSelectionBitmap comicDetailIds =
         this.comicBookSelectionService.decodeSelections(
             session.getAttribute(MULTI_BOOK_SCRAPING_SELECTIONS));
     final List<ComicBook> comicBooks =
-        this.comicBookService.loadByComicDetailId(comicDetailIds).stream()
+        this.comicBookService.loadByComicDetailId(comicDetailIds.toList()).stream()
             .filter(comicBook -> !comicBook.getId().equals(comicBookId))
             .toList();
     session.setAttribute(
         MULTI_BOOK_SCRAPING_SELECTIONS,
         this.comicBookSelectionService.encodeSelections(
-            comicBooks.stream().map(comicBook -> comicBook.getComicDetail().getId()).toList()));
+            ComicBookSelectionBitmap.of(
+                comicBooks.stream()
+                    .map(comicBook -> comicBook.getComicDetail().getId())
+                    .toList())));
 
     return new StartMultiBookScrapingResponse(comicBooks);
   }
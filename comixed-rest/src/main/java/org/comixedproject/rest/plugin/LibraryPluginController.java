@@ -32,6 +32,7 @@ import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.net.plugin.CreatePluginRequest;
 import org.comixedproject.model.net.plugin.UpdatePluginRequest;
 import org.comixedproject.model.plugin.LibraryPlugin;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.plugin.LibraryPluginException;
@@ -170,14 +171,14 @@ public class LibraryPluginController {
       final HttpSession session, @PathVariable("pluginId") final long pluginId)
       throws LibraryPluginException {
     try {
-      final List<Long> selectedComicBookIdList =
+      final ComicBookSelectionBitmap selections =
           this.comicBookSelectionService.decodeSelections(session.getAttribute(LIBRARY_SELECTIONS));
+      final List<Long> selectedComicBookIdList = selections.toList();
       log.info("Running plugin on selected comic books: plugin id={}", pluginId);
       this.libraryPluginService.runLibraryPlugin(pluginId, selectedComicBookIdList);
-      this.comicBookSelectionService.clearSelectedComicBooks(selectedComicBookIdList);
+      this.comicBookSelectionService.clearSelectedComicBooks(selections);
       session.setAttribute(
-          LIBRARY_SELECTIONS,
-          this.comicBookSelectionService.encodeSelections(selectedComicBookIdList));
+          LIBRARY_SELECTIONS, this.comicBookSelectionService.encodeSelections(selections));
     } catch (ComicBookSelectionException error) {
       throw new LibraryPluginException("Failed to run plugin against selected comic books", error);
     }
@@ -32,8 +32,6 @@ import java.util.List;
 import java.util.Set;
 import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.archive.ArchiveAdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.comicbooks.*;
@@ -44,6 +42,7 @@ import org.comixedproject.model.net.comicbooks.*;
 import org.comixedproject.service.comicbooks.*;
 import org.comixedproject.service.comicfiles.ComicFileService;
 import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.library.LastReadException;
 import org.comixedproject.service.library.LastReadService;
 import org.comixedproject.service.lists.ReadingListException;
@@ -54,7 +53,10 @@ import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 @RunWith(MockitoJUnitRunner.class)
 @SpringBootTest
@@ -67,6 +69,10 @@ public class ComicBookControllerTest {
   private static final String TEST_PAGE_FILENAME = "cover.jpg";
   private static final String TEST_PAGE_HASH = "1234567890ABCDEF1234567890ABCDEF";
   private static final int TEST_PAGE_SIZE = 10;
+  private static final Integer TEST_RENDITION_SIZE = 320;
+  private static final String TEST_PAGE_ETAG = "\"" + TEST_PAGE_HASH + "\"";
+  private static final String TEST_RENDITION_ETAG = "\"" + TEST_PAGE_HASH + "-320\"";
+  private static final String TEST_PAGE_MIME_TYPE = "image/png";
   private static final int TEST_PAGE_INDEX = RandomUtils.nextInt(100);
   private static final Integer TEST_COVER_YEAR = RandomUtils.nextInt(50) + 1970;
   private static final Integer TEST_COVER_MONTH = RandomUtils.nextInt(12);
@@ -102,13 +108,15 @@ public class ComicBookControllerTest {
   @Mock private ComicBook comicBook;
   @Mock private ComicDetail comicDetail;
   @Mock private List<Long> selectedIdList;
+  @Mock private ComicBookSelectionBitmap selections;
   @Mock private ComicFileService comicFileService;
   @Mock private LastReadService lastReadService;
   @Mock private FileTypeAdaptor fileTypeAdaptor;
   @Mock private Page page;
-  @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private WebRequest webRequest;
   @Mock private List<PageOrderEntry> pageOrderEntrylist;
   @Mock private List<ComicDetail> comicDetailList;
+  @Mock private CoverDateFacets coverDateFacets;
   @Mock private List<Integer> coverYearList;
   @Mock private List<Integer> coverMonthList;
   @Mock private HttpSession httpSession;
@@ -119,6 +127,7 @@ public class ComicBookControllerTest {
   @Captor private ArgumentCaptor<InputStream> inputStreamCaptor;
 
   private final Set<Long> comicBookIdSet = new HashSet<>();
+  private final Resource pageResource = new ByteArrayResource(TEST_PAGE_CONTENT);
 
   @Before
   public void setUp() throws ComicBookSelectionException {
@@ -126,9 +135,9 @@ public class ComicBookControllerTest {
     comicBookIdSet.add(TEST_COMIC_ID);
     Mockito.when(comicBookService.getComicBookCount()).thenReturn(TEST_COMIC_BOOK_COUNT);
     Mockito.when(httpSession.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTIONS);
-    Mockito.when(comicBookSelectionService.decodeSelections(Mockito.any()))
-        .thenReturn(selectedIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(selectedIdList))
+    Mockito.when(comicBookSelectionService.decodeSelections(Mockito.any())).thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIdList);
+    Mockito.when(comicBookSelectionService.encodeSelections(selections))
         .thenReturn(TEST_REENCODED_SELECTIONS);
     Mockito.when(principal.getName()).thenReturn(TEST_EMAIL);
   }
@@ -235,7 +244,7 @@ public class ComicBookControllerTest {
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
         .decodeSelections(TEST_ENCODED_SELECTIONS);
     Mockito.verify(comicBookService, Mockito.times(1)).undeleteComicBooksById(selectedIdList);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectedIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -265,24 +274,23 @@ public class ComicBookControllerTest {
   }
 
   @Test(expected = ComicBookException.class)
-  public void testGetCoverImageForInvalidComic()
-      throws ComicBookException, IOException, AdaptorException {
+  public void testGetCoverImageForInvalidComic() throws ComicBookException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
 
     try {
-      controller.getCoverImage(TEST_COMIC_ID);
+      controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
     } finally {
       Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
     }
   }
 
   @Test
-  public void testGetCoverImageForMissingComic()
-      throws ComicBookException, IOException, AdaptorException {
+  public void testGetCoverImageForMissingComic() throws ComicBookException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
     Mockito.when(comicBook.isMissing()).thenReturn(true);
 
-    final ResponseEntity<byte[]> result = controller.getCoverImage(TEST_COMIC_ID);
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
 
     assertNotNull(result);
     assertEquals(
@@ -307,80 +315,108 @@ public class ComicBookControllerTest {
     Mockito.when(fileTypeAdaptor.getSubtype(inputStreamCaptor.capture()))
         .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
 
-    final ResponseEntity<byte[]> result = controller.getCoverImage(TEST_COMIC_ID);
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
 
     assertNotNull(result);
-    assertEquals(TEST_PAGE_CONTENT, result.getBody());
+    assertArrayEquals(TEST_PAGE_CONTENT, result.getBody().getContentAsByteArray());
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
     Mockito.verify(comicBook, Mockito.times(1)).isMissing();
     Mockito.verify(comicFileService, Mockito.times(1)).getImportFileCover(TEST_COMIC_FILE);
     Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStreamCaptor.getValue());
     Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStreamCaptor.getValue());
+    Mockito.verify(webRequest, Mockito.never()).checkNotModified(Mockito.anyString());
   }
 
   @Test
-  public void testGetCoverImageForProcessedComic()
-      throws ComicBookException, ArchiveAdaptorException, IOException, AdaptorException {
+  public void testGetCoverImageForProcessedComic() throws ComicBookException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
     Mockito.when(comicBook.isMissing()).thenReturn(false);
     Mockito.when(comicBook.getPageCount()).thenReturn(5);
     Mockito.when(comicBook.getPage(Mockito.anyInt())).thenReturn(page);
-    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
-    Mockito.when(pageCacheService.findByHash(Mockito.anyString())).thenReturn(null);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenReturn(TEST_PAGE_CONTENT);
-    Mockito.doNothing()
-        .when(pageCacheService)
-        .saveByHash(Mockito.anyString(), Mockito.any(byte[].class));
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_PAGE_ETAG);
     Mockito.when(page.getFilename()).thenReturn(TEST_PAGE_FILENAME);
-    Mockito.when(fileTypeAdaptor.getType(inputStreamCaptor.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStreamCaptor.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(new PageImage(pageResource, TEST_PAGE_MIME_TYPE));
 
-    final ResponseEntity<byte[]> result = controller.getCoverImage(TEST_COMIC_ID);
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
 
     assertNotNull(result);
-    assertEquals(TEST_PAGE_CONTENT, result.getBody());
+    assertSame(pageResource, result.getBody());
+    assertEquals(TEST_PAGE_MIME_TYPE, result.getHeaders().getContentType().toString());
+    assertEquals(TEST_PAGE_ETAG, result.getHeaders().getETag());
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
     Mockito.verify(comicBook, Mockito.times(1)).isMissing();
-    Mockito.verify(page, Mockito.times(1)).getFilename();
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, 0);
-    Mockito.verify(pageCacheService, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
-    Mockito.verify(pageCacheService, Mockito.times(1))
-        .saveByHash(TEST_PAGE_HASH, TEST_PAGE_CONTENT);
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStreamCaptor.getValue());
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStreamCaptor.getValue());
+    Mockito.verify(comicBook, Mockito.times(1)).getPage(0);
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_ETAG);
+    Mockito.verify(pageCacheService, Mockito.times(1)).getPageImage(page, null);
   }
 
   @Test
-  public void testGetCachedCoverImageForProcessedComic()
-      throws ComicBookException, IOException, AdaptorException {
+  public void testGetCoverImageForProcessedComicNotModified() throws ComicBookException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(comicBook.isMissing()).thenReturn(false);
+    Mockito.when(comicBook.getPageCount()).thenReturn(5);
+    Mockito.when(comicBook.getPage(Mockito.anyInt())).thenReturn(page);
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_PAGE_ETAG);
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_ETAG);
+    Mockito.verify(pageCacheService, Mockito.never()).getPageImage(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testGetCoverImageForProcessedComicImageNotLoaded() throws ComicBookException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(comicBook.isMissing()).thenReturn(false);
+    Mockito.when(comicBook.getPageCount()).thenReturn(5);
+    Mockito.when(comicBook.getPage(Mockito.anyInt())).thenReturn(page);
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_PAGE_ETAG);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(null);
+
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, null, webRequest);
+
+    assertNotNull(result);
+    assertEquals(
+        String.format(ATTACHMENT_FILENAME_FORMAT, MISSING_COMIC_COVER),
+        result.getHeaders().get("Content-Disposition").get(0));
+  }
+
+  @Test
+  public void testGetCoverImageRenditionForProcessedComic() throws ComicBookException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
     Mockito.when(comicBook.isMissing()).thenReturn(false);
     Mockito.when(comicBook.getPageCount()).thenReturn(5);
     Mockito.when(comicBook.getPage(Mockito.anyInt())).thenReturn(page);
-    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
-    Mockito.when(pageCacheService.findByHash(Mockito.anyString())).thenReturn(TEST_PAGE_CONTENT);
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_RENDITION_ETAG);
     Mockito.when(page.getFilename()).thenReturn(TEST_PAGE_FILENAME);
-    Mockito.when(fileTypeAdaptor.getType(inputStreamCaptor.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStreamCaptor.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(new PageImage(pageResource, PageCacheService.RENDITION_MIME_TYPE));
 
-    final ResponseEntity<byte[]> result = controller.getCoverImage(TEST_COMIC_ID);
+    final ResponseEntity<Resource> result =
+        controller.getCoverImage(TEST_COMIC_ID, TEST_RENDITION_SIZE, webRequest);
 
     assertNotNull(result);
-    assertEquals(TEST_PAGE_CONTENT, result.getBody());
+    assertSame(pageResource, result.getBody());
+    assertEquals(
+        PageCacheService.RENDITION_MIME_TYPE, result.getHeaders().getContentType().toString());
+    assertEquals(TEST_RENDITION_ETAG, result.getHeaders().getETag());
 
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
-    Mockito.verify(comicBook, Mockito.times(1)).isMissing();
-    Mockito.verify(page, Mockito.times(1)).getFilename();
-    Mockito.verify(pageCacheService, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStreamCaptor.getValue());
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStreamCaptor.getValue());
+    Mockito.verify(pageCacheService, Mockito.times(1)).getPageImage(page, TEST_RENDITION_SIZE);
   }
 
   @Test
@@ -436,21 +472,11 @@ public class ComicBookControllerTest {
                 TEST_SORT_FIELD,
                 TEST_SORT_DIRECTION))
         .thenReturn(comicDetailList);
+    Mockito.when(coverDateFacets.getCoverYears()).thenReturn(coverYearList);
+    Mockito.when(coverDateFacets.getCoverMonths()).thenReturn(coverMonthList);
+    Mockito.when(coverDateFacets.getCount()).thenReturn(TEST_TOTAL_COMIC_COUNT);
     Mockito.when(
-            comicDetailService.getCoverYears(
-                TEST_COVER_YEAR,
-                TEST_COVER_MONTH,
-                TEST_ARCHIVE_TYPE,
-                TEST_COMIC_TYPE,
-                TEST_COMIC_STATE,
-                TEST_UNSCRAPED_STATE,
-                TEST_SEARCH_TEXT,
-                TEST_PUBLISHER,
-                TEST_SERIES,
-                TEST_VOLUME))
-        .thenReturn(coverYearList);
-    Mockito.when(
-            comicDetailService.getCoverMonths(
+            comicDetailService.getCoverDateFacets(
                 TEST_COVER_YEAR,
                 TEST_COVER_MONTH,
                 TEST_ARCHIVE_TYPE,
@@ -461,7 +487,7 @@ public class ComicBookControllerTest {
                 TEST_PUBLISHER,
                 TEST_SERIES,
                 TEST_VOLUME))
-        .thenReturn(coverMonthList);
+        .thenReturn(coverDateFacets);
     Mockito.when(
             comicDetailService.loadComicDetailList(
                 TEST_PAGE_SIZE,
@@ -479,19 +505,6 @@ public class ComicBookControllerTest {
                 TEST_SORT_FIELD,
                 TEST_SORT_DIRECTION))
         .thenReturn(comicDetailList);
-    Mockito.when(
-            comicDetailService.getFilterCount(
-                TEST_COVER_YEAR,
-                TEST_COVER_MONTH,
-                TEST_ARCHIVE_TYPE,
-                TEST_COMIC_TYPE,
-                TEST_COMIC_STATE,
-                TEST_UNSCRAPED_STATE,
-                TEST_SEARCH_TEXT,
-                TEST_PUBLISHER,
-                TEST_SERIES,
-                TEST_VOLUME))
-        .thenReturn(TEST_TOTAL_COMIC_COUNT);
     Mockito.when(lastReadService.loadForComicDetails(Mockito.anyString(), Mockito.anyList()))
         .thenReturn(lastReadEntryList);
 
@@ -521,6 +534,19 @@ public class ComicBookControllerTest {
     assertEquals(TEST_COMIC_BOOK_COUNT, result.getTotalCount());
     assertEquals(TEST_TOTAL_COMIC_COUNT, result.getFilteredCount());
     assertSame(lastReadEntryList, result.getLastReadEntries());
+
+    Mockito.verify(comicDetailService, Mockito.never())
+        .getFilterCount(
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any());
   }
 
   @Test
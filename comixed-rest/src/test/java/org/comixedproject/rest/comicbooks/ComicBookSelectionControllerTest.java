@@ -28,6 +28,7 @@ import org.comixedproject.model.comicbooks.ComicTagType;
 import org.comixedproject.model.net.comicbooks.AddComicBookSelectionsByIdRequest;
 import org.comixedproject.model.net.comicbooks.MultipleComicBooksSelectionRequest;
 import org.comixedproject.opds.OPDSUtils;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.junit.Before;
@@ -50,23 +51,27 @@ public class ComicBookSelectionControllerTest {
   @Mock private ComicBookSelectionService comicBookSelectionService;
   @Mock private OPDSUtils opdsUtils;
   @Mock private HttpSession httpSession;
-  @Mock private List selectionIdList;
+  @Mock private ComicBookSelectionBitmap selections;
+  @Mock private List<Long> selectionIdList;
 
   @Before
   public void setUp() throws ComicBookSelectionException {
     Mockito.when(httpSession.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTIONS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_SELECTIONS))
-        .thenReturn(selectionIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+        .thenReturn(selections);
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_SELECTIONS);
   }
 
   @Test
   public void testGetAllSelections() throws ComicBookSelectionException {
-    final List result = controller.getAllSelections(httpSession);
+    Mockito.when(selections.toList()).thenReturn(selectionIdList);
+
+    final List<Long> result = controller.getAllSelections(httpSession);
 
     assertNotNull(result);
-    assertEquals(selectionIdList, result);
+    assertSame(selectionIdList, result);
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
   }
@@ -76,8 +81,8 @@ public class ComicBookSelectionControllerTest {
     controller.addSingleSelection(httpSession, TEST_COMIC_BOOK_ID);
 
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .addComicSelectionForUser(selectionIdList, TEST_COMIC_BOOK_ID);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .addComicSelectionForUser(selections, TEST_COMIC_BOOK_ID);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -88,8 +93,8 @@ public class ComicBookSelectionControllerTest {
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .removeComicSelectionFromUser(selectionIdList, TEST_COMIC_BOOK_ID);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .removeComicSelectionFromUser(selections, TEST_COMIC_BOOK_ID);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -101,8 +106,8 @@ public class ComicBookSelectionControllerTest {
         new MultipleComicBooksSelectionRequest(null, null, null, null, null, false, null, true));
 
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .selectByFilter(selectionIdList, null, null, null, null, null, false, null, true);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .selectByFilter(selections, null, null, null, null, null, false, null, true);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -114,8 +119,8 @@ public class ComicBookSelectionControllerTest {
         new MultipleComicBooksSelectionRequest(null, null, null, null, null, false, null, false));
 
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .selectByFilter(selectionIdList, null, null, null, null, null, false, null, false);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .selectByFilter(selections, null, null, null, null, null, false, null, false);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -130,8 +135,8 @@ public class ComicBookSelectionControllerTest {
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .addByTagTypeAndValue(selectionIdList, TEST_TAG_TYPE, TEST_TAG_VALUE);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .addByTagTypeAndValue(selections, TEST_TAG_TYPE, TEST_TAG_VALUE);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -146,8 +151,8 @@ public class ComicBookSelectionControllerTest {
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .removeByTagTypeAndValue(selectionIdList, TEST_TAG_TYPE, TEST_TAG_VALUE);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+        .removeByTagTypeAndValue(selections, TEST_TAG_TYPE, TEST_TAG_VALUE);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -161,8 +166,9 @@ public class ComicBookSelectionControllerTest {
         httpSession, new AddComicBookSelectionsByIdRequest(comicBookIdList, true));
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
-    Mockito.verify(selectionIdList, Mockito.times(1)).addAll(comicBookIdList);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1))
+        .selectByIds(selections, comicBookIdList, true);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -176,8 +182,9 @@ public class ComicBookSelectionControllerTest {
         httpSession, new AddComicBookSelectionsByIdRequest(comicBookIdList, false));
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
-    Mockito.verify(selectionIdList, Mockito.times(1)).removeAll(comicBookIdList);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1))
+        .selectByIds(selections, comicBookIdList, false);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -187,7 +194,7 @@ public class ComicBookSelectionControllerTest {
     controller.clearSelections(httpSession);
 
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectionIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -19,21 +19,17 @@
 package org.comixedproject.rest.comicpages;
 
 import static junit.framework.TestCase.assertNull;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
-import java.io.InputStream;
 import java.util.List;
-import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
-import org.comixedproject.adaptors.file.FileTypeAdaptor;
-import org.comixedproject.model.archives.ArchiveType;
-import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.Page;
 import org.comixedproject.model.net.comicpages.UpdatePageDeletionRequest;
-import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicpages.PageCacheService;
 import org.comixedproject.service.comicpages.PageException;
+import org.comixedproject.service.comicpages.PageImage;
 import org.comixedproject.service.comicpages.PageService;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,42 +37,47 @@ import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 @RunWith(MockitoJUnitRunner.class)
 @SpringBootTest
 public class PageControllerTest {
   private static final long TEST_PAGE_ID = 129;
-  private static final int TEST_PAGE_INDEX = 7;
-  private static final long TEST_COMIC_ID = 1002L;
   private static final byte[] TEST_PAGE_CONTENT = new byte[53253];
   private static final String TEST_PAGE_HASH = "12345";
-  private static final String TEST_PAGE_CONTENT_TYPE = "application";
-  private static final String TEST_PAGE_CONTENT_SUBTYPE = "image";
+  private static final String TEST_PAGE_MIME_TYPE = "image/png";
+  private static final Integer TEST_RENDITION_SIZE = 160;
+  private static final String TEST_ETAG = "\"" + TEST_PAGE_HASH + "\"";
+  private static final String TEST_RENDITION_ETAG =
+      "\"" + TEST_PAGE_HASH + "-" + TEST_RENDITION_SIZE + "\"";
 
   @InjectMocks private PageController controller;
   @Mock private PageService pageService;
   @Mock private PageCacheService pageCacheService;
   @Mock private Page page;
-  @Mock private ComicBook comicBook;
-  @Mock private FileTypeAdaptor fileTypeAdaptor;
-  @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private WebRequest request;
   @Mock private List<Long> idList;
 
-  @Captor private ArgumentCaptor<InputStream> inputStream;
-
-  private ArchiveType archiveType = ArchiveType.CB7;
+  private final Resource resource = new ByteArrayResource(TEST_PAGE_CONTENT);
+  private final PageImage pageImage = new PageImage(resource, TEST_PAGE_MIME_TYPE);
 
   @Before
   public void setUp() {
-    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_ETAG);
   }
 
   @Test
-  public void testGetPageForHashNoPageFound() throws PageException, AdaptorException {
+  public void testGetPageForHashNoPageFound() throws PageException {
     Mockito.when(pageService.getOneForHash(Mockito.anyString())).thenReturn(null);
 
-    final ResponseEntity<byte[]> result = controller.getPageForHash(TEST_PAGE_HASH);
+    final ResponseEntity<Resource> result =
+        controller.getPageForHash(TEST_PAGE_HASH, null, request);
 
     assertNull(result);
 
@@ -84,76 +85,86 @@ public class PageControllerTest {
   }
 
   @Test
-  public void testGetPageForHash() throws ComicBookException, PageException, AdaptorException {
+  public void testGetPageForHash() throws PageException {
     Mockito.when(pageService.getOneForHash(Mockito.anyString())).thenReturn(page);
-    Mockito.when(pageCacheService.findByHash(Mockito.anyString())).thenReturn(null);
-    Mockito.when(page.getComicBook()).thenReturn(comicBook);
-    Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_INDEX);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenReturn(TEST_PAGE_CONTENT);
-    Mockito.when(fileTypeAdaptor.getType(inputStream.capture())).thenReturn(TEST_PAGE_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStream.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(pageImage);
 
-    ResponseEntity<byte[]> result = controller.getPageForHash(TEST_PAGE_HASH);
+    final ResponseEntity<Resource> result =
+        controller.getPageForHash(TEST_PAGE_HASH, null, request);
 
     assertNotNull(result);
-    assertSame(TEST_PAGE_CONTENT, result.getBody());
+    assertSame(resource, result.getBody());
+    assertEquals(TEST_ETAG, result.getHeaders().getETag());
 
     Mockito.verify(pageService, Mockito.times(1)).getOneForHash(TEST_PAGE_HASH);
-    Mockito.verify(pageCacheService, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_INDEX);
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStream.getAllValues().get(0));
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStream.getAllValues().get(1));
+    Mockito.verify(pageCacheService, Mockito.times(1)).getPageImage(page, null);
+  }
+
+  @Test
+  public void testGetPageContentNotModified() throws PageException {
+    Mockito.when(pageService.getForId(Mockito.anyLong())).thenReturn(page);
+    Mockito.when(request.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<Resource> result = controller.getPageContent(TEST_PAGE_ID, null, request);
+
+    assertNull(result);
+
+    Mockito.verify(request, Mockito.times(1)).checkNotModified(TEST_ETAG);
+    Mockito.verify(pageCacheService, Mockito.never()).getPageImage(Mockito.any(), Mockito.any());
   }
 
   @Test
-  public void testGetPageContentAdaptorException()
-      throws ComicBookException, PageException, AdaptorException {
+  public void testGetPageContentMissingImage() throws PageException {
     Mockito.when(pageService.getForId(Mockito.anyLong())).thenReturn(page);
-    Mockito.when(pageCacheService.findByHash(Mockito.anyString())).thenReturn(null);
-    Mockito.when(page.getComicBook()).thenReturn(comicBook);
-    Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_INDEX);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenThrow(AdaptorException.class);
-    Mockito.when(fileTypeAdaptor.getType(inputStream.capture())).thenReturn(TEST_PAGE_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStream.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(null);
 
-    ResponseEntity<byte[]> result = controller.getPageContent(TEST_PAGE_ID);
+    final ResponseEntity<Resource> result = controller.getPageContent(TEST_PAGE_ID, null, request);
 
     assertNotNull(result);
-    assertNotNull(result.getBody());
+    assertTrue(result.getBody() instanceof ClassPathResource);
+    assertEquals(MediaType.IMAGE_PNG, result.getHeaders().getContentType());
+    assertNull(result.getHeaders().getETag());
+  }
+
+  @Test
+  public void testGetPageContent() throws PageException {
+    Mockito.when(pageService.getForId(Mockito.anyLong())).thenReturn(page);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(pageImage);
+
+    final ResponseEntity<Resource> result = controller.getPageContent(TEST_PAGE_ID, null, request);
+
+    assertNotNull(result);
+    assertSame(resource, result.getBody());
+    assertEquals(TEST_PAGE_MIME_TYPE, result.getHeaders().getContentType().toString());
+    assertEquals(TEST_ETAG, result.getHeaders().getETag());
 
     Mockito.verify(pageService, Mockito.times(1)).getForId(TEST_PAGE_ID);
-    Mockito.verify(pageCacheService, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_INDEX);
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStream.getAllValues().get(0));
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStream.getAllValues().get(1));
+    Mockito.verify(request, Mockito.times(1)).checkNotModified(TEST_ETAG);
+    Mockito.verify(pageCacheService, Mockito.times(1)).getPageImage(page, null);
   }
 
   @Test
-  public void testGetPageContent() throws ComicBookException, PageException, AdaptorException {
+  public void testGetPageContentRendition() throws PageException {
     Mockito.when(pageService.getForId(Mockito.anyLong())).thenReturn(page);
-    Mockito.when(pageCacheService.findByHash(Mockito.anyString())).thenReturn(null);
-    Mockito.when(page.getComicBook()).thenReturn(comicBook);
-    Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_INDEX);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenReturn(TEST_PAGE_CONTENT);
-    Mockito.when(fileTypeAdaptor.getType(inputStream.capture())).thenReturn(TEST_PAGE_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStream.capture()))
-        .thenReturn(TEST_PAGE_CONTENT_SUBTYPE);
+    Mockito.when(pageCacheService.getPageImage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(new PageImage(resource, PageCacheService.RENDITION_MIME_TYPE));
 
-    ResponseEntity<byte[]> result = controller.getPageContent(TEST_PAGE_ID);
+    Mockito.when(pageCacheService.getETagForPage(Mockito.any(Page.class), Mockito.any()))
+        .thenReturn(TEST_RENDITION_ETAG);
+
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(TEST_PAGE_ID, TEST_RENDITION_SIZE, request);
 
     assertNotNull(result);
-    assertSame(TEST_PAGE_CONTENT, result.getBody());
+    assertSame(resource, result.getBody());
+    assertEquals(
+        PageCacheService.RENDITION_MIME_TYPE, result.getHeaders().getContentType().toString());
+    assertEquals(TEST_RENDITION_ETAG, result.getHeaders().getETag());
 
-    Mockito.verify(pageService, Mockito.times(1)).getForId(TEST_PAGE_ID);
-    Mockito.verify(pageCacheService, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_INDEX);
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getType(inputStream.getAllValues().get(0));
-    Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getSubtype(inputStream.getAllValues().get(1));
+    Mockito.verify(pageCacheService, Mockito.times(1)).getPageImage(page, TEST_RENDITION_SIZE);
   }
 
   @Test
@@ -25,6 +25,7 @@ import jakarta.servlet.http.HttpSession;
 import java.security.Principal;
 import java.util.List;
 import org.comixedproject.model.net.comicbooks.LoadUnreadComicBookCountResponse;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.library.LastReadException;
@@ -52,13 +53,15 @@ public class LastReadControllerTest {
   @Mock private HttpSession session;
   @Mock private Principal principal;
   @Mock private List<Long> selectedIds;
+  @Mock private ComicBookSelectionBitmap selections;
 
   @Before
   public void setUp() throws ComicBookSelectionException {
     Mockito.when(session.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTION_IDS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_SELECTION_IDS))
-        .thenReturn(selectedIds);
-    Mockito.when(comicBookSelectionService.encodeSelections(selectedIds))
+        .thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIds);
+    Mockito.when(comicBookSelectionService.encodeSelections(selections))
         .thenReturn(TEST_REENCODED_SELECTION_IDS);
     Mockito.when(principal.getName()).thenReturn(TEST_EMAIL);
   }
@@ -174,7 +177,7 @@ public class LastReadControllerTest {
   @Test(expected = LastReadException.class)
   public void testMarkSelectedComicBooksReadEncodingException()
       throws LastReadException, ComicBookSelectionException {
-    Mockito.when(comicBookSelectionService.encodeSelections(selectedIds))
+    Mockito.when(comicBookSelectionService.encodeSelections(selections))
         .thenThrow(ComicBookSelectionException.class);
 
     try {
@@ -209,7 +212,7 @@ public class LastReadControllerTest {
   @Test(expected = LastReadException.class)
   public void testMarkSelectedComicBooksUnreadEncodingException()
       throws LastReadException, ComicBookSelectionException {
-    Mockito.when(comicBookSelectionService.encodeSelections(selectedIds))
+    Mockito.when(comicBookSelectionService.encodeSelections(selections))
         .thenThrow(ComicBookSelectionException.class);
 
     try {
@@ -81,6 +81,7 @@ public class LibraryControllerTest {
   @Mock private ComicBookService comicBookService;
   @Mock private ComicDetailService comicDetailService;
   @Mock private ComicBookSelectionService comicBookSelectionService;
+  @Mock private ComicSearchIndexService comicSearchIndexService;
   @Mock private ConfigurationService configurationService;
   @Mock private List<Long> idList;
   @Mock private ComicDetail comicDetail;
@@ -91,6 +92,7 @@ public class LibraryControllerTest {
   @Mock private RemoteLibraryState remoteLibraryState;
   @Mock private HttpSession httpState;
   @Mock private List selectedIds;
+  @Mock private ComicBookSelectionBitmap selections;
   @Mock private List<Long> comicIds;
   @Mock private HttpSession httpSession;
 
@@ -125,8 +127,10 @@ public class LibraryControllerTest {
     Mockito.when(lastComicDetail.getId()).thenReturn(TEST_LAST_COMIC_ID);
     Mockito.when(httpSession.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_IDS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_IDS))
-        .thenReturn(selectedIds);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+        .thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIds);
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_IDS);
   }
 
@@ -293,8 +297,7 @@ public class LibraryControllerTest {
         .run(organizeLibraryJob, jobParametersArgumentCaptor.getValue());
     Mockito.verify(httpSession, Mockito.times(1)).getAttribute(LIBRARY_SELECTIONS);
     Mockito.verify(comicBookSelectionService, Mockito.times(1)).decodeSelections(TEST_ENCODED_IDS);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .clearSelectedComicBooks(selectedIds);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).clearSelectedComicBooks(selections);
     Mockito.verify(httpSession, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_IDS);
   }
@@ -524,4 +527,11 @@ public class LibraryControllerTest {
     Mockito.verify(comicBookService, Mockito.times(1)).updateMultipleComics(idList);
     Mockito.verify(jobLauncher, Mockito.times(1)).run(updateComicBooksJob, jobParameters);
   }
+
+  @Test
+  public void testRebuildSearchIndex() {
+    controller.rebuildSearchIndex();
+
+    Mockito.verify(comicSearchIndexService, Mockito.times(1)).rebuildSearchIndex();
+  }
 }
@@ -37,6 +37,7 @@ import org.comixedproject.model.net.lists.DeleteReadingListsRequest;
 import org.comixedproject.model.net.lists.SaveReadingListRequest;
 import org.comixedproject.model.net.lists.UpdateReadingListRequest;
 import org.comixedproject.service.comicbooks.ComicBookException;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.lists.ReadingListException;
@@ -73,6 +74,7 @@ public class ReadingListControllerTest {
   @Mock private List<Long> readingListIdList;
   @Mock private HttpSession session;
   @Mock private List selectedIdList;
+  @Mock private ComicBookSelectionBitmap selections;
 
   @Before
   public void setUp() throws IOException, ComicBookSelectionException {
@@ -81,9 +83,10 @@ public class ReadingListControllerTest {
     Mockito.when(multipartFile.getOriginalFilename())
         .thenReturn(String.format("%s.csv", TEST_READING_LIST_NAME));
     Mockito.when(session.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTIONS);
-    Mockito.when(comicBookSelectionService.decodeSelections(Mockito.any()))
-        .thenReturn(selectedIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+    Mockito.when(comicBookSelectionService.decodeSelections(Mockito.any())).thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIdList);
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_SELECTIONS);
   }
 
@@ -213,13 +216,14 @@ public class ReadingListControllerTest {
   @Test(expected = ReadingListException.class)
   public void testAddSelectedComicBooksToReadingListSelectionServiceExceptionOnEncode()
       throws ReadingListException, ComicBookSelectionException {
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenThrow(ComicBookSelectionException.class);
 
     try {
       controller.addSelectedComicBooksToReadingList(session, principal, TEST_READING_LIST_ID);
     } finally {
-      Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectedIdList);
+      Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     }
   }
 
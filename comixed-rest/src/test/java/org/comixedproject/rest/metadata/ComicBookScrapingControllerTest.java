@@ -33,6 +33,7 @@ import org.comixedproject.metadata.model.VolumeMetadata;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.net.metadata.*;
 import org.comixedproject.service.comicbooks.ComicBookException;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.comicbooks.ComicBookService;
@@ -78,7 +79,9 @@ public class ComicBookScrapingControllerTest {
   @Mock private IssueMetadata comicIssue;
   @Mock private ComicBook comicBook;
   @Mock private List<Long> selectedIdList;
-  @Mock private List multiBookIdList;
+  @Mock private List<Long> multiBookIdList;
+  @Mock private ComicBookSelectionBitmap selections;
+  @Mock private ComicBookSelectionBitmap multiBookSelections;
   @Mock private JobLauncher jobLauncher;
   @Mock private Job updateComicBookMetadata;
   @Mock private JobExecution jobExecution;
@@ -91,14 +94,16 @@ public class ComicBookScrapingControllerTest {
   public void setUp() throws ComicBookSelectionException {
     Mockito.when(session.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTIONS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_SELECTIONS))
-        .thenReturn(selectedIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(selectedIdList))
+        .thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIdList);
+    Mockito.when(comicBookSelectionService.encodeSelections(selections))
         .thenReturn(TEST_REENCODED_SELECTIONS);
     Mockito.when(session.getAttribute(MULTI_BOOK_SCRAPING_SELECTIONS))
         .thenReturn(TEST_ENCODED_MULTI_BOOKS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_MULTI_BOOKS))
-        .thenReturn(multiBookIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(multiBookIdList))
+        .thenReturn(multiBookSelections);
+    Mockito.when(multiBookSelections.toList()).thenReturn(multiBookIdList);
+    Mockito.when(comicBookSelectionService.encodeSelections(multiBookSelections))
         .thenReturn(TEST_REENCODED_MULTI_BOOKS);
   }
 
@@ -268,7 +273,7 @@ public class ComicBookScrapingControllerTest {
     Mockito.verify(comicBookService, Mockito.times(1))
         .markComicBooksForBatchMetadataUpdate(selectedIdList);
     Mockito.verify(jobLauncher, Mockito.times(1)).run(updateComicBookMetadata, jobParameters);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selectedIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(selections);
     Mockito.verify(session, Mockito.times(1))
         .setAttribute(LIBRARY_SELECTIONS, TEST_REENCODED_SELECTIONS);
   }
@@ -321,7 +326,7 @@ public class ComicBookScrapingControllerTest {
   @Test
   public void testStartMultiBookScrapingHasSelections()
       throws MetadataException, ComicBookSelectionException {
-    Mockito.when(selectedIdList.isEmpty()).thenReturn(false);
+    Mockito.when(selections.isEmpty()).thenReturn(false);
     Mockito.when(comicBookService.loadByComicDetailId(Mockito.anyList())).thenReturn(comicBookList);
 
     final StartMultiBookScrapingResponse result = controller.startMultiBookScraping(session);
@@ -331,9 +336,10 @@ public class ComicBookScrapingControllerTest {
 
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
         .decodeSelections(TEST_ENCODED_MULTI_BOOKS);
-    Mockito.verify(multiBookIdList, Mockito.times(1)).addAll(selectedIdList);
+    Mockito.verify(multiBookSelections, Mockito.times(1)).addAll(selections);
     Mockito.verify(comicBookService, Mockito.times(1)).loadByComicDetailId(multiBookIdList);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(multiBookIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1))
+        .encodeSelections(multiBookSelections);
     Mockito.verify(session, Mockito.times(1))
         .setAttribute(MULTI_BOOK_SCRAPING_SELECTIONS, TEST_REENCODED_MULTI_BOOKS);
   }
@@ -341,7 +347,7 @@ public class ComicBookScrapingControllerTest {
   @Test
   public void testStartMultiBookScrapingNoSelections()
       throws MetadataException, ComicBookSelectionException {
-    Mockito.when(selectedIdList.isEmpty()).thenReturn(true);
+    Mockito.when(selections.isEmpty()).thenReturn(true);
     Mockito.when(comicBookService.loadByComicDetailId(Mockito.anyList())).thenReturn(comicBookList);
 
     final StartMultiBookScrapingResponse result = controller.startMultiBookScraping(session);
@@ -351,9 +357,10 @@ public class ComicBookScrapingControllerTest {
 
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
         .decodeSelections(TEST_ENCODED_MULTI_BOOKS);
-    Mockito.verify(multiBookIdList, Mockito.never()).addAll(selectedIdList);
+    Mockito.verify(multiBookSelections, Mockito.never()).addAll(selections);
     Mockito.verify(comicBookService, Mockito.times(1)).loadByComicDetailId(multiBookIdList);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1)).encodeSelections(multiBookIdList);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1))
+        .encodeSelections(multiBookSelections);
     Mockito.verify(session, Mockito.times(1))
         .setAttribute(MULTI_BOOK_SCRAPING_SELECTIONS, TEST_REENCODED_MULTI_BOOKS);
   }
@@ -386,8 +393,9 @@ public class ComicBookScrapingControllerTest {
 
     final List<Long> localMultiBookIdList = new ArrayList<>();
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_MULTI_BOOKS))
-        .thenReturn(localMultiBookIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+        .thenReturn(ComicBookSelectionBitmap.of(localMultiBookIdList));
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_MULTI_BOOKS);
 
     final StartMultiBookScrapingResponse result =
@@ -400,7 +408,7 @@ public class ComicBookScrapingControllerTest {
         .decodeSelections(TEST_ENCODED_MULTI_BOOKS);
     Mockito.verify(comicBookService, Mockito.times(1)).loadByComicDetailId(localMultiBookIdList);
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .encodeSelections(localMultiBookIdList);
+        .encodeSelections(Mockito.any(ComicBookSelectionBitmap.class));
     Mockito.verify(session, Mockito.times(1))
         .setAttribute(MULTI_BOOK_SCRAPING_SELECTIONS, TEST_REENCODED_MULTI_BOOKS);
   }
@@ -429,8 +437,9 @@ public class ComicBookScrapingControllerTest {
 
     final List<Long> localMultiBookIdList = new ArrayList<>();
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_MULTI_BOOKS))
-        .thenReturn(localMultiBookIdList);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+        .thenReturn(ComicBookSelectionBitmap.of(localMultiBookIdList));
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_MULTI_BOOKS);
 
     final StartMultiBookScrapingResponse result =
@@ -447,7 +456,7 @@ public class ComicBookScrapingControllerTest {
         .decodeSelections(TEST_ENCODED_MULTI_BOOKS);
     Mockito.verify(comicBookService, Mockito.times(1)).loadByComicDetailId(localMultiBookIdList);
     Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .encodeSelections(localMultiBookIdList);
+        .encodeSelections(Mockito.any(ComicBookSelectionBitmap.class));
     Mockito.verify(session, Mockito.times(1))
         .setAttribute(MULTI_BOOK_SCRAPING_SELECTIONS, TEST_REENCODED_MULTI_BOOKS);
   }
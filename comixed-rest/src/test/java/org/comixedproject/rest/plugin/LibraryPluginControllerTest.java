@@ -29,6 +29,7 @@ import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.model.net.plugin.CreatePluginRequest;
 import org.comixedproject.model.net.plugin.UpdatePluginRequest;
 import org.comixedproject.model.plugin.LibraryPlugin;
+import org.comixedproject.service.comicbooks.ComicBookSelectionBitmap;
 import org.comixedproject.service.comicbooks.ComicBookSelectionException;
 import org.comixedproject.service.comicbooks.ComicBookSelectionService;
 import org.comixedproject.service.plugin.LibraryPluginException;
@@ -60,6 +61,7 @@ public class LibraryPluginControllerTest {
   @Mock private Map<String, String> pluginProperties;
   @Mock private HttpSession session;
   @Mock private List selectedIds;
+  @Mock private ComicBookSelectionBitmap selections;
 
   @Captor private ArgumentCaptor<List<Long>> idListArgumentCaptor;
 
@@ -68,8 +70,10 @@ public class LibraryPluginControllerTest {
     Mockito.when(principal.getName()).thenReturn(TEST_USER_EMAIL);
     Mockito.when(session.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_IDS);
     Mockito.when(comicBookSelectionService.decodeSelections(TEST_ENCODED_IDS))
-        .thenReturn(selectedIds);
-    Mockito.when(comicBookSelectionService.encodeSelections(Mockito.anyList()))
+        .thenReturn(selections);
+    Mockito.when(selections.toList()).thenReturn(selectedIds);
+    Mockito.when(
+            comicBookSelectionService.encodeSelections(Mockito.any(ComicBookSelectionBitmap.class)))
         .thenReturn(TEST_REENCODED_IDS);
   }
 
@@ -246,7 +250,7 @@ public class LibraryPluginControllerTest {
       Mockito.verify(libraryPluginService, Mockito.times(1))
           .runLibraryPlugin(TEST_PLUGIN_ID, selectedIds);
       Mockito.verify(comicBookSelectionService, Mockito.never())
-          .clearSelectedComicBooks(Mockito.anyList());
+          .clearSelectedComicBooks(Mockito.any(ComicBookSelectionBitmap.class));
     }
   }
 
@@ -256,7 +260,6 @@ public class LibraryPluginControllerTest {
 
     Mockito.verify(libraryPluginService, Mockito.times(1))
         .runLibraryPlugin(TEST_PLUGIN_ID, selectedIds);
-    Mockito.verify(comicBookSelectionService, Mockito.times(1))
-        .clearSelectedComicBooks(selectedIds);
+    Mockito.verify(comicBookSelectionService, Mockito.times(1)).clearSelectedComicBooks(selections);
   }
 }
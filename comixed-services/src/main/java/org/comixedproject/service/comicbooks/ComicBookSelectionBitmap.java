@@ -0,0 +1,235 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <code>ComicBookSelectionBitmap</code> holds a set of selected comic book ids as a bitmap. The
+ * bitmap is encoded for the session as runs of consecutive ids, so that selecting a large part of
+ * the library stays small.
+ *
+ * <p>The bitmap uses one bit for every id up to the largest selected id, so ids above {@link
+ * #MAXIMUM_ID} are rejected to keep a selection at no more than 4 MB.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicBookSelectionBitmap {
+  /** The largest comic book id that can be selected. */
+  public static final long MAXIMUM_ID = (1L << 25) - 1L;
+
+  static final String ENCODING_PREFIX = "R";
+
+  private final BitSet bits = new BitSet();
+
+  /**
+   * Creates a bitmap containing the given ids.
+   *
+   * @param ids the ids
+   * @return the bitmap
+   */
+  public static ComicBookSelectionBitmap of(final Collection<Long> ids) {
+    final ComicBookSelectionBitmap result = new ComicBookSelectionBitmap();
+    ids.forEach(result::add);
+    return result;
+  }
+
+  /**
+   * Returns if the value is an encoded bitmap.
+   *
+   * @param encoded the value
+   * @return true if the value is an encoded bitmap
+   */
+  public static boolean isEncoded(final String encoded) {
+    return encoded.startsWith(ENCODING_PREFIX);
+  }
+
+  /**
+   * Decodes a bitmap previously encoded with {@link #encode()}.
+   *
+   * @param encoded the encoded bitmap
+   * @return the bitmap
+   * @throws IllegalArgumentException if the value is not a valid encoded bitmap
+   */
+  public static ComicBookSelectionBitmap decode(final String encoded) {
+    if (!isEncoded(encoded)) throw new IllegalArgumentException("Not an encoded selection bitmap");
+    final byte[] data =
+        Base64.getUrlDecoder()
+            .decode(encoded.substring(ENCODING_PREFIX.length()).getBytes(StandardCharsets.UTF_8));
+    final ComicBookSelectionBitmap result = new ComicBookSelectionBitmap();
+    final int[] position = {0};
+    int next = 0;
+    while (position[0] < data.length) {
+      final int start = Math.addExact(next, readVarInt(data, position));
+      final int end = Math.addExact(Math.addExact(start, readVarInt(data, position)), 1);
+      if (end > MAXIMUM_ID + 1L) throw new IllegalArgumentException("Selection id out of range");
+      result.bits.set(start, end);
+      next = end;
+    }
+    return result;
+  }
+
+  /**
+   * Returns if the id is selected.
+   *
+   * @param id the id
+   * @return true if selected
+   */
+  public boolean contains(final Long id) {
+    return id != null && id >= 0L && id <= MAXIMUM_ID && this.bits.get(id.intValue());
+  }
+
+  /**
+   * Selects an id.
+   *
+   * @param id the id
+   * @return true if the id was not already selected
+   */
+  public boolean add(final Long id) {
+    if (this.contains(id)) return false;
+    this.bits.set(toIndex(id));
+    return true;
+  }
+
+  /**
+   * Deselects an id.
+   *
+   * @param id the id
+   * @return true if the id was selected
+   */
+  public boolean remove(final Long id) {
+    if (!this.contains(id)) return false;
+    this.bits.clear(id.intValue());
+    return true;
+  }
+
+  /** Deselects all ids. */
+  public void clear() {
+    this.bits.clear();
+  }
+
+  /**
+   * Selects all ids selected in another bitmap.
+   *
+   * @param other the other bitmap
+   */
+  public void addAll(final ComicBookSelectionBitmap other) {
+    this.bits.or(other.bits);
+  }
+
+  /**
+   * Returns if no ids are selected.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return this.bits.isEmpty();
+  }
+
+  /**
+   * Returns the number of selected ids.
+   *
+   * @return the count
+   */
+  public int size() {
+    return this.bits.cardinality();
+  }
+
+  /**
+   * Returns the selected ids in ascending order.
+   *
+   * @return the ids
+   */
+  public List<Long> toList() {
+    final List<Long> result = new ArrayList<>(this.size());
+    this.bits.stream().forEach(index -> result.add((long) index));
+    return result;
+  }
+
+  /**
+   * Returns the selected ids as runs of consecutive ids. Each run is a pair of the first and last
+   * id in the run.
+   *
+   * @return the runs
+   */
+  public List<long[]> toRanges() {
+    final List<long[]> result = new ArrayList<>();
+    int start = this.bits.nextSetBit(0);
+    while (start >= 0) {
+      final int end = this.bits.nextClearBit(start);
+      result.add(new long[] {start, end - 1L});
+      start = this.bits.nextSetBit(end);
+    }
+    return result;
+  }
+
+  /**
+   * Encodes the bitmap for storing in the session. Each run of consecutive ids is written as the
+   * distance from the end of the previous run followed by the length of the run.
+   *
+   * @return the encoded bitmap
+   */
+  public String encode() {
+    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    long next = 0L;
+    for (long[] range : this.toRanges()) {
+      writeVarInt(data, (int) (range[0] - next));
+      writeVarInt(data, (int) (range[1] - range[0]));
+      next = range[1] + 1L;
+    }
+    return ENCODING_PREFIX
+        + Base64.getUrlEncoder().withoutPadding().encodeToString(data.toByteArray());
+  }
+
+  private static int toIndex(final Long id) {
+    if (id == null || id < 0L || id > MAXIMUM_ID)
+      throw new IllegalArgumentException("Comic book id cannot be selected: " + id);
+    return id.intValue();
+  }
+
+  private static void writeVarInt(final ByteArrayOutputStream data, final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      data.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    data.write(remaining);
+  }
+
+  private static int readVarInt(final byte[] data, final int[] position) {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      if (position[0] >= data.length)
+        throw new IllegalArgumentException("Truncated selection bitmap");
+      final byte value = data[position[0]++];
+      result |= (value & 0x7F) << shift;
+      if ((value & 0x80) == 0) {
+        if (result < 0) throw new IllegalArgumentException("Invalid selection bitmap");
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Invalid selection bitmap");
+  }
+}
@@ -20,26 +20,28 @@ package org.comixedproject.service.comicbooks;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishComicBookSelectionDeltaAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookSelectionStateAction;
 import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicbooks.ComicState;
 import org.comixedproject.model.comicbooks.ComicTagType;
 import org.comixedproject.model.comicbooks.ComicType;
+import org.comixedproject.model.messaging.comicbooks.ComicBookSelectionDelta;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 /**
  * <code>ComicBookSelectionService</code> provides business functions for managing a user's
- * selection of comics.
+ * selection of comics. Selections are stored in the session as a {@link ComicBookSelectionBitmap},
+ * and changes are published to the user as the ranges of ids added or removed.
  *
  * @author Darryl L. Pierce
  */
@@ -49,6 +51,7 @@ public class ComicBookSelectionService {
   @Autowired private ComicDetailService comicDetailService;
   @Autowired private ObjectFactory<ComicDetailExampleBuilder> exampleBuilderObjectFactory;
   @Autowired private PublishComicBookSelectionStateAction publishComicBookSelectionStateAction;
+  @Autowired private PublishComicBookSelectionDeltaAction publishComicBookSelectionDeltaAction;
   @Autowired private ObjectMapper objectMapper;
 
   /**
@@ -58,13 +61,16 @@ public class ComicBookSelectionService {
    *
    * @param selections the current selection set
    * @param comicBookId the incoming comic book id
+   * @throws ComicBookSelectionException if the id cannot be selected
    */
   @Transactional
-  public void addComicSelectionForUser(final List selections, final Long comicBookId) {
-    if (!selections.contains(comicBookId)) {
+  public void addComicSelectionForUser(
+      final ComicBookSelectionBitmap selections, final Long comicBookId)
+      throws ComicBookSelectionException {
+    if (this.doAddSelection(selections, comicBookId)) {
       log.debug("Adding comic book to selections: {}", comicBookId);
-      selections.add(comicBookId);
-      this.doPublishSelectionUpdateForUser(selections);
+      this.doPublishSelectionDelta(
+          ComicBookSelectionBitmap.of(List.of(comicBookId)), new ComicBookSelectionBitmap());
     }
   }
 
@@ -75,11 +81,12 @@ public class ComicBookSelectionService {
    * @param comicBookId the incoming comic book id
    */
   @Transactional
-  public void removeComicSelectionFromUser(final List selections, final Long comicBookId) {
-    if (selections.contains(comicBookId)) {
+  public void removeComicSelectionFromUser(
+      final ComicBookSelectionBitmap selections, final Long comicBookId) {
+    if (selections.remove(comicBookId)) {
       log.debug("Removing comic book from selections: {}", comicBookId);
-      selections.remove(comicBookId);
-      this.doPublishSelectionUpdateForUser(selections);
+      this.doPublishSelectionDelta(
+          new ComicBookSelectionBitmap(), ComicBookSelectionBitmap.of(List.of(comicBookId)));
     }
   }
 
@@ -93,12 +100,13 @@ public class ComicBookSelectionService {
    * @param comicType the optional cover type
    * @param comicState the optional comic state
    * @param unscrapedState the optional unscraped state
-   * @param searchText the optional search text
+   * @param searchText the optional search text, which replaces the other filters when set
    * @param adding adding or removing flag
+   * @throws ComicBookSelectionException if an id cannot be selected
    */
   @Transactional
   public void selectByFilter(
-      final List selections,
+      final ComicBookSelectionBitmap selections,
       final Integer coverYear,
       final Integer coverMonth,
       final ArchiveType archiveType,
@@ -106,7 +114,14 @@ public class ComicBookSelectionService {
       final ComicState comicState,
       final Boolean unscrapedState,
       final String searchText,
-      final boolean adding) {
+      final boolean adding)
+      throws ComicBookSelectionException {
+    if (StringUtils.hasLength(searchText)) {
+      this.doSelectIds(
+          selections, this.comicDetailService.getComicIdsForSearchText(searchText), adding);
+      return;
+    }
+
     final ComicDetailExampleBuilder builder = this.exampleBuilderObjectFactory.getObject();
     builder.setCoverYear(coverYear);
     builder.setCoverMonth(coverMonth);
@@ -114,32 +129,33 @@ public class ComicBookSelectionService {
     builder.setComicType(comicType);
     builder.setComicState(comicState);
     builder.setUnscrapedState(unscrapedState);
-    builder.setSearchText(searchText);
 
     final Example<ComicDetail> example = builder.build();
-    final List selectedIds =
-        this.comicDetailService.findAllByExample(example).stream()
-            .map(ComicDetail::getComicId)
-            .toList();
-    if (adding) {
-      log.debug("Adding {} selection{}", selections.size(), selectedIds.size() == 1 ? "" : "s");
-      selections.addAll(selectedIds);
-    } else {
-      log.debug("Removing {} selection{}", selections.size(), selectedIds.size() == 1 ? "" : "s");
-      selections.removeAll(selectedIds);
-    }
+    this.doSelectIds(selections, this.comicDetailService.getComicIdsByExample(example), adding);
+  }
 
-    if (!selectedIds.isEmpty()) {
-      this.doPublishSelectionUpdateForUser(selections);
-    }
+  /**
+   * Adds or removes selections by comic book id.
+   *
+   * @param selections the selected comic book ids
+   * @param comicBookIds the comic book ids
+   * @param adding adding or removing flag
+   * @throws ComicBookSelectionException if an id cannot be selected
+   */
+  public void selectByIds(
+      final ComicBookSelectionBitmap selections,
+      final List<Long> comicBookIds,
+      final boolean adding)
+      throws ComicBookSelectionException {
+    this.doSelectIds(selections, comicBookIds, adding);
   }
 
   /**
-   * Returns a cleared out collection of ids. It also publishes an update to the client.
+   * Clears out the selected ids. It also publishes an update to the client.
    *
    * @param selections the selected comic book ids
    */
-  public void clearSelectedComicBooks(final List selections) {
+  public void clearSelectedComicBooks(final ComicBookSelectionBitmap selections) {
     log.debug("Clearing the selected ids");
     selections.clear();
     log.debug("Publishing cleared out selection update");
@@ -153,71 +169,116 @@ public class ComicBookSelectionService {
    * @return the decoded selections
    * @throws ComicBookSelectionException if an error occurs
    */
-  public List decodeSelections(final Object storeSelections) throws ComicBookSelectionException {
+  public ComicBookSelectionBitmap decodeSelections(final Object storeSelections)
+      throws ComicBookSelectionException {
     if (storeSelections == null) {
       log.debug("Creating new selection set");
-      return new ArrayList();
-    } else {
-      try {
-        final List result = this.objectMapper.readValue(storeSelections.toString(), List.class);
-        // Jackson unmarshalls the elements as Integer, so we need to adjust them
-        return (List)
-            result.stream()
-                .map(entry -> ((Integer) entry).longValue())
-                .collect(Collectors.toList());
-      } catch (JsonProcessingException error) {
-        throw new ComicBookSelectionException("failed to load selections from session", error);
+      return new ComicBookSelectionBitmap();
+    }
+    final String encoded = storeSelections.toString();
+    try {
+      if (ComicBookSelectionBitmap.isEncoded(encoded)) {
+        return ComicBookSelectionBitmap.decode(encoded);
       }
+      // sessions created before the bitmap encoding store the selections as a JSON list
+      final List<?> result = this.objectMapper.readValue(encoded, List.class);
+      // Jackson unmarshalls the elements as Integer, so we need to adjust them
+      return ComicBookSelectionBitmap.of(
+          result.stream().map(entry -> ((Number) entry).longValue()).toList());
+    } catch (JsonProcessingException | IllegalArgumentException error) {
+      throw new ComicBookSelectionException("failed to load selections from session", error);
     }
   }
 
   /**
-   * Returns an encoded copy of the selection list.
+   * Returns an encoded copy of the selections.
    *
    * @param selections the selections
    * @return the encoded selections
    * @throws ComicBookSelectionException if an error occurs
    */
-  public String encodeSelections(final List<Long> selections) throws ComicBookSelectionException {
+  public String encodeSelections(final ComicBookSelectionBitmap selections)
+      throws ComicBookSelectionException {
     log.debug("Storing selection set");
+    return selections.encode();
+  }
+
+  private void doPublishSelectionUpdateForUser(final ComicBookSelectionBitmap selections) {
     try {
-      return this.objectMapper.writeValueAsString(selections);
-    } catch (JsonProcessingException error) {
-      throw new ComicBookSelectionException("failed to save selections to session", error);
+      log.trace("Publishing selection update");
+      this.publishComicBookSelectionStateAction.publish(selections.toList());
+    } catch (PublishingException error) {
+      log.error("failed to publish selection update", error);
     }
   }
 
-  public void publisherSelections(final List<Long> selections) throws ComicBookSelectionException {
+  private void doPublishSelectionDelta(
+      final ComicBookSelectionBitmap added, final ComicBookSelectionBitmap removed) {
     try {
-      this.publishComicBookSelectionStateAction.publish(selections);
+      log.trace("Publishing selection delta");
+      this.publishComicBookSelectionDeltaAction.publish(
+          new ComicBookSelectionDelta(added.toRanges(), removed.toRanges()));
     } catch (PublishingException error) {
-      throw new ComicBookSelectionException("Failed to publish selection updates", error);
+      log.error("failed to publish selection delta", error);
     }
   }
 
-  private void doPublishSelectionUpdateForUser(final List selections) {
+  private boolean doAddSelection(final ComicBookSelectionBitmap selections, final Long id)
+      throws ComicBookSelectionException {
     try {
-      log.trace("Publishing selection update");
-      this.publishComicBookSelectionStateAction.publish(selections);
-    } catch (PublishingException error) {
-      log.error("failed to publish selection update", error);
+      return selections.add(id);
+    } catch (IllegalArgumentException error) {
+      throw new ComicBookSelectionException("failed to select comic book: id=" + id, error);
+    }
+  }
+
+  private void doSelectIds(
+      final ComicBookSelectionBitmap selections, final List<Long> ids, final boolean adding)
+      throws ComicBookSelectionException {
+    final ComicBookSelectionBitmap changed = new ComicBookSelectionBitmap();
+    for (Long id : ids) {
+      if (adding ? this.doAddSelection(selections, id) : selections.remove(id)) changed.add(id);
+    }
+    if (changed.isEmpty()) return;
+    log.debug(
+        "{} {} selection{}",
+        adding ? "Adding" : "Removing",
+        changed.size(),
+        changed.size() == 1 ? "" : "s");
+    if (adding) {
+      this.doPublishSelectionDelta(changed, new ComicBookSelectionBitmap());
+    } else {
+      this.doPublishSelectionDelta(new ComicBookSelectionBitmap(), changed);
     }
   }
 
+  /**
+   * Adds all comic books with the given tag to the selections.
+   *
+   * @param selections the selected comic book ids
+   * @param tagType the tag type
+   * @param tagValue the tag value
+   * @throws ComicBookSelectionException if an id cannot be selected
+   */
   public void addByTagTypeAndValue(
-      final List selections, final ComicTagType tagType, final String tagValue) {
-    selections.addAll(
-        this.comicDetailService.getAllComicsForTag(tagType, tagValue, null, false).stream()
-            .map(ComicDetail::getComicId)
-            .filter(id -> !selections.contains(id))
-            .toList());
+      final ComicBookSelectionBitmap selections, final ComicTagType tagType, final String tagValue)
+      throws ComicBookSelectionException {
+    this.doSelectIds(
+        selections, this.comicDetailService.getAllComicIdsForTag(tagType, tagValue), true);
   }
 
+  /**
+   * Removes all comic books with the given tag from the selections.
+   *
+   * @param selections the selected comic book ids
+   * @param tagType the tag type
+   * @param tagValue the tag value
+   * @throws ComicBookSelectionException if an error occurs
+   */
   public void removeByTagTypeAndValue(
-      final List selections, final ComicTagType tagType, final String tagValue) {
-    selections.removeAll(
-        this.comicDetailService.getAllComicsForTag(tagType, tagValue, null, false).stream()
-            .map(ComicDetail::getComicId)
-            .toList());
+      final ComicBookSelectionBitmap selections, final ComicTagType tagType, final String tagValue)
+      throws ComicBookSelectionException {
+    this.doSelectIds(
+        selections, this.comicDetailService.getAllComicIdsForTag(tagType, tagValue), false);
   }
 }
@@ -23,16 +23,21 @@ import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.comixedproject.adaptors.comicbooks.ComicBookMetadataAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishComicBookListUpdateAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookRemovalAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookUpdateAction;
 import org.comixedproject.model.collections.Publisher;
@@ -46,12 +51,15 @@ import org.comixedproject.model.net.comicbooks.PageOrderEntry;
 import org.comixedproject.model.net.library.PublisherAndYearSegment;
 import org.comixedproject.model.net.library.RemoteLibrarySegmentState;
 import org.comixedproject.repositories.comicbooks.ComicBookRepository;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
 import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChange;
 import org.comixedproject.state.comicbooks.ComicStateChangeListener;
 import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.state.State;
 import org.springframework.stereotype.Service;
@@ -65,11 +73,22 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Log4j2
 public class ComicBookService implements InitializingBean, ComicStateChangeListener {
+  static final int MAXIMUM_LIST_UPDATE_SIZE = 100;
+
+  /**
+   * Batches of state changes no larger than this also publish each comic on its own update topic so
+   * that open single-comic views see the change; larger batches only publish list updates.
+   */
+  static final int MAXIMUM_SINGLE_UPDATE_BATCH_SIZE = 10;
+
   @Autowired private ComicStateHandler comicStateHandler;
   @Autowired private ComicBookRepository comicBookRepository;
+  @Autowired private ComicDetailRepository comicDetailRepository;
+  @Autowired private ComicSearchIndexer comicSearchIndexer;
   @Autowired private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
   @Autowired private PublishComicBookUpdateAction publishComicBookUpdateAction;
   @Autowired private PublishComicBookRemovalAction publishComicBookRemovalAction;
+  @Autowired private PublishComicBookListUpdateAction publishComicBookListUpdateAction;
   @Autowired private ImprintService imprintService;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
 
@@ -285,6 +304,18 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
     return this.comicBookRepository.findByFilename(filename);
   }
 
+  /**
+   * Returns which of the given filenames are already in the library.
+   *
+   * @param filenames the filenames
+   * @return the filenames found
+   */
+  @Transactional
+  public Set<String> findExistingFilenames(final Collection<String> filenames) {
+    if (filenames.isEmpty()) return new HashSet<>();
+    return new HashSet<>(this.comicBookRepository.findExistingFilenames(filenames));
+  }
+
   @Override
   @Transactional
   public void onComicStateChange(
@@ -312,6 +343,55 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
     }
   }
 
+  @Override
+  @Transactional
+  public void onComicStateChanges(final List<ComicStateChange> changes) {
+    log.debug("Processing {} comic state change(s)", changes.size());
+    final List<ComicBook> updated = new ArrayList<>();
+    changes.forEach(
+        change -> {
+          final ComicBook comic = change.getComicBook();
+          if (comic == null) return;
+          final ComicState state = change.getState().getId();
+          if (state == ComicState.REMOVED) {
+            log.trace("Publishing comic removal: id={}", comic.getId());
+            try {
+              this.publishComicBookRemovalAction.publish(comic);
+            } catch (PublishingException error) {
+              log.error("Failed to publish comic removal", error);
+            }
+          } else {
+            comic.getComicDetail().setComicState(state);
+            comic.setLastModifiedOn(new Date());
+            updated.add(comic);
+          }
+        });
+    if (updated.isEmpty()) return;
+    log.trace("Saving {} updated comic(s)", updated.size());
+    final List<ComicBook> saved = this.comicBookRepository.saveAll(updated);
+    if (saved.size() <= MAXIMUM_SINGLE_UPDATE_BATCH_SIZE) {
+      saved.forEach(
+          comic -> {
+            log.trace("Publishing comic update: id={}", comic.getId());
+            try {
+              this.publishComicBookUpdateAction.publish(comic);
+            } catch (PublishingException error) {
+              log.error("Failed to publish comic update", error);
+            }
+          });
+    }
+    for (int start = 0; start < saved.size(); start += MAXIMUM_LIST_UPDATE_SIZE) {
+      final List<ComicBook> chunk =
+          saved.subList(start, Math.min(start + MAXIMUM_LIST_UPDATE_SIZE, saved.size()));
+      log.trace("Publishing comic list update: {} comic(s)", chunk.size());
+      try {
+        this.publishComicBookListUpdateAction.publish(chunk);
+      } catch (PublishingException error) {
+        log.error("Failed to publish comic list update", error);
+      }
+    }
+  }
+
   @Override
   public void afterPropertiesSet() throws Exception {
     log.trace("Subscribing to comic state changes");
@@ -374,15 +454,19 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
   }
 
   /**
-   * Retrieves unprocessed comics that are waiting to have their contents loaded.
+   * Retrieves unprocessed comics in the given partition that are waiting to have their contents
+   * loaded.
    *
    * @param batchName the comic batch name
+   * @param partition the partition index
+   * @param partitionCount the total number of partitions
    * @param count the number of comics to return
    * @return the comics
    */
-  public List<ComicBook> findUnprocessedComicsWithoutContent(final String batchName, int count) {
+  public List<ComicBook> findUnprocessedComicsWithoutContent(
+      final String batchName, final int partition, final int partitionCount, final int count) {
     return this.comicBookRepository.findUnprocessedComicsWithoutContent(
-        batchName, PageRequest.of(0, count));
+        batchName, partition, partitionCount, PageRequest.of(0, count));
   }
 
   /**
@@ -403,17 +487,18 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
    * @param ids the comic ids
    */
   public void prepareForRescan(final List<Long> ids) {
+    final List<ComicBook> comicBooks = new ArrayList<>();
     ids.forEach(
         id -> {
           try {
             log.trace("Loading comicBook: id={}", id);
-            final ComicBook comicBook = this.doGetComic(id);
-            log.trace("Firing event: rescan comicBook");
-            this.comicStateHandler.fireEvent(comicBook, ComicEvent.rescanComic);
+            comicBooks.add(this.doGetComic(id));
           } catch (ComicBookException error) {
             log.error("Error preparing comic for rescan", error);
           }
         });
+    log.trace("Firing event: rescan comicBook");
+    this.comicStateHandler.fireEvents(comicBooks, ComicEvent.rescanComic);
   }
 
   /**
@@ -480,6 +565,7 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
    * @param ids the comic ids
    */
   public void deleteComicBooksById(final List<Long> ids) {
+    final List<ComicBook> comicBooks = new ArrayList<>();
     ids.forEach(
         id -> {
           final ComicBook comicBook;
@@ -487,12 +573,13 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
             comicBook = this.doGetComic(id);
             if (comicBook != null) {
               log.trace("Marking comicBook for deletion: id={}", comicBook.getId());
-              this.comicStateHandler.fireEvent(comicBook, ComicEvent.deleteComic);
+              comicBooks.add(comicBook);
             }
           } catch (ComicBookException error) {
             log.error("Failed to load comic", error);
           }
         });
+    this.comicStateHandler.fireEvents(comicBooks, ComicEvent.deleteComic);
   }
 
   /**
@@ -501,14 +588,16 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
    * @param ids the comic ids
    */
   public void undeleteComicBooksById(final List<Long> ids) {
+    final List<ComicBook> comicBooks = new ArrayList<>();
     ids.forEach(
         id -> {
           final ComicBook comicBook = this.comicBookRepository.getById(id.longValue());
           if (comicBook != null) {
             log.trace("Unmarking comicBook for deletion: id={}", comicBook.getId());
-            this.comicStateHandler.fireEvent(comicBook, ComicEvent.undeleteComic);
+            comicBooks.add(comicBook);
           }
         });
+    this.comicStateHandler.fireEvents(comicBooks, ComicEvent.undeleteComic);
   }
 
   /**
@@ -756,14 +845,15 @@ public class ComicBookService implements InitializingBean, ComicStateChangeListe
   }
 
   /**
-   * Returns the list of comics whose title or description include the provided search term.
+   * Returns the list of comics that match the provided search text, using the search index.
    *
-   * @param term the search time
+   * @param term the search text
    * @return the list of comics
    */
   public List<ComicDetail> getComicBooksForSearchTerms(final String term) {
     log.info("Searching comic books: term={}", term);
-    return this.comicBookRepository.findForSearchTerms(term);
+    return this.comicDetailRepository.findBySearchTerms(
+        this.comicSearchIndexer.getSearchTerms(term), Pageable.unpaged());
   }
 
   /**
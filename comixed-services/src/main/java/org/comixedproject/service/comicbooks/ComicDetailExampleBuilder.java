@@ -47,7 +47,6 @@ public class ComicDetailExampleBuilder {
   @Setter private ComicType comicType;
   @Setter private ComicState comicState;
   @Setter private boolean unscrapedState = false;
-  @Setter private String searchText;
   @Setter private String publisher;
   @Setter private String series;
   @Setter private String volume;
@@ -64,23 +63,6 @@ public class ComicDetailExampleBuilder {
     detail.setComicType(null);
     detail.setUnscraped(null);
 
-    if (StringUtils.hasLength(searchText)) {
-      log.debug("Returning comics with filter text: {}", searchText);
-      detail.setPublisher(searchText);
-      detail.setSeries(searchText);
-      detail.setVolume(searchText);
-      detail.setTitle(searchText);
-      return Example.of(
-          detail,
-          ExampleMatcher.matchingAny()
-              .withMatcher(
-                  "publisher", ExampleMatcher.GenericPropertyMatchers.ignoreCase().contains())
-              .withMatcher("series", ExampleMatcher.GenericPropertyMatchers.ignoreCase().contains())
-              .withMatcher("volume", ExampleMatcher.GenericPropertyMatchers.ignoreCase().contains())
-              .withMatcher(
-                  "title", ExampleMatcher.GenericPropertyMatchers.ignoreCase().contains()));
-    }
-
     ExampleMatcher matcher = ExampleMatcher.matching();
 
     if (coverYear != null) {
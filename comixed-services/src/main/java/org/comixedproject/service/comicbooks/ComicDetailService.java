@@ -20,6 +20,7 @@ package org.comixedproject.service.comicbooks;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.collections.CollectionEntry;
@@ -28,11 +29,20 @@ import org.comixedproject.model.lists.ReadingList;
 import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
 import org.comixedproject.service.lists.ReadingListException;
 import org.comixedproject.service.lists.ReadingListService;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChange;
+import org.comixedproject.state.comicbooks.ComicStateChangeListener;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -45,13 +55,41 @@ import org.springframework.util.StringUtils;
  */
 @Service
 @Log4j2
-public class ComicDetailService {
+public class ComicDetailService implements InitializingBean, ComicStateChangeListener {
+  @Autowired private ComicStateHandler comicStateHandler;
   @Autowired private ComicDetailRepository comicDetailRepository;
   @Autowired private ReadingListService readingListService;
+  @Autowired private ComicSearchIndexer comicSearchIndexer;
 
   @Autowired
   private ObjectFactory<ComicDetailExampleBuilder> comicDetailExampleBuilderObjectFactory;
 
+  @Value("${comixed.library.cover-date-facets.maximum-entries:64}")
+  int maximumCoverDateFacets;
+
+  @Value("${comixed.library.cover-date-facets.time-to-live:30000}")
+  long coverDateFacetsTimeToLive;
+
+  private final Map<List<Object>, CachedCoverDateFacets> coverDateFacets =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  @Override
+  public void afterPropertiesSet() {
+    log.trace("Subscribing to comic state changes");
+    this.comicStateHandler.addListener(this);
+  }
+
+  @Override
+  public void onComicStateChange(
+      final State<ComicState, ComicEvent> state, final Message<ComicEvent> message) {
+    this.clearCoverDateFacets();
+  }
+
+  @Override
+  public void onComicStateChanges(final List<ComicStateChange> changes) {
+    this.clearCoverDateFacets();
+  }
+
   /**
    * Loads a set of comic details with ids greater than the last id.
    *
@@ -119,7 +157,8 @@ public class ComicDetailService {
       final String publisher, final String series, final String email, final boolean unread) {
     if (unread) {
       log.debug(
-          "Loading all volumes for publisher and series with unread comics: publisher={} series={} email={}",
+          "Loading all volumes for publisher and series with unread comics: publisher={} series={}"
+              + " email={}",
           publisher,
           series,
           email);
@@ -331,14 +370,28 @@ public class ComicDetailService {
   }
 
   /**
-   * Returns all comics that match the given search term.
+   * Returns all comics that match the given search text, using the search index.
    *
-   * @param term the search term
+   * @param term the search text
    * @return the matching comics
    */
   public List<ComicDetail> getComicForSearchTerm(final String term) {
     log.debug("Loading all comics for search term: \"{}\"", term);
-    return this.comicDetailRepository.getForSearchTerm(term);
+    return this.comicDetailRepository.findBySearchTerms(
+        this.comicSearchIndexer.getSearchTerms(term), Pageable.unpaged());
+  }
+
+  /**
+   * Returns the comic book ids for all comics that match the given search text, using the search
+   * index.
+   *
+   * @param searchText the search text
+   * @return the comic book ids
+   */
+  public List<Long> getComicIdsForSearchText(final String searchText) {
+    log.debug("Finding all comic book ids for search text: \"{}\"", searchText);
+    return this.comicDetailRepository.findComicIdsBySearchTerms(
+        this.comicSearchIndexer.getSearchTerms(searchText));
   }
 
   /**
@@ -362,6 +415,19 @@ public class ComicDetailService {
     }
   }
 
+  /**
+   * Returns the comic book ids for all comics with the given tag. Only the ids are loaded from the
+   * database.
+   *
+   * @param tagType the tag type
+   * @param tagValue the tag value
+   * @return the comic book ids
+   */
+  public List<Long> getAllComicIdsForTag(final ComicTagType tagType, final String tagValue) {
+    log.debug("Loading all comic book ids for tag: type={} value={}", tagType, tagValue);
+    return this.comicDetailRepository.getAllComicIdsForTagType(tagType, tagValue);
+  }
+
   /**
    * Returns the page of comics for the given index and filters.
    *
@@ -373,7 +439,7 @@ public class ComicDetailService {
    * @param comicType the comic type filter
    * @param comicState the comic state filter
    * @param unscrapedState the unscraped state filter
-   * @param searchText the search text filter
+   * @param searchText the search text, which replaces the other filters when set
    * @param publisher the publisher filter
    * @param series the series filter
    * @param volume the volume filter
@@ -396,6 +462,15 @@ public class ComicDetailService {
       final String volume,
       final String sortBy,
       final String sortDirection) {
+    if (StringUtils.hasLength(searchText)) {
+      log.debug("Loading comic details for search text: \"{}\"", searchText);
+      return this.comicDetailRepository.findBySearchTerms(
+          this.comicSearchIndexer.getSearchTerms(searchText),
+          pageSize != null && pageIndex != null
+              ? PageRequest.of(pageIndex, pageSize, this.doCreateSort(sortBy, sortDirection))
+              : Pageable.unpaged());
+    }
+
     log.debug("Loading comic details");
     final ComicDetailExampleBuilder builder =
         this.comicDetailExampleBuilderObjectFactory.getObject();
@@ -406,7 +481,6 @@ public class ComicDetailService {
     builder.setComicType(comicType);
     builder.setComicState(comicState);
     builder.setUnscrapedState(unscrapedState);
-    builder.setSearchText(searchText);
     builder.setPublisher(publisher);
     builder.setSeries(series);
     builder.setVolume(volume);
@@ -434,7 +508,7 @@ public class ComicDetailService {
    * @param comicType the comic type filter
    * @param comicState the comic state filter
    * @param unscrapedState the unscraped state filter
-   * @param searchText the search text filter
+   * @param searchText the search text, which replaces the other filters when set
    * @param publisher the publisher filter
    * @param series the series filter
    * @param volume the volume filter
@@ -451,6 +525,12 @@ public class ComicDetailService {
       final String publisher,
       final String series,
       final String volume) {
+    if (StringUtils.hasLength(searchText)) {
+      log.debug("Loading comic detail count for search text: \"{}\"", searchText);
+      return this.comicDetailRepository.countBySearchTerms(
+          this.comicSearchIndexer.getSearchTerms(searchText));
+    }
+
     log.debug("Loading filtered comic detail count");
     final ComicDetailExampleBuilder builder =
         this.comicDetailExampleBuilderObjectFactory.getObject();
@@ -460,7 +540,6 @@ public class ComicDetailService {
     builder.setComicType(comicType);
     builder.setComicState(comicState);
     builder.setUnscrapedState(unscrapedState);
-    builder.setSearchText(searchText);
     builder.setPublisher(publisher);
     builder.setSeries(series);
     builder.setVolume(volume);
@@ -493,6 +572,84 @@ public class ComicDetailService {
     return this.comicDetailRepository.findAllById(ids);
   }
 
+  /**
+   * Returns the cover years, cover months and number of comics for the given filter criteria,
+   * loaded with a single query. Results are kept for a short time, and are discarded whenever a
+   * comic changes state.
+   *
+   * @param coverYear the cover year filter
+   * @param coverMonth the cover month filter
+   * @param archiveType the archive type filter
+   * @param comicType the comic type filter
+   * @param comicState the comic state filter
+   * @param unscrapedState the unscraped state filter
+   * @param searchText the search text, which replaces the other filters when set
+   * @param publisher the publisher filter
+   * @param series the series filter
+   * @param volume the volume filter
+   * @return the cover date facets
+   */
+  public CoverDateFacets getCoverDateFacets(
+      final Integer coverYear,
+      final Integer coverMonth,
+      final ArchiveType archiveType,
+      final ComicType comicType,
+      final ComicState comicState,
+      final Boolean unscrapedState,
+      final String searchText,
+      final String publisher,
+      final String series,
+      final String volume) {
+    final List<Object> key =
+        Arrays.asList(
+            coverYear,
+            coverMonth,
+            archiveType,
+            comicType,
+            comicState,
+            unscrapedState,
+            searchText,
+            publisher,
+            series,
+            volume);
+    final CoverDateFacets cached = this.doGetCoverDateFacets(key);
+    if (cached != null) {
+      log.trace("Returning cached cover date facets: {}", key);
+      return cached;
+    }
+
+    log.debug("Loading cover date facets: {}", key);
+    final CoverDateFacets result;
+    if (StringUtils.hasLength(searchText)) {
+      result =
+          this.comicDetailRepository.getCoverDateFacetsBySearchTerms(
+              this.comicSearchIndexer.getSearchTerms(searchText));
+    } else {
+      final ComicDetailExampleBuilder builder =
+          this.comicDetailExampleBuilderObjectFactory.getObject();
+      builder.setCoverYear(coverYear);
+      builder.setCoverMonth(coverMonth);
+      builder.setArchiveType(archiveType);
+      builder.setComicType(comicType);
+      builder.setComicState(comicState);
+      builder.setUnscrapedState(unscrapedState);
+      builder.setPublisher(publisher);
+      builder.setSeries(series);
+      builder.setVolume(volume);
+      result = this.comicDetailRepository.getCoverDateFacetsByExample(builder.build());
+    }
+    this.doPutCoverDateFacets(key, result);
+    return result;
+  }
+
+  /** Removes all cached cover date facets. */
+  public synchronized void clearCoverDateFacets() {
+    if (!this.coverDateFacets.isEmpty()) {
+      log.trace("Clearing {} cached cover date facet(s)", this.coverDateFacets.size());
+      this.coverDateFacets.clear();
+    }
+  }
+
   /**
    * Returns the list of cover years for the given filter criteria.
    *
@@ -502,7 +659,7 @@ public class ComicDetailService {
    * @param comicType the comic type filter
    * @param comicState the comic state filter
    * @param unscrapedState the unscraped state filter
-   * @param searchText the search text filter
+   * @param searchText the search text, which replaces the other filters when set
    * @param publisher the publisher filter
    * @param series the series filter
    * @param volume the volume filter
@@ -520,25 +677,18 @@ public class ComicDetailService {
       final String series,
       final String volume) {
     log.debug("Loading cover years");
-    final ComicDetailExampleBuilder builder =
-        this.comicDetailExampleBuilderObjectFactory.getObject();
-    builder.setCoverYear(coverYear);
-    builder.setCoverMonth(coverMonth);
-    builder.setArchiveType(archiveType);
-    builder.setComicType(comicType);
-    builder.setComicState(comicState);
-    builder.setUnscrapedState(unscrapedState);
-    builder.setSearchText(searchText);
-    builder.setPublisher(publisher);
-    builder.setSeries(series);
-    builder.setVolume(volume);
-
-    final Example<ComicDetail> comicDetailExample = builder.build();
-
-    return this.comicDetailRepository.findAll(comicDetailExample).stream()
-        .map(ComicDetail::getYearPublished)
-        .distinct()
-        .toList();
+    return this.getCoverDateFacets(
+            coverYear,
+            coverMonth,
+            archiveType,
+            comicType,
+            comicState,
+            unscrapedState,
+            searchText,
+            publisher,
+            series,
+            volume)
+        .getCoverYears();
   }
 
   /**
@@ -576,7 +726,7 @@ public class ComicDetailService {
    * @param comicType the comic type filter
    * @param comicState the comic state filter
    * @param unscrapedState the unscraped state filter
-   * @param searchText the search text filter
+   * @param searchText the search text, which replaces the other filters when set
    * @param publisher the publisher filter
    * @param series the series filter
    * @param volume the volume filter
@@ -594,25 +744,18 @@ public class ComicDetailService {
       final String series,
       final String volume) {
     log.debug("Loading cover months");
-    final ComicDetailExampleBuilder builder =
-        this.comicDetailExampleBuilderObjectFactory.getObject();
-    builder.setCoverYear(coverYear);
-    builder.setCoverMonth(coverMonth);
-    builder.setArchiveType(archiveType);
-    builder.setComicType(comicType);
-    builder.setComicState(comicState);
-    builder.setUnscrapedState(unscrapedState);
-    builder.setSearchText(searchText);
-    builder.setPublisher(publisher);
-    builder.setSeries(series);
-    builder.setVolume(volume);
-
-    final Example<ComicDetail> comicDetailExample = builder.build();
-
-    return this.comicDetailRepository.findAll(comicDetailExample).stream()
-        .map(ComicDetail::getMonthPublished)
-        .distinct()
-        .toList();
+    return this.getCoverDateFacets(
+            coverYear,
+            coverMonth,
+            archiveType,
+            comicType,
+            comicState,
+            unscrapedState,
+            searchText,
+            publisher,
+            series,
+            volume)
+        .getCoverMonths();
   }
 
   /**
@@ -643,14 +786,15 @@ public class ComicDetailService {
   }
 
   /**
-   * Returns all records that match the provided example.
+   * Returns the comic book ids for all records that match the provided example. Only the ids are
+   * loaded from the database.
    *
    * @param example the example
-   * @return the records
+   * @return the comic book ids
    */
-  public List<ComicDetail> findAllByExample(final Example<ComicDetail> example) {
-    log.debug("Finding all comic details by example: {}", example);
-    return this.comicDetailRepository.findAll(example);
+  public List<Long> getComicIdsByExample(final Example<ComicDetail> example) {
+    log.debug("Finding all comic book ids by example: {}", example);
+    return this.comicDetailRepository.findComicIdsByExample(example);
   }
 
   /**
@@ -785,4 +929,32 @@ public class ComicDetailService {
       throw new ComicDetailException("Failed to load entries for reading list", error);
     }
   }
+
+  private synchronized CoverDateFacets doGetCoverDateFacets(final List<Object> key) {
+    final CachedCoverDateFacets cached = this.coverDateFacets.get(key);
+    if (cached == null) return null;
+    if (System.currentTimeMillis() - cached.created > this.coverDateFacetsTimeToLive) {
+      log.trace("Cached cover date facets expired: {}", key);
+      this.coverDateFacets.remove(key);
+      return null;
+    }
+    return cached.facets;
+  }
+
+  private synchronized void doPutCoverDateFacets(
+      final List<Object> key, final CoverDateFacets facets) {
+    if (this.maximumCoverDateFacets <= 0 || this.coverDateFacetsTimeToLive <= 0) return;
+    this.coverDateFacets.put(key, new CachedCoverDateFacets(facets, System.currentTimeMillis()));
+    final Iterator<CachedCoverDateFacets> iterator = this.coverDateFacets.values().iterator();
+    while (this.coverDateFacets.size() > this.maximumCoverDateFacets && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  @AllArgsConstructor
+  private static class CachedCoverDateFacets {
+    private final CoverDateFacets facets;
+    private final long created;
+  }
 }
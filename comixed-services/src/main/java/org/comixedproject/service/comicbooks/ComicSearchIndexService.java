@@ -0,0 +1,146 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChangeListener;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.statemachine.state.State;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * <code>ComicSearchIndexService</code> keeps the search index up to date.
+ *
+ * <p>Each comic that changes state is queued once its changes are committed, and the queued comics
+ * are reindexed in batches on a schedule. The whole index is rebuilt when the first update finds it
+ * empty, or when an administrator requests it.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class ComicSearchIndexService implements InitializingBean, ComicStateChangeListener {
+  @Autowired private ComicStateHandler comicStateHandler;
+  @Autowired private ComicSearchIndexer comicSearchIndexer;
+  @Autowired private ComicDetailRepository comicDetailRepository;
+
+  @Value("${comixed.search.index.batch-size:500}")
+  int batchSize;
+
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean indexChecked = new AtomicBoolean(false);
+
+  @Override
+  public void afterPropertiesSet() {
+    log.trace("Subscribing to comic state changes");
+    this.comicStateHandler.addListener(this);
+  }
+
+  @Override
+  public void onComicStateChange(
+      final State<ComicState, ComicEvent> state, final Message<ComicEvent> message) {
+    final ComicBook comicBook = message.getHeaders().get(HEADER_COMIC, ComicBook.class);
+    if (comicBook == null || comicBook.getComicDetail() == null) return;
+    final ComicDetail comicDetail = comicBook.getComicDetail();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.trace("Queueing comic for search index update after commit");
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              doQueueComicDetail(comicDetail);
+            }
+          });
+    } else {
+      this.doQueueComicDetail(comicDetail);
+    }
+  }
+
+  private void doQueueComicDetail(final ComicDetail comicDetail) {
+    final Long comicDetailId = comicDetail.getId();
+    if (comicDetailId != null) {
+      log.trace("Queueing comic for search index update: id={}", comicDetailId);
+      this.pending.add(comicDetailId);
+    }
+  }
+
+  /**
+   * Returns the number of comics waiting to be reindexed.
+   *
+   * @return the count
+   */
+  public int getPendingCount() {
+    return this.pending.size();
+  }
+
+  /** Queues every comic in the library to be reindexed, after first clearing the index. */
+  public void rebuildSearchIndex() {
+    log.info("Rebuilding the search index");
+    this.indexChecked.set(true);
+    this.comicSearchIndexer.clearIndex();
+    this.pending.addAll(this.comicDetailRepository.getAllIds());
+  }
+
+  /** Reindexes the queued comics, one batch at a time. */
+  @Scheduled(fixedDelayString = "${comixed.search.index.update-delay:5000}")
+  public void updateSearchIndex() {
+    if (!this.indexChecked.get()) {
+      if (this.comicSearchIndexer.getIndexSize() == 0L && this.comicDetailRepository.count() > 0L) {
+        log.info("Search index is empty, queueing all comics");
+        this.pending.addAll(this.comicDetailRepository.getAllIds());
+      }
+      this.indexChecked.set(true);
+    }
+    while (!this.pending.isEmpty()) {
+      final List<Long> batch = new ArrayList<>();
+      final Iterator<Long> iterator = this.pending.iterator();
+      while (batch.size() < this.batchSize && iterator.hasNext()) {
+        batch.add(iterator.next());
+        iterator.remove();
+      }
+      try {
+        this.comicSearchIndexer.indexComicDetails(batch);
+      } catch (RuntimeException error) {
+        log.error("Failed to update search index", error);
+        this.pending.addAll(batch);
+        return;
+      }
+    }
+  }
+}
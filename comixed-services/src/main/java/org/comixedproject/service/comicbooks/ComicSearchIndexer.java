@@ -0,0 +1,121 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicSearchTerm;
+import org.comixedproject.model.comicbooks.ComicTag;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
+import org.comixedproject.repositories.comicbooks.ComicSearchTermRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * <code>ComicSearchIndexer</code> breaks comic metadata into search terms and stores them in the
+ * search index. Text is lowercased and split into words on anything that is not a letter or a
+ * digit, so the same rules apply to the indexed metadata and to the text being searched for.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class ComicSearchIndexer {
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  @Autowired private ComicSearchTermRepository comicSearchTermRepository;
+  @Autowired private ComicDetailRepository comicDetailRepository;
+
+  /**
+   * Returns the distinct search terms found in the given text.
+   *
+   * @param text the text
+   * @return the search terms
+   */
+  public List<String> getSearchTerms(final String text) {
+    final Set<String> result = new LinkedHashSet<>();
+    this.doAddSearchTerms(result, text);
+    return new ArrayList<>(result);
+  }
+
+  /**
+   * Replaces the search terms for the given comic details with those taken from their current
+   * metadata and tags. Ids for records that no longer exist only have their terms removed.
+   *
+   * @param comicDetailIds the comic detail ids
+   */
+  @Transactional
+  public void indexComicDetails(final Collection<Long> comicDetailIds) {
+    log.debug("Updating search index for {} comic(s)", comicDetailIds.size());
+    this.comicSearchTermRepository.deleteForComicDetails(comicDetailIds);
+    final List<ComicSearchTerm> terms = new ArrayList<>();
+    for (ComicDetail comicDetail : this.comicDetailRepository.loadForSearchIndex(comicDetailIds)) {
+      final Set<String> words = new LinkedHashSet<>();
+      this.doAddSearchTerms(words, comicDetail.getPublisher());
+      this.doAddSearchTerms(words, comicDetail.getImprint());
+      this.doAddSearchTerms(words, comicDetail.getSeries());
+      this.doAddSearchTerms(words, comicDetail.getVolume());
+      this.doAddSearchTerms(words, comicDetail.getIssueNumber());
+      this.doAddSearchTerms(words, comicDetail.getTitle());
+      this.doAddSearchTerms(words, comicDetail.getDescription());
+      for (ComicTag tag : comicDetail.getTags()) {
+        this.doAddSearchTerms(words, tag.getValue());
+      }
+      words.forEach(word -> terms.add(new ComicSearchTerm(comicDetail.getId(), word)));
+    }
+    log.trace("Saving {} search term(s)", terms.size());
+    this.comicSearchTermRepository.saveAll(terms);
+  }
+
+  /** Removes all entries from the search index. */
+  @Transactional
+  public void clearIndex() {
+    log.debug("Clearing the search index");
+    this.comicSearchTermRepository.deleteAllInBatch();
+  }
+
+  /**
+   * Returns the number of entries in the search index.
+   *
+   * @return the entry count
+   */
+  public long getIndexSize() {
+    return this.comicSearchTermRepository.count();
+  }
+
+  private void doAddSearchTerms(final Set<String> terms, final String text) {
+    if (!StringUtils.hasText(text)) return;
+    for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+      if (word.isEmpty()) continue;
+      terms.add(
+          word.length() > ComicSearchTerm.MAXIMUM_TERM_LENGTH
+              ? word.substring(0, ComicSearchTerm.MAXIMUM_TERM_LENGTH)
+              : word);
+    }
+  }
+}
@@ -20,19 +20,30 @@ package org.comixedproject.service.comicfiles;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FilenameUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
-import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicfiles.PublishLoadComicFilesStatusAction;
 import org.comixedproject.model.comicfiles.ComicFile;
 import org.comixedproject.model.comicfiles.ComicFileDescriptor;
 import org.comixedproject.model.comicfiles.ComicFileGroup;
+import org.comixedproject.model.messaging.comicfiles.LoadComicFilesStatus;
 import org.comixedproject.repositories.comicfiles.ComicFileDescriptorRepository;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,10 +60,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Log4j2
 public class ComicFileService {
+  static final int LOOKUP_BATCH_SIZE = 500;
+  static final long PUBLISH_STATUS_INTERVAL = 1000L;
+
   @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private ComicBookService comicBookService;
   @Autowired private ComicFileDescriptorRepository comicFileDescriptorRepository;
   @Autowired private ComicFileAdaptor comicFileAdaptor;
+  @Autowired private PublishLoadComicFilesStatusAction publishLoadComicFilesStatusAction;
 
   public byte[] getImportFileCover(final String comicArchive) throws AdaptorException {
     log.debug("Getting first image from archive: {}", comicArchive);
@@ -64,6 +79,9 @@ public class ComicFileService {
    * absolute directory. Returns only files that have a comic extension and which do not already
    * appear in the database.
    *
+   * <p>Candidate files are checked against the library in batches rather than one at a time, and
+   * the progress of the scan is published as it runs.
+   *
    * @param rootDirectory the root directory
    * @param maximum the maximum number of files
    * @return the comic files
@@ -74,76 +92,32 @@ public class ComicFileService {
     log.debug("Getting {} comics below root: {}", maximum == 0 ? "all" : maximum, rootDirectory);
 
     final File rootFile = new File(rootDirectory);
-    final List<ComicFileGroup> result = new ArrayList<>();
 
-    if (rootFile.exists()) {
-      if (rootFile.isDirectory()) {
-        this.loadFilesUnder(result, rootFile, maximum);
-      } else {
-        log.debug("Cannot process a file");
-      }
-    } else {
+    if (!rootFile.exists()) {
       log.debug("Directory not found");
+      return new ArrayList<>();
+    }
+    if (!rootFile.isDirectory()) {
+      log.debug("Cannot process a file");
+      return new ArrayList<>();
     }
 
-    return result;
+    final ComicFileScanner scanner = new ComicFileScanner(rootDirectory, maximum);
+    Files.walkFileTree(
+        rootFile.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, scanner);
+    scanner.flush();
+    scanner.publishStatus(false);
+    return new ArrayList<>(scanner.groups.values());
   }
 
-  private void loadFilesUnder(
-      final List<ComicFileGroup> entries, final File directory, final int maximum)
-      throws IOException {
-    log.debug("Loading files in directory: {}", directory);
-    if (directory.listFiles() != null) {
-      for (File file : directory.listFiles()) {
-        if (!entries.isEmpty()) {
-          final int total =
-              entries.stream()
-                  .map(comicFileGroup -> comicFileGroup.getFiles().size())
-                  .reduce((runningTotal, entry) -> runningTotal += entry)
-                  .get();
-          if (maximum > 0 && total == maximum) {
-            log.trace("Finished loading comics");
-            return;
-          }
-        }
-        if (file.isDirectory()) {
-          this.loadFilesUnder(entries, file, maximum);
-        } else {
-          if (canBeImported(file)) {
-            final String filePath = file.getCanonicalPath();
-            final long fileSize = file.length();
-
-            final String parentPath = FilenameUtils.getPath(filePath);
-            final Optional<ComicFileGroup> entry =
-                entries.stream()
-                    .filter(comicFileGroup -> comicFileGroup.getDirectory().equals(parentPath))
-                    .findFirst();
-            ComicFileGroup group = null;
-            if (entry.isPresent()) {
-              group = entry.get();
-            } else {
-              log.debug("Creating new grouping");
-              group = new ComicFileGroup(parentPath);
-              entries.add(group);
-            }
-            log.debug("Adding comic file");
-            group.getFiles().add(new ComicFile(filePath, fileSize));
-          }
-        }
-      }
+  private void doPublishLoadStatus(final LoadComicFilesStatus status) {
+    try {
+      this.publishLoadComicFilesStatusAction.publish(status);
+    } catch (PublishingException error) {
+      log.error("Failed to publish load comic files status", error);
     }
   }
 
-  private boolean canBeImported(final File file) throws IOException {
-    boolean isComic = this.comicFileAdaptor.isComicFile(file);
-
-    final String filePath = file.getCanonicalPath().replace("\\", "/");
-    log.debug("Checking if comicBook file is already in the database");
-    final ComicBook comicBook = this.comicBookService.findByFilename(filePath);
-
-    return isComic && (comicBook == null);
-  }
-
   /**
    * Creates records to initiate import comic files.
    *
@@ -197,4 +171,78 @@ public class ComicFileService {
     log.debug("Loading comic file descriptor for file: {}", filename);
     return this.comicFileDescriptorRepository.findByFilename(filename);
   }
+
+  private class ComicFileScanner extends SimpleFileVisitor<Path> {
+    private final String rootDirectory;
+    private final int maximum;
+    private final Map<String, ComicFileGroup> groups = new LinkedHashMap<>();
+    private final Map<String, ComicFile> pending = new LinkedHashMap<>();
+    private long scanned = 0L;
+    private long found = 0L;
+    private long lastPublished = System.currentTimeMillis();
+
+    private ComicFileScanner(final String rootDirectory, final int maximum) {
+      this.rootDirectory = rootDirectory;
+      this.maximum = maximum;
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes)
+        throws IOException {
+      if (!attributes.isRegularFile()) return FileVisitResult.CONTINUE;
+      this.scanned++;
+      final File file = path.toFile();
+      if (comicFileAdaptor.isComicFile(file)) {
+        final String filePath = file.getCanonicalPath();
+        log.trace("Found comic file: {}", filePath);
+        this.pending.put(filePath.replace("\\", "/"), new ComicFile(filePath, attributes.size()));
+        if (this.pending.size() >= this.getBatchSize()) this.flush();
+      }
+      if (System.currentTimeMillis() - this.lastPublished >= PUBLISH_STATUS_INTERVAL) {
+        this.publishStatus(true);
+      }
+      return this.isFull() ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(final Path path, final IOException error) {
+      log.debug("Unable to read file: {}", path, error);
+      return FileVisitResult.CONTINUE;
+    }
+
+    private int getBatchSize() {
+      if (this.maximum > 0) {
+        return (int) Math.min(LOOKUP_BATCH_SIZE, this.maximum - this.found);
+      }
+      return LOOKUP_BATCH_SIZE;
+    }
+
+    private boolean isFull() {
+      return this.maximum > 0 && this.found >= this.maximum;
+    }
+
+    private void flush() {
+      if (this.pending.isEmpty()) return;
+      log.debug("Checking {} comic file(s) against the library", this.pending.size());
+      final Set<String> existing = comicBookService.findExistingFilenames(this.pending.keySet());
+      for (Map.Entry<String, ComicFile> entry : this.pending.entrySet()) {
+        if (this.isFull()) break;
+        if (existing.contains(entry.getKey())) continue;
+        final ComicFile comicFile = entry.getValue();
+        final String parentPath = FilenameUtils.getPath(comicFile.getFilename());
+        this.groups
+            .computeIfAbsent(parentPath, directory -> new ComicFileGroup(directory))
+            .getFiles()
+            .add(comicFile);
+        this.found++;
+      }
+      this.pending.clear();
+    }
+
+    private void publishStatus(final boolean active) {
+      this.lastPublished = System.currentTimeMillis();
+      doPublishLoadStatus(
+          new LoadComicFilesStatus(active, this.rootDirectory, this.scanned, this.found));
+    }
+  }
 }
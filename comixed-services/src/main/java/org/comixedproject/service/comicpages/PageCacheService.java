@@ -18,26 +18,57 @@
 
 package org.comixedproject.service.comicpages;
 
+import java.awt.Color;
+import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicpages.Page;
+import org.imgscalr.Scalr;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Log4j2
 public class PageCacheService {
+  /** The widths, in pixels, of the downscaled renditions kept for each cached page. */
+  public static final int[] RENDITION_SIZES = {160, 320, 640};
+
+  /** The content type of all downscaled renditions. */
+  public static final String RENDITION_MIME_TYPE = "image/jpeg";
+
+  static final String RENDITION_FORMAT = "jpg";
+  static final float RENDITION_QUALITY = 0.85f;
+
   @Autowired private PageService pageService;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
+  @Autowired private PageMemoryCacheService pageMemoryCacheService;
+  @Autowired private FileTypeAdaptor fileTypeAdaptor;
 
   @Value("${comixed.images.cache.location}")
   String cacheDirectory;
 
+  @Value("${comixed.images.scaled.width-step:100}")
+  int scaledWidthStep;
+
+  @Value("${comixed.images.scaled.resize-method:BALANCED}")
+  Scalr.Method scaledResizeMethod;
+
   /**
    * Returns a cache entry by page hash.
    *
@@ -65,6 +96,173 @@ public class PageCacheService {
     return null;
   }
 
+  /**
+   * Returns the image for a page. The image is taken from memory if possible, otherwise it is
+   * streamed from the image cache. Pages not yet in the image cache are first loaded from the comic
+   * file. Small images are kept in memory for later requests.
+   *
+   * @param page the page
+   * @param size the optional rendition width
+   * @return the image, or <code>null</code> if the page content could not be loaded
+   */
+  public PageImage getPageImage(final Page page, final Integer size) {
+    final String hash = page.getHash();
+    final Integer renditionSize = this.normalizeRenditionSize(size);
+    final String key = this.pageMemoryCacheService.getKey(hash, renditionSize);
+    final CachedPageContent cached = this.pageMemoryCacheService.get(key);
+    if (cached != null) {
+      return new PageImage(new ByteArrayResource(cached.getContent()), cached.getContentType());
+    }
+
+    File file = this.doLoadCachedFile(page);
+    if (file == null) return null;
+
+    String contentType = page.getMimeType();
+    if (renditionSize != null) {
+      final File rendition = this.findRenditionFileByHash(hash, renditionSize);
+      if (rendition != null) {
+        file = rendition;
+        contentType = RENDITION_MIME_TYPE;
+      }
+    }
+
+    return this.doGetPageImage(hash, key, file, contentType);
+  }
+
+  /**
+   * Returns the entity tag for a page image. Pages are identified by their content hash, so the
+   * hash and the rendition size that is served for the request uniquely identify the image.
+   *
+   * @param page the page
+   * @param size the optional rendition width
+   * @return the entity tag
+   */
+  public String getETagForPage(final Page page, final Integer size) {
+    final Integer renditionSize = this.normalizeRenditionSize(size);
+    return renditionSize == null
+        ? String.format("\"%s\"", page.getHash())
+        : String.format("\"%s-%d\"", page.getHash(), renditionSize);
+  }
+
+  /**
+   * Returns the image for a page scaled down to fit within a maximum width. The width is rounded
+   * down to a width step, so that nearby widths share a single scaled image that never exceeds the
+   * requested width. The scaled image is saved in the image cache the first time it is requested.
+   * Pages that already fit are returned unscaled.
+   *
+   * @param page the page
+   * @param maxWidth the maximum width
+   * @return the image, or <code>null</code> if the page content could not be loaded
+   */
+  public PageImage getScaledPageImage(final Page page, final int maxWidth) {
+    if (maxWidth <= 0 || page.getWidth() <= maxWidth) {
+      log.trace("Page does not need to be scaled");
+      return this.getPageImage(page, null);
+    }
+    final int width = this.getScaledWidth(maxWidth);
+    if (width >= page.getWidth()) {
+      log.trace("Scaled width is not smaller than the page");
+      return this.getPageImage(page, null);
+    }
+
+    final String hash = page.getHash();
+    final String key = this.pageMemoryCacheService.getScaledKey(hash, width);
+    final CachedPageContent cached = this.pageMemoryCacheService.get(key);
+    if (cached != null) {
+      return new PageImage(new ByteArrayResource(cached.getContent()), cached.getContentType());
+    }
+
+    final File file = this.getScaledFileForHash(hash, width);
+    if (file == null) return null;
+    if (!file.exists()) {
+      final File original = this.doLoadCachedFile(page);
+      if (original == null) return null;
+      try {
+        log.debug("Creating scaled image: hash={} width={}", hash, width);
+        final byte[] content =
+            this.createRendition(
+                FileUtils.readFileToByteArray(original), width, this.scaledResizeMethod);
+        this.doWriteCacheFile(file, content);
+      } catch (IOException error) {
+        log.error("Failed to create scaled image", error);
+        return null;
+      }
+    }
+
+    return this.doGetPageImage(hash, key, file, RENDITION_MIME_TYPE);
+  }
+
+  /**
+   * Returns the width step that a maximum width is rounded down to, with a minimum of one step.
+   *
+   * @param maxWidth the maximum width
+   * @return the scaled width
+   */
+  int getScaledWidth(final int maxWidth) {
+    if (this.scaledWidthStep <= 1) return maxWidth;
+    return Math.max(this.scaledWidthStep, (maxWidth / this.scaledWidthStep) * this.scaledWidthStep);
+  }
+
+  File getScaledFileForHash(final String hash, final int width) {
+    final File file = this.getFileForHash(hash);
+    if (file == null) return null;
+    return new File(String.format("%s-w%d.%s", file.getPath(), width, RENDITION_FORMAT));
+  }
+
+  private File doLoadCachedFile(final Page page) {
+    final String hash = page.getHash();
+    File file = this.findFileByHash(hash);
+    if (file == null) {
+      try {
+        log.debug("Loading page content from comic file: hash={}", hash);
+        this.saveByHash(
+            hash, this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber()));
+      } catch (AdaptorException error) {
+        log.error("Failed to load page content", error);
+        return null;
+      }
+      file = this.findFileByHash(hash);
+    }
+    return file;
+  }
+
+  private PageImage doGetPageImage(
+      final String hash, final String key, final File file, String contentType) {
+    if (contentType == null) {
+      log.debug("Detecting cached image type: hash={}", hash);
+      try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+        contentType = this.fileTypeAdaptor.getMimeTypeFor(input);
+      } catch (IOException error) {
+        log.error("Failed to detect cached image type", error);
+        return null;
+      }
+    }
+
+    if (this.pageMemoryCacheService.isCacheable(file.length())) {
+      try {
+        final byte[] content = FileUtils.readFileToByteArray(file);
+        this.pageMemoryCacheService.put(key, content, contentType);
+        return new PageImage(new ByteArrayResource(content), contentType);
+      } catch (IOException error) {
+        log.error("Failed to load cached image", error);
+      }
+    }
+    log.debug("Streaming cached image: hash={} size={}", hash, file.length());
+    return new PageImage(new FileSystemResource(file), contentType);
+  }
+
+  /**
+   * Returns the image cache file for a page.
+   *
+   * @param hash the page hash
+   * @return the file, or <code>null</code> if the page is not cached
+   */
+  public File findFileByHash(final String hash) {
+    final File file = this.getFileForHash(hash);
+    if (file != null && file.exists() && !file.isDirectory()) return file;
+    return null;
+  }
+
   File getFileForHash(final String hash) {
     if (hash.length() != 32) {
       return null;
@@ -83,6 +281,129 @@ public class PageCacheService {
     return new File(path);
   }
 
+  /**
+   * Returns the file for a downscaled rendition of a cached page. The requested size is rounded up
+   * to the nearest rendition size, and the rendition is created and saved the first time it is
+   * requested.
+   *
+   * @param hash the page hash
+   * @param size the requested width
+   * @return the rendition file, or <code>null</code> if the page is not cached or no rendition is
+   *     at least as large as the requested size
+   */
+  public File findRenditionFileByHash(final String hash, final int size) {
+    final int renditionSize = this.getRenditionSize(size);
+    if (renditionSize == 0) {
+      log.debug("No rendition for requested size: {}", size);
+      return null;
+    }
+    final File file = this.getRenditionFileForHash(hash, renditionSize);
+    if (file == null) return null;
+    if (file.exists()) return file;
+
+    final byte[] content = this.findByHash(hash);
+    if (content == null) return null;
+    return this.doSaveRendition(hash, content, renditionSize) != null ? file : null;
+  }
+
+  /**
+   * Returns the smallest rendition size that is at least as large as the requested size.
+   *
+   * @param size the requested size
+   * @return the rendition size, or 0 if the request is larger than any rendition
+   */
+  int getRenditionSize(final int size) {
+    for (int index = 0; index < RENDITION_SIZES.length; index++) {
+      if (RENDITION_SIZES[index] >= size) return RENDITION_SIZES[index];
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the rendition size that is served for a requested size, so that every request served by
+   * the same image shares one key.
+   *
+   * @param size the requested size, or <code>null</code> for the original image
+   * @return the rendition size, or <code>null</code> if the original image is served
+   */
+  public Integer normalizeRenditionSize(final Integer size) {
+    if (size == null) return null;
+    final int renditionSize = this.getRenditionSize(size);
+    return renditionSize == 0 ? null : renditionSize;
+  }
+
+  File getRenditionFileForHash(final String hash, final int size) {
+    final File file = this.getFileForHash(hash);
+    if (file == null) return null;
+    return new File(String.format("%s-%d.%s", file.getPath(), size, RENDITION_FORMAT));
+  }
+
+  /**
+   * Creates a rendition of an image scaled down to the given width and encoded as a progressive
+   * JPEG. Images already narrower than the width are only re-encoded.
+   *
+   * @param content the image content
+   * @param width the width
+   * @param method the resize method
+   * @return the rendition content
+   * @throws IOException if the image could not be decoded or encoded
+   */
+  byte[] createRendition(final byte[] content, final int width, final Scalr.Method method)
+      throws IOException {
+    final BufferedImage source = ImageIO.read(new ByteArrayInputStream(content));
+    if (source == null) throw new IOException("Unsupported image format");
+    BufferedImage scaled = source;
+    if (source.getWidth() > width) {
+      scaled = Scalr.resize(source, method, Scalr.Mode.FIT_TO_WIDTH, width);
+    }
+    // JPEG does not support transparency, so flatten the image first
+    final BufferedImage image =
+        new BufferedImage(scaled.getWidth(), scaled.getHeight(), BufferedImage.TYPE_INT_RGB);
+    image.createGraphics().drawImage(scaled, 0, 0, Color.WHITE, null);
+
+    final ImageWriter writer = ImageIO.getImageWritersByFormatName(RENDITION_FORMAT).next();
+    final ByteArrayOutputStream result = new ByteArrayOutputStream();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(result)) {
+      final ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(RENDITION_QUALITY);
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return result.toByteArray();
+  }
+
+  private byte[] doSaveRendition(final String hash, final byte[] content, final int size) {
+    try {
+      log.debug("Creating image rendition: hash={} size={}", hash, size);
+      final byte[] rendition = this.createRendition(content, size, Scalr.Method.QUALITY);
+      this.doWriteCacheFile(this.getRenditionFileForHash(hash, size), rendition);
+      return rendition;
+    } catch (IOException error) {
+      log.error("Failed to create image rendition", error);
+      return null;
+    }
+  }
+
+  private void doWriteCacheFile(final File file, final byte[] content) throws IOException {
+    file.getParentFile().mkdirs();
+    log.trace("Writing cache file: {}", file.getAbsolutePath());
+    final File temporary = File.createTempFile("." + file.getName(), ".tmp", file.getParentFile());
+    try {
+      FileUtils.writeByteArrayToFile(temporary, content);
+      Files.move(
+          temporary.toPath(),
+          file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary.toPath());
+    }
+  }
+
   /**
    * Saves the content for a page by its hash in the cache.
    *
@@ -92,9 +413,7 @@ public class PageCacheService {
   public void saveByHash(final String hash, final byte[] content) {
     try {
       log.debug("Saving image to cache: hash={}", hash);
-      final File file = this.getFileForHash(hash);
-      file.getParentFile().mkdirs();
-      IOUtils.write(content, new FileOutputStream(file, false));
+      this.doWriteCacheFile(this.getFileForHash(hash), content);
     } catch (IOException error) {
       log.error("Failed to add page to image cache", error);
     }
@@ -117,10 +436,14 @@ public class PageCacheService {
    */
   public void addPageToCache(final Page page) {
     log.debug("Adding page to cache: id={}", page.getId());
+    final String hash = page.getHash();
     try {
-      this.saveByHash(
-          page.getHash(),
-          this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber()));
+      final byte[] content =
+          this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber());
+      this.saveByHash(hash, content);
+      for (int index = 0; index < RENDITION_SIZES.length; index++) {
+        this.doSaveRendition(hash, content, RENDITION_SIZES[index]);
+      }
     } catch (AdaptorException error) {
       log.error("Failed to add page to image cache", error);
     }
@@ -0,0 +1,177 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * <code>PageMemoryCacheService</code> keeps recently used page images in memory, in front of the
+ * image cache on disk. Entries are evicted in least recently used order once the total size of the
+ * cached content goes over the configured limit.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class PageMemoryCacheService implements InitializingBean {
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
+  @Value("${comixed.images.memory-cache.maximum-size:67108864}")
+  @Getter
+  long maximumSize;
+
+  @Value("${comixed.images.memory-cache.maximum-entry-size:4194304}")
+  @Getter
+  long maximumEntrySize;
+
+  private final Map<String, CachedPageContent> entries = new LinkedHashMap<>(16, 0.75f, true);
+  @Getter private long currentSize = 0L;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  @Override
+  public void afterPropertiesSet() {
+    if (this.meterRegistry == null) return;
+    log.debug("Registering page memory cache metrics");
+    FunctionCounter.builder("comixed.page.memory-cache.hits", this.hits, AtomicLong::get)
+        .register(this.meterRegistry);
+    FunctionCounter.builder("comixed.page.memory-cache.misses", this.misses, AtomicLong::get)
+        .register(this.meterRegistry);
+    FunctionCounter.builder("comixed.page.memory-cache.evictions", this.evictions, AtomicLong::get)
+        .register(this.meterRegistry);
+    Gauge.builder("comixed.page.memory-cache.size", this, PageMemoryCacheService::getCurrentSize)
+        .baseUnit("bytes")
+        .register(this.meterRegistry);
+    Gauge.builder("comixed.page.memory-cache.entries", this, PageMemoryCacheService::getCount)
+        .register(this.meterRegistry);
+  }
+
+  /**
+   * Returns the key for a page image.
+   *
+   * @param hash the page hash
+   * @param size the rendition size, or <code>null</code> for the original image
+   * @return the key
+   */
+  public String getKey(final String hash, final Integer size) {
+    return size == null ? hash : String.format("%s-%d", hash, size);
+  }
+
+  /**
+   * Returns the key for a page image scaled to a maximum width.
+   *
+   * @param hash the page hash
+   * @param width the scaled width
+   * @return the key
+   */
+  public String getScaledKey(final String hash, final int width) {
+    return String.format("%s-w%d", hash, width);
+  }
+
+  /**
+   * Returns a cached page image.
+   *
+   * @param key the key
+   * @return the cached content, or <code>null</code> if not cached
+   */
+  public synchronized CachedPageContent get(final String key) {
+    final CachedPageContent result = this.entries.get(key);
+    if (result == null) {
+      log.trace("Page image not in memory cache: {}", key);
+      this.misses.incrementAndGet();
+    } else {
+      log.trace("Page image found in memory cache: {}", key);
+      this.hits.incrementAndGet();
+    }
+    return result;
+  }
+
+  /**
+   * Returns if content of the given length would be kept by the cache.
+   *
+   * @param length the content length
+   * @return true if the content can be cached
+   */
+  public boolean isCacheable(final long length) {
+    return length <= this.maximumEntrySize && length <= this.maximumSize;
+  }
+
+  /**
+   * Adds a page image to the cache, evicting the least recently used entries as needed. Content
+   * larger than the maximum entry size is not cached.
+   *
+   * @param key the key
+   * @param content the image content
+   * @param contentType the image content type
+   */
+  public synchronized void put(final String key, final byte[] content, final String contentType) {
+    if (!this.isCacheable(content.length)) {
+      log.trace("Page image too large for memory cache: {} bytes", content.length);
+      return;
+    }
+    log.trace("Adding page image to memory cache: {} => {} bytes", key, content.length);
+    final CachedPageContent previous =
+        this.entries.put(key, new CachedPageContent(content, contentType));
+    if (previous != null) this.currentSize -= previous.getContent().length;
+    this.currentSize += content.length;
+
+    final Iterator<CachedPageContent> iterator = this.entries.values().iterator();
+    while (this.currentSize > this.maximumSize && iterator.hasNext()) {
+      final CachedPageContent evicted = iterator.next();
+      iterator.remove();
+      this.currentSize -= evicted.getContent().length;
+      this.evictions.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return the count
+   */
+  public synchronized int getCount() {
+    return this.entries.size();
+  }
+
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  public long getEvictions() {
+    return this.evictions.get();
+  }
+}
@@ -19,6 +19,7 @@
 package org.comixedproject.service.library;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
@@ -62,16 +63,17 @@ public class LibraryService {
    * @param ids the comics
    */
   public void updateMetadata(final List<Long> ids) {
+    final List<ComicBook> comicBooks = new ArrayList<>();
     ids.forEach(
         id -> {
           try {
-            final ComicBook comicBook = this.comicBookService.getComic(id);
-            log.trace("Firing action to update metadata: id={}", id);
-            this.comicStateHandler.fireEvent(comicBook, ComicEvent.updateMetadata);
+            comicBooks.add(this.comicBookService.getComic(id));
           } catch (ComicBookException error) {
             log.error("Failed to update comic", error);
           }
         });
+    log.trace("Firing action to update metadata: {} comic(s)", comicBooks.size());
+    this.comicStateHandler.fireEvents(comicBooks, ComicEvent.updateMetadata);
   }
 
   /**
@@ -115,13 +117,9 @@ public class LibraryService {
   public void prepareForPurging() {
     final int count = (int) this.comicBookService.getComicBookCount();
     if (count > 0) {
-      this.comicBookService
-          .findComicsMarkedForDeletion(count)
-          .forEach(
-              comicBook -> {
-                log.trace("Firing action: purge comicBook id={}", comicBook.getId());
-                this.comicStateHandler.fireEvent(comicBook, ComicEvent.prepareToPurge);
-              });
+      final List<ComicBook> comicBooks = this.comicBookService.findComicsMarkedForDeletion(count);
+      log.trace("Firing action: purge {} comic(s)", comicBooks.size());
+      this.comicStateHandler.fireEvents(comicBooks, ComicEvent.prepareToPurge);
     } else {
       log.info("No comic books found to purge");
     }
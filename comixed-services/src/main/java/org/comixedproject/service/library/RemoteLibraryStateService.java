@@ -18,10 +18,17 @@
 
 package org.comixedproject.service.library;
 
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_PREVIOUS_STATE;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.library.PublishRemoteLibraryUpdateAction;
 import org.comixedproject.model.comicbooks.ComicState;
+import org.comixedproject.model.net.library.RemoteLibrarySegmentState;
 import org.comixedproject.model.net.library.RemoteLibraryState;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.comixedproject.state.comicbooks.ComicEvent;
@@ -30,6 +37,7 @@ import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.statemachine.state.State;
 import org.springframework.stereotype.Service;
 
@@ -37,6 +45,11 @@ import org.springframework.stereotype.Service;
  * <code>RemoteLibraryStateService</code> provide business methods for working with the state of the
  * library.
  *
+ * <p>The library state is loaded once and then kept up to date in memory. The comic counts by state
+ * are adjusted from each state change, while the remaining statistics are reloaded by a periodic
+ * reconciliation pass when anything has changed. Updates are published to clients at most once per
+ * publish delay.
+ *
  * @author Darryl L. Pierce
  */
 @Service
@@ -46,6 +59,13 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
   @Autowired private ComicBookService comicBookService;
   @Autowired private PublishRemoteLibraryUpdateAction publishRemoteLibraryUpdateAction;
 
+  private final AtomicBoolean publishRequested = new AtomicBoolean(false);
+  private final AtomicBoolean reconcileRequested = new AtomicBoolean(false);
+
+  private RemoteLibraryState loadedState;
+  private long totalComics;
+  private final Map<ComicState, Long> stateCounts = new EnumMap<>(ComicState.class);
+
   @Override
   public void afterPropertiesSet() throws Exception {
     log.debug("Subscribing to comic book state changes");
@@ -55,6 +75,38 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
   @Override
   public void onComicStateChange(
       final State<ComicState, ComicEvent> state, final Message<ComicEvent> message) {
+    final ComicState previous = message.getHeaders().get(HEADER_PREVIOUS_STATE, ComicState.class);
+    log.trace("Updating library state: {} => {}", previous, state.getId());
+    this.doApplyStateChange(previous, state.getId());
+    this.reconcileRequested.set(true);
+    this.publishRequested.set(true);
+  }
+
+  private synchronized void doApplyStateChange(final ComicState previous, final ComicState next) {
+    if (this.loadedState == null || previous == next) return;
+    final boolean entering = previous == null || previous == ComicState.ADDED;
+    if (previous != null) this.doAdjustStateCount(previous, -1L);
+    if (next == ComicState.REMOVED) {
+      if (!entering) this.totalComics = Math.max(0L, this.totalComics - 1L);
+    } else {
+      this.doAdjustStateCount(next, 1L);
+      if (entering) this.totalComics++;
+    }
+  }
+
+  private void doAdjustStateCount(final ComicState state, final long delta) {
+    final long count = Math.max(0L, this.stateCounts.getOrDefault(state, 0L) + delta);
+    if (count == 0L) {
+      this.stateCounts.remove(state);
+    } else {
+      this.stateCounts.put(state, count);
+    }
+  }
+
+  /** Publishes the library state if it has changed since it was last published. */
+  @Scheduled(fixedDelayString = "${comixed.library.state.publish-delay:2000}")
+  public void publishLibraryState() {
+    if (!this.publishRequested.getAndSet(false)) return;
     log.debug("Publishing library state update");
     try {
       this.publishRemoteLibraryUpdateAction.publish(this.getLibraryState());
@@ -63,12 +115,34 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
     }
   }
 
+  /**
+   * Reloads the library state from the database if any comics have changed since the last pass,
+   * correcting any drift in the incrementally maintained counts.
+   */
+  @Scheduled(fixedDelayString = "${comixed.library.state.reconcile-delay:60000}")
+  public void reconcileLibraryState() {
+    if (!this.reconcileRequested.getAndSet(false)) return;
+    log.debug("Reconciling library state");
+    this.doLoadLibraryState();
+    this.publishRequested.set(true);
+  }
+
   /**
    * Returns the current state of the library.
    *
    * @return the state
    */
   public RemoteLibraryState getLibraryState() {
+    synchronized (this) {
+      if (this.loadedState != null) return this.doCreateLibraryState();
+    }
+    this.doLoadLibraryState();
+    synchronized (this) {
+      return this.doCreateLibraryState();
+    }
+  }
+
+  private void doLoadLibraryState() {
     log.debug("Retrieving the library state");
     final RemoteLibraryState result =
         new RemoteLibraryState(
@@ -83,6 +157,35 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
     result.setStories(this.comicBookService.getStoriesState());
     result.setStates(this.comicBookService.getComicBooksState());
     result.setByPublisherAndYear(this.comicBookService.getByPublisherAndYear());
+    synchronized (this) {
+      this.loadedState = result;
+      this.totalComics = result.getTotalComics();
+      this.stateCounts.clear();
+      result
+          .getStates()
+          .forEach(
+              segment ->
+                  this.stateCounts.put(ComicState.valueOf(segment.getName()), segment.getCount()));
+    }
+  }
+
+  private RemoteLibraryState doCreateLibraryState() {
+    final RemoteLibraryState result =
+        new RemoteLibraryState(
+            this.totalComics,
+            this.loadedState.getUnscrapedComics(),
+            this.stateCounts.getOrDefault(ComicState.DELETED, 0L));
+    result.setPublishers(this.loadedState.getPublishers());
+    result.setSeries(this.loadedState.getSeries());
+    result.setCharacters(this.loadedState.getCharacters());
+    result.setTeams(this.loadedState.getTeams());
+    result.setLocations(this.loadedState.getLocations());
+    result.setStories(this.loadedState.getStories());
+    result.setStates(
+        this.stateCounts.entrySet().stream()
+            .map(entry -> new RemoteLibrarySegmentState(entry.getKey().name(), entry.getValue()))
+            .collect(Collectors.toList()));
+    result.setByPublisherAndYear(this.loadedState.getByPublisherAndYear());
     return result;
   }
 }
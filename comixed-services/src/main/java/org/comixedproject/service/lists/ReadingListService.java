@@ -18,28 +18,24 @@
 
 package org.comixedproject.service.lists;
 
-import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
 import static org.comixedproject.state.lists.ReadingListStateHandler.HEADER_READING_LIST;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.adaptors.csv.CsvAdaptor;
 import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.lists.PublishReadingListDeletedAction;
 import org.comixedproject.messaging.lists.PublishReadingListUpdateAction;
 import org.comixedproject.model.comicbooks.ComicBook;
-import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.lists.ReadingList;
 import org.comixedproject.model.lists.ReadingListState;
 import org.comixedproject.model.net.DownloadDocument;
 import org.comixedproject.model.user.ComiXedUser;
 import org.comixedproject.repositories.lists.ReadingListRepository;
-import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.comixedproject.service.user.ComiXedUserException;
 import org.comixedproject.service.user.UserService;
@@ -191,7 +187,8 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
   }
 
   /**
-   * Adds comics to the specified reading list.
+   * Adds comics to the specified reading list. The entries are inserted in a single statement, and
+   * one update event is fired for the list if any were added.
    *
    * @param email the owner's email address
    * @param id the reading list id
@@ -210,26 +207,14 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
       throw new ReadingListException(
           "User is not owner: " + email + " != " + readingList.getOwner().getEmail());
     }
-    comicIds.forEach(
-        comicId -> {
-          try {
-            log.trace("Loading comicBook: id={}", comicId);
-            final ComicBook comicBook = this.comicBookService.getComic(comicId);
-            log.trace("Adding comicBook to reading list");
-            Map<String, Object> headers = new HashMap<>();
-            headers.put(HEADER_COMIC, comicBook);
-            this.readingListStateHandler.fireEvent(
-                readingList, ReadingListEvent.comicAdded, headers);
-          } catch (ComicBookException error) {
-            log.error("Failed to add comic to reading list", error);
-          }
-        });
+    this.doAddEntries(id, comicIds);
     log.trace("Returning reading list");
     return this.doLoadReadingList(id);
   }
 
   /**
-   * Removes comics from the specified reading list.
+   * Removes comics from the specified reading list. The entries are deleted in a single statement,
+   * and one update event is fired for the list if any were removed.
    *
    * @param email the owner's email
    * @param id the reading list record id
@@ -249,18 +234,37 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
           "User is not owner: " + email + " != " + readingList.getOwner().getEmail());
     }
 
-    final List<ComicDetail> removedEntries =
-        readingList.getEntries().stream()
-            .filter(comicDetail -> comicBookIds.contains(comicDetail.getComicId()))
-            .toList();
-    readingList.getEntries().removeAll(removedEntries);
-    this.readingListRepository.save(readingList);
-    this.readingListRepository.flush();
+    if (!comicBookIds.isEmpty()) {
+      log.trace("Removing {} comic(s) from reading list", comicBookIds.size());
+      final int removed = this.readingListRepository.removeEntries(id, comicBookIds);
+      log.debug("Removed {} entries from reading list: id={}", removed, id);
+      if (removed > 0) {
+        this.doFireUpdated(id);
+      }
+    }
 
     log.trace("Returning reading list");
     return this.doLoadReadingList(id);
   }
 
+  private void doAddEntries(final long id, final List<Long> comicBookIds)
+      throws ReadingListException {
+    if (comicBookIds.isEmpty()) return;
+    log.trace("Adding {} comic(s) to reading list", comicBookIds.size());
+    final int added = this.readingListRepository.addEntries(id, comicBookIds);
+    log.debug("Added {} entries to reading list: id={}", added, id);
+    if (added > 0) {
+      this.doFireUpdated(id);
+    }
+  }
+
+  private void doFireUpdated(final long id) throws ReadingListException {
+    log.trace("Reloading reading list");
+    final ReadingList readingList = this.doLoadReadingList(id);
+    log.trace("Firing event: updated");
+    this.readingListStateHandler.fireEvent(readingList, ReadingListEvent.updated);
+  }
+
   private ReadingList doLoadReadingList(final long id) throws ReadingListException {
     final ReadingList result = this.readingListRepository.getById(id);
     if (result == null) throw new ReadingListException("No such reading list: id=" + id);
@@ -355,7 +359,7 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
       final String email, final String name, final InputStream input)
       throws ReadingListException, IOException {
     final ReadingList readingList = this.createReadingList(email, name, "");
-    final Long readingListId = readingList.getId();
+    final List<Long> comicBookIds = new ArrayList<>();
     this.csvAdaptor.decodeRecords(
         input,
         new String[] {
@@ -367,14 +371,12 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
             final ComicBook comicBook =
                 this.comicBookService.findComic(row.get(1), row.get(2), row.get(3), row.get(4));
             if (comicBook != null) {
-              final ReadingList list = this.readingListRepository.getById(readingListId);
-              log.trace("Adding comicBook to reading list");
-              Map<String, Object> headers = new HashMap<>();
-              headers.put(HEADER_COMIC, comicBook);
-              this.readingListStateHandler.fireEvent(list, ReadingListEvent.comicAdded, headers);
+              comicBookIds.add(comicBook.getId());
             }
           }
         });
+    log.trace("Adding comics to reading list");
+    this.doAddEntries(readingList.getId(), comicBookIds);
   }
 
   private void ensureReadingListIsUnique(final String name, final ComiXedUser owner)
@@ -418,16 +420,14 @@ public class ReadingListService implements ReadingListStateChangeListener, Initi
    */
   @Transactional
   public void deleteEntriesForComicBook(final ComicBook comicBook) {
+    final long comicDetailId = comicBook.getComicDetail().getId();
     log.trace("Deleting all reading list entries for comic book: id={}", comicBook.getId());
-    this.readingListRepository
-        .getReadingListsWithComic(comicBook.getComicDetail())
-        .forEach(
-            readingList -> {
-              log.trace("Removing comic book from reading list: list id={}", readingList.getId());
-              readingList.getEntries().remove(comicBook.getComicDetail());
-              log.trace("Saving reading list");
-              this.readingListRepository.save(readingList);
-            });
+    final int updated =
+        this.readingListRepository.touchReadingListsWithComic(comicDetailId, new Date());
+    if (updated > 0) {
+      log.trace("Removing comic book from {} reading list(s)", updated);
+      this.readingListRepository.removeEntriesForComic(comicDetailId);
+    }
   }
 
   /**
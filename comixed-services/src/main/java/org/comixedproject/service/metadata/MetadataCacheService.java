@@ -18,27 +18,44 @@
 
 package org.comixedproject.service.metadata;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.metadata.MetadataCache;
-import org.comixedproject.model.metadata.MetadataCacheEntry;
 import org.comixedproject.repositories.metadata.MetadataCacheRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * <code>MetadataCacheService</code> manages storing and retrieving cached comic metadata.
  *
+ * <p>Recently used entries are kept in memory in front of the database, and are evicted in least
+ * recently used order. The values for an entry are stored in the database as a single compressed
+ * value, and expired entries are purged in bulk on a schedule.
+ *
  * @author Darryl L. Pierce
  */
 @Service
 @Log4j2
 public class MetadataCacheService {
   private static final long SEVEN_DAYS = 7L * 24L * 60L * 60L * 1000L;
+
   @Autowired private MetadataCacheRepository metadataCacheRepository;
 
+  @Value("${comixed.metadata.cache.memory.maximum-entries:512}")
+  int maximumMemoryEntries;
+
+  private final Map<String, CachedValues> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+
   /**
    * Stores data in the cache.
    *
@@ -50,31 +67,43 @@ public class MetadataCacheService {
   public void saveToCache(final String source, final String key, final List<String> values) {
     log.debug("Saving data to cache: source={} key={} record count={}", source, key, values.size());
 
-    final MetadataCache existing = this.metadataCacheRepository.getFromCache(source, key);
-
-    if (existing != null) {
-      log.debug("Deleting existing scaping cache");
-      this.metadataCacheRepository.delete(existing);
-      this.metadataCacheRepository.flush();
-    } else {
-      log.debug("No existing cache found");
+    final byte[] encoded;
+    try {
+      encoded = this.encodeValues(values);
+    } catch (IOException error) {
+      log.error("Failed to encode cached values", error);
+      return;
     }
 
-    log.debug("Creating new cache entry");
-    final MetadataCache entry = new MetadataCache();
-    entry.setSource(source);
-    entry.setCacheKey(key);
-    for (int index = 0; index < values.size(); index++) {
-      final String value = values.get(index);
-      final MetadataCacheEntry cachedValue = new MetadataCacheEntry();
-      cachedValue.setMetadataCache(entry);
-      cachedValue.setEntryNumber(index);
-      cachedValue.setEntryValue(value);
-      entry.getEntries().add(index, cachedValue);
+    MetadataCache entry = this.metadataCacheRepository.getFromCache(source, key);
+
+    if (entry != null) {
+      log.debug("Updating existing cache entry");
+    } else {
+      log.debug("Creating new cache entry");
+      entry = new MetadataCache();
+      entry.setSource(source);
+      entry.setCacheKey(key);
     }
+    final Date createdOn = new Date();
+    entry.setCachedValues(encoded);
+    entry.setCreatedOn(createdOn);
 
-    log.debug("Saving cache entry: key={}", entry.getCacheKey());
+    log.debug("Saving cache entry: key={} size={}", key, encoded.length);
     this.metadataCacheRepository.save(entry);
+    final String memoryKey = this.getMemoryKey(source, key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.trace("Caching entry in memory after commit");
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              putInMemory(memoryKey, values, createdOn.getTime());
+            }
+          });
+    } else {
+      this.putInMemory(memoryKey, values, createdOn.getTime());
+    }
   }
 
   /**
@@ -86,6 +115,21 @@ public class MetadataCacheService {
    */
   @Transactional
   public List<String> getFromCache(final String source, final String key) {
+    final String memoryKey = this.getMemoryKey(source, key);
+    final long expireThreshold = System.currentTimeMillis() - SEVEN_DAYS;
+
+    synchronized (this.memoryCache) {
+      final CachedValues cached = this.memoryCache.get(memoryKey);
+      if (cached != null) {
+        if (cached.createdOn > expireThreshold) {
+          log.trace("Cached entry found in memory: source={} key={}", source, key);
+          return new ArrayList<>(cached.values);
+        }
+        log.trace("Removing expired entry from memory");
+        this.memoryCache.remove(memoryKey);
+      }
+    }
+
     log.debug("Loading scraping cache entry: source={} key={}", source, key);
     final MetadataCache cacheEntry = this.metadataCacheRepository.getFromCache(source, key);
 
@@ -94,25 +138,93 @@ public class MetadataCacheService {
       return null;
     }
 
-    final long expireThreshold = System.currentTimeMillis() - SEVEN_DAYS;
     if (cacheEntry.getCreatedOn().getTime() <= expireThreshold) {
       log.debug("Entry is expired");
-      this.metadataCacheRepository.delete(cacheEntry);
       return null;
     }
 
     log.debug("Extracting cached values");
-    final List<String> result = new ArrayList<>();
-    for (int index = 0; index < cacheEntry.getEntries().size(); index++)
-      result.add(cacheEntry.getEntries().get(index).getEntryValue());
+    final List<String> result;
+    try {
+      result = this.decodeValues(cacheEntry.getCachedValues());
+    } catch (IOException error) {
+      log.error("Failed to decode cached values", error);
+      return null;
+    }
+
+    this.putInMemory(memoryKey, result, cacheEntry.getCreatedOn().getTime());
+    return new ArrayList<>(result);
+  }
 
-    return result;
+  /** Deletes all expired entries from the metadata cache. */
+  @Scheduled(fixedDelayString = "${comixed.metadata.cache.purge-delay:3600000}")
+  @Transactional
+  public void purgeExpiredEntries() {
+    final long expireThreshold = System.currentTimeMillis() - SEVEN_DAYS;
+    log.trace("Purging expired metadata cache entries");
+    synchronized (this.memoryCache) {
+      this.memoryCache.values().removeIf(cached -> cached.createdOn <= expireThreshold);
+    }
+    final int count = this.metadataCacheRepository.deleteCreatedBefore(new Date(expireThreshold));
+    log.debug("Purged {} expired metadata cache entries", count);
   }
 
   /** Clears all records the metadata cache table. */
   @Transactional
   public void clearCache() {
     log.trace("Clearing metadata cache");
-    this.metadataCacheRepository.deleteAll();
+    synchronized (this.memoryCache) {
+      this.memoryCache.clear();
+    }
+    this.metadataCacheRepository.deleteAllInBatch();
+  }
+
+  byte[] encodeValues(final List<String> values) throws IOException {
+    final ByteArrayOutputStream result = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(result))) {
+      output.writeInt(values.size());
+      for (String value : values) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+      }
+    }
+    return result.toByteArray();
+  }
+
+  List<String> decodeValues(final byte[] encoded) throws IOException {
+    try (DataInputStream input =
+        new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(encoded)))) {
+      final int count = input.readInt();
+      final List<String> result = new ArrayList<>(count);
+      for (int index = 0; index < count; index++) {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        result.add(new String(bytes, StandardCharsets.UTF_8));
+      }
+      return result;
+    }
+  }
+
+  private String getMemoryKey(final String source, final String key) {
+    return String.format("%s:%s", source, key);
+  }
+
+  private void putInMemory(
+      final String memoryKey, final List<String> values, final long createdOn) {
+    synchronized (this.memoryCache) {
+      this.memoryCache.put(memoryKey, new CachedValues(new ArrayList<>(values), createdOn));
+      final Iterator<CachedValues> iterator = this.memoryCache.values().iterator();
+      while (this.memoryCache.size() > this.maximumMemoryEntries && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  @AllArgsConstructor
+  private static class CachedValues {
+    private final List<String> values;
+    private final long createdOn;
   }
 }
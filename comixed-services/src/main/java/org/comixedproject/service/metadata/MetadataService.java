@@ -26,6 +26,10 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataAdaptorRegistry;
 import org.comixedproject.metadata.MetadataException;
@@ -69,6 +73,10 @@ public class MetadataService {
   @Autowired private ImprintService imprintService;
   @Autowired private IssueService issueService;
   @Autowired private ConfigurationService configurationService;
+  @Autowired private MetadataSourceRateLimiter metadataSourceRateLimiter;
+
+  private final Map<String, CompletableFuture<IssueDetailsMetadata>> issueDetailsRequests =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves a list of volumes for the given series, up to the max records specified.
@@ -98,6 +106,7 @@ public class MetadataService {
 
     if (result.isEmpty()) {
       log.debug("Fetching from scraping source");
+      this.doWaitForMetadataSource(metadataSource);
       final List<VolumeMetadata> fetched =
           metadataAdaptor.getVolumes(series, maxRecords, metadataSource);
 
@@ -190,6 +199,7 @@ public class MetadataService {
 
     if (result == null) {
       log.debug("Fetching from scraping source");
+      this.doWaitForMetadataSource(metadataSource);
       result = metadataAdaptor.getIssue(volumeId, issueNumber, metadataSource);
       if (result != null) {
         log.debug("Encoding fetched issue");
@@ -229,38 +239,14 @@ public class MetadataService {
     ComicBook result = null;
     final MetadataSource metadataSource = this.doLoadMetadataSource(metadataSourceId);
     final MetadataAdaptor metadataAdaptor = this.doLoadScrapingAdaptor(metadataSource);
-    final String source = metadataAdaptor.getSource();
-    final String key = metadataAdaptor.getIssueDetailsKey(issueId);
-
     try {
       result = this.comicBookService.getComic(comicId);
     } catch (ComicBookException error) {
       throw new MetadataException("failed to load comic", error);
     }
 
-    IssueDetailsMetadata issueDetails = null;
-
-    if (!skipCache) {
-      log.trace("Loading cached issue details: source={} key={}", source, key);
-      issueDetails = this.doLoadIssueDetails(source, key);
-    }
-
-    if (issueDetails == null) {
-      log.debug("Fetching issue details");
-      issueDetails = metadataAdaptor.getIssueDetails(issueId, metadataSource);
-
-      if (issueDetails != null) {
-        log.debug("Encoding fetched issue details");
-        List<String> encodedDetails = new ArrayList<>();
-        try {
-          encodedDetails.add(this.objectMapper.writeValueAsString(issueDetails));
-          log.debug("Caching fetched issue details");
-          this.metadataCacheService.saveToCache(source, key, encodedDetails);
-        } catch (JsonProcessingException error) {
-          log.error("Failed to cache issue details", error);
-        }
-      }
-    }
+    final IssueDetailsMetadata issueDetails =
+        this.doFetchIssueDetails(metadataSource, metadataAdaptor, issueId, skipCache);
 
     if (issueDetails != null) {
       final boolean ignoreEmptyValues =
@@ -351,6 +337,24 @@ public class MetadataService {
     }
   }
 
+  /**
+   * Loads the details for an issue into the metadata cache, so that a later call to {@link
+   * #scrapeComic(Long, Long, String, boolean)} does not wait on the metadata source.
+   *
+   * @param metadataSourceId the metadata source id
+   * @param issueId the issue id
+   * @param skipCache the skip cache flag
+   * @throws MetadataException if an error occurs
+   */
+  public void prefetchIssueDetails(
+      final Long metadataSourceId, final String issueId, final boolean skipCache)
+      throws MetadataException {
+    log.debug("Prefetching issue details: issueId={} skipCache={}", issueId, skipCache);
+    final MetadataSource metadataSource = this.doLoadMetadataSource(metadataSourceId);
+    final MetadataAdaptor metadataAdaptor = this.doLoadScrapingAdaptor(metadataSource);
+    this.doFetchIssueDetails(metadataSource, metadataAdaptor, issueId, skipCache);
+  }
+
   /**
    * Fetches the issues for a given volume from the specified metadata source.
    *
@@ -367,6 +371,7 @@ public class MetadataService {
     final MetadataSource metadataSource = this.doLoadMetadataSource(metadataSourceId);
     final MetadataAdaptor metadataAdaptor = this.doLoadScrapingAdaptor(metadataSource);
 
+    this.doWaitForMetadataSource(metadataSource);
     final List<IssueDetailsMetadata> issues =
         metadataAdaptor.getAllIssues(volumeId, metadataSource);
     if (issues.isEmpty()) {
@@ -427,4 +432,76 @@ public class MetadataService {
     log.trace("No cached entries found");
     return null;
   }
+
+  private IssueDetailsMetadata doFetchIssueDetails(
+      final MetadataSource metadataSource,
+      final MetadataAdaptor metadataAdaptor,
+      final String issueId,
+      final boolean skipCache)
+      throws MetadataException {
+    final String source = metadataAdaptor.getSource();
+    final String key = metadataAdaptor.getIssueDetailsKey(issueId);
+
+    if (!skipCache) {
+      log.trace("Loading cached issue details: source={} key={}", source, key);
+      final IssueDetailsMetadata cached = this.doLoadIssueDetails(source, key);
+      if (cached != null) return cached;
+    }
+
+    final String requestKey = String.format("%s:%s", source, key);
+    final CompletableFuture<IssueDetailsMetadata> request = new CompletableFuture<>();
+    final CompletableFuture<IssueDetailsMetadata> existing =
+        this.issueDetailsRequests.putIfAbsent(requestKey, request);
+    if (existing != null) {
+      log.debug("Waiting for pending issue details request: key={}", requestKey);
+      return this.doWaitForIssueDetails(existing);
+    }
+
+    try {
+      log.debug("Fetching issue details");
+      this.doWaitForMetadataSource(metadataSource);
+      final IssueDetailsMetadata result = metadataAdaptor.getIssueDetails(issueId, metadataSource);
+
+      if (result != null) {
+        log.debug("Encoding fetched issue details");
+        List<String> encodedDetails = new ArrayList<>();
+        try {
+          encodedDetails.add(this.objectMapper.writeValueAsString(result));
+          log.debug("Caching fetched issue details");
+          this.metadataCacheService.saveToCache(source, key, encodedDetails);
+        } catch (JsonProcessingException error) {
+          log.error("Failed to cache issue details", error);
+        }
+      }
+      request.complete(result);
+      return result;
+    } catch (MetadataException | RuntimeException error) {
+      request.completeExceptionally(error);
+      throw error;
+    } finally {
+      this.issueDetailsRequests.remove(requestKey, request);
+    }
+  }
+
+  private IssueDetailsMetadata doWaitForIssueDetails(
+      final CompletableFuture<IssueDetailsMetadata> request) throws MetadataException {
+    try {
+      return request.get();
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new MetadataException("Interrupted while waiting for issue details", error);
+    } catch (ExecutionException error) {
+      throw new MetadataException("Failed to fetch issue details", error);
+    }
+  }
+
+  private void doWaitForMetadataSource(final MetadataSource metadataSource)
+      throws MetadataException {
+    try {
+      this.metadataSourceRateLimiter.acquire(metadataSource.getId());
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new MetadataException("Interrupted while waiting for metadata source", error);
+    }
+  }
 }
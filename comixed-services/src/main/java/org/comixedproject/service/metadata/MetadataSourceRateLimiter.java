@@ -0,0 +1,102 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.metadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.metadata.MetadataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * <code>MetadataSourceRateLimiter</code> limits how quickly requests are sent to each {@link
+ * MetadataSource}. Each source has its own token bucket, which allows a short burst of requests and
+ * then one request per interval. Callers that find the bucket empty wait for their turn.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class MetadataSourceRateLimiter {
+  private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+  @Value("${comixed.metadata.rate-limiter.requests-per-minute:60}")
+  int requestsPerMinute;
+
+  @Value("${comixed.metadata.rate-limiter.burst-size:1}")
+  int burstSize;
+
+  private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * Waits until a request can be sent to the given metadata source. Does nothing if rate limiting
+   * is disabled.
+   *
+   * @param metadataSourceId the metadata source id
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void acquire(final Long metadataSourceId) throws InterruptedException {
+    if (this.requestsPerMinute < 1) return;
+    final long delay = this.reserve(metadataSourceId, System.nanoTime());
+    if (delay > 0) {
+      log.debug(
+          "Waiting {} ms for metadata source: id={}",
+          TimeUnit.NANOSECONDS.toMillis(delay),
+          metadataSourceId);
+      TimeUnit.NANOSECONDS.sleep(delay);
+    }
+  }
+
+  /**
+   * Reserves the next request for the given metadata source.
+   *
+   * @param metadataSourceId the metadata source id
+   * @param now the current time in nanoseconds
+   * @return the nanoseconds to wait before sending the request
+   */
+  long reserve(final Long metadataSourceId, final long now) {
+    return this.buckets
+        .computeIfAbsent(metadataSourceId, id -> new TokenBucket(this.getCapacity(), now))
+        .reserve(now, NANOS_PER_MINUTE / this.requestsPerMinute, this.getCapacity());
+  }
+
+  private int getCapacity() {
+    return Math.max(1, this.burstSize);
+  }
+
+  private static class TokenBucket {
+    private double tokens;
+    private long updatedOn;
+
+    private TokenBucket(final int capacity, final long now) {
+      this.tokens = capacity;
+      this.updatedOn = now;
+    }
+
+    private synchronized long reserve(final long now, final double interval, final int capacity) {
+      this.tokens = Math.min(capacity, this.tokens + (now - this.updatedOn) / interval);
+      this.updatedOn = now;
+      this.tokens -= 1d;
+      if (this.tokens >= 0d) return 0L;
+      return (long) Math.ceil(-this.tokens * interval);
+    }
+  }
+}
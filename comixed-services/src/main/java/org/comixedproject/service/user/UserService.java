@@ -22,6 +22,8 @@ import static org.comixedproject.model.user.ComiXedRole.ADMIN_ROLE;
 import static org.comixedproject.model.user.ComiXedRole.READER_ROLE;
 
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FilenameUtils;
@@ -47,6 +49,18 @@ public class UserService {
   @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
   @Autowired private PublishCurrentUserAction publishCurrentUserAction;
 
+  private final Set<UserChangeListener> listeners = new CopyOnWriteArraySet<>();
+
+  /**
+   * Adds a listener to be notified when a user's account details change.
+   *
+   * @param listener the listener
+   */
+  public void addListener(final UserChangeListener listener) {
+    log.debug("Adding listener: {}", listener);
+    this.listeners.add(listener);
+  }
+
   /**
    * Finds a user by email address.
    *
@@ -167,6 +181,7 @@ public class UserService {
     log.trace("Saving updated user");
     try {
       final ComiXedUser result = this.userRepository.save(user);
+      this.listeners.forEach(listener -> listener.onUserChanged(result));
       this.doPublishUserUpdate(result);
       return result;
     } catch (ConstraintViolationException error) {
@@ -0,0 +1,163 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import static junit.framework.TestCase.*;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicBookSelectionBitmapTest {
+  private final List<Long> idList = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    for (long id = 1L; id <= 100000L; id++) idList.add(id);
+    idList.add(250000L);
+    idList.add(250002L);
+  }
+
+  @Test
+  public void testAddAndRemove() {
+    final ComicBookSelectionBitmap bitmap = new ComicBookSelectionBitmap();
+
+    assertTrue(bitmap.add(17L));
+    assertFalse(bitmap.add(17L));
+    assertTrue(bitmap.contains(17L));
+    assertTrue(bitmap.remove(17L));
+    assertFalse(bitmap.remove(17L));
+    assertFalse(bitmap.contains(17L));
+  }
+
+  @Test
+  public void testContainsOutOfRange() {
+    final ComicBookSelectionBitmap bitmap = new ComicBookSelectionBitmap();
+
+    assertFalse(bitmap.contains(null));
+    assertFalse(bitmap.contains(-1L));
+    assertFalse(bitmap.contains(Long.MAX_VALUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddOutOfRange() {
+    new ComicBookSelectionBitmap().add(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testAddMaximumId() {
+    final ComicBookSelectionBitmap bitmap = new ComicBookSelectionBitmap();
+
+    assertTrue(bitmap.add(ComicBookSelectionBitmap.MAXIMUM_ID));
+    assertTrue(bitmap.contains(ComicBookSelectionBitmap.MAXIMUM_ID));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddAboveMaximumId() {
+    new ComicBookSelectionBitmap().add(ComicBookSelectionBitmap.MAXIMUM_ID + 1L);
+  }
+
+  @Test
+  public void testClear() {
+    final ComicBookSelectionBitmap bitmap = ComicBookSelectionBitmap.of(idList);
+
+    bitmap.clear();
+
+    assertTrue(bitmap.isEmpty());
+    assertEquals(0, bitmap.size());
+  }
+
+  @Test
+  public void testAddAll() {
+    final ComicBookSelectionBitmap bitmap = ComicBookSelectionBitmap.of(List.of(1L, 500000L));
+
+    bitmap.addAll(ComicBookSelectionBitmap.of(idList));
+
+    assertEquals(idList.size() + 1, bitmap.size());
+    assertTrue(bitmap.contains(500000L));
+  }
+
+  @Test
+  public void testToList() {
+    final List<Long> reversed = new ArrayList<>(idList);
+    Collections.reverse(reversed);
+
+    assertEquals(idList, ComicBookSelectionBitmap.of(reversed).toList());
+  }
+
+  @Test
+  public void testToRanges() {
+    final List<long[]> result = ComicBookSelectionBitmap.of(idList).toRanges();
+
+    assertEquals(3, result.size());
+    assertEquals(1L, result.get(0)[0]);
+    assertEquals(100000L, result.get(0)[1]);
+    assertEquals(250000L, result.get(1)[0]);
+    assertEquals(250000L, result.get(1)[1]);
+    assertEquals(250002L, result.get(2)[0]);
+  }
+
+  @Test
+  public void testEncodeAndDecode() {
+    final String encoded = ComicBookSelectionBitmap.of(idList).encode();
+
+    assertTrue(ComicBookSelectionBitmap.isEncoded(encoded));
+    assertTrue(encoded.length() < 20);
+
+    final ComicBookSelectionBitmap result = ComicBookSelectionBitmap.decode(encoded);
+
+    assertEquals(idList.size(), result.size());
+    assertEquals(idList, result.toList());
+  }
+
+  @Test
+  public void testEncodeEmpty() {
+    final String encoded = new ComicBookSelectionBitmap().encode();
+
+    assertEquals(0, ComicBookSelectionBitmap.decode(encoded).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeNotEncoded() {
+    ComicBookSelectionBitmap.decode("[1,2,3]");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeAboveMaximumId() {
+    final String encoded =
+        ComicBookSelectionBitmap.of(List.of(ComicBookSelectionBitmap.MAXIMUM_ID)).encode();
+    final ComicBookSelectionBitmap bitmap = ComicBookSelectionBitmap.decode(encoded);
+    assertEquals(1, bitmap.size());
+
+    // a run of two ids starting at the maximum id
+    final byte[] data = Base64.getUrlDecoder().decode(encoded.substring(1));
+    data[data.length - 1] = 1;
+    ComicBookSelectionBitmap.decode(
+        ComicBookSelectionBitmap.ENCODING_PREFIX
+            + Base64.getUrlEncoder().withoutPadding().encodeToString(data));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeTruncated() {
+    ComicBookSelectionBitmap.decode(ComicBookSelectionBitmap.ENCODING_PREFIX + "gA");
+  }
+}
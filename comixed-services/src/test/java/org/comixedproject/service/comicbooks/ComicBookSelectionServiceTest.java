@@ -23,11 +23,14 @@ import static junit.framework.TestCase.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishComicBookSelectionDeltaAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookSelectionStateAction;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicbooks.ComicTagType;
+import org.comixedproject.model.messaging.comicbooks.ComicBookSelectionDelta;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,10 +44,11 @@ public class ComicBookSelectionServiceTest {
   private static final Long TEST_COMIC_BOOK_ID = 717L;
   private static final Object TEST_ENCODED_SELECTIONS = "The encoded selections";
   private static final ComicTagType TEST_TAG_TYPE = ComicTagType.STORY;
+  private static final String TEST_SEARCH_TEXT = "The search text";
   private static final String TEST_TAG_VALUE = "Age Of Ultron";
 
-  private final List selectedIds = new ArrayList();
-  private final List<ComicDetail> comicDetailList = new ArrayList<>();
+  private final ComicBookSelectionBitmap selectedIds = new ComicBookSelectionBitmap();
+  private final List<Long> comicIdList = new ArrayList<>();
 
   @InjectMocks private ComicBookSelectionService service;
   @Mock private ComicDetailService comicDetailService;
@@ -53,52 +57,61 @@ public class ComicBookSelectionServiceTest {
   @Mock private ComicDetailExampleBuilder exampleBuilder;
   @Mock private ObjectFactory<ComicDetailExampleBuilder> exampleBuilderObjectFactory;
   @Mock private PublishComicBookSelectionStateAction publishComicBookSelectionStateAction;
-  @Mock private ComicDetail comicDetail;
+  @Mock private PublishComicBookSelectionDeltaAction publishComicBookSelectionDeltaAction;
+
+  @Captor private ArgumentCaptor<ComicBookSelectionDelta> selectionDeltaArgumentCaptor;
 
   @Before
   public void setUp() {
     Mockito.when(exampleBuilder.build()).thenReturn(example);
     Mockito.when(exampleBuilderObjectFactory.getObject()).thenReturn(exampleBuilder);
 
-    Mockito.when(comicDetail.getComicId()).thenReturn(TEST_COMIC_BOOK_ID);
-    comicDetailList.add(comicDetail);
-    Mockito.when(comicDetailService.findAllByExample(Mockito.any(Example.class)))
-        .thenReturn(comicDetailList);
+    comicIdList.add(TEST_COMIC_BOOK_ID);
+    Mockito.when(comicDetailService.getComicIdsByExample(Mockito.any(Example.class)))
+        .thenReturn(comicIdList);
   }
 
   @Test
-  public void testAddComicSelectionAlreadySelected() throws PublishingException {
+  public void testAddComicSelectionAlreadySelected()
+      throws PublishingException, ComicBookSelectionException {
     selectedIds.add(TEST_COMIC_BOOK_ID);
 
     service.addComicSelectionForUser(selectedIds, TEST_COMIC_BOOK_ID);
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.never())
-        .publish(Mockito.anyList());
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.never())
+        .publish(Mockito.any(ComicBookSelectionDelta.class));
   }
 
   @Test
-  public void testAddComicSelection() throws PublishingException {
+  public void testAddComicSelection() throws PublishingException, ComicBookSelectionException {
     selectedIds.clear();
 
     service.addComicSelectionForUser(selectedIds, TEST_COMIC_BOOK_ID);
 
     assertTrue(selectedIds.contains(TEST_COMIC_BOOK_ID));
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), true);
   }
 
   @Test
-  public void testAddComicSelectionPublishingException() throws PublishingException {
+  public void testAddComicSelectionPublishingException()
+      throws PublishingException, ComicBookSelectionException {
     Mockito.doThrow(PublishingException.class)
-        .when(publishComicBookSelectionStateAction)
-        .publish(Mockito.anyList());
+        .when(publishComicBookSelectionDeltaAction)
+        .publish(Mockito.any(ComicBookSelectionDelta.class));
 
     selectedIds.clear();
 
     service.addComicSelectionForUser(selectedIds, TEST_COMIC_BOOK_ID);
 
     assertTrue(selectedIds.contains(TEST_COMIC_BOOK_ID));
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
+  }
+
+  @Test(expected = ComicBookSelectionException.class)
+  public void testAddComicSelectionIdOutOfRange() throws ComicBookSelectionException {
+    service.addComicSelectionForUser(selectedIds, ComicBookSelectionBitmap.MAXIMUM_ID + 1L);
   }
 
   @Test
@@ -107,8 +120,8 @@ public class ComicBookSelectionServiceTest {
 
     service.removeComicSelectionFromUser(selectedIds, TEST_COMIC_BOOK_ID);
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.never())
-        .publish(Mockito.anyList());
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.never())
+        .publish(Mockito.any(ComicBookSelectionDelta.class));
   }
 
   @Test
@@ -119,43 +132,103 @@ public class ComicBookSelectionServiceTest {
 
     assertFalse(selectedIds.contains(TEST_COMIC_BOOK_ID));
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), false);
   }
 
   @Test
   public void testRemoveComicSelectionPublishingException() throws PublishingException {
     Mockito.doThrow(PublishingException.class)
-        .when(publishComicBookSelectionStateAction)
-        .publish(Mockito.anyList());
+        .when(publishComicBookSelectionDeltaAction)
+        .publish(Mockito.any(ComicBookSelectionDelta.class));
 
     selectedIds.add(TEST_COMIC_BOOK_ID);
 
     service.removeComicSelectionFromUser(selectedIds, TEST_COMIC_BOOK_ID);
 
     assertFalse(selectedIds.contains(TEST_COMIC_BOOK_ID));
-
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
   }
 
   @Test
-  public void testAddingMultipleComics() throws PublishingException {
+  public void testAddingMultipleComics() throws PublishingException, ComicBookSelectionException {
     selectedIds.clear();
 
     service.selectByFilter(selectedIds, null, null, null, null, null, false, null, true);
 
-    assertFalse(selectedIds.isEmpty());
+    assertTrue(selectedIds.contains(TEST_COMIC_BOOK_ID));
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(comicDetailList.size()))
-        .publish(selectedIds);
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), true);
   }
 
   @Test
-  public void testRemovingMultipleComics() throws PublishingException {
+  public void testAddingMultipleComicsAlreadySelected()
+      throws PublishingException, ComicBookSelectionException {
+    selectedIds.add(TEST_COMIC_BOOK_ID);
+
+    service.selectByFilter(selectedIds, null, null, null, null, null, false, null, true);
+
+    assertEquals(1, selectedIds.size());
+
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.never())
+        .publish(Mockito.any(ComicBookSelectionDelta.class));
+  }
+
+  @Test
+  public void testAddingMultipleComicsForSearchText()
+      throws PublishingException, ComicBookSelectionException {
+    Mockito.when(comicDetailService.getComicIdsForSearchText(Mockito.anyString()))
+        .thenReturn(comicIdList);
+
+    selectedIds.clear();
+
+    service.selectByFilter(
+        selectedIds, null, null, null, null, null, false, TEST_SEARCH_TEXT, true);
+
+    assertTrue(selectedIds.contains(TEST_COMIC_BOOK_ID));
+
+    Mockito.verify(comicDetailService, Mockito.times(1)).getComicIdsForSearchText(TEST_SEARCH_TEXT);
+    Mockito.verify(comicDetailService, Mockito.never()).getComicIdsByExample(Mockito.any());
+  }
+
+  @Test
+  public void testRemovingMultipleComics() throws PublishingException, ComicBookSelectionException {
     selectedIds.add(TEST_COMIC_BOOK_ID);
 
     service.selectByFilter(selectedIds, null, null, null, null, null, false, null, false);
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
+    assertTrue(selectedIds.isEmpty());
+
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), false);
+  }
+
+  @Test
+  public void testSelectByIds() throws PublishingException, ComicBookSelectionException {
+    final List<Long> comicBookIds = new ArrayList<>();
+    for (long id = 100L; id < 200L; id++) comicBookIds.add(id);
+    selectedIds.add(150L);
+
+    service.selectByIds(selectedIds, comicBookIds, true);
+
+    assertEquals(comicBookIds, selectedIds.toList());
+
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    final ComicBookSelectionDelta delta = selectionDeltaArgumentCaptor.getValue();
+    assertEquals(2, delta.getAdded().size());
+    assertEquals(100L, delta.getAdded().get(0)[0]);
+    assertEquals(149L, delta.getAdded().get(0)[1]);
+    assertEquals(151L, delta.getAdded().get(1)[0]);
+    assertEquals(199L, delta.getAdded().get(1)[1]);
+  }
+
+  @Test(expected = ComicBookSelectionException.class)
+  public void testSelectByIdsIdOutOfRange() throws ComicBookSelectionException {
+    service.selectByIds(selectedIds, List.of(ComicBookSelectionBitmap.MAXIMUM_ID + 1L), true);
   }
 
   @Test
@@ -166,12 +239,13 @@ public class ComicBookSelectionServiceTest {
 
     assertTrue(selectedIds.isEmpty());
 
-    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1)).publish(selectedIds);
+    Mockito.verify(publishComicBookSelectionStateAction, Mockito.times(1))
+        .publish(Collections.emptyList());
   }
 
   @Test
   public void testDecodeSelectionsWithNull() throws ComicBookSelectionException {
-    final List result = service.decodeSelections(null);
+    final ComicBookSelectionBitmap result = service.decodeSelections(null);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
@@ -193,78 +267,86 @@ public class ComicBookSelectionServiceTest {
 
   @Test
   public void testDecodeSelections() throws ComicBookSelectionException, JsonProcessingException {
-    selectedIds.add(TEST_COMIC_BOOK_ID.intValue());
-
     Mockito.when(objectMapper.readValue(Mockito.anyString(), Mockito.any(Class.class)))
-        .thenReturn(selectedIds);
+        .thenReturn(List.of(TEST_COMIC_BOOK_ID.intValue()));
 
-    final List result = service.decodeSelections(TEST_ENCODED_SELECTIONS);
+    final ComicBookSelectionBitmap result = service.decodeSelections(TEST_ENCODED_SELECTIONS);
 
     assertNotNull(result);
-    assertEquals(selectedIds.size(), result.size());
-    assertEquals(TEST_COMIC_BOOK_ID, result.get(0));
+    assertEquals(List.of(TEST_COMIC_BOOK_ID), result.toList());
 
     Mockito.verify(objectMapper, Mockito.times(1))
         .readValue(TEST_ENCODED_SELECTIONS.toString(), List.class);
   }
 
   @Test
-  public void testEncodeSelections() throws JsonProcessingException, ComicBookSelectionException {
-    Mockito.when(objectMapper.writeValueAsString(Mockito.any()))
-        .thenReturn(TEST_ENCODED_SELECTIONS.toString());
+  public void testDecodeSelectionsWithBitmap() throws ComicBookSelectionException {
+    for (long id = 1L; id < 1000L; id++) selectedIds.add(id);
+    final String encoded = selectedIds.encode();
 
-    final String result = service.encodeSelections(selectedIds);
+    final ComicBookSelectionBitmap result = service.decodeSelections(encoded);
 
     assertNotNull(result);
-    assertEquals(TEST_ENCODED_SELECTIONS.toString(), result);
+    assertEquals(selectedIds.toList(), result.toList());
 
-    Mockito.verify(objectMapper, Mockito.times(1)).writeValueAsString(selectedIds);
+    Mockito.verifyNoInteractions(objectMapper);
   }
 
   @Test(expected = ComicBookSelectionException.class)
-  public void testEncodeSelectionsWithJsonProcessException()
-      throws JsonProcessingException, ComicBookSelectionException {
-    Mockito.when(objectMapper.writeValueAsString(Mockito.anyList()))
-        .thenThrow(JsonProcessingException.class);
+  public void testDecodeSelectionsWithInvalidBitmap() throws ComicBookSelectionException {
+    service.decodeSelections(ComicBookSelectionBitmap.ENCODING_PREFIX + "//8");
+  }
 
-    try {
-      service.encodeSelections(selectedIds);
-    } finally {
-      Mockito.verify(objectMapper, Mockito.times(1)).writeValueAsString(selectedIds);
-    }
+  @Test(expected = ComicBookSelectionException.class)
+  public void testDecodeSelectionsWithIdOutOfRange()
+      throws ComicBookSelectionException, JsonProcessingException {
+    Mockito.when(objectMapper.readValue(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(List.of(-1));
+
+    service.decodeSelections(TEST_ENCODED_SELECTIONS);
   }
 
   @Test
-  public void testAddByTagTypeAndValue() {
+  public void testEncodeSelections() throws ComicBookSelectionException {
+    for (long id = 1L; id < 1000L; id++) selectedIds.add(id);
+
+    final String result = service.encodeSelections(selectedIds);
+
+    assertNotNull(result);
+    assertTrue(result.length() < 10);
+    assertEquals(selectedIds.toList(), service.decodeSelections(result).toList());
+  }
+
+  @Test
+  public void testAddByTagTypeAndValue() throws PublishingException, ComicBookSelectionException {
     Mockito.when(
-            comicDetailService.getAllComicsForTag(
-                Mockito.any(ComicTagType.class),
-                Mockito.anyString(),
-                Mockito.isNull(),
-                Mockito.anyBoolean()))
-        .thenReturn(comicDetailList);
+            comicDetailService.getAllComicIdsForTag(
+                Mockito.any(ComicTagType.class), Mockito.anyString()))
+        .thenReturn(comicIdList);
 
-    final List emptyIds = new ArrayList();
+    final ComicBookSelectionBitmap emptyIds = new ComicBookSelectionBitmap();
 
     service.addByTagTypeAndValue(emptyIds, TEST_TAG_TYPE, TEST_TAG_VALUE);
 
     assertTrue(emptyIds.contains(TEST_COMIC_BOOK_ID));
 
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), true);
+
     Mockito.verify(comicDetailService, Mockito.times(1))
-        .getAllComicsForTag(TEST_TAG_TYPE, TEST_TAG_VALUE, null, false);
+        .getAllComicIdsForTag(TEST_TAG_TYPE, TEST_TAG_VALUE);
   }
 
   @Test
-  public void testRemoveByTagTypeAndValue() {
+  public void testRemoveByTagTypeAndValue()
+      throws PublishingException, ComicBookSelectionException {
     Mockito.when(
-            comicDetailService.getAllComicsForTag(
-                Mockito.any(ComicTagType.class),
-                Mockito.anyString(),
-                Mockito.isNull(),
-                Mockito.anyBoolean()))
-        .thenReturn(comicDetailList);
-
-    final List emptyIds = new ArrayList();
+            comicDetailService.getAllComicIdsForTag(
+                Mockito.any(ComicTagType.class), Mockito.anyString()))
+        .thenReturn(comicIdList);
+
+    final ComicBookSelectionBitmap emptyIds = new ComicBookSelectionBitmap();
     emptyIds.add(TEST_COMIC_BOOK_ID);
     emptyIds.add(TEST_COMIC_BOOK_ID * 2L);
 
@@ -273,7 +355,19 @@ public class ComicBookSelectionServiceTest {
     assertFalse(emptyIds.contains(TEST_COMIC_BOOK_ID));
     assertFalse(emptyIds.isEmpty());
 
+    Mockito.verify(publishComicBookSelectionDeltaAction, Mockito.times(1))
+        .publish(selectionDeltaArgumentCaptor.capture());
+    this.assertDelta(selectionDeltaArgumentCaptor.getValue(), false);
+
     Mockito.verify(comicDetailService, Mockito.times(1))
-        .getAllComicsForTag(TEST_TAG_TYPE, TEST_TAG_VALUE, null, false);
+        .getAllComicIdsForTag(TEST_TAG_TYPE, TEST_TAG_VALUE);
+  }
+
+  private void assertDelta(final ComicBookSelectionDelta delta, final boolean added) {
+    final List<long[]> changed = added ? delta.getAdded() : delta.getRemoved();
+    assertTrue((added ? delta.getRemoved() : delta.getAdded()).isEmpty());
+    assertEquals(1, changed.size());
+    assertEquals(TEST_COMIC_BOOK_ID.longValue(), changed.get(0)[0]);
+    assertEquals(TEST_COMIC_BOOK_ID.longValue(), changed.get(0)[1]);
   }
 }
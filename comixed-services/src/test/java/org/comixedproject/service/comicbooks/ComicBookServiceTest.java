@@ -23,17 +23,21 @@ import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertSame;
 import static junit.framework.TestCase.assertTrue;
+import static org.comixedproject.service.comicbooks.ComicBookService.MAXIMUM_LIST_UPDATE_SIZE;
+import static org.comixedproject.service.comicbooks.ComicBookService.MAXIMUM_SINGLE_UPDATE_BATCH_SIZE;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.adaptors.comicbooks.ComicBookMetadataAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishComicBookListUpdateAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookRemovalAction;
 import org.comixedproject.messaging.comicbooks.PublishComicBookUpdateAction;
 import org.comixedproject.model.archives.ArchiveType;
@@ -50,8 +54,10 @@ import org.comixedproject.model.net.comicbooks.PageOrderEntry;
 import org.comixedproject.model.net.library.PublisherAndYearSegment;
 import org.comixedproject.model.net.library.RemoteLibrarySegmentState;
 import org.comixedproject.repositories.comicbooks.ComicBookRepository;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
 import org.comixedproject.service.user.ComiXedUserException;
 import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateChange;
 import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.junit.Before;
 import org.junit.Test;
@@ -101,6 +107,8 @@ public class ComicBookServiceTest {
   private static final String TEST_SEARCH_TERMS = "The search terms";
   private static final int TEST_BATCH_CHUNK_SIZE = 25;
   private static final String TEST_BATCH_NAME = "The Batch Name";
+  private static final int TEST_PARTITION = 3;
+  private static final int TEST_PARTITION_COUNT = 8;
   private final List<ComicBook> comicBookList = new ArrayList<>();
   private final List<ComicDetail> comicDetailList = new ArrayList<>();
   private final List<ComicBook> comicsBySeries = new ArrayList<>();
@@ -110,6 +118,8 @@ public class ComicBookServiceTest {
   private final ComicBook nextComicBook = new ComicBook();
   private final ComicBook afterNextComicBook = new ComicBook();
   private final List<Long> idList = new ArrayList<>();
+  private final List<ComicStateChange> comicStateChangeList = new ArrayList<>();
+  private final List<ComicBook> savedComicBookList = new ArrayList<>();
   private final GregorianCalendar calendar = new GregorianCalendar();
   private final Date now = new Date();
   private final List<LastRead> lastReadList = new ArrayList<>();
@@ -117,9 +127,13 @@ public class ComicBookServiceTest {
   @InjectMocks private ComicBookService service;
   @Mock private ComicStateHandler comicStateHandler;
   @Mock private ComicBookRepository comicBookRepository;
+  @Mock private ComicDetailRepository comicDetailRepository;
+  @Mock private ComicSearchIndexer comicSearchIndexer;
+  @Mock private List<String> searchTermList;
   @Mock private FileTypeAdaptor fileTypeAdaptor;
   @Mock private PublishComicBookUpdateAction comicUpdatePublishAction;
   @Mock private PublishComicBookRemovalAction comicRemovalPublishAction;
+  @Mock private PublishComicBookListUpdateAction comicListUpdatePublishAction;
   @Mock private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
   @Mock private ComicBook comicBook;
   @Mock private ComicDetail comicDetail;
@@ -139,6 +153,7 @@ public class ComicBookServiceTest {
   @Mock private List<Series> publisherDetail;
   @Captor private ArgumentCaptor<Pageable> pageableCaptor;
   @Captor private ArgumentCaptor<PageRequest> pageRequestCaptor;
+  @Captor private ArgumentCaptor<List<ComicBook>> comicBookListArgumentCaptor;
 
   @Before
   public void setUp() throws ComiXedUserException {
@@ -504,6 +519,32 @@ public class ComicBookServiceTest {
     Mockito.verify(comicBookRepository, Mockito.times(1)).findByFilename(TEST_COMIC_FILENAME);
   }
 
+  @Test
+  public void testFindExistingFilenamesNoFilenames() {
+    final Set<String> result = service.findExistingFilenames(new ArrayList<>());
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(comicBookRepository, Mockito.never())
+        .findExistingFilenames(Mockito.anyCollection());
+  }
+
+  @Test
+  public void testFindExistingFilenames() {
+    final List<String> filenames = List.of(TEST_COMIC_FILENAME);
+    Mockito.when(comicBookRepository.findExistingFilenames(Mockito.anyCollection()))
+        .thenReturn(List.of(TEST_COMIC_FILENAME));
+
+    final Set<String> result = service.findExistingFilenames(filenames);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertTrue(result.contains(TEST_COMIC_FILENAME));
+
+    Mockito.verify(comicBookRepository, Mockito.times(1)).findExistingFilenames(filenames);
+  }
+
   @Test(expected = ComicBookException.class)
   public void testDeleteMetadataInvalidComicId() throws ComicBookException {
     Mockito.when(comicBookRepository.getById(Mockito.anyLong())).thenReturn(null);
@@ -590,11 +631,12 @@ public class ComicBookServiceTest {
   public void testFindUnprocessedComicsWithoutContent() {
     Mockito.when(
             comicBookRepository.findUnprocessedComicsWithoutContent(
-                Mockito.anyString(), pageableCaptor.capture()))
+                Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt(), pageableCaptor.capture()))
         .thenReturn(comicBookList);
 
     final List<ComicBook> result =
-        service.findUnprocessedComicsWithoutContent(TEST_BATCH_NAME, TEST_MAXIMUM_COMICS);
+        service.findUnprocessedComicsWithoutContent(
+            TEST_BATCH_NAME, TEST_PARTITION, TEST_PARTITION_COUNT, TEST_MAXIMUM_COMICS);
 
     assertNotNull(result);
     assertSame(comicBookList, result);
@@ -605,7 +647,8 @@ public class ComicBookServiceTest {
     assertEquals(TEST_MAXIMUM_COMICS, pageable.getPageSize());
 
     Mockito.verify(comicBookRepository, Mockito.times(1))
-        .findUnprocessedComicsWithoutContent(TEST_BATCH_NAME, pageable);
+        .findUnprocessedComicsWithoutContent(
+            TEST_BATCH_NAME, TEST_PARTITION, TEST_PARTITION_COUNT, pageable);
   }
 
   @Test
@@ -629,6 +672,95 @@ public class ComicBookServiceTest {
         .findProcessedComics(TEST_BATCH_NAME, pageable);
   }
 
+  @Test
+  public void testOnComicStateChangesRemoved() throws PublishingException {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(comicBook);
+    Mockito.when(state.getId()).thenReturn(ComicState.REMOVED);
+    comicStateChangeList.add(new ComicStateChange(state, message));
+
+    service.onComicStateChanges(comicStateChangeList);
+
+    Mockito.verify(comicRemovalPublishAction, Mockito.times(1)).publish(comicBook);
+    Mockito.verify(comicBookRepository, Mockito.never()).saveAll(Mockito.anyList());
+    Mockito.verify(comicListUpdatePublishAction, Mockito.never()).publish(Mockito.anyList());
+  }
+
+  @Test
+  public void testOnComicStateChanges() throws PublishingException {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(comicBook);
+    Mockito.when(state.getId()).thenReturn(TEST_STATE);
+    Mockito.when(comicBookRepository.saveAll(comicBookListArgumentCaptor.capture()))
+        .thenReturn(savedComicBookList);
+    for (int index = 0; index < MAXIMUM_LIST_UPDATE_SIZE * 2 + 5; index++) {
+      comicStateChangeList.add(new ComicStateChange(state, message));
+      savedComicBookList.add(comicBook);
+    }
+
+    service.onComicStateChanges(comicStateChangeList);
+
+    final List<ComicBook> saved = comicBookListArgumentCaptor.getValue();
+    assertEquals(comicStateChangeList.size(), saved.size());
+
+    Mockito.verify(comicDetail, Mockito.times(comicStateChangeList.size()))
+        .setComicState(TEST_STATE);
+    Mockito.verify(comicBook, Mockito.times(comicStateChangeList.size()))
+        .setLastModifiedOn(Mockito.any(Date.class));
+    Mockito.verify(comicBookRepository, Mockito.times(1)).saveAll(saved);
+    Mockito.verify(comicBookRepository, Mockito.never()).save(Mockito.any(ComicBook.class));
+    Mockito.verify(comicUpdatePublishAction, Mockito.never()).publish(Mockito.any());
+    Mockito.verify(comicListUpdatePublishAction, Mockito.times(3))
+        .publish(comicBookListArgumentCaptor.capture());
+    final List<List<ComicBook>> chunks = comicBookListArgumentCaptor.getAllValues();
+    assertEquals(MAXIMUM_LIST_UPDATE_SIZE, chunks.get(1).size());
+    assertEquals(MAXIMUM_LIST_UPDATE_SIZE, chunks.get(2).size());
+    assertEquals(5, chunks.get(3).size());
+  }
+
+  @Test
+  public void testOnComicStateChangesSmallBatch() throws PublishingException {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(comicBook);
+    Mockito.when(state.getId()).thenReturn(TEST_STATE);
+    Mockito.when(comicBookRepository.saveAll(Mockito.anyList())).thenReturn(savedComicBookList);
+    for (int index = 0; index < MAXIMUM_SINGLE_UPDATE_BATCH_SIZE; index++) {
+      comicStateChangeList.add(new ComicStateChange(state, message));
+      savedComicBookList.add(comicBook);
+    }
+
+    service.onComicStateChanges(comicStateChangeList);
+
+    Mockito.verify(comicUpdatePublishAction, Mockito.times(MAXIMUM_SINGLE_UPDATE_BATCH_SIZE))
+        .publish(comicBook);
+    Mockito.verify(comicListUpdatePublishAction, Mockito.times(1)).publish(savedComicBookList);
+  }
+
+  @Test
+  public void testOnComicStateChangesPublishError() throws PublishingException {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(comicBook);
+    Mockito.when(state.getId()).thenReturn(TEST_STATE);
+    Mockito.when(comicBookRepository.saveAll(Mockito.anyList())).thenReturn(savedComicBookList);
+    Mockito.doThrow(PublishingException.class)
+        .when(comicListUpdatePublishAction)
+        .publish(Mockito.anyList());
+    Mockito.doThrow(PublishingException.class)
+        .when(comicUpdatePublishAction)
+        .publish(Mockito.any(ComicBook.class));
+    comicStateChangeList.add(new ComicStateChange(state, message));
+    savedComicBookList.add(comicBook);
+
+    service.onComicStateChanges(comicStateChangeList);
+
+    Mockito.verify(comicUpdatePublishAction, Mockito.times(1)).publish(comicBook);
+    Mockito.verify(comicListUpdatePublishAction, Mockito.times(1)).publish(savedComicBookList);
+  }
+
   @Test
   public void testPrepareForRescanById() {
     for (long index = 0L; index < 25L; index++) idList.add(index + 100);
@@ -639,8 +771,9 @@ public class ComicBookServiceTest {
 
     idList.forEach(
         id -> Mockito.verify(comicBookRepository, Mockito.times(1)).getById(id.longValue()));
-    Mockito.verify(comicStateHandler, Mockito.times(idList.size()))
-        .fireEvent(comicBook, ComicEvent.rescanComic);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookListArgumentCaptor.capture(), Mockito.eq(ComicEvent.rescanComic));
+    assertEquals(idList.size(), comicBookListArgumentCaptor.getValue().size());
   }
 
   @Test
@@ -653,7 +786,9 @@ public class ComicBookServiceTest {
 
     idList.forEach(
         id -> Mockito.verify(comicBookRepository, Mockito.times(1)).getById(id.longValue()));
-    Mockito.verify(comicStateHandler, Mockito.never()).fireEvent(comicBook, ComicEvent.rescanComic);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookListArgumentCaptor.capture(), Mockito.eq(ComicEvent.rescanComic));
+    assertTrue(comicBookListArgumentCaptor.getValue().isEmpty());
   }
 
   @Test
@@ -789,8 +924,9 @@ public class ComicBookServiceTest {
     service.deleteComicBooksById(idList);
 
     Mockito.verify(comicBookRepository, Mockito.times(idList.size())).getById(TEST_COMIC_BOOK_ID);
-    Mockito.verify(comicStateHandler, Mockito.times(idList.size()))
-        .fireEvent(comicBook, ComicEvent.deleteComic);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookListArgumentCaptor.capture(), Mockito.eq(ComicEvent.deleteComic));
+    assertEquals(idList.size(), comicBookListArgumentCaptor.getValue().size());
   }
 
   @Test
@@ -813,8 +949,9 @@ public class ComicBookServiceTest {
     service.undeleteComicBooksById(idList);
 
     Mockito.verify(comicBookRepository, Mockito.times(idList.size())).getById(TEST_COMIC_BOOK_ID);
-    Mockito.verify(comicStateHandler, Mockito.times(idList.size()))
-        .fireEvent(comicBook, ComicEvent.undeleteComic);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookListArgumentCaptor.capture(), Mockito.eq(ComicEvent.undeleteComic));
+    assertEquals(idList.size(), comicBookListArgumentCaptor.getValue().size());
   }
 
   @Test
@@ -1166,12 +1303,19 @@ public class ComicBookServiceTest {
 
   @Test
   public void testGetComicBookssForSearchTerms() {
-    Mockito.when(comicBookRepository.findForSearchTerms(Mockito.anyString()))
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(
+            comicDetailRepository.findBySearchTerms(Mockito.anyList(), Mockito.any(Pageable.class)))
         .thenReturn(comicDetailList);
 
     final List<ComicDetail> result = service.getComicBooksForSearchTerms(TEST_SEARCH_TERMS);
 
-    Mockito.verify(comicBookRepository, Mockito.times(1)).findForSearchTerms(TEST_SEARCH_TERMS);
+    assertNotNull(result);
+    assertSame(comicDetailList, result);
+
+    Mockito.verify(comicSearchIndexer, Mockito.times(1)).getSearchTerms(TEST_SEARCH_TERMS);
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .findBySearchTerms(searchTermList, Pageable.unpaged());
   }
 
   @Test
@@ -33,7 +33,6 @@ import org.springframework.data.domain.Example;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicDetailExampleBuilderTest {
-  private static final String TEST_SEARCH_TEXT = "Some search text";
   private static final Integer TEST_COVER_YEAR = RandomUtils.nextInt(50) + 1970;
   private static final Integer TEST_COVER_MONTH = RandomUtils.nextInt(12) + 1;
   private static final ArchiveType TEST_ARCHIVE_TYPE =
@@ -48,15 +47,6 @@ public class ComicDetailExampleBuilderTest {
 
   @InjectMocks private ComicDetailExampleBuilder builder;
 
-  @Test
-  public void testBuildWithSearchText() {
-    builder.setSearchText(TEST_SEARCH_TEXT);
-
-    final Example<ComicDetail> result = builder.build();
-
-    assertNotNull(result);
-  }
-
   @Test
   public void testBuildWithCoverYear() {
     builder.setCoverYear(TEST_COVER_YEAR);
@@ -34,6 +34,8 @@ import org.comixedproject.model.lists.ReadingList;
 import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
 import org.comixedproject.service.lists.ReadingListException;
 import org.comixedproject.service.lists.ReadingListService;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -47,6 +49,8 @@ import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicDetailServiceTest {
@@ -65,6 +69,8 @@ public class ComicDetailServiceTest {
   private static final int TEST_PAGE_INDEX = RandomUtils.nextInt(100);
   private static final Integer TEST_COVER_YEAR = RandomUtils.nextInt(50) + 1970;
   private static final Integer TEST_COVER_MONTH = RandomUtils.nextInt(12);
+  private static final int TEST_MAXIMUM_COVER_DATE_FACETS = 16;
+  private static final long TEST_COVER_DATE_FACETS_TIME_TO_LIVE = 60000L;
   private static final ArchiveType TEST_ARCHIVE_TYPE = ArchiveType.CB7;
   private static final ComicType TEST_COMIC_TYPE = ComicType.ISSUE;
   private static final ComicState TEST_COMIC_STATE = ComicState.REMOVED;
@@ -78,7 +84,13 @@ public class ComicDetailServiceTest {
 
   @InjectMocks private ComicDetailService service;
   @Mock private ComicDetailRepository comicDetailRepository;
+  @Mock private ComicStateHandler comicStateHandler;
+  @Mock private CoverDateFacets coverDateFacets;
+  @Mock private State<ComicState, ComicEvent> state;
+  @Mock private Message<ComicEvent> message;
   @Mock private ReadingListService readingListService;
+  @Mock private ComicSearchIndexer comicSearchIndexer;
+  @Mock private List<String> searchTermList;
   @Mock private Set<String> publisherList;
   @Mock private Set<String> seriesList;
   @Mock private Set<String> volumeList;
@@ -109,9 +121,12 @@ public class ComicDetailServiceTest {
   private final Set<Date> weeksList = new HashSet<>();
   private final List<String> sortFieldNames = new ArrayList<>();
   private final List<ComicDetail> comicDetailList = new ArrayList<>();
+  private final List<Long> comicIdList = new ArrayList<>();
 
   @Before
   public void setUp() {
+    service.maximumCoverDateFacets = TEST_MAXIMUM_COVER_DATE_FACETS;
+    service.coverDateFacetsTimeToLive = TEST_COVER_DATE_FACETS_TIME_TO_LIVE;
     weeksList.add(new Date());
     Mockito.when(exampleBuilderObjectFactory.getObject()).thenReturn(exampleBuilder);
     Mockito.when(exampleBuilder.build()).thenReturn(comicDetailExample);
@@ -476,7 +491,9 @@ public class ComicDetailServiceTest {
 
   @Test
   public void testGetComicsForSearchTerm() {
-    Mockito.when(comicDetailRepository.getForSearchTerm(Mockito.anyString()))
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(
+            comicDetailRepository.findBySearchTerms(Mockito.anyList(), Mockito.any(Pageable.class)))
         .thenReturn(comicDetailList);
 
     final List<ComicDetail> result = service.getComicForSearchTerm(TEST_SEARCH_TERM);
@@ -484,7 +501,24 @@ public class ComicDetailServiceTest {
     assertNotNull(result);
     assertSame(comicDetailList, result);
 
-    Mockito.verify(comicDetailRepository, Mockito.times(1)).getForSearchTerm(TEST_SEARCH_TERM);
+    Mockito.verify(comicSearchIndexer, Mockito.times(1)).getSearchTerms(TEST_SEARCH_TERM);
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .findBySearchTerms(searchTermList, Pageable.unpaged());
+  }
+
+  @Test
+  public void testGetComicIdsForSearchText() {
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(comicDetailRepository.findComicIdsBySearchTerms(Mockito.anyList()))
+        .thenReturn(comicIdList);
+
+    final List<Long> result = service.getComicIdsForSearchText(TEST_SEARCH_TEXT);
+
+    assertNotNull(result);
+    assertSame(comicIdList, result);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .findComicIdsBySearchTerms(searchTermList);
   }
 
   @Test
@@ -521,6 +555,22 @@ public class ComicDetailServiceTest {
         .getAllComicsForTagType(TEST_TAG_TYPE, TEST_TAG_VALUE);
   }
 
+  @Test
+  public void testGetAllComicIdsForTag() {
+    Mockito.when(
+            comicDetailRepository.getAllComicIdsForTagType(
+                Mockito.any(ComicTagType.class), Mockito.anyString()))
+        .thenReturn(comicIdList);
+
+    final List<Long> result = service.getAllComicIdsForTag(TEST_TAG_TYPE, TEST_TAG_VALUE);
+
+    assertNotNull(result);
+    assertSame(comicIdList, result);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getAllComicIdsForTagType(TEST_TAG_TYPE, TEST_TAG_VALUE);
+  }
+
   @Test
   public void testLoadComicDetailsSortDescending() {
     sortFieldNames.forEach(
@@ -540,7 +590,7 @@ public class ComicDetailServiceTest {
                   TEST_COMIC_TYPE,
                   TEST_COMIC_STATE,
                   TEST_UNSCRAPED_STATE,
-                  TEST_SEARCH_TEXT,
+                  null,
                   TEST_PUBLISHER,
                   TEST_SERIES,
                   TEST_VOLUME,
@@ -583,7 +633,7 @@ public class ComicDetailServiceTest {
                   TEST_COMIC_TYPE,
                   TEST_COMIC_STATE,
                   TEST_UNSCRAPED_STATE,
-                  TEST_SEARCH_TEXT,
+                  null,
                   TEST_PUBLISHER,
                   TEST_SERIES,
                   TEST_VOLUME,
@@ -608,37 +658,67 @@ public class ComicDetailServiceTest {
   }
 
   @Test
-  public void testGetCoverYearsForFilters() {
-    comicDetailList.add(comicDetail);
+  public void testLoadComicDetailsForSearchText() {
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(
+            comicDetailRepository.findBySearchTerms(
+                Mockito.anyList(), pageableArgumentCaptor.capture()))
+        .thenReturn(comicDetailList);
 
-    sortFieldNames.forEach(
-        sortField -> {
-          Mockito.when(comicDetailRepository.findAll(exampleArgumentCaptor.capture()))
-              .thenReturn(comicDetailList);
+    final List<ComicDetail> result =
+        service.loadComicDetailList(
+            TEST_PAGE_SIZE,
+            TEST_PAGE_INDEX,
+            TEST_COVER_YEAR,
+            TEST_COVER_MONTH,
+            TEST_ARCHIVE_TYPE,
+            TEST_COMIC_TYPE,
+            TEST_COMIC_STATE,
+            TEST_UNSCRAPED_STATE,
+            TEST_SEARCH_TEXT,
+            TEST_PUBLISHER,
+            TEST_SERIES,
+            TEST_VOLUME,
+            TEST_SORT_BY,
+            TEST_SORT_DIRECTION);
 
-          final List<Integer> result =
-              service.getCoverYears(
-                  TEST_COVER_YEAR,
-                  TEST_COVER_MONTH,
-                  TEST_ARCHIVE_TYPE,
-                  TEST_COMIC_TYPE,
-                  TEST_COMIC_STATE,
-                  TEST_UNSCRAPED_STATE,
-                  TEST_SEARCH_TEXT,
-                  TEST_PUBLISHER,
-                  TEST_SERIES,
-                  TEST_VOLUME);
+    assertNotNull(result);
+    assertSame(comicDetailList, result);
 
-          assertNotNull(result);
-          assertTrue(result.contains(TEST_COVER_YEAR));
+    final Pageable pageable = pageableArgumentCaptor.getValue();
+    assertEquals(TEST_PAGE_SIZE, pageable.getPageSize());
+    assertEquals(TEST_PAGE_INDEX, pageable.getPageNumber());
 
-          final Example<ComicDetail> example = exampleArgumentCaptor.getValue();
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .findBySearchTerms(searchTermList, pageable);
+    Mockito.verify(exampleBuilder, Mockito.never()).build();
+  }
 
-          Mockito.verify(comicDetailRepository, Mockito.times(1)).findAll(example);
-          Mockito.reset(comicDetailRepository);
-        });
+  @Test
+  public void testGetCoverYearsForFilters() {
+    Mockito.when(coverDateFacets.getCoverYears()).thenReturn(coverYearList);
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
 
-    Mockito.verify(exampleBuilder, Mockito.times(sortFieldNames.size())).build();
+    final List<Integer> result =
+        service.getCoverYears(
+            TEST_COVER_YEAR,
+            TEST_COVER_MONTH,
+            TEST_ARCHIVE_TYPE,
+            TEST_COMIC_TYPE,
+            TEST_COMIC_STATE,
+            TEST_UNSCRAPED_STATE,
+            null,
+            TEST_PUBLISHER,
+            TEST_SERIES,
+            TEST_VOLUME);
+
+    assertNotNull(result);
+    assertSame(coverYearList, result);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getCoverDateFacetsByExample(comicDetailExample);
+    Mockito.verify(comicDetailRepository, Mockito.never()).findAll(Mockito.any(Example.class));
   }
 
   @Test
@@ -678,36 +758,123 @@ public class ComicDetailServiceTest {
 
   @Test
   public void testCoverCoverMonthForFilters() {
-    comicDetailList.add(comicDetail);
+    Mockito.when(coverDateFacets.getCoverMonths()).thenReturn(coverMonthList);
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
 
-    sortFieldNames.forEach(
-        sortField -> {
-          Mockito.when(comicDetailRepository.findAll(exampleArgumentCaptor.capture()))
-              .thenReturn(comicDetailList);
+    final List<Integer> result =
+        service.getCoverMonths(
+            TEST_COVER_YEAR,
+            TEST_COVER_MONTH,
+            TEST_ARCHIVE_TYPE,
+            TEST_COMIC_TYPE,
+            TEST_COMIC_STATE,
+            TEST_UNSCRAPED_STATE,
+            null,
+            TEST_PUBLISHER,
+            TEST_SERIES,
+            TEST_VOLUME);
 
-          final List<Integer> result =
-              service.getCoverMonths(
-                  TEST_COVER_YEAR,
-                  TEST_COVER_MONTH,
-                  TEST_ARCHIVE_TYPE,
-                  TEST_COMIC_TYPE,
-                  TEST_COMIC_STATE,
-                  TEST_UNSCRAPED_STATE,
-                  TEST_SEARCH_TEXT,
-                  TEST_PUBLISHER,
-                  TEST_SERIES,
-                  TEST_VOLUME);
+    assertNotNull(result);
+    assertSame(coverMonthList, result);
 
-          assertNotNull(result);
-          assertTrue(result.contains(TEST_COVER_MONTH));
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getCoverDateFacetsByExample(comicDetailExample);
+    Mockito.verify(comicDetailRepository, Mockito.never()).findAll(Mockito.any(Example.class));
+  }
 
-          final Example<ComicDetail> example = exampleArgumentCaptor.getValue();
+  @Test
+  public void testAfterPropertiesSet() {
+    service.afterPropertiesSet();
 
-          Mockito.verify(comicDetailRepository, Mockito.times(1)).findAll(example);
-          Mockito.reset(comicDetailRepository);
-        });
+    Mockito.verify(comicStateHandler, Mockito.times(1)).addListener(service);
+  }
 
-    Mockito.verify(exampleBuilder, Mockito.times(sortFieldNames.size())).build();
+  @Test
+  public void testGetCoverDateFacets() {
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
+
+    final CoverDateFacets result = this.doGetCoverDateFacets(TEST_PUBLISHER);
+
+    assertNotNull(result);
+    assertSame(coverDateFacets, result);
+
+    Mockito.verify(exampleBuilder, Mockito.times(1)).setCoverYear(TEST_COVER_YEAR);
+    Mockito.verify(exampleBuilder, Mockito.times(1)).setPublisher(TEST_PUBLISHER);
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getCoverDateFacetsByExample(comicDetailExample);
+  }
+
+  @Test
+  public void testGetCoverDateFacetsForSearchText() {
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(comicDetailRepository.getCoverDateFacetsBySearchTerms(Mockito.anyList()))
+        .thenReturn(coverDateFacets);
+
+    final CoverDateFacets result =
+        service.getCoverDateFacets(
+            null, null, null, null, null, null, TEST_SEARCH_TEXT, null, null, null);
+
+    assertNotNull(result);
+    assertSame(coverDateFacets, result);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getCoverDateFacetsBySearchTerms(searchTermList);
+    Mockito.verify(exampleBuilder, Mockito.never()).build();
+  }
+
+  @Test
+  public void testGetCoverDateFacetsCached() {
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
+
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+    final CoverDateFacets result = this.doGetCoverDateFacets(TEST_PUBLISHER);
+
+    assertSame(coverDateFacets, result);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(1))
+        .getCoverDateFacetsByExample(comicDetailExample);
+  }
+
+  @Test
+  public void testGetCoverDateFacetsCachedByFilter() {
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
+
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+    this.doGetCoverDateFacets(TEST_PUBLISHER.substring(1));
+
+    Mockito.verify(comicDetailRepository, Mockito.times(2))
+        .getCoverDateFacetsByExample(comicDetailExample);
+  }
+
+  @Test
+  public void testGetCoverDateFacetsCacheDisabled() {
+    service.coverDateFacetsTimeToLive = 0L;
+
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
+
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(2))
+        .getCoverDateFacetsByExample(comicDetailExample);
+  }
+
+  @Test
+  public void testGetCoverDateFacetsClearedOnComicStateChange() {
+    Mockito.when(comicDetailRepository.getCoverDateFacetsByExample(Mockito.any(Example.class)))
+        .thenReturn(coverDateFacets);
+
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+    service.onComicStateChange(state, message);
+    this.doGetCoverDateFacets(TEST_PUBLISHER);
+
+    Mockito.verify(comicDetailRepository, Mockito.times(2))
+        .getCoverDateFacetsByExample(comicDetailExample);
   }
 
   @Test
@@ -758,7 +925,7 @@ public class ComicDetailServiceTest {
             TEST_COMIC_TYPE,
             TEST_COMIC_STATE,
             TEST_UNSCRAPED_STATE,
-            TEST_SEARCH_TEXT,
+            null,
             TEST_PUBLISHER,
             TEST_SERIES,
             TEST_VOLUME);
@@ -771,6 +938,32 @@ public class ComicDetailServiceTest {
     Mockito.verify(comicDetailRepository, Mockito.times(1)).count(comicDetailExample);
   }
 
+  @Test
+  public void testGetFilterCountForSearchText() {
+    Mockito.when(comicSearchIndexer.getSearchTerms(Mockito.anyString())).thenReturn(searchTermList);
+    Mockito.when(comicDetailRepository.countBySearchTerms(Mockito.anyList()))
+        .thenReturn(TEST_FILTER_COUNT);
+
+    final long result =
+        service.getFilterCount(
+            TEST_COVER_YEAR,
+            TEST_COVER_MONTH,
+            TEST_ARCHIVE_TYPE,
+            TEST_COMIC_TYPE,
+            TEST_COMIC_STATE,
+            TEST_UNSCRAPED_STATE,
+            TEST_SEARCH_TEXT,
+            TEST_PUBLISHER,
+            TEST_SERIES,
+            TEST_VOLUME);
+
+    assertEquals(TEST_FILTER_COUNT, result);
+
+    Mockito.verify(comicSearchIndexer, Mockito.times(1)).getSearchTerms(TEST_SEARCH_TEXT);
+    Mockito.verify(comicDetailRepository, Mockito.times(1)).countBySearchTerms(searchTermList);
+    Mockito.verify(exampleBuilder, Mockito.never()).build();
+  }
+
   @Test
   public void testGetFilterCountForTagType() {
     Mockito.when(
@@ -787,16 +980,16 @@ public class ComicDetailServiceTest {
   }
 
   @Test
-  public void testFindAllByExample() {
-    Mockito.when(comicDetailRepository.findAll(Mockito.any(Example.class)))
-        .thenReturn(comicDetailList);
+  public void testGetComicIdsByExample() {
+    Mockito.when(comicDetailRepository.findComicIdsByExample(Mockito.any(Example.class)))
+        .thenReturn(comicIdList);
 
-    final List<ComicDetail> result = service.findAllByExample(example);
+    final List<Long> result = service.getComicIdsByExample(example);
 
     assertNotNull(result);
-    assertSame(comicDetailList, result);
+    assertSame(comicIdList, result);
 
-    Mockito.verify(comicDetailRepository, Mockito.times(1)).findAll(example);
+    Mockito.verify(comicDetailRepository, Mockito.times(1)).findComicIdsByExample(example);
   }
 
   @Test
@@ -944,4 +1137,18 @@ public class ComicDetailServiceTest {
     Mockito.verify(readingListService, Mockito.times(1))
         .loadReadingListForUser(TEST_EMAIL, TEST_READING_LIST_ID);
   }
+
+  private CoverDateFacets doGetCoverDateFacets(final String publisher) {
+    return service.getCoverDateFacets(
+        TEST_COVER_YEAR,
+        TEST_COVER_MONTH,
+        TEST_ARCHIVE_TYPE,
+        TEST_COMIC_TYPE,
+        TEST_COMIC_STATE,
+        TEST_UNSCRAPED_STATE,
+        null,
+        publisher,
+        TEST_SERIES,
+        TEST_VOLUME);
+  }
 }
@@ -0,0 +1,185 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
+
+import java.util.List;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
+import org.comixedproject.state.comicbooks.ComicEvent;
+import org.comixedproject.state.comicbooks.ComicStateHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.statemachine.state.State;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicSearchIndexServiceTest {
+  private static final Long TEST_COMIC_DETAIL_ID = 129L;
+  private static final int TEST_BATCH_SIZE = 2;
+
+  @InjectMocks private ComicSearchIndexService service;
+  @Mock private ComicStateHandler comicStateHandler;
+  @Mock private ComicSearchIndexer comicSearchIndexer;
+  @Mock private ComicDetailRepository comicDetailRepository;
+  @Mock private State<ComicState, ComicEvent> state;
+  @Mock private Message<ComicEvent> message;
+  @Mock private MessageHeaders messageHeaders;
+  @Mock private ComicBook comicBook;
+  @Mock private ComicDetail comicDetail;
+
+  @Before
+  public void setUp() {
+    service.batchSize = TEST_BATCH_SIZE;
+  }
+
+  @Test
+  public void testAfterPropertiesSet() {
+    service.afterPropertiesSet();
+
+    Mockito.verify(comicStateHandler, Mockito.times(1)).addListener(service);
+  }
+
+  @Test
+  public void testOnComicStateChange() {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(HEADER_COMIC, ComicBook.class)).thenReturn(comicBook);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getId()).thenReturn(TEST_COMIC_DETAIL_ID);
+
+    service.onComicStateChange(state, message);
+    service.onComicStateChange(state, message);
+
+    assertEquals(1, service.getPendingCount());
+  }
+
+  @Test
+  public void testOnComicStateChangeQueuesAfterCommit() {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(HEADER_COMIC, ComicBook.class)).thenReturn(comicBook);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getId()).thenReturn(TEST_COMIC_DETAIL_ID);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.onComicStateChange(state, message);
+
+      assertEquals(0, service.getPendingCount());
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(1, service.getPendingCount());
+  }
+
+  @Test
+  public void testOnComicStateChangeWithoutComic() {
+    Mockito.when(message.getHeaders()).thenReturn(messageHeaders);
+    Mockito.when(messageHeaders.get(HEADER_COMIC, ComicBook.class)).thenReturn(null);
+
+    service.onComicStateChange(state, message);
+
+    assertEquals(0, service.getPendingCount());
+  }
+
+  @Test
+  public void testUpdateSearchIndexEmptyIndex() {
+    Mockito.when(comicSearchIndexer.getIndexSize()).thenReturn(0L);
+    Mockito.when(comicDetailRepository.count()).thenReturn(3L);
+    Mockito.when(comicDetailRepository.getAllIds()).thenReturn(List.of(1L, 2L, 3L));
+
+    service.updateSearchIndex();
+
+    assertEquals(0, service.getPendingCount());
+    Mockito.verify(comicSearchIndexer, Mockito.times(2)).indexComicDetails(Mockito.anyList());
+  }
+
+  @Test
+  public void testUpdateSearchIndexChecksIndexOnce() {
+    Mockito.when(comicSearchIndexer.getIndexSize()).thenReturn(100L);
+
+    service.updateSearchIndex();
+    service.updateSearchIndex();
+
+    Mockito.verify(comicSearchIndexer, Mockito.times(1)).getIndexSize();
+    Mockito.verify(comicSearchIndexer, Mockito.never()).indexComicDetails(Mockito.anyList());
+  }
+
+  @Test
+  public void testUpdateSearchIndexChecksIndexAgainAfterFailure() {
+    Mockito.when(comicSearchIndexer.getIndexSize())
+        .thenThrow(RuntimeException.class)
+        .thenReturn(100L);
+
+    try {
+      service.updateSearchIndex();
+    } catch (RuntimeException error) {
+      // expected
+    }
+    service.updateSearchIndex();
+    service.updateSearchIndex();
+
+    Mockito.verify(comicSearchIndexer, Mockito.times(2)).getIndexSize();
+  }
+
+  @Test
+  public void testUpdateSearchIndexFailure() {
+    Mockito.when(comicSearchIndexer.getIndexSize()).thenReturn(0L);
+    Mockito.when(comicDetailRepository.count()).thenReturn(1L);
+    Mockito.when(comicDetailRepository.getAllIds()).thenReturn(List.of(TEST_COMIC_DETAIL_ID));
+    Mockito.doThrow(RuntimeException.class)
+        .when(comicSearchIndexer)
+        .indexComicDetails(Mockito.anyList());
+
+    service.updateSearchIndex();
+
+    assertEquals(1, service.getPendingCount());
+  }
+
+  @Test
+  public void testRebuildSearchIndex() {
+    Mockito.when(comicDetailRepository.getAllIds()).thenReturn(List.of(1L, 2L, 3L));
+
+    service.rebuildSearchIndex();
+
+    assertEquals(3, service.getPendingCount());
+    Mockito.verify(comicSearchIndexer, Mockito.times(1)).clearIndex();
+
+    service.updateSearchIndex();
+
+    assertEquals(0, service.getPendingCount());
+    Mockito.verify(comicSearchIndexer, Mockito.never()).getIndexSize();
+    Mockito.verify(comicSearchIndexer, Mockito.times(2)).indexComicDetails(Mockito.anyList());
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicbooks;
+
+import static junit.framework.TestCase.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicSearchTerm;
+import org.comixedproject.model.comicbooks.ComicTag;
+import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
+import org.comixedproject.repositories.comicbooks.ComicSearchTermRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicSearchIndexerTest {
+  private static final Long TEST_COMIC_DETAIL_ID = 129L;
+  private static final String TEST_SERIES = "Steve Rogers: Captain America";
+  private static final String TEST_ISSUE_NUMBER = "513";
+  private static final String TEST_TAG_VALUE = "Sharon Carter";
+
+  @InjectMocks private ComicSearchIndexer indexer;
+  @Mock private ComicSearchTermRepository comicSearchTermRepository;
+  @Mock private ComicDetailRepository comicDetailRepository;
+  @Mock private ComicDetail comicDetail;
+  @Mock private ComicTag comicTag;
+
+  @Captor private ArgumentCaptor<List<ComicSearchTerm>> searchTermListArgumentCaptor;
+
+  private final List<Long> comicDetailIdList = new ArrayList<>();
+  private final List<ComicDetail> comicDetailList = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    comicDetailIdList.add(TEST_COMIC_DETAIL_ID);
+  }
+
+  @Test
+  public void testGetSearchTermsForEmptyText() {
+    assertTrue(indexer.getSearchTerms("").isEmpty());
+    assertTrue(indexer.getSearchTerms(" :- ").isEmpty());
+  }
+
+  @Test
+  public void testGetSearchTerms() {
+    assertEquals(
+        List.of("steve", "rogers", "captain", "america"),
+        indexer.getSearchTerms("Steve Rogers: CAPTAIN america, rogers"));
+  }
+
+  @Test
+  public void testGetSearchTermsTruncatesLongWords() {
+    final List<String> result = indexer.getSearchTerms("a".repeat(100));
+
+    assertEquals(1, result.size());
+    assertEquals(ComicSearchTerm.MAXIMUM_TERM_LENGTH, result.get(0).length());
+  }
+
+  @Test
+  public void testIndexComicDetails() {
+    comicDetailList.add(comicDetail);
+    Mockito.when(comicDetail.getId()).thenReturn(TEST_COMIC_DETAIL_ID);
+    Mockito.when(comicDetail.getSeries()).thenReturn(TEST_SERIES);
+    Mockito.when(comicDetail.getIssueNumber()).thenReturn(TEST_ISSUE_NUMBER);
+    Mockito.when(comicDetail.getTags()).thenReturn(Set.of(comicTag));
+    Mockito.when(comicTag.getValue()).thenReturn(TEST_TAG_VALUE);
+    Mockito.when(comicDetailRepository.loadForSearchIndex(Mockito.anyCollection()))
+        .thenReturn(comicDetailList);
+
+    indexer.indexComicDetails(comicDetailIdList);
+
+    Mockito.verify(comicSearchTermRepository, Mockito.times(1))
+        .deleteForComicDetails(comicDetailIdList);
+    Mockito.verify(comicSearchTermRepository, Mockito.times(1))
+        .saveAll(searchTermListArgumentCaptor.capture());
+
+    final List<ComicSearchTerm> terms = searchTermListArgumentCaptor.getValue();
+    assertEquals(
+        List.of("steve", "rogers", "captain", "america", "513", "sharon", "carter"),
+        terms.stream().map(ComicSearchTerm::getTerm).toList());
+    assertTrue(
+        terms.stream().allMatch(term -> TEST_COMIC_DETAIL_ID.equals(term.getComicDetailId())));
+  }
+
+  @Test
+  public void testIndexComicDetailsForRemovedRecords() {
+    Mockito.when(comicDetailRepository.loadForSearchIndex(Mockito.anyCollection()))
+        .thenReturn(comicDetailList);
+
+    indexer.indexComicDetails(comicDetailIdList);
+
+    Mockito.verify(comicSearchTermRepository, Mockito.times(1))
+        .deleteForComicDetails(comicDetailIdList);
+    Mockito.verify(comicSearchTermRepository, Mockito.times(1))
+        .saveAll(searchTermListArgumentCaptor.capture());
+    assertTrue(searchTermListArgumentCaptor.getValue().isEmpty());
+  }
+
+  @Test
+  public void testClearIndex() {
+    indexer.clearIndex();
+
+    Mockito.verify(comicSearchTermRepository, Mockito.times(1)).deleteAllInBatch();
+  }
+}
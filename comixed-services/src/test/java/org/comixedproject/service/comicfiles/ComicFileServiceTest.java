@@ -23,17 +23,25 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Stream;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicfiles.PublishLoadComicFilesStatusAction;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicfiles.ComicFileDescriptor;
 import org.comixedproject.model.comicfiles.ComicFileGroup;
+import org.comixedproject.model.messaging.comicfiles.LoadComicFilesStatus;
 import org.comixedproject.repositories.comicfiles.ComicFileDescriptorRepository;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -52,6 +60,7 @@ public class ComicFileServiceTest {
   private static final int TEST_NO_LIMIT = -1;
   private static final long TEST_DESCRIPTOR_COUNT = 93L;
   private static final int TEST_PAGE_SIZE = 10;
+  private static final int TEST_COMIC_FILE_COUNT = 3;
 
   @InjectMocks private ComicFileService service;
   @Mock private ComicBookAdaptor comicBookAdaptor;
@@ -65,7 +74,24 @@ public class ComicFileServiceTest {
   @Mock private List<ComicFileDescriptor> unprocessedComicFileDescriptiors;
   @Mock private Stream<ComicFileDescriptor> comicFileStream;
 
+  @Mock private PublishLoadComicFilesStatusAction publishLoadComicFilesStatusAction;
+
   @Captor private ArgumentCaptor<Pageable> pageableArgumentCaptor;
+  @Captor private ArgumentCaptor<Collection<String>> existingFilenamesArgumentCaptor;
+  @Captor private ArgumentCaptor<LoadComicFilesStatus> loadComicFilesStatusArgumentCaptor;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File rootDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    rootDirectory = temporaryFolder.newFolder("comics");
+    for (int index = 0; index < TEST_COMIC_FILE_COUNT; index++) {
+      new File(rootDirectory, String.format("comic-%d.cbz", index)).createNewFile();
+    }
+    new File(rootDirectory, "readme.txt").createNewFile();
+  }
 
   @Test
   public void testGetImportFileCoverWithNoCover() throws AdaptorException {
@@ -106,24 +132,33 @@ public class ComicFileServiceTest {
   }
 
   @Test
-  public void testGetAllComicsAlreadyImported() throws IOException {
-    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenReturn(true);
-    Mockito.when(comicBookService.findByFilename(Mockito.anyString())).thenReturn(comicBook);
+  public void testGetAllComicsAlreadyImported() throws IOException, PublishingException {
+    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
+    Mockito.when(comicBookService.findExistingFilenames(existingFilenamesArgumentCaptor.capture()))
+        .thenAnswer(input -> new HashSet<>(existingFilenamesArgumentCaptor.getValue()));
 
-    final List<ComicFileGroup> result = service.getAllComicsUnder(TEST_ROOT_DIRECTORY, TEST_LIMIT);
+    final List<ComicFileGroup> result =
+        service.getAllComicsUnder(rootDirectory.getAbsolutePath(), TEST_LIMIT);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
 
-    Mockito.verify(comicBookService, Mockito.times(1))
-        .findByFilename(new File(TEST_COMIC_ARCHIVE).getCanonicalPath().replace("\\", "/"));
+    Mockito.verify(comicBookService, Mockito.never()).findByFilename(Mockito.anyString());
+    Mockito.verify(publishLoadComicFilesStatusAction, Mockito.atLeastOnce())
+        .publish(loadComicFilesStatusArgumentCaptor.capture());
+    final LoadComicFilesStatus status = loadComicFilesStatusArgumentCaptor.getValue();
+    assertFalse(status.isActive());
+    assertEquals(TEST_COMIC_FILE_COUNT + 1, status.getScanned());
+    assertEquals(0L, status.getFound());
   }
 
   @Test
   public void testGetAllComicsUnderWithLimit() throws IOException {
-    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenReturn(true);
-
-    final List<ComicFileGroup> result = service.getAllComicsUnder(TEST_ROOT_DIRECTORY, TEST_LIMIT);
+    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
+    Mockito.when(comicBookService.findExistingFilenames(Mockito.anyCollection()))
+        .thenReturn(new HashSet<>());
+    final List<ComicFileGroup> result =
+        service.getAllComicsUnder(rootDirectory.getAbsolutePath(), TEST_LIMIT);
 
     assertNotNull(result);
     assertFalse(result.isEmpty());
@@ -137,16 +172,43 @@ public class ComicFileServiceTest {
   }
 
   @Test
-  public void testGetAllComicsUnder() throws IOException {
+  public void testGetAllComicsUnderPublishingException() throws IOException, PublishingException {
     Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
+    Mockito.when(comicBookService.findExistingFilenames(Mockito.anyCollection()))
+        .thenReturn(new HashSet<>());
+    Mockito.doThrow(PublishingException.class)
+        .when(publishLoadComicFilesStatusAction)
+        .publish(Mockito.any(LoadComicFilesStatus.class));
 
     final List<ComicFileGroup> result =
-        service.getAllComicsUnder(TEST_ROOT_DIRECTORY, TEST_NO_LIMIT);
+        service.getAllComicsUnder(rootDirectory.getAbsolutePath(), TEST_NO_LIMIT);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+  }
+
+  @Test
+  public void testGetAllComicsUnder() throws IOException, PublishingException {
+    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
+    Mockito.when(comicBookService.findExistingFilenames(Mockito.anyCollection()))
+        .thenReturn(new HashSet<>());
+    final List<ComicFileGroup> result =
+        service.getAllComicsUnder(rootDirectory.getAbsolutePath(), TEST_NO_LIMIT);
 
     assertNotNull(result);
     assertFalse(result.isEmpty());
     assertEquals(1, result.size());
-    assertEquals(3, result.get(0).getFiles().size());
+    assertEquals(TEST_COMIC_FILE_COUNT, result.get(0).getFiles().size());
+
+    Mockito.verify(comicBookService, Mockito.times(1))
+        .findExistingFilenames(Mockito.anyCollection());
+    Mockito.verify(publishLoadComicFilesStatusAction, Mockito.atLeastOnce())
+        .publish(loadComicFilesStatusArgumentCaptor.capture());
+    final LoadComicFilesStatus status = loadComicFilesStatusArgumentCaptor.getValue();
+    assertFalse(status.isActive());
+    assertEquals(rootDirectory.getAbsolutePath(), status.getDirectory());
+    assertEquals(TEST_COMIC_FILE_COUNT + 1, status.getScanned());
+    assertEquals(TEST_COMIC_FILE_COUNT, status.getFound());
   }
 
   @Test
@@ -20,11 +20,17 @@ package org.comixedproject.service.comicpages;
 
 import static junit.framework.TestCase.*;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.imageio.ImageIO;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.Page;
+import org.imgscalr.Scalr;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,21 +38,33 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PageCacheServiceTest {
   private static final String TEST_MISSING_PAGE_HASH = "4C6DD238138491B89A3DB9BC6E3A3E2D";
   private static final String TEST_PAGE_HASH = "D5397C1B6053B093CB133CA3B7081C9E";
   private static final Integer TEST_PAGE_NUMBER = 17;
+  private static final String TEST_MEMORY_CACHE_KEY = "The memory cache key";
+  private static final String TEST_MIME_TYPE = "image/jpeg";
+  private static final int TEST_SCALED_WIDTH_STEP = 100;
+  private static final int TEST_PAGE_WIDTH = 2000;
+  private static final int TEST_MAX_WIDTH = 250;
+  private static final int TEST_SCALED_WIDTH = 200;
 
   @InjectMocks private PageCacheService pageCacheService;
   @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private PageMemoryCacheService pageMemoryCacheService;
+  @Mock private FileTypeAdaptor fileTypeAdaptor;
   @Mock private ComicBook comicBook;
   @Mock private Page page;
 
   @Before
   public void setUp() {
     pageCacheService.cacheDirectory = "target/test-classes/image-cache";
+    pageCacheService.scaledWidthStep = TEST_SCALED_WIDTH_STEP;
+    pageCacheService.scaledResizeMethod = Scalr.Method.SPEED;
     Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
     Mockito.when(page.getComicBook()).thenReturn(comicBook);
     Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_NUMBER);
@@ -56,6 +74,18 @@ public class PageCacheServiceTest {
     if (file.exists()) {
       file.delete();
     }
+    for (int index = 0; index < PageCacheService.RENDITION_SIZES.length; index++) {
+      final File rendition =
+          pageCacheService.getRenditionFileForHash(
+              TEST_PAGE_HASH, PageCacheService.RENDITION_SIZES[index]);
+      if (rendition.exists()) {
+        rendition.delete();
+      }
+    }
+    final File scaled = pageCacheService.getScaledFileForHash(TEST_PAGE_HASH, TEST_SCALED_WIDTH);
+    if (scaled.exists()) {
+      scaled.delete();
+    }
   }
 
   @Test
@@ -83,7 +113,11 @@ public class PageCacheServiceTest {
   public void testSaveByHash() {
     pageCacheService.saveByHash(TEST_MISSING_PAGE_HASH, TEST_MISSING_PAGE_HASH.getBytes());
 
-    assertTrue(pageCacheService.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+    final File file = pageCacheService.getFileForHash(TEST_MISSING_PAGE_HASH);
+    assertTrue(file.exists());
+    assertEquals(
+        TEST_MISSING_PAGE_HASH, new String(pageCacheService.findByHash(TEST_MISSING_PAGE_HASH)));
+    assertEquals(0, file.getParentFile().listFiles((dir, name) -> name.endsWith(".tmp")).length);
   }
 
   @Test
@@ -111,4 +145,330 @@ public class PageCacheServiceTest {
 
     Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_NUMBER);
   }
+
+  @Test
+  public void testGetRenditionSize() {
+    assertEquals(160, pageCacheService.getRenditionSize(100));
+    assertEquals(320, pageCacheService.getRenditionSize(320));
+    assertEquals(640, pageCacheService.getRenditionSize(321));
+    assertEquals(0, pageCacheService.getRenditionSize(641));
+  }
+
+  @Test
+  public void testGetETagForPage() {
+    assertEquals("\"" + TEST_PAGE_HASH + "\"", pageCacheService.getETagForPage(page, null));
+  }
+
+  @Test
+  public void testGetETagForPageRendition() {
+    assertEquals("\"" + TEST_PAGE_HASH + "-320\"", pageCacheService.getETagForPage(page, 200));
+  }
+
+  @Test
+  public void testGetETagForPageSizeTooLargeForRendition() {
+    assertEquals("\"" + TEST_PAGE_HASH + "\"", pageCacheService.getETagForPage(page, 2000));
+  }
+
+  @Test
+  public void testNormalizeRenditionSize() {
+    assertNull(pageCacheService.normalizeRenditionSize(null));
+    assertEquals(Integer.valueOf(320), pageCacheService.normalizeRenditionSize(200));
+    assertNull(pageCacheService.normalizeRenditionSize(641));
+  }
+
+  @Test
+  public void testFindRenditionFileByHashSizeTooLarge() {
+    final File result = pageCacheService.findRenditionFileByHash(TEST_PAGE_HASH, 2000);
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testFindRenditionFileByHashInvalidHash() {
+    final File result = pageCacheService.findRenditionFileByHash(TEST_PAGE_HASH.substring(1), 160);
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testFindRenditionFileByHashNotCached() {
+    final File result = pageCacheService.findRenditionFileByHash(TEST_MISSING_PAGE_HASH, 160);
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testFindRenditionFileByHash() throws IOException {
+    final File result = pageCacheService.findRenditionFileByHash(TEST_PAGE_HASH, 150);
+
+    assertNotNull(result);
+    assertEquals(pageCacheService.getRenditionFileForHash(TEST_PAGE_HASH, 160), result);
+    assertTrue(result.exists());
+
+    final BufferedImage image = ImageIO.read(result);
+    assertNotNull(image);
+    assertTrue(image.getWidth() <= 160);
+  }
+
+  @Test
+  public void testFindRenditionFileByHashAlreadyCreated() {
+    final File created = pageCacheService.findRenditionFileByHash(TEST_PAGE_HASH, 320);
+    final long modified = created.lastModified();
+
+    final File result = pageCacheService.findRenditionFileByHash(TEST_PAGE_HASH, 320);
+
+    assertNotNull(result);
+    assertEquals(modified, result.lastModified());
+  }
+
+  @Test
+  public void testFindFileByHashNotCached() {
+    assertNull(pageCacheService.findFileByHash(TEST_MISSING_PAGE_HASH));
+  }
+
+  @Test
+  public void testFindFileByHash() {
+    assertEquals(
+        pageCacheService.getFileForHash(TEST_PAGE_HASH),
+        pageCacheService.findFileByHash(TEST_PAGE_HASH));
+  }
+
+  @Test
+  public void testGetPageImageFromMemory() throws IOException, AdaptorException {
+    Mockito.when(pageMemoryCacheService.getKey(Mockito.anyString(), Mockito.any()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.get(Mockito.anyString()))
+        .thenReturn(new CachedPageContent(TEST_PAGE_HASH.getBytes(), TEST_MIME_TYPE));
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNotNull(result);
+    assertEquals(TEST_MIME_TYPE, result.getContentType());
+    assertEquals(TEST_PAGE_HASH.length(), result.getResource().contentLength());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1)).get(TEST_MEMORY_CACHE_KEY);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.any(), Mockito.anyInt());
+  }
+
+  @Test
+  public void testGetPageImageKeptInMemory() throws IOException {
+    Mockito.when(pageMemoryCacheService.getKey(Mockito.anyString(), Mockito.any()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(true);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_MIME_TYPE);
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNotNull(result);
+    assertTrue(result.getResource() instanceof ByteArrayResource);
+    assertEquals(TEST_MIME_TYPE, result.getContentType());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1))
+        .put(
+            Mockito.eq(TEST_MEMORY_CACHE_KEY),
+            Mockito.any(byte[].class),
+            Mockito.eq(TEST_MIME_TYPE));
+  }
+
+  @Test
+  public void testGetPageImageStreamed() throws IOException {
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_MIME_TYPE);
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNotNull(result);
+    assertTrue(result.getResource() instanceof FileSystemResource);
+    assertEquals(pageCacheService.getFileForHash(TEST_PAGE_HASH), result.getResource().getFile());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.never())
+        .put(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testGetPageImageDetectsLegacyType() {
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+    Mockito.when(page.getMimeType()).thenReturn(null);
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
+        .thenReturn(TEST_MIME_TYPE);
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNotNull(result);
+    assertEquals(TEST_MIME_TYPE, result.getContentType());
+  }
+
+  @Test
+  public void testGetPageImageRendition() throws IOException {
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+
+    final PageImage result = pageCacheService.getPageImage(page, 160);
+
+    assertNotNull(result);
+    assertEquals(PageCacheService.RENDITION_MIME_TYPE, result.getContentType());
+    assertEquals(
+        pageCacheService.getRenditionFileForHash(TEST_PAGE_HASH, 160),
+        result.getResource().getFile());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1)).getKey(TEST_PAGE_HASH, 160);
+  }
+
+  @Test
+  public void testGetPageImageRenditionSizeNormalized() throws IOException {
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+
+    final PageImage result = pageCacheService.getPageImage(page, 100);
+
+    assertNotNull(result);
+    assertEquals(
+        pageCacheService.getRenditionFileForHash(TEST_PAGE_HASH, 160),
+        result.getResource().getFile());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1)).getKey(TEST_PAGE_HASH, 160);
+  }
+
+  @Test
+  public void testGetPageImageSizeTooLargeForRendition() throws IOException {
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_MIME_TYPE);
+
+    final PageImage result = pageCacheService.getPageImage(page, 2000);
+
+    assertNotNull(result);
+    assertEquals(TEST_MIME_TYPE, result.getContentType());
+    assertEquals(pageCacheService.getFileForHash(TEST_PAGE_HASH), result.getResource().getFile());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1)).getKey(TEST_PAGE_HASH, null);
+  }
+
+  @Test
+  public void testGetPageImageLoadsFromComicFile() throws AdaptorException {
+    Mockito.when(page.getHash()).thenReturn(TEST_MISSING_PAGE_HASH);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_MIME_TYPE);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenReturn(TEST_MISSING_PAGE_HASH.getBytes());
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNotNull(result);
+    assertTrue(pageCacheService.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+
+    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_NUMBER);
+  }
+
+  @Test
+  public void testGetPageImageComicBookAdaptorException() throws AdaptorException {
+    Mockito.when(page.getHash()).thenReturn(TEST_MISSING_PAGE_HASH);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenThrow(AdaptorException.class);
+
+    final PageImage result = pageCacheService.getPageImage(page, null);
+
+    assertNull(result);
+  }
+
+  @Test(expected = IOException.class)
+  public void testCreateRenditionInvalidImage() throws IOException {
+    pageCacheService.createRendition(TEST_PAGE_HASH.getBytes(), 160, Scalr.Method.QUALITY);
+  }
+
+  @Test
+  public void testGetScaledWidth() {
+    assertEquals(TEST_SCALED_WIDTH, pageCacheService.getScaledWidth(TEST_MAX_WIDTH));
+    assertEquals(TEST_SCALED_WIDTH, pageCacheService.getScaledWidth(TEST_SCALED_WIDTH));
+    assertEquals(TEST_SCALED_WIDTH - 100, pageCacheService.getScaledWidth(TEST_SCALED_WIDTH - 1));
+    assertEquals(TEST_SCALED_WIDTH_STEP, pageCacheService.getScaledWidth(1));
+  }
+
+  @Test
+  public void testGetScaledWidthNoStep() {
+    pageCacheService.scaledWidthStep = 0;
+
+    assertEquals(TEST_MAX_WIDTH, pageCacheService.getScaledWidth(TEST_MAX_WIDTH));
+  }
+
+  @Test
+  public void testGetScaledPageImageAlreadyFits() {
+    Mockito.when(page.getWidth()).thenReturn(TEST_MAX_WIDTH);
+    Mockito.when(pageMemoryCacheService.getKey(Mockito.anyString(), Mockito.any()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.get(Mockito.anyString()))
+        .thenReturn(new CachedPageContent(TEST_PAGE_HASH.getBytes(), TEST_MIME_TYPE));
+
+    final PageImage result = pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH);
+
+    assertNotNull(result);
+    assertEquals(TEST_MIME_TYPE, result.getContentType());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1)).getKey(TEST_PAGE_HASH, null);
+    Mockito.verify(pageMemoryCacheService, Mockito.never())
+        .getScaledKey(Mockito.anyString(), Mockito.anyInt());
+  }
+
+  @Test
+  public void testGetScaledPageImageFromMemory() throws IOException {
+    Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(pageMemoryCacheService.getScaledKey(Mockito.anyString(), Mockito.anyInt()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.get(Mockito.anyString()))
+        .thenReturn(
+            new CachedPageContent(TEST_PAGE_HASH.getBytes(), PageCacheService.RENDITION_MIME_TYPE));
+
+    final PageImage result = pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH);
+
+    assertNotNull(result);
+    assertEquals(PageCacheService.RENDITION_MIME_TYPE, result.getContentType());
+    assertEquals(TEST_PAGE_HASH.length(), result.getResource().contentLength());
+    assertFalse(pageCacheService.getScaledFileForHash(TEST_PAGE_HASH, TEST_SCALED_WIDTH).exists());
+
+    Mockito.verify(pageMemoryCacheService, Mockito.times(1))
+        .getScaledKey(TEST_PAGE_HASH, TEST_SCALED_WIDTH);
+  }
+
+  @Test
+  public void testGetScaledPageImage() throws IOException {
+    Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(pageMemoryCacheService.getScaledKey(Mockito.anyString(), Mockito.anyInt()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+
+    final PageImage result = pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH);
+
+    assertNotNull(result);
+    assertEquals(PageCacheService.RENDITION_MIME_TYPE, result.getContentType());
+    final File file = pageCacheService.getScaledFileForHash(TEST_PAGE_HASH, TEST_SCALED_WIDTH);
+    assertEquals(file, result.getResource().getFile());
+    final BufferedImage image = ImageIO.read(file);
+    assertNotNull(image);
+    assertTrue(image.getWidth() <= TEST_SCALED_WIDTH);
+  }
+
+  @Test
+  public void testGetScaledPageImageAlreadyCreated() throws IOException {
+    Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(pageMemoryCacheService.getScaledKey(Mockito.anyString(), Mockito.anyInt()))
+        .thenReturn(TEST_MEMORY_CACHE_KEY);
+    Mockito.when(pageMemoryCacheService.isCacheable(Mockito.anyLong())).thenReturn(false);
+    final File created =
+        pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH).getResource().getFile();
+    final long lastModified = created.lastModified();
+
+    final PageImage result = pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH + 1);
+
+    assertEquals(created, result.getResource().getFile());
+    assertEquals(lastModified, result.getResource().getFile().lastModified());
+  }
+
+  @Test
+  public void testGetScaledPageImageComicBookAdaptorException() throws AdaptorException {
+    Mockito.when(page.getHash()).thenReturn(TEST_MISSING_PAGE_HASH);
+    Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenThrow(AdaptorException.class);
+
+    final PageImage result = pageCacheService.getScaledPageImage(page, TEST_MAX_WIDTH);
+
+    assertNull(result);
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import static junit.framework.TestCase.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PageMemoryCacheServiceTest {
+  private static final String TEST_PAGE_HASH = "D5397C1B6053B093CB133CA3B7081C9E";
+  private static final Integer TEST_SIZE = 320;
+  private static final String TEST_CONTENT_TYPE = "image/jpeg";
+  private static final long TEST_MAXIMUM_SIZE = 1024L;
+  private static final long TEST_MAXIMUM_ENTRY_SIZE = 512L;
+
+  @InjectMocks private PageMemoryCacheService service;
+  @Spy private SimpleMeterRegistry meterRegistry;
+
+  @Before
+  public void setUp() {
+    service.maximumSize = TEST_MAXIMUM_SIZE;
+    service.maximumEntrySize = TEST_MAXIMUM_ENTRY_SIZE;
+    service.afterPropertiesSet();
+  }
+
+  @Test
+  public void testGetKeyForOriginal() {
+    assertEquals(TEST_PAGE_HASH, service.getKey(TEST_PAGE_HASH, null));
+  }
+
+  @Test
+  public void testGetKeyForRendition() {
+    assertEquals(TEST_PAGE_HASH + "-" + TEST_SIZE, service.getKey(TEST_PAGE_HASH, TEST_SIZE));
+  }
+
+  @Test
+  public void testGetScaledKey() {
+    assertEquals(
+        TEST_PAGE_HASH + "-w" + TEST_SIZE, service.getScaledKey(TEST_PAGE_HASH, TEST_SIZE));
+  }
+
+  @Test
+  public void testGetNotCached() {
+    assertNull(service.get(TEST_PAGE_HASH));
+
+    assertEquals(1L, service.getMisses());
+    assertEquals(0L, service.getHits());
+  }
+
+  @Test
+  public void testGet() {
+    final byte[] content = new byte[100];
+    service.put(TEST_PAGE_HASH, content, TEST_CONTENT_TYPE);
+
+    final CachedPageContent result = service.get(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertSame(content, result.getContent());
+    assertEquals(TEST_CONTENT_TYPE, result.getContentType());
+    assertEquals(1L, service.getHits());
+    assertEquals(100L, service.getCurrentSize());
+  }
+
+  @Test
+  public void testPutReplacesEntry() {
+    service.put(TEST_PAGE_HASH, new byte[100], TEST_CONTENT_TYPE);
+    service.put(TEST_PAGE_HASH, new byte[200], TEST_CONTENT_TYPE);
+
+    assertEquals(1, service.getCount());
+    assertEquals(200L, service.getCurrentSize());
+  }
+
+  @Test
+  public void testPutContentTooLarge() {
+    service.put(TEST_PAGE_HASH, new byte[(int) TEST_MAXIMUM_ENTRY_SIZE + 1], TEST_CONTENT_TYPE);
+
+    assertEquals(0, service.getCount());
+    assertEquals(0L, service.getCurrentSize());
+  }
+
+  @Test
+  public void testIsCacheable() {
+    assertTrue(service.isCacheable(TEST_MAXIMUM_ENTRY_SIZE));
+    assertFalse(service.isCacheable(TEST_MAXIMUM_ENTRY_SIZE + 1));
+  }
+
+  @Test
+  public void testPutEvictsLeastRecentlyUsed() {
+    service.put("first", new byte[400], TEST_CONTENT_TYPE);
+    service.put("second", new byte[400], TEST_CONTENT_TYPE);
+    service.get("first");
+
+    service.put("third", new byte[400], TEST_CONTENT_TYPE);
+
+    assertNotNull(service.get("first"));
+    assertNull(service.get("second"));
+    assertNotNull(service.get("third"));
+    assertEquals(1L, service.getEvictions());
+    assertEquals(800L, service.getCurrentSize());
+  }
+
+  @Test
+  public void testMetrics() {
+    service.put(TEST_PAGE_HASH, new byte[100], TEST_CONTENT_TYPE);
+    service.get(TEST_PAGE_HASH);
+    service.get("missing");
+
+    assertEquals(
+        1.0, meterRegistry.get("comixed.page.memory-cache.hits").functionCounter().count());
+    assertEquals(
+        1.0, meterRegistry.get("comixed.page.memory-cache.misses").functionCounter().count());
+    assertEquals(100.0, meterRegistry.get("comixed.page.memory-cache.size").gauge().value());
+  }
+}
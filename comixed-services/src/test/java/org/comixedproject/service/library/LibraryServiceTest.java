@@ -20,6 +20,7 @@ package org.comixedproject.service.library;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.comixedproject.adaptors.file.FileAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
@@ -95,8 +96,8 @@ public class LibraryServiceTest {
       final Long id = comicIdList.get(index);
       Mockito.verify(comicBookService, Mockito.times(1)).getComic(id);
     }
-    Mockito.verify(comicStateHandler, Mockito.times(comicIdList.size()))
-        .fireEvent(comicBook, ComicEvent.updateMetadata);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(Collections.nCopies(comicIdList.size(), comicBook), ComicEvent.updateMetadata);
   }
 
   @Test
@@ -111,8 +112,8 @@ public class LibraryServiceTest {
       final Long id = comicIdList.get(index);
       Mockito.verify(comicBookService, Mockito.times(1)).getComic(id);
     }
-    Mockito.verify(comicStateHandler, Mockito.never())
-        .fireEvent(comicBook, ComicEvent.updateMetadata);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(Collections.emptyList(), ComicEvent.updateMetadata);
   }
 
   @Test(expected = LibraryException.class)
@@ -172,8 +173,8 @@ public class LibraryServiceTest {
     Mockito.verify(comicBookService, Mockito.times(1)).getComicBookCount();
     Mockito.verify(comicBookService, Mockito.times(1))
         .findComicsMarkedForDeletion((int) TEST_COMIC_COUNT);
-    Mockito.verify(comicStateHandler, Mockito.times(comicBookList.size()))
-        .fireEvent(comicBook, ComicEvent.prepareToPurge);
+    Mockito.verify(comicStateHandler, Mockito.times(1))
+        .fireEvents(comicBookList, ComicEvent.prepareToPurge);
   }
 
   @Test
@@ -184,6 +185,6 @@ public class LibraryServiceTest {
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComicBookCount();
     Mockito.verify(comicBookService, Mockito.never()).findComicsMarkedForDeletion(Mockito.anyInt());
-    Mockito.verify(comicStateHandler, Mockito.never()).fireEvent(Mockito.any(), Mockito.any());
+    Mockito.verify(comicStateHandler, Mockito.never()).fireEvents(Mockito.any(), Mockito.any());
   }
 }
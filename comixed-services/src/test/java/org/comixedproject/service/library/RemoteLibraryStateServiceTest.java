@@ -19,8 +19,13 @@
 package org.comixedproject.service.library;
 
 import static junit.framework.TestCase.*;
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_PREVIOUS_STATE;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.library.PublishRemoteLibraryUpdateAction;
@@ -37,12 +42,15 @@ import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.statemachine.state.State;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RemoteLibraryStateServiceTest {
-  private static final long TEST_COMIC_COUNT = Math.abs(RandomUtils.nextLong());
-  private static final long TEST_DELETED_COMIC_COUNT = Math.abs(RandomUtils.nextLong());
+  private static final long TEST_COMIC_COUNT = 717L;
+  private static final long TEST_UNSCRAPED_COMIC_COUNT = Math.abs(RandomUtils.nextLong());
+  private static final long TEST_STABLE_COMIC_COUNT = 700L;
+  private static final long TEST_DELETED_COMIC_COUNT = 17L;
 
   @InjectMocks private RemoteLibraryStateService service;
   @Mock private ComicStateHandler comicStateHandler;
@@ -53,7 +61,6 @@ public class RemoteLibraryStateServiceTest {
   @Mock private List<RemoteLibrarySegmentState> teamsState;
   @Mock private List<RemoteLibrarySegmentState> locationsState;
   @Mock private List<RemoteLibrarySegmentState> storiesState;
-  @Mock private List<RemoteLibrarySegmentState> comicsState;
   @Mock private List<PublisherAndYearSegment> byPublisherAndYear;
   @Mock private PublishRemoteLibraryUpdateAction publishRemoteLibraryUpdateAction;
   @Mock private State<ComicState, ComicEvent> state;
@@ -61,9 +68,17 @@ public class RemoteLibraryStateServiceTest {
 
   @Captor private ArgumentCaptor<RemoteLibraryState> libraryStateArgumentCaptor;
 
+  private final List<RemoteLibrarySegmentState> comicsState = new ArrayList<>();
+  private final Map<String, Object> messageHeaders = new HashMap<>();
+
   @Before
   public void setUp() {
+    comicsState.add(
+        new RemoteLibrarySegmentState(ComicState.STABLE.name(), TEST_STABLE_COMIC_COUNT));
+    comicsState.add(
+        new RemoteLibrarySegmentState(ComicState.DELETED.name(), TEST_DELETED_COMIC_COUNT));
     Mockito.when(comicBookService.getComicBookCount()).thenReturn(TEST_COMIC_COUNT);
+    Mockito.when(comicBookService.getUnscrapedComicCount()).thenReturn(TEST_UNSCRAPED_COMIC_COUNT);
     Mockito.when(comicBookService.getDeletedComicCount()).thenReturn(TEST_DELETED_COMIC_COUNT);
     Mockito.when(comicBookService.getPublishersState()).thenReturn(publisherState);
     Mockito.when(comicBookService.getSeriesState()).thenReturn(seriesState);
@@ -73,6 +88,16 @@ public class RemoteLibraryStateServiceTest {
     Mockito.when(comicBookService.getStoriesState()).thenReturn(storiesState);
     Mockito.when(comicBookService.getComicBooksState()).thenReturn(comicsState);
     Mockito.when(comicBookService.getByPublisherAndYear()).thenReturn(byPublisherAndYear);
+
+    Mockito.when(message.getHeaders()).thenAnswer(invocation -> new MessageHeaders(messageHeaders));
+  }
+
+  private long getStateCount(final RemoteLibraryState libraryState, final ComicState comicState) {
+    final Optional<RemoteLibrarySegmentState> segment =
+        libraryState.getStates().stream()
+            .filter(entry -> entry.getName().equals(comicState.name()))
+            .findFirst();
+    return segment.isPresent() ? segment.get().getCount() : 0L;
   }
 
   @Test
@@ -83,36 +108,117 @@ public class RemoteLibraryStateServiceTest {
   }
 
   @Test
-  public void testComicStateChanged() throws PublishingException {
+  public void testComicStateChangedDoesNotPublishImmediately() throws PublishingException {
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.STABLE);
+    Mockito.when(state.getId()).thenReturn(ComicState.DELETED);
+
+    service.onComicStateChange(state, message);
+
+    Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.never())
+        .publish(Mockito.any(RemoteLibraryState.class));
+    Mockito.verify(comicBookService, Mockito.never()).getPublishersState();
+  }
+
+  @Test
+  public void testPublishLibraryStateNotRequested() throws PublishingException {
+    service.publishLibraryState();
+
+    Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.never())
+        .publish(Mockito.any(RemoteLibraryState.class));
+  }
+
+  @Test
+  public void testPublishLibraryStateCoalescesChanges() throws PublishingException {
+    service.getLibraryState();
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.STABLE);
+    Mockito.when(state.getId()).thenReturn(ComicState.DELETED);
     Mockito.doNothing()
         .when(publishRemoteLibraryUpdateAction)
         .publish(libraryStateArgumentCaptor.capture());
 
     service.onComicStateChange(state, message);
+    service.onComicStateChange(state, message);
+    service.publishLibraryState();
+    service.publishLibraryState();
 
     final RemoteLibraryState libraryState = libraryStateArgumentCaptor.getValue();
     assertNotNull(libraryState);
     assertEquals(TEST_COMIC_COUNT, libraryState.getTotalComics());
-    assertEquals(TEST_DELETED_COMIC_COUNT, libraryState.getDeletedComics());
+    assertEquals(TEST_UNSCRAPED_COMIC_COUNT, libraryState.getUnscrapedComics());
+    assertEquals(TEST_DELETED_COMIC_COUNT + 2L, libraryState.getDeletedComics());
+    assertEquals(TEST_STABLE_COMIC_COUNT - 2L, getStateCount(libraryState, ComicState.STABLE));
+    assertEquals(TEST_DELETED_COMIC_COUNT + 2L, getStateCount(libraryState, ComicState.DELETED));
     assertSame(publisherState, libraryState.getPublishers());
     assertSame(seriesState, libraryState.getSeries());
     assertSame(charactersState, libraryState.getCharacters());
     assertSame(teamsState, libraryState.getTeams());
     assertSame(locationsState, libraryState.getLocations());
     assertSame(storiesState, libraryState.getStories());
-    assertSame(comicsState, libraryState.getStates());
     assertSame(byPublisherAndYear, libraryState.getByPublisherAndYear());
 
     Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.times(1)).publish(libraryState);
+    Mockito.verify(comicBookService, Mockito.times(1)).getPublishersState();
   }
 
   @Test
-  public void testComicStateChangedPublishException() throws PublishingException {
+  public void testComicStateChangedToRemoved() {
+    service.getLibraryState();
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.DELETED);
+    Mockito.when(state.getId()).thenReturn(ComicState.REMOVED);
+
+    service.onComicStateChange(state, message);
+
+    final RemoteLibraryState result = service.getLibraryState();
+    assertEquals(TEST_COMIC_COUNT - 1L, result.getTotalComics());
+    assertEquals(TEST_DELETED_COMIC_COUNT - 1L, result.getDeletedComics());
+    assertEquals(0L, getStateCount(result, ComicState.REMOVED));
+  }
+
+  @Test
+  public void testComicImportedAndRemoved() {
+    service.getLibraryState();
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.ADDED);
+    Mockito.when(state.getId()).thenReturn(ComicState.UNPROCESSED);
+
+    service.onComicStateChange(state, message);
+
+    RemoteLibraryState result = service.getLibraryState();
+    assertEquals(TEST_COMIC_COUNT + 1L, result.getTotalComics());
+    assertEquals(1L, getStateCount(result, ComicState.UNPROCESSED));
+
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.UNPROCESSED);
+    Mockito.when(state.getId()).thenReturn(ComicState.REMOVED);
+
+    service.onComicStateChange(state, message);
+
+    result = service.getLibraryState();
+    assertEquals(TEST_COMIC_COUNT, result.getTotalComics());
+    assertEquals(0L, getStateCount(result, ComicState.UNPROCESSED));
+  }
+
+  @Test
+  public void testComicStateChangedToNewState() {
+    service.getLibraryState();
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.STABLE);
+    Mockito.when(state.getId()).thenReturn(ComicState.CHANGED);
+
+    service.onComicStateChange(state, message);
+
+    final RemoteLibraryState result = service.getLibraryState();
+    assertEquals(1L, getStateCount(result, ComicState.CHANGED));
+    assertEquals(TEST_STABLE_COMIC_COUNT - 1L, getStateCount(result, ComicState.STABLE));
+  }
+
+  @Test
+  public void testPublishLibraryStatePublishException() throws PublishingException {
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.STABLE);
+    Mockito.when(state.getId()).thenReturn(ComicState.CHANGED);
     Mockito.doThrow(PublishingException.class)
         .when(publishRemoteLibraryUpdateAction)
         .publish(libraryStateArgumentCaptor.capture());
 
     service.onComicStateChange(state, message);
+    service.publishLibraryState();
 
     final RemoteLibraryState libraryState = libraryStateArgumentCaptor.getValue();
     assertNotNull(libraryState);
@@ -120,12 +226,40 @@ public class RemoteLibraryStateServiceTest {
     Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.times(1)).publish(libraryState);
   }
 
+  @Test
+  public void testReconcileLibraryStateNotRequested() {
+    service.reconcileLibraryState();
+
+    Mockito.verify(comicBookService, Mockito.never()).getComicBooksState();
+  }
+
+  @Test
+  public void testReconcileLibraryState() throws PublishingException {
+    service.getLibraryState();
+    messageHeaders.put(HEADER_PREVIOUS_STATE, ComicState.STABLE);
+    Mockito.when(state.getId()).thenReturn(ComicState.DELETED);
+    service.onComicStateChange(state, message);
+
+    service.reconcileLibraryState();
+
+    final RemoteLibraryState result = service.getLibraryState();
+    assertEquals(TEST_DELETED_COMIC_COUNT, result.getDeletedComics());
+    assertEquals(TEST_STABLE_COMIC_COUNT, getStateCount(result, ComicState.STABLE));
+
+    Mockito.verify(comicBookService, Mockito.times(2)).getComicBooksState();
+
+    service.reconcileLibraryState();
+
+    Mockito.verify(comicBookService, Mockito.times(2)).getComicBooksState();
+  }
+
   @Test
   public void testGetLibraryState() {
     final RemoteLibraryState result = service.getLibraryState();
 
     assertNotNull(result);
     assertEquals(TEST_COMIC_COUNT, result.getTotalComics());
+    assertEquals(TEST_UNSCRAPED_COMIC_COUNT, result.getUnscrapedComics());
     assertEquals(TEST_DELETED_COMIC_COUNT, result.getDeletedComics());
     assertSame(publisherState, result.getPublishers());
     assertSame(seriesState, result.getSeries());
@@ -133,7 +267,8 @@ public class RemoteLibraryStateServiceTest {
     assertSame(teamsState, result.getTeams());
     assertSame(locationsState, result.getLocations());
     assertSame(storiesState, result.getStories());
-    assertSame(comicsState, result.getStates());
+    assertEquals(TEST_STABLE_COMIC_COUNT, getStateCount(result, ComicState.STABLE));
+    assertEquals(TEST_DELETED_COMIC_COUNT, getStateCount(result, ComicState.DELETED));
     assertSame(byPublisherAndYear, result.getByPublisherAndYear());
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComicBookCount();
@@ -147,4 +282,12 @@ public class RemoteLibraryStateServiceTest {
     Mockito.verify(comicBookService, Mockito.times(1)).getComicBooksState();
     Mockito.verify(comicBookService, Mockito.times(1)).getByPublisherAndYear();
   }
+
+  @Test
+  public void testGetLibraryStateLoadedOnce() {
+    service.getLibraryState();
+    service.getLibraryState();
+
+    Mockito.verify(comicBookService, Mockito.times(1)).getComicBooksState();
+  }
 }
@@ -19,7 +19,6 @@
 package org.comixedproject.service.lists;
 
 import static org.comixedproject.service.lists.ReadingListService.*;
-import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
 import static org.junit.Assert.*;
 
 import java.io.IOException;
@@ -27,7 +26,6 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import org.apache.commons.lang.StringUtils;
 import org.comixedproject.adaptors.csv.CsvAdaptor;
 import org.comixedproject.adaptors.csv.CsvRowDecoder;
@@ -42,7 +40,6 @@ import org.comixedproject.model.lists.ReadingListState;
 import org.comixedproject.model.net.DownloadDocument;
 import org.comixedproject.model.user.ComiXedUser;
 import org.comixedproject.repositories.lists.ReadingListRepository;
-import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.comixedproject.service.user.ComiXedUserException;
 import org.comixedproject.service.user.UserService;
@@ -66,6 +63,7 @@ public class ReadingListServiceTest {
   private static final String TEST_USER_EMAIL = "reader@localhost.com";
   private static final long TEST_READING_LIST_ID = 78;
   private static final Long TEST_COMIC_ID = 1000L;
+  private static final long TEST_COMIC_DETAIL_ID = 2000L;
   private static final String TEST_OWNER_EMAIL = "owner@localhost.com";
   private static final ReadingListState TEST_READING_LIST_STATE = ReadingListState.STABLE;
   private static final String TEST_POSITION = "1";
@@ -98,7 +96,6 @@ public class ReadingListServiceTest {
   @Mock private InputStream inputStream;
 
   @Captor private ArgumentCaptor<ReadingList> readingListArgumentCaptor;
-  @Captor private ArgumentCaptor<Map<String, Object>> headersArgumentCaptor;
   @Captor private ArgumentCaptor<CsvRowEncoder> rowEncoderArgumentCaptor;
   @Captor private ArgumentCaptor<CsvRowDecoder> rowDecoderArgumentCaptor;
 
@@ -306,12 +303,13 @@ public class ReadingListServiceTest {
   }
 
   @Test
-  public void testAddComicsToListComicNotFound() throws ComicBookException, ReadingListException {
+  public void testAddComicsToListNothingAdded() throws ReadingListException {
     idList.add(TEST_COMIC_ID);
 
     Mockito.when(readingListRepository.getById(Mockito.anyLong()))
         .thenReturn(readingList, loadedReadingList);
-    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
+    Mockito.when(readingListRepository.addEntries(Mockito.anyLong(), Mockito.anyList()))
+        .thenReturn(0);
 
     final ReadingList result =
         service.addComicsToList(TEST_OWNER_EMAIL, TEST_READING_LIST_ID, idList);
@@ -320,33 +318,31 @@ public class ReadingListServiceTest {
     assertSame(loadedReadingList, result);
 
     Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .addEntries(TEST_READING_LIST_ID, idList);
+    Mockito.verify(readingListStateHandler, Mockito.never())
+        .fireEvent(Mockito.any(), Mockito.any());
   }
 
   @Test
-  public void testAddComicsToList() throws ComicBookException, ReadingListException {
+  public void testAddComicsToList() throws ReadingListException {
     idList.add(TEST_COMIC_ID);
 
     Mockito.when(readingListRepository.getById(Mockito.anyLong()))
-        .thenReturn(readingList, loadedReadingList);
-    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.doNothing()
-        .when(readingListStateHandler)
-        .fireEvent(
-            Mockito.any(ReadingList.class),
-            Mockito.any(ReadingListEvent.class),
-            headersArgumentCaptor.capture());
+        .thenReturn(readingList, loadedReadingList, savedReadingList);
+    Mockito.when(readingListRepository.addEntries(Mockito.anyLong(), Mockito.anyList()))
+        .thenReturn(idList.size());
 
     ReadingList result = service.addComicsToList(TEST_OWNER_EMAIL, TEST_READING_LIST_ID, idList);
 
-    final Map<String, ?> headers = headersArgumentCaptor.getValue();
-    assertNotNull(headers);
-    assertSame(comicBook, headers.get(HEADER_COMIC));
+    assertNotNull(result);
+    assertSame(savedReadingList, result);
 
-    Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+    Mockito.verify(readingListRepository, Mockito.times(3)).getById(TEST_READING_LIST_ID);
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .addEntries(TEST_READING_LIST_ID, idList);
     Mockito.verify(readingListStateHandler, Mockito.times(1))
-        .fireEvent(readingList, ReadingListEvent.comicAdded, headers);
+        .fireEvent(loadedReadingList, ReadingListEvent.updated);
   }
 
   @Test(expected = ReadingListException.class)
@@ -372,12 +368,13 @@ public class ReadingListServiceTest {
   }
 
   @Test
-  public void testRemoveComicsFromListComicNotFound()
-      throws ComicBookException, ReadingListException {
+  public void testRemoveComicsFromListNothingRemoved() throws ReadingListException {
     idList.add(TEST_COMIC_ID);
 
     Mockito.when(readingListRepository.getById(Mockito.anyLong()))
         .thenReturn(readingList, loadedReadingList);
+    Mockito.when(readingListRepository.removeEntries(Mockito.anyLong(), Mockito.anyList()))
+        .thenReturn(0);
 
     final ReadingList result =
         service.removeComicsFromList(TEST_OWNER_EMAIL, TEST_READING_LIST_ID, idList);
@@ -386,22 +383,33 @@ public class ReadingListServiceTest {
     assertSame(loadedReadingList, result);
 
     Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .removeEntries(TEST_READING_LIST_ID, idList);
+    Mockito.verify(readingListStateHandler, Mockito.never())
+        .fireEvent(Mockito.any(), Mockito.any());
   }
 
   @Test
-  public void testRemoveComicsFromList() throws ComicBookException, ReadingListException {
+  public void testRemoveComicsFromList() throws ReadingListException {
     idList.add(TEST_COMIC_ID);
 
     Mockito.when(readingListRepository.getById(Mockito.anyLong()))
-        .thenReturn(readingList, loadedReadingList);
+        .thenReturn(readingList, loadedReadingList, savedReadingList);
+    Mockito.when(readingListRepository.removeEntries(Mockito.anyLong(), Mockito.anyList()))
+        .thenReturn(idList.size());
 
     ReadingList result =
         service.removeComicsFromList(TEST_OWNER_EMAIL, TEST_READING_LIST_ID, idList);
 
     assertNotNull(result);
-    assertSame(loadedReadingList, result);
+    assertSame(savedReadingList, result);
 
-    Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
+    Mockito.verify(readingListRepository, Mockito.times(3)).getById(TEST_READING_LIST_ID);
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .removeEntries(TEST_READING_LIST_ID, idList);
+    Mockito.verify(readingListRepository, Mockito.never()).save(Mockito.any(ReadingList.class));
+    Mockito.verify(readingListStateHandler, Mockito.times(1))
+        .fireEvent(loadedReadingList, ReadingListEvent.updated);
   }
 
   @Test
@@ -551,7 +559,7 @@ public class ReadingListServiceTest {
 
   @Test
   public void testDecodeAndCreateReadingListComicNotFound()
-      throws ComiXedUserException, ComicBookException, ReadingListException, IOException {
+      throws ComiXedUserException, ReadingListException, IOException {
     final List<String> decodingRow = new ArrayList<>();
     decodingRow.add(TEST_POSITION);
     decodingRow.add(TEST_PUBLISHER);
@@ -566,7 +574,11 @@ public class ReadingListServiceTest {
     Mockito.when(readingListRepository.save(readingListArgumentCaptor.capture()))
         .thenReturn(readingList);
     Mockito.when(readingListRepository.getById(Mockito.anyLong())).thenReturn(savedReadingList);
-    Mockito.doNothing()
+    Mockito.doAnswer(
+            invocation -> {
+              rowDecoderArgumentCaptor.getValue().processRow(1, decodingRow);
+              return null;
+            })
         .when(csvAdaptor)
         .decodeRecords(
             Mockito.any(InputStream.class), Mockito.any(), rowDecoderArgumentCaptor.capture());
@@ -580,20 +592,18 @@ public class ReadingListServiceTest {
     Mockito.verify(userService, Mockito.times(1)).findByEmail(TEST_OWNER_EMAIL);
     Mockito.verify(readingListRepository, Mockito.times(1))
         .checkForExistingReadingList(user, TEST_READING_LIST_NAME);
-
-    final CsvRowDecoder decoder = rowDecoderArgumentCaptor.getValue();
-    decoder.processRow(1, decodingRow);
-
     Mockito.verify(comicBookService, Mockito.times(1))
         .findComic(TEST_PUBLISHER, TEST_SERIES, TEST_VOLUME, TEST_ISSUE_NUMBER);
+    Mockito.verify(readingListRepository, Mockito.never())
+        .addEntries(Mockito.anyLong(), Mockito.anyList());
     Mockito.verify(readingListStateHandler, Mockito.never())
-        .fireEvent(Mockito.any(), Mockito.any(), Mockito.any());
+        .fireEvent(Mockito.any(), Mockito.eq(ReadingListEvent.updated));
     Mockito.verify(readingListRepository, Mockito.times(1)).getById(TEST_READING_LIST_ID);
   }
 
   @Test
   public void testDecodeAndCreateReadingList()
-      throws ComiXedUserException, ComicBookException, ReadingListException, IOException {
+      throws ComiXedUserException, ReadingListException, IOException {
     final List<String> decodingRow = new ArrayList<>();
     decodingRow.add(TEST_POSITION);
     decodingRow.add(TEST_PUBLISHER);
@@ -607,7 +617,11 @@ public class ReadingListServiceTest {
         .thenReturn(false);
     Mockito.when(readingListRepository.save(readingListArgumentCaptor.capture()))
         .thenReturn(savedReadingList);
-    Mockito.doNothing()
+    Mockito.doAnswer(
+            invocation -> {
+              rowDecoderArgumentCaptor.getValue().processRow(1, decodingRow);
+              return null;
+            })
         .when(csvAdaptor)
         .decodeRecords(
             Mockito.any(InputStream.class), Mockito.any(), rowDecoderArgumentCaptor.capture());
@@ -615,33 +629,25 @@ public class ReadingListServiceTest {
             comicBookService.findComic(
                 Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
         .thenReturn(comicBook);
+    Mockito.when(comicBook.getId()).thenReturn(TEST_COMIC_ID);
     Mockito.when(savedReadingList.getId()).thenReturn(TEST_READING_LIST_ID);
-    Mockito.when(readingListRepository.getById(Mockito.anyLong())).thenReturn(readingList);
-    Mockito.doNothing()
-        .when(readingListStateHandler)
-        .fireEvent(
-            Mockito.any(ReadingList.class),
-            Mockito.any(ReadingListEvent.class),
-            headersArgumentCaptor.capture());
+    Mockito.when(readingListRepository.getById(Mockito.anyLong()))
+        .thenReturn(readingList, loadedReadingList);
+    Mockito.when(readingListRepository.addEntries(Mockito.anyLong(), Mockito.anyList()))
+        .thenReturn(1);
 
     service.decodeAndCreateReadingList(TEST_OWNER_EMAIL, TEST_READING_LIST_NAME, inputStream);
 
     Mockito.verify(userService, Mockito.times(1)).findByEmail(TEST_OWNER_EMAIL);
     Mockito.verify(readingListRepository, Mockito.times(1))
         .checkForExistingReadingList(user, TEST_READING_LIST_NAME);
-
-    final CsvRowDecoder decoder = rowDecoderArgumentCaptor.getValue();
-    decoder.processRow(1, decodingRow);
-
-    final Map<String, Object> headers = headersArgumentCaptor.getValue();
-    assertFalse(headers.isEmpty());
-    assertSame(comicBook, headers.get(HEADER_COMIC));
-
-    Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
     Mockito.verify(comicBookService, Mockito.times(1))
         .findComic(TEST_PUBLISHER, TEST_SERIES, TEST_VOLUME, TEST_ISSUE_NUMBER);
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .addEntries(TEST_READING_LIST_ID, List.of(TEST_COMIC_ID));
+    Mockito.verify(readingListRepository, Mockito.times(2)).getById(TEST_READING_LIST_ID);
     Mockito.verify(readingListStateHandler, Mockito.times(1))
-        .fireEvent(readingList, ReadingListEvent.comicAdded, headers);
+        .fireEvent(loadedReadingList, ReadingListEvent.updated);
   }
 
   @Test
@@ -701,22 +707,35 @@ public class ReadingListServiceTest {
   }
 
   @Test
-  public void testDeleteReadingListEntriesForComicBook() {
-    final List<ComicDetail> entries = new ArrayList<>();
-    final List<ReadingList> readingListEntries = new ArrayList<>();
-    Mockito.when(readingList.getEntries()).thenReturn(entries);
-    readingListEntries.add(readingList);
-
-    Mockito.when(readingListRepository.getReadingListsWithComic(Mockito.any(ComicDetail.class)))
-        .thenReturn(readingListEntries);
+  public void testDeleteReadingListEntriesForComicBookNotInAnyList() {
+    Mockito.when(comicDetail.getId()).thenReturn(TEST_COMIC_DETAIL_ID);
+    Mockito.when(
+            readingListRepository.touchReadingListsWithComic(
+                Mockito.anyLong(), Mockito.any(Date.class)))
+        .thenReturn(0);
 
     service.deleteEntriesForComicBook(comicBook);
 
-    assertTrue(entries.isEmpty());
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .touchReadingListsWithComic(Mockito.eq(TEST_COMIC_DETAIL_ID), Mockito.any(Date.class));
+    Mockito.verify(readingListRepository, Mockito.never()).removeEntriesForComic(Mockito.anyLong());
+  }
 
-    Mockito.verify(readingListRepository, Mockito.times(1)).getReadingListsWithComic(comicDetail);
-    Mockito.verify(readingList, Mockito.times(1)).getEntries();
-    Mockito.verify(readingListRepository, Mockito.times(1)).save(readingList);
+  @Test
+  public void testDeleteReadingListEntriesForComicBook() {
+    Mockito.when(comicDetail.getId()).thenReturn(TEST_COMIC_DETAIL_ID);
+    Mockito.when(
+            readingListRepository.touchReadingListsWithComic(
+                Mockito.anyLong(), Mockito.any(Date.class)))
+        .thenReturn(2);
+
+    service.deleteEntriesForComicBook(comicBook);
+
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .touchReadingListsWithComic(Mockito.eq(TEST_COMIC_DETAIL_ID), Mockito.any(Date.class));
+    Mockito.verify(readingListRepository, Mockito.times(1))
+        .removeEntriesForComic(TEST_COMIC_DETAIL_ID);
+    Mockito.verify(readingListRepository, Mockito.never()).save(Mockito.any(ReadingList.class));
   }
 
   @Test
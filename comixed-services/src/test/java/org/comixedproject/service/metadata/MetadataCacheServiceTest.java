@@ -20,42 +20,64 @@ package org.comixedproject.service.metadata;
 
 import static junit.framework.TestCase.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import org.comixedproject.model.metadata.MetadataCache;
-import org.comixedproject.model.metadata.MetadataCacheEntry;
 import org.comixedproject.repositories.metadata.MetadataCacheRepository;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MetadataCacheServiceTest {
   private static final String TEST_SOURCE = "Source.Name";
   private static final String TEST_KEY = "Entry.Key";
+  private static final String TEST_OTHER_KEY = "Other.Entry.Key";
   private static final Date TEST_EXPIRED_CREATED_ON_DATE =
       new Date(System.currentTimeMillis() - 8L * 24L * 60L * 60L * 1000L);
   private static final Date TEST_UNEXPECTED_CREATED_ON_DATE =
       new Date(System.currentTimeMillis() - 6L * 24L * 60L * 60L * 1000L);
   private static final String TEST_SCRAPING_CACHE_ENTRY = "This is the scraping cache entry value";
+  private static final int TEST_MAXIMUM_MEMORY_ENTRIES = 8;
 
   @InjectMocks private MetadataCacheService service;
   @Mock private MetadataCacheRepository metadataCacheRepository;
   @Captor private ArgumentCaptor<MetadataCache> scrapingCacheArgumentCaptor;
+  @Captor private ArgumentCaptor<byte[]> cachedValuesArgumentCaptor;
+  @Captor private ArgumentCaptor<Date> dateArgumentCaptor;
   @Mock private MetadataCache existingScapingCache;
   @Mock private MetadataCache metadataCacheRecord;
-  @Mock private MetadataCacheEntry metadataCacheEntry;
 
   private List<String> valuesList = new ArrayList<>();
-  private List<MetadataCacheEntry> scrapingCacheEntries = new ArrayList<>();
 
-  @Test
-  public void testSaveToCache() {
+  @Before
+  public void setUp() {
+    service.maximumMemoryEntries = TEST_MAXIMUM_MEMORY_ENTRIES;
     for (int index = 0; index < 100; index++)
-      valuesList.add(String.valueOf(System.currentTimeMillis()));
+      valuesList.add(String.format("%s-%d", TEST_SCRAPING_CACHE_ENTRY, index));
+  }
+
+  @Test
+  public void testEncodeAndDecodeValues() throws IOException {
+    final byte[] encoded = service.encodeValues(valuesList);
+
+    assertNotNull(encoded);
+    assertEquals(valuesList, service.decodeValues(encoded));
+  }
+
+  @Test(expected = IOException.class)
+  public void testDecodeValuesInvalid() throws IOException {
+    service.decodeValues(TEST_SCRAPING_CACHE_ENTRY.getBytes());
+  }
 
+  @Test
+  public void testSaveToCache() throws IOException {
     Mockito.when(metadataCacheRepository.getFromCache(Mockito.any(), Mockito.anyString()))
         .thenReturn(null);
     Mockito.when(metadataCacheRepository.save(scrapingCacheArgumentCaptor.capture()))
@@ -63,47 +85,65 @@ public class MetadataCacheServiceTest {
 
     service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
 
-    assertNotNull(scrapingCacheArgumentCaptor.getValue());
     final MetadataCache cacheEntry = scrapingCacheArgumentCaptor.getValue();
-    for (int index = 0; index < cacheEntry.getEntries().size(); index++) {
-      final MetadataCacheEntry entry = cacheEntry.getEntries().get(index);
-      assertSame(cacheEntry, entry.getMetadataCache());
-      assertEquals(index, entry.getEntryNumber().intValue());
-      assertEquals(valuesList.get(index), entry.getEntryValue());
-    }
+    assertNotNull(cacheEntry);
+    assertEquals(TEST_SOURCE, cacheEntry.getSource());
+    assertEquals(TEST_KEY, cacheEntry.getCacheKey());
+    assertEquals(valuesList, service.decodeValues(cacheEntry.getCachedValues()));
 
     Mockito.verify(metadataCacheRepository, Mockito.times(1)).getFromCache(TEST_SOURCE, TEST_KEY);
     Mockito.verify(metadataCacheRepository, Mockito.never()).delete(Mockito.any());
-    Mockito.verify(metadataCacheRepository, Mockito.times(1))
-        .save(scrapingCacheArgumentCaptor.getValue());
+    Mockito.verify(metadataCacheRepository, Mockito.never()).flush();
   }
 
   @Test
-  public void testSaveToCacheExistingEntry() {
-    for (int index = 0; index < 100; index++)
-      valuesList.add(String.valueOf(System.currentTimeMillis()));
-
+  public void testSaveToCacheExistingEntry() throws IOException {
     Mockito.when(metadataCacheRepository.getFromCache(Mockito.any(), Mockito.anyString()))
         .thenReturn(existingScapingCache);
-    Mockito.when(metadataCacheRepository.save(scrapingCacheArgumentCaptor.capture()))
-        .thenReturn(metadataCacheRecord);
+    Mockito.doNothing()
+        .when(existingScapingCache)
+        .setCachedValues(cachedValuesArgumentCaptor.capture());
+    Mockito.doNothing().when(existingScapingCache).setCreatedOn(dateArgumentCaptor.capture());
 
     service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
 
-    assertNotNull(scrapingCacheArgumentCaptor.getValue());
-    final MetadataCache cacheEntry = scrapingCacheArgumentCaptor.getValue();
-    for (int index = 0; index < cacheEntry.getEntries().size(); index++) {
-      final MetadataCacheEntry entry = cacheEntry.getEntries().get(index);
-      assertSame(cacheEntry, entry.getMetadataCache());
-      assertEquals(index, entry.getEntryNumber().intValue());
-      assertEquals(valuesList.get(index), entry.getEntryValue());
-    }
+    assertEquals(valuesList, service.decodeValues(cachedValuesArgumentCaptor.getValue()));
+    assertNotNull(dateArgumentCaptor.getValue());
 
     Mockito.verify(metadataCacheRepository, Mockito.times(1)).getFromCache(TEST_SOURCE, TEST_KEY);
-    Mockito.verify(metadataCacheRepository, Mockito.times(1)).delete(existingScapingCache);
-    Mockito.verify(metadataCacheRepository, Mockito.times(1)).flush();
-    Mockito.verify(metadataCacheRepository, Mockito.times(1))
-        .save(scrapingCacheArgumentCaptor.getValue());
+    Mockito.verify(metadataCacheRepository, Mockito.never()).delete(Mockito.any());
+    Mockito.verify(metadataCacheRepository, Mockito.never()).flush();
+    Mockito.verify(metadataCacheRepository, Mockito.times(1)).save(existingScapingCache);
+  }
+
+  @Test
+  public void testGetFromCacheAfterSaveUsesMemory() {
+    service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
+
+    final List<String> result = service.getFromCache(TEST_SOURCE, TEST_KEY);
+
+    assertEquals(valuesList, result);
+
+    Mockito.verify(metadataCacheRepository, Mockito.times(1)).getFromCache(TEST_SOURCE, TEST_KEY);
+  }
+
+  @Test
+  public void testSaveToCacheInTransactionUsesMemoryAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
+
+      assertNull(service.getFromCache(TEST_SOURCE, TEST_KEY));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(valuesList, service.getFromCache(TEST_SOURCE, TEST_KEY));
+
+    Mockito.verify(metadataCacheRepository, Mockito.times(2)).getFromCache(TEST_SOURCE, TEST_KEY);
   }
 
   @Test
@@ -129,36 +169,75 @@ public class MetadataCacheServiceTest {
     assertNull(result);
 
     Mockito.verify(metadataCacheRepository, Mockito.times(1)).getFromCache(TEST_SOURCE, TEST_KEY);
-    Mockito.verify(metadataCacheRepository, Mockito.times(1)).delete(existingScapingCache);
+    Mockito.verify(metadataCacheRepository, Mockito.never()).delete(Mockito.any());
   }
 
   @Test
-  public void testGetFromCache() {
-    for (int index = 0; index < 100; index++) scrapingCacheEntries.add(metadataCacheEntry);
+  public void testGetFromCacheInvalidValues() {
+    Mockito.when(metadataCacheRepository.getFromCache(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(existingScapingCache);
+    Mockito.when(existingScapingCache.getCreatedOn()).thenReturn(TEST_UNEXPECTED_CREATED_ON_DATE);
+    Mockito.when(existingScapingCache.getCachedValues())
+        .thenReturn(TEST_SCRAPING_CACHE_ENTRY.getBytes());
 
+    final List<String> result = this.service.getFromCache(TEST_SOURCE, TEST_KEY);
+
+    assertNull(result);
+  }
+
+  @Test
+  public void testGetFromCache() throws IOException {
     Mockito.when(metadataCacheRepository.getFromCache(Mockito.anyString(), Mockito.anyString()))
         .thenReturn(existingScapingCache);
     Mockito.when(existingScapingCache.getCreatedOn()).thenReturn(TEST_UNEXPECTED_CREATED_ON_DATE);
-    Mockito.when(existingScapingCache.getEntries()).thenReturn(scrapingCacheEntries);
-    Mockito.when(metadataCacheEntry.getEntryValue()).thenReturn(TEST_SCRAPING_CACHE_ENTRY);
+    Mockito.when(existingScapingCache.getCachedValues())
+        .thenReturn(service.encodeValues(valuesList));
 
     final List<String> result = this.service.getFromCache(TEST_SOURCE, TEST_KEY);
 
     assertNotNull(result);
-    assertFalse(result.isEmpty());
-    assertEquals(scrapingCacheEntries.size(), result.size());
-    for (int index = 0; index < result.size(); index++) {
-      assertEquals(TEST_SCRAPING_CACHE_ENTRY, result.get(index));
-    }
+    assertEquals(valuesList, result);
+
+    assertEquals(valuesList, this.service.getFromCache(TEST_SOURCE, TEST_KEY));
 
     Mockito.verify(metadataCacheRepository, Mockito.times(1)).getFromCache(TEST_SOURCE, TEST_KEY);
     Mockito.verify(metadataCacheRepository, Mockito.never()).delete(Mockito.any());
   }
 
+  @Test
+  public void testGetFromCacheEvictsLeastRecentlyUsed() {
+    service.maximumMemoryEntries = 1;
+    service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
+    service.saveToCache(TEST_SOURCE, TEST_OTHER_KEY, valuesList);
+
+    assertNull(service.getFromCache(TEST_SOURCE, TEST_KEY));
+    assertEquals(valuesList, service.getFromCache(TEST_SOURCE, TEST_OTHER_KEY));
+
+    Mockito.verify(metadataCacheRepository, Mockito.times(2)).getFromCache(TEST_SOURCE, TEST_KEY);
+    Mockito.verify(metadataCacheRepository, Mockito.times(1))
+        .getFromCache(TEST_SOURCE, TEST_OTHER_KEY);
+  }
+
+  @Test
+  public void testPurgeExpiredEntries() {
+    Mockito.when(metadataCacheRepository.deleteCreatedBefore(dateArgumentCaptor.capture()))
+        .thenReturn(5);
+
+    service.purgeExpiredEntries();
+
+    assertTrue(dateArgumentCaptor.getValue().before(TEST_UNEXPECTED_CREATED_ON_DATE));
+    assertTrue(dateArgumentCaptor.getValue().after(TEST_EXPIRED_CREATED_ON_DATE));
+  }
+
   @Test
   public void testClearCache() {
+    service.saveToCache(TEST_SOURCE, TEST_KEY, valuesList);
+
     service.clearCache();
 
-    Mockito.verify(metadataCacheRepository, Mockito.times(1)).deleteAll();
+    assertNull(service.getFromCache(TEST_SOURCE, TEST_KEY));
+
+    Mockito.verify(metadataCacheRepository, Mockito.times(1)).deleteAllInBatch();
+    Mockito.verify(metadataCacheRepository, Mockito.times(2)).getFromCache(TEST_SOURCE, TEST_KEY);
   }
 }
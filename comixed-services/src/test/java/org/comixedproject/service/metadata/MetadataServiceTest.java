@@ -30,6 +30,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import org.comixedproject.metadata.MetadataAdaptorRegistry;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.adaptors.MetadataAdaptor;
@@ -100,6 +102,7 @@ public class MetadataServiceTest {
   @Mock private ImprintService imprintService;
   @Mock private MetadataSource metadataSource;
   @Mock private List<Issue> issueList;
+  @Mock private MetadataSourceRateLimiter metadataSourceRateLimiter;
 
   @Captor private ArgumentCaptor<List<Issue>> issueListArgumentCaptor;
 
@@ -775,6 +778,105 @@ public class MetadataServiceTest {
     Mockito.verify(imprintService, Mockito.times(1)).update(comicBook);
   }
 
+  @Test
+  public void testPrefetchIssueDetailsCached()
+      throws MetadataException, JsonProcessingException, InterruptedException {
+    cachedEntryList.add(TEST_ENCODED_VALUE);
+
+    Mockito.when(metadataCacheService.getFromCache(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(cachedEntryList);
+    Mockito.when(objectMapper.readValue(Mockito.anyString(), Mockito.any(Class.class)))
+        .thenReturn(issueDetailsMetadata);
+
+    metadataService.prefetchIssueDetails(TEST_METADATA_SOURCE_ID, TEST_ISSUE_ID, false);
+
+    Mockito.verify(metadataCacheService, Mockito.times(1))
+        .getFromCache(TEST_CACHE_SOURCE, TEST_ISSUE_DETAILS_KEY);
+    Mockito.verify(metadataAdaptor, Mockito.never())
+        .getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class));
+    Mockito.verify(metadataSourceRateLimiter, Mockito.never()).acquire(Mockito.any());
+  }
+
+  @Test
+  public void testPrefetchIssueDetails()
+      throws MetadataException, JsonProcessingException, InterruptedException {
+    Mockito.when(metadataSource.getId()).thenReturn(TEST_METADATA_SOURCE_ID);
+    Mockito.when(
+            metadataAdaptor.getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class)))
+        .thenReturn(issueDetailsMetadata);
+    Mockito.when(objectMapper.writeValueAsString(Mockito.any(IssueDetailsMetadata.class)))
+        .thenReturn(TEST_ENCODED_VALUE);
+
+    metadataService.prefetchIssueDetails(TEST_METADATA_SOURCE_ID, TEST_ISSUE_ID, true);
+
+    Mockito.verify(metadataSourceRateLimiter, Mockito.times(1)).acquire(TEST_METADATA_SOURCE_ID);
+    Mockito.verify(metadataAdaptor, Mockito.times(1))
+        .getIssueDetails(TEST_ISSUE_ID, metadataSource);
+    Mockito.verify(metadataCacheService, Mockito.times(1))
+        .saveToCache(
+            Mockito.eq(TEST_CACHE_SOURCE), Mockito.eq(TEST_ISSUE_DETAILS_KEY), Mockito.anyList());
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testPrefetchIssueDetailsInterrupted() throws MetadataException, InterruptedException {
+    Mockito.doThrow(InterruptedException.class)
+        .when(metadataSourceRateLimiter)
+        .acquire(Mockito.any());
+
+    try {
+      metadataService.prefetchIssueDetails(TEST_METADATA_SOURCE_ID, TEST_ISSUE_ID, true);
+    } finally {
+      assertTrue(Thread.interrupted());
+      Mockito.verify(metadataAdaptor, Mockito.never())
+          .getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class));
+    }
+  }
+
+  @Test
+  public void testPrefetchIssueDetailsCoalescesRequests()
+      throws MetadataException, InterruptedException, JsonProcessingException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    Mockito.when(
+            metadataAdaptor.getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class)))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              release.await();
+              return issueDetailsMetadata;
+            });
+    Mockito.when(objectMapper.writeValueAsString(Mockito.any(IssueDetailsMetadata.class)))
+        .thenReturn(TEST_ENCODED_VALUE);
+
+    final Runnable prefetch =
+        () -> {
+          try {
+            metadataService.prefetchIssueDetails(TEST_METADATA_SOURCE_ID, TEST_ISSUE_ID, true);
+          } catch (MetadataException error) {
+            failure.set(error);
+          }
+        };
+    final Thread first = new Thread(prefetch);
+    final Thread second = new Thread(prefetch);
+
+    first.start();
+    started.await();
+    second.start();
+    while (second.getState() != Thread.State.WAITING && second.isAlive()) Thread.sleep(5L);
+    release.countDown();
+    first.join();
+    second.join();
+
+    assertNull(failure.get());
+
+    Mockito.verify(metadataAdaptor, Mockito.times(1))
+        .getIssueDetails(TEST_ISSUE_ID, metadataSource);
+    Mockito.verify(metadataCacheService, Mockito.times(1))
+        .saveToCache(Mockito.anyString(), Mockito.anyString(), Mockito.anyList());
+  }
+
   @Test(expected = MetadataException.class)
   public void testFetchIssuesForSeriesInvalidSourceId()
       throws MetadataSourceException, MetadataException {
@@ -0,0 +1,96 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.metadata;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetadataSourceRateLimiterTest {
+  private static final Long TEST_METADATA_SOURCE_ID = 73L;
+  private static final Long TEST_OTHER_METADATA_SOURCE_ID = 97L;
+  private static final long ONE_SECOND = 1_000_000_000L;
+  private static final long TEST_NOW = 5L * ONE_SECOND;
+
+  @InjectMocks private MetadataSourceRateLimiter rateLimiter;
+
+  @Before
+  public void setUp() {
+    rateLimiter.requestsPerMinute = 60;
+    rateLimiter.burstSize = 2;
+  }
+
+  @Test
+  public void testReserveWithinBurst() {
+    assertEquals(0L, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW));
+    assertEquals(0L, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW));
+  }
+
+  @Test
+  public void testReserveQueuesRequests() {
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+
+    assertEquals(ONE_SECOND, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW));
+    assertEquals(2L * ONE_SECOND, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW));
+  }
+
+  @Test
+  public void testReserveRefillsOverTime() {
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+
+    assertEquals(0L, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW + ONE_SECOND));
+    assertEquals(ONE_SECOND, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW + ONE_SECOND));
+  }
+
+  @Test
+  public void testReserveDoesNotExceedBurst() {
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+
+    final long later = TEST_NOW + 60L * ONE_SECOND;
+    assertEquals(0L, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, later));
+    assertEquals(0L, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, later));
+    assertEquals(ONE_SECOND, rateLimiter.reserve(TEST_METADATA_SOURCE_ID, later));
+  }
+
+  @Test
+  public void testReserveSourcesAreIndependent() {
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+    rateLimiter.reserve(TEST_METADATA_SOURCE_ID, TEST_NOW);
+
+    assertEquals(0L, rateLimiter.reserve(TEST_OTHER_METADATA_SOURCE_ID, TEST_NOW));
+  }
+
+  @Test
+  public void testAcquireDisabled() throws InterruptedException {
+    rateLimiter.requestsPerMinute = 0;
+    final long started = System.currentTimeMillis();
+
+    for (int index = 0; index < 10; index++) rateLimiter.acquire(TEST_METADATA_SOURCE_ID);
+
+    assertTrue(System.currentTimeMillis() - started < 1000L);
+  }
+}
@@ -60,6 +60,7 @@ public class UserServiceTest {
   @Mock private ComiXedUser userRecord;
   @Mock private ComiXedRole adminRole;
   @Mock private ComiXedRole readerRole;
+  @Mock private UserChangeListener userChangeListener;
 
   @Captor private ArgumentCaptor<ComiXedUser> userArgumentCaptor;
 
@@ -269,6 +270,17 @@ public class UserServiceTest {
     Mockito.verify(publishCurrentUserAction, Mockito.times(1)).publish(userRecord);
   }
 
+  @Test
+  public void testUpdateCurrentUserNotifiesListeners() throws ComiXedUserException {
+    Mockito.when(userRepository.getById(Mockito.anyLong())).thenReturn(user);
+    Mockito.when(userRepository.save(user)).thenReturn(userRecord);
+
+    service.addListener(userChangeListener);
+    service.updateCurrentUser(TEST_USER_ID, TEST_EMAIL, null);
+
+    Mockito.verify(userChangeListener, Mockito.times(1)).onUserChanged(userRecord);
+  }
+
   @Test
   public void testUpdateCurrentUserNullPassword() throws ComiXedUserException {
     Mockito.when(userRepository.getById(Mockito.anyLong())).thenReturn(user);
@@ -0,0 +1,49 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.state.comicbooks;
+
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
+
+/**
+ * <code>ComicStateChange</code> records a single comic state change that is delivered to listeners
+ * as part of a batch.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class ComicStateChange {
+  @Getter private State<ComicState, ComicEvent> state;
+  @Getter private Message<ComicEvent> message;
+
+  /**
+   * Returns the comic book that changed state.
+   *
+   * @return the comic book
+   */
+  public ComicBook getComicBook() {
+    return this.message.getHeaders().get(HEADER_COMIC, ComicBook.class);
+  }
+}
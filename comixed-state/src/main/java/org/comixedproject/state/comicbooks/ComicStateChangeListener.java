@@ -18,6 +18,7 @@
 
 package org.comixedproject.state.comicbooks;
 
+import java.util.List;
 import org.comixedproject.model.comicbooks.ComicState;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.state.State;
@@ -36,4 +37,14 @@ public interface ComicStateChangeListener {
    * @param message the event message
    */
   void onComicStateChange(State<ComicState, ComicEvent> state, Message<ComicEvent> message);
+
+  /**
+   * Invoked once with every state change caused by a single bulk event. By default each change is
+   * passed to {@link #onComicStateChange(State, Message)} in turn.
+   *
+   * @param changes the state changes
+   */
+  default void onComicStateChanges(final List<ComicStateChange> changes) {
+    changes.forEach(change -> this.onComicStateChange(change.getState(), change.getMessage()));
+  }
 }
@@ -18,20 +18,27 @@
 
 package org.comixedproject.state.comicbooks;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArraySet;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicState;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
-import org.springframework.statemachine.support.LifecycleObjectSupport;
 import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.stereotype.Component;
@@ -44,20 +51,35 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Log4j2
-public class ComicStateHandler extends LifecycleObjectSupport {
+public class ComicStateHandler {
   public static final String HEADER_COMIC = "header.comic";
+  public static final String HEADER_PREVIOUS_STATE = "header.previous-state";
   public static final String HEADER_DELETE_REMOVED_COMIC_FILE = "header.remove-comic-file";
   public static final String HEADER_TARGET_DIRECTORY = "header.target-directory";
   public static final String HEADER_RENAMING_RULE = "header.renaming-rule";
   public static final String HEADER_USER = "header.user";
+  static final String HEADER_STATE_CHANGES = "header.state-changes";
 
-  @Autowired private StateMachine<ComicState, ComicEvent> stateMachine;
+  @Autowired
+  @Qualifier("comicStateMachineFactory")
+  private StateMachineFactory<ComicState, ComicEvent> stateMachineFactory;
 
-  private Set<ComicStateChangeListener> listeners = new HashSet<>();
+  private final Set<ComicStateChangeListener> listeners = new CopyOnWriteArraySet<>();
+  private final Deque<StateMachine<ComicState, ComicEvent>> idleStateMachines =
+      new ConcurrentLinkedDeque<>();
 
-  @Override
-  protected void onInit() throws Exception {
-    this.stateMachine
+  /**
+   * Returns an idle state machine, creating a new one if all existing machines are in use.
+   *
+   * @return the state machine
+   */
+  StateMachine<ComicState, ComicEvent> borrowStateMachine() {
+    final StateMachine<ComicState, ComicEvent> result = this.idleStateMachines.pollFirst();
+    if (result != null) return result;
+    log.debug("Creating comic state machine");
+    final StateMachine<ComicState, ComicEvent> stateMachine =
+        this.stateMachineFactory.getStateMachine();
+    stateMachine
         .getStateMachineAccessor()
         .doWithAllRegions(
             function ->
@@ -70,9 +92,28 @@ public class ComicStateHandler extends LifecycleObjectSupport {
                           final Transition<ComicState, ComicEvent> transition,
                           final StateMachine<ComicState, ComicEvent> stateMachine,
                           final StateMachine<ComicState, ComicEvent> rootStateMachine) {
-                        listeners.forEach(listener -> listener.onComicStateChange(state, message));
+                        final ComicStateChangeBatch batch =
+                            message
+                                .getHeaders()
+                                .get(HEADER_STATE_CHANGES, ComicStateChangeBatch.class);
+                        if (batch != null) {
+                          batch.add(new ComicStateChange(state, message));
+                        } else {
+                          listeners.forEach(
+                              listener -> listener.onComicStateChange(state, message));
+                        }
                       }
                     }));
+    return stateMachine;
+  }
+
+  /**
+   * Returns a state machine for use by later events.
+   *
+   * @param stateMachine the state machine
+   */
+  void releaseStateMachine(final StateMachine<ComicState, ComicEvent> stateMachine) {
+    this.idleStateMachines.offerFirst(stateMachine);
   }
 
   /**
@@ -96,7 +137,8 @@ public class ComicStateHandler extends LifecycleObjectSupport {
   }
 
   /**
-   * Initiates a state event.
+   * Initiates a state event. Each event is run on a state machine that no other thread is using, so
+   * events for different comics can be processed concurrently.
    *
    * @param comicBook the comicBook
    * @param event the event
@@ -104,21 +146,82 @@ public class ComicStateHandler extends LifecycleObjectSupport {
    */
   public void fireEvent(
       final ComicBook comicBook, final ComicEvent event, final Map<String, Object> headers) {
+    final StateMachine<ComicState, ComicEvent> stateMachine = this.borrowStateMachine();
+    try {
+      this.doFireEvent(stateMachine, comicBook, event, headers);
+    } finally {
+      this.releaseStateMachine(stateMachine);
+    }
+  }
+
+  /**
+   * Initiates the same state event for a set of comics. The resulting state changes are collected
+   * and each listener is notified once with all of them.
+   *
+   * @param comicBooks the comic books
+   * @param event the event
+   */
+  public void fireEvents(final List<ComicBook> comicBooks, final ComicEvent event) {
+    this.fireEvents(comicBooks, event, Collections.emptyMap());
+  }
+
+  /**
+   * Initiates the same state event for a set of comics. The resulting state changes are collected
+   * and each listener is notified once with all of them.
+   *
+   * @param comicBooks the comic books
+   * @param event the event
+   * @param headers the message headers
+   */
+  public void fireEvents(
+      final List<ComicBook> comicBooks, final ComicEvent event, final Map<String, Object> headers) {
+    log.debug("Firing event for {} comic book(s): {}", comicBooks.size(), event);
+    final ComicStateChangeBatch batch = new ComicStateChangeBatch();
+    final Map<String, Object> batchHeaders = new HashMap<>(headers);
+    batchHeaders.put(HEADER_STATE_CHANGES, batch);
+    final StateMachine<ComicState, ComicEvent> stateMachine = this.borrowStateMachine();
+    try {
+      comicBooks.forEach(
+          comicBook -> this.doFireEvent(stateMachine, comicBook, event, batchHeaders));
+    } finally {
+      this.releaseStateMachine(stateMachine);
+    }
+    final List<ComicStateChange> changes = batch.getChanges();
+    if (changes.isEmpty()) return;
+    log.debug("Notifying listeners of {} state change(s)", changes.size());
+    this.listeners.forEach(listener -> listener.onComicStateChanges(changes));
+  }
+
+  private void doFireEvent(
+      final StateMachine<ComicState, ComicEvent> stateMachine,
+      final ComicBook comicBook,
+      final ComicEvent event,
+      final Map<String, Object> headers) {
     log.debug("Firing comicBook event: {} => {}", comicBook.getId(), event);
     final Message<ComicEvent> message =
         MessageBuilder.withPayload(event)
             .copyHeaders(headers)
             .setHeader(HEADER_COMIC, comicBook)
+            .setHeader(HEADER_PREVIOUS_STATE, comicBook.getComicDetail().getComicState())
             .build();
-    this.stateMachine.stop();
-    this.stateMachine
+    stateMachine.stop();
+    stateMachine
         .getStateMachineAccessor()
         .doWithAllRegions(
             access ->
                 access.resetStateMachine(
                     new DefaultStateMachineContext<>(
                         comicBook.getComicDetail().getComicState(), null, null, null)));
-    this.stateMachine.start();
-    this.stateMachine.sendEvent(message);
+    stateMachine.start();
+    stateMachine.sendEvent(message);
+  }
+
+  /** Collects the state changes made while firing an event for a set of comics. */
+  static class ComicStateChangeBatch {
+    @Getter private final List<ComicStateChange> changes = new ArrayList<>();
+
+    void add(final ComicStateChange change) {
+      this.changes.add(change);
+    }
   }
 }
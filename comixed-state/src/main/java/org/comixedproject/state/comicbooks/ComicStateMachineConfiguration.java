@@ -25,19 +25,20 @@ import org.comixedproject.state.comicbooks.actions.*;
 import org.comixedproject.state.comicbooks.guards.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.statemachine.config.EnableStateMachine;
+import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 
 /**
  * <code>ComicStateMachineConfiguration</code> provides a state machine configuration to manage the
- * state for instances of {@link ComicBook}.
+ * state for instances of {@link ComicBook}. A factory is created rather than a single machine so
+ * that transitions for different comics can be evaluated concurrently.
  *
  * @author Darryl L. Pierce
  */
 @Configuration
-@EnableStateMachine(name = "comicStateMachine")
+@EnableStateMachineFactory(name = "comicStateMachineFactory")
 public class ComicStateMachineConfiguration
     extends EnumStateMachineConfigurerAdapter<ComicState, ComicEvent> {
   @Autowired private PrepareComicForProcessingAction prepareComicForProcessingAction;
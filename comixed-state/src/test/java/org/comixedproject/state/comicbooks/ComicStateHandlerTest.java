@@ -0,0 +1,162 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2024, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.state.comicbooks;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_COMIC;
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_PREVIOUS_STATE;
+import static org.comixedproject.state.comicbooks.ComicStateHandler.HEADER_STATE_CHANGES;
+
+import java.util.List;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicbooks.ComicState;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.*;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.access.StateMachineAccessor;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.state.State;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicStateHandlerTest {
+  private static final ComicEvent TEST_EVENT = ComicEvent.readyForProcessing;
+  private static final ComicState TEST_STATE = ComicState.ADDED;
+
+  @InjectMocks private ComicStateHandler handler;
+  @Mock private StateMachineFactory<ComicState, ComicEvent> stateMachineFactory;
+  @Mock private StateMachine<ComicState, ComicEvent> stateMachine;
+  @Mock private StateMachine<ComicState, ComicEvent> otherStateMachine;
+  @Mock private StateMachineAccessor<ComicState, ComicEvent> stateMachineAccessor;
+  @Mock private ComicBook comicBook;
+  @Mock private ComicDetail comicDetail;
+  @Mock private ComicStateChangeListener listener;
+  @Mock private State<ComicState, ComicEvent> state;
+
+  @Captor private ArgumentCaptor<Message<ComicEvent>> messageArgumentCaptor;
+  @Captor private ArgumentCaptor<List<ComicStateChange>> changesArgumentCaptor;
+
+  @Before
+  public void setUp() {
+    Mockito.when(stateMachineFactory.getStateMachine()).thenReturn(stateMachine, otherStateMachine);
+    Mockito.when(stateMachine.getStateMachineAccessor()).thenReturn(stateMachineAccessor);
+  }
+
+  @Test
+  public void testBorrowStateMachineCreatesMachine() {
+    final StateMachine<ComicState, ComicEvent> result = handler.borrowStateMachine();
+
+    assertSame(stateMachine, result);
+
+    Mockito.verify(stateMachineFactory, Mockito.times(1)).getStateMachine();
+    Mockito.verify(stateMachineAccessor, Mockito.times(1)).doWithAllRegions(Mockito.any());
+  }
+
+  @Test
+  public void testBorrowStateMachineReusesReleasedMachine() {
+    handler.releaseStateMachine(handler.borrowStateMachine());
+
+    final StateMachine<ComicState, ComicEvent> result = handler.borrowStateMachine();
+
+    assertSame(stateMachine, result);
+
+    Mockito.verify(stateMachineFactory, Mockito.times(1)).getStateMachine();
+  }
+
+  @Test
+  public void testBorrowStateMachineWhileInUse() {
+    Mockito.when(otherStateMachine.getStateMachineAccessor()).thenReturn(stateMachineAccessor);
+
+    final StateMachine<ComicState, ComicEvent> first = handler.borrowStateMachine();
+    final StateMachine<ComicState, ComicEvent> second = handler.borrowStateMachine();
+
+    assertNotSame(first, second);
+
+    Mockito.verify(stateMachineFactory, Mockito.times(2)).getStateMachine();
+  }
+
+  @Test
+  public void testFireEvent() {
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getComicState()).thenReturn(TEST_STATE);
+    Mockito.when(stateMachine.sendEvent(messageArgumentCaptor.capture())).thenReturn(true);
+
+    handler.fireEvent(comicBook, TEST_EVENT);
+
+    final Message<ComicEvent> message = messageArgumentCaptor.getValue();
+    assertSame(TEST_EVENT, message.getPayload());
+    assertSame(comicBook, message.getHeaders().get(HEADER_COMIC));
+    assertSame(TEST_STATE, message.getHeaders().get(HEADER_PREVIOUS_STATE));
+
+    final InOrder inOrder = Mockito.inOrder(stateMachine);
+    inOrder.verify(stateMachine, Mockito.times(1)).stop();
+    inOrder.verify(stateMachine, Mockito.times(1)).start();
+    inOrder.verify(stateMachine, Mockito.times(1)).sendEvent(message);
+
+    assertSame(stateMachine, handler.borrowStateMachine());
+  }
+
+  @Test
+  public void testFireEvents() {
+    handler.addListener(listener);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getComicState()).thenReturn(TEST_STATE);
+    Mockito.when(stateMachine.sendEvent(Mockito.any(Message.class)))
+        .thenAnswer(
+            invocation -> {
+              final Message<ComicEvent> message = invocation.getArgument(0);
+              message
+                  .getHeaders()
+                  .get(HEADER_STATE_CHANGES, ComicStateHandler.ComicStateChangeBatch.class)
+                  .add(new ComicStateChange(state, message));
+              return true;
+            });
+
+    handler.fireEvents(List.of(comicBook, comicBook), TEST_EVENT);
+
+    Mockito.verify(stateMachine, Mockito.times(2)).sendEvent(Mockito.any(Message.class));
+    Mockito.verify(stateMachineFactory, Mockito.times(1)).getStateMachine();
+    Mockito.verify(listener, Mockito.times(1)).onComicStateChanges(changesArgumentCaptor.capture());
+    Mockito.verify(listener, Mockito.never())
+        .onComicStateChange(Mockito.any(), Mockito.any(Message.class));
+
+    final List<ComicStateChange> changes = changesArgumentCaptor.getValue();
+    assertEquals(2, changes.size());
+    assertSame(comicBook, changes.get(0).getComicBook());
+    assertSame(state, changes.get(0).getState());
+  }
+
+  @Test
+  public void testFireEventsNoStateChanges() {
+    handler.addListener(listener);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getComicState()).thenReturn(TEST_STATE);
+
+    handler.fireEvents(List.of(comicBook), TEST_EVENT);
+
+    Mockito.verify(stateMachine, Mockito.times(1)).sendEvent(Mockito.any(Message.class));
+    Mockito.verify(listener, Mockito.never()).onComicStateChanges(Mockito.anyList());
+  }
+}
@@ -44,6 +44,14 @@ export const comicBookSelectionUpdate = createAction(
   }>()
 );
 
+export const comicBookSelectionDelta = createAction(
+  '[Comic Book Selection] Comic books were added to or removed from the selection',
+  props<{
+    added: number[][];
+    removed: number[][];
+  }>()
+);
+
 export const clearComicBookSelectionState = createAction(
   '[Comic Book Selection] Clear the comic book selection state'
 );
@@ -101,6 +101,11 @@ export const comicDetailUpdated = createAction(
   props<{ comicDetail: ComicDetail }>()
 );
 
+export const comicDetailsUpdated = createAction(
+  '[Comic Details List] Received a batch of updated comic details',
+  props<{ comicDetails: ComicDetail[] }>()
+);
+
 export const comicDetailRemoved = createAction(
   '[Comic Details List] Received an removed comic detail',
   props<{ comicDetail: ComicDetail }>()
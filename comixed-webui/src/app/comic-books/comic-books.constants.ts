@@ -57,6 +57,8 @@ export const LAST_READ_REMOVED_TOPIC = `${SECURED_PREFIX}/topic/last-read-list.r
 export const COMIC_BOOK_UPDATE_TOPIC = `/topic/comic-book.\${id}.update`;
 export const COMIC_BOOK_SELECTION_UPDATE_TOPIC =
   '/topic/user/comic-book-selection.update';
+export const COMIC_BOOK_SELECTION_DELTA_TOPIC =
+  '/topic/user/comic-book-selection.delta';
 
 export const MISSING_VOLUME_PLACEHOLDER = '----';
 
@@ -30,6 +30,12 @@ describe('ComicCoverUrlPipe', () => {
     );
   });
 
+  it('returns the URL for a downscaled comic cover image', () => {
+    expect(pipe.transform(COMIC_DETAIL_1, 320)).toEqual(
+      `${API_ROOT_URL}/comics/${COMIC_DETAIL_1.comicId}/cover/content?size=320`
+    );
+  });
+
   it('returns the missing image url for null comics', () => {
     expect(pipe.transform(null)).toEqual(MISSING_COMIC_IMAGE_URL);
   });
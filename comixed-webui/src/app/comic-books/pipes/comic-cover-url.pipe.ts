@@ -28,9 +28,10 @@ import { ComicDetail } from '@app/comic-books/models/comic-detail';
   name: 'comicCoverUrl'
 })
 export class ComicCoverUrlPipe implements PipeTransform {
-  transform(comic: ComicDetail): string {
+  transform(comic: ComicDetail, size: number = null): string {
     if (!!comic) {
-      return interpolate(GET_COMIC_COVER_URL, { id: comic.comicId });
+      const url = interpolate(GET_COMIC_COVER_URL, { id: comic.comicId });
+      return !!size ? `${url}?size=${size}` : url;
     }
     return MISSING_COMIC_IMAGE_URL;
   }
@@ -26,6 +26,7 @@ import {
   clearComicBookSelectionState,
   clearComicBookSelectionStateFailed,
   comicBookSelectionsLoaded,
+  comicBookSelectionDelta,
   comicBookSelectionStateCleared,
   comicBookSelectionUpdate,
   loadComicBookSelections,
@@ -144,6 +145,25 @@ describe('ComicBookSelection Reducer', () => {
     });
   });
 
+  describe('receiving a selection delta', () => {
+    beforeEach(() => {
+      state = reducer(
+        { ...state, ids: [1, 2, 3, 20, 21] },
+        comicBookSelectionDelta({
+          added: [
+            [3, 5],
+            [9, 9]
+          ],
+          removed: [[20, 25]]
+        })
+      );
+    });
+
+    it('adds and removes the ids', () => {
+      expect(state.ids).toEqual([1, 2, 3, 4, 5, 9]);
+    });
+  });
+
   describe('clearing the comic book selection state', () => {
     beforeEach(() => {
       state = reducer(
@@ -22,6 +22,7 @@ import {
   clearComicBookSelectionState,
   clearComicBookSelectionStateFailed,
   comicBookSelectionsLoaded,
+  comicBookSelectionDelta,
   comicBookSelectionStateCleared,
   comicBookSelectionUpdate,
   loadComicBookSelections,
@@ -64,6 +65,20 @@ export const reducer = createReducer(
     ...state,
     ids: action.ids
   })),
+  on(comicBookSelectionDelta, (state, action) => {
+    const ids = new Set(state.ids);
+    action.removed.forEach(([first, last]) => {
+      for (let id = first; id <= last; id++) {
+        ids.delete(id);
+      }
+    });
+    action.added.forEach(([first, last]) => {
+      for (let id = first; id <= last; id++) {
+        ids.add(id);
+      }
+    });
+    return { ...state, ids: Array.from(ids) };
+  }),
   on(clearComicBookSelectionState, state => ({ ...state, busy: true })),
   on(comicBookSelectionStateCleared, state => ({
     ...state,
@@ -25,6 +25,7 @@ import {
   comicDetailRemoved,
   comicDetailsLoaded,
   comicDetailUpdated,
+  comicDetailsUpdated,
   loadComicDetails,
   loadComicDetailsById,
   loadComicDetailsFailed,
@@ -272,6 +273,42 @@ describe('ComicDetailsList Reducer', () => {
     });
   });
 
+  describe('receiving a batch of updated comic details', () => {
+    const ORIGINAL = COMIC_DETAILS[3];
+    const UPDATE = {
+      ...ORIGINAL,
+      comicState: ComicState.CHANGED
+    };
+    const NOT_SHOWN = {
+      ...COMIC_DETAILS[1],
+      comicState: ComicState.CHANGED
+    };
+
+    beforeEach(() => {
+      state = reducer(
+        {
+          ...state,
+          comicDetails: COMIC_DETAILS.filter(
+            entry => entry.id !== NOT_SHOWN.id
+          )
+        },
+        comicDetailsUpdated({ comicDetails: [UPDATE, NOT_SHOWN] })
+      );
+    });
+
+    it('removes the original comic', () => {
+      expect(state.comicDetails).not.toContain(ORIGINAL);
+    });
+
+    it('adds the updated comic', () => {
+      expect(state.comicDetails).toContain(UPDATE);
+    });
+
+    it('does not add comics that are not shown', () => {
+      expect(state.comicDetails).not.toContain(NOT_SHOWN);
+    });
+  });
+
   describe('receiving an updated comic detail', () => {
     const ORIGINAL = COMIC_DETAILS[3];
     const UPDATE = {
@@ -21,6 +21,7 @@ import {
   comicDetailRemoved,
   comicDetailsLoaded,
   comicDetailUpdated,
+  comicDetailsUpdated,
   loadComicDetails,
   loadComicDetailsById,
   loadComicDetailsFailed,
@@ -81,6 +82,17 @@ export const reducer = createReducer(
     }
     return { ...state, comicDetails };
   }),
+  on(comicDetailsUpdated, (state, action) => {
+    const comicDetails = deepClone(state.comicDetails);
+    const ids = comicDetails.map(entry => entry.id);
+    action.comicDetails.forEach(update => {
+      const index = ids.indexOf(update.id);
+      if (index !== -1) {
+        comicDetails[index] = { ...update };
+      }
+    });
+    return { ...state, comicDetails };
+  }),
   on(comicDetailRemoved, (state, action) => {
     const comicDetails = state.comicDetails.filter(
       entry => entry.id !== action.comicDetail.id
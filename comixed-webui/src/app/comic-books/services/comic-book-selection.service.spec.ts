@@ -29,6 +29,7 @@ import { interpolate } from '@app/core';
 import {
   ADD_SINGLE_COMIC_SELECTION_URL,
   CLEAR_COMIC_BOOK_SELECTION_STATE_URL,
+  COMIC_BOOK_SELECTION_DELTA_TOPIC,
   COMIC_BOOK_SELECTION_UPDATE_TOPIC,
   LOAD_COMIC_BOOK_SELECTIONS_URL,
   REMOVE_SINGLE_COMIC_SELECTION_URL,
@@ -48,6 +49,7 @@ import {
 import { WebSocketService } from '@app/messaging';
 import { MockStore, provideMockStore } from '@ngrx/store/testing';
 import {
+  comicBookSelectionDelta,
   comicBookSelectionUpdate,
   loadComicBookSelections
 } from '@app/comic-books/actions/comic-book-selection.actions';
@@ -67,6 +69,11 @@ describe('ComicBookSelectionService', () => {
   const TAG_VALUE = 'Some team';
   const SELECTED = Math.random() > 0.5;
   const COMIC_BOOK_IDS = [3.2, 96, 9, 21, 98];
+  const ADDED_IDS = [
+    [1, 10],
+    [15, 15]
+  ];
+  const REMOVED_IDS = [[20, 25]];
   const initialState = { [MESSAGING_FEATURE_KEY]: initialMessagingState };
 
   let service: ComicBookSelectionService;
@@ -256,16 +263,24 @@ describe('ComicBookSelectionService', () => {
   });
 
   describe('when messaging starts', () => {
-    let topic: string;
-    let subscription: any;
+    let updateCallback: any;
+    let deltaCallback: any;
 
     beforeEach(() => {
       service.selectionUpdateSubscription = null;
-      webSocketService.subscribe.and.callFake((topicUsed, callback) => {
-        topic = topicUsed;
-        subscription = callback;
-        return {} as Subscription;
-      });
+      service.selectionDeltaSubscription = null;
+      webSocketService.subscribe
+        .withArgs(COMIC_BOOK_SELECTION_UPDATE_TOPIC, jasmine.anything())
+        .and.callFake((destination, callback) => {
+          updateCallback = callback;
+          return {} as Subscription;
+        });
+      webSocketService.subscribe
+        .withArgs(COMIC_BOOK_SELECTION_DELTA_TOPIC, jasmine.anything())
+        .and.callFake((destination, callback) => {
+          deltaCallback = callback;
+          return {} as Subscription;
+        });
       store.setState({
         ...initialState,
         [MESSAGING_FEATURE_KEY]: { ...initialMessagingState, started: true }
@@ -277,12 +292,22 @@ describe('ComicBookSelectionService', () => {
     });
 
     it('subscribes to user updates', () => {
-      expect(topic).toEqual(COMIC_BOOK_SELECTION_UPDATE_TOPIC);
+      expect(webSocketService.subscribe).toHaveBeenCalledWith(
+        COMIC_BOOK_SELECTION_UPDATE_TOPIC,
+        jasmine.anything()
+      );
+    });
+
+    it('subscribes to user deltas', () => {
+      expect(webSocketService.subscribe).toHaveBeenCalledWith(
+        COMIC_BOOK_SELECTION_DELTA_TOPIC,
+        jasmine.anything()
+      );
     });
 
     describe('when updates are received', () => {
       beforeEach(() => {
-        subscription([ID]);
+        updateCallback([ID]);
       });
 
       it('fires an action', () => {
@@ -291,13 +316,27 @@ describe('ComicBookSelectionService', () => {
         );
       });
     });
+
+    describe('when deltas are received', () => {
+      beforeEach(() => {
+        deltaCallback({ added: ADDED_IDS, removed: REMOVED_IDS });
+      });
+
+      it('fires an action', () => {
+        expect(store.dispatch).toHaveBeenCalledWith(
+          comicBookSelectionDelta({ added: ADDED_IDS, removed: REMOVED_IDS })
+        );
+      });
+    });
   });
 
   describe('when messaging is stopped', () => {
     const subscription = jasmine.createSpyObj(['unsubscribe']);
+    const deltaSubscription = jasmine.createSpyObj(['unsubscribe']);
 
     beforeEach(() => {
       service.selectionUpdateSubscription = subscription;
+      service.selectionDeltaSubscription = deltaSubscription;
       store.setState({
         ...initialState,
         [MESSAGING_FEATURE_KEY]: { ...initialMessagingState, started: false }
@@ -311,5 +350,13 @@ describe('ComicBookSelectionService', () => {
     it('clears the subscription reference', () => {
       expect(service.selectionUpdateSubscription).toBeNull();
     });
+
+    it('unsubscribes from deltas', () => {
+      expect(deltaSubscription.unsubscribe).toHaveBeenCalled();
+    });
+
+    it('clears the delta subscription reference', () => {
+      expect(service.selectionDeltaSubscription).toBeNull();
+    });
   });
 });
@@ -25,6 +25,7 @@ import { interpolate } from '@app/core';
 import {
   ADD_SINGLE_COMIC_SELECTION_URL,
   CLEAR_COMIC_BOOK_SELECTION_STATE_URL,
+  COMIC_BOOK_SELECTION_DELTA_TOPIC,
   COMIC_BOOK_SELECTION_UPDATE_TOPIC,
   LOAD_COMIC_BOOK_SELECTIONS_URL,
   REMOVE_SINGLE_COMIC_SELECTION_URL,
@@ -40,17 +41,20 @@ import { Store } from '@ngrx/store';
 import { selectMessagingState } from '@app/messaging/selectors/messaging.selectors';
 import { WebSocketService } from '@app/messaging';
 import {
+  comicBookSelectionDelta,
   comicBookSelectionUpdate,
   loadComicBookSelections
 } from '@app/comic-books/actions/comic-book-selection.actions';
 import { TagType } from '@app/collections/models/comic-collection.enum';
 import { SetSelectedByIdRequest } from '@app/comic-books/models/net/set-selected-by-id-request';
+import { ComicBookSelectionDelta } from '@app/comic-books/models/net/comic-book-selection-delta';
 
 @Injectable({
   providedIn: 'root'
 })
 export class ComicBookSelectionService {
   selectionUpdateSubscription: Subscription;
+  selectionDeltaSubscription: Subscription;
 
   constructor(
     private logger: LoggerService,
@@ -71,6 +75,18 @@ export class ComicBookSelectionService {
             );
             this.store.dispatch(comicBookSelectionUpdate({ ids }));
           });
+          this.logger.trace('Subscribing to comic book selection deltas');
+          this.selectionDeltaSubscription = this.webSocketService.subscribe<
+            ComicBookSelectionDelta
+          >(COMIC_BOOK_SELECTION_DELTA_TOPIC, delta => {
+            this.logger.debug('Received comic book selection delta:', delta);
+            this.store.dispatch(
+              comicBookSelectionDelta({
+                added: delta.added,
+                removed: delta.removed
+              })
+            );
+          });
           this.logger.debug('Loading the initial set of ids');
           this.store.dispatch(loadComicBookSelections());
         }
@@ -79,6 +95,11 @@ export class ComicBookSelectionService {
           this.selectionUpdateSubscription.unsubscribe();
           this.selectionUpdateSubscription = null;
         }
+        if (!state.started && !!this.selectionDeltaSubscription) {
+          this.logger.debug('Stopping comic book selection delta subscription');
+          this.selectionDeltaSubscription.unsubscribe();
+          this.selectionDeltaSubscription = null;
+        }
       });
     });
   }
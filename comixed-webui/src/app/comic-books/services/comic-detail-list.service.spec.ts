@@ -37,6 +37,7 @@ import { MockStore, provideMockStore } from '@ngrx/store/testing';
 import { LoggerModule } from '@angular-ru/cdk/logger';
 import { Subscription } from 'webstomp-client';
 import {
+  COMIC_LIST_BATCH_UPDATE_TOPIC,
   COMIC_LIST_REMOVAL_TOPIC,
   COMIC_LIST_UPDATE_TOPIC
 } from '@app/library/library.constants';
@@ -60,6 +61,7 @@ import { LoadComicDetailsResponse } from '@app/comic-books/models/net/load-comic
 import { LoadComicDetailsByIdRequest } from '@app/comic-books/models/net/load-comic-details-by-id-request';
 import {
   comicDetailRemoved,
+  comicDetailsUpdated,
   comicDetailUpdated
 } from '@app/comic-books/actions/comic-details-list.actions';
 import { TagType } from '@app/collections/models/comic-collection.enum';
@@ -110,6 +112,10 @@ describe('ComicDetailListService', () => {
   removalSubscription.unsubscribe = jasmine.createSpy(
     'Subscription.unsubscribe()'
   );
+  const batchUpdateSubscription = jasmine.createSpyObj(['unsubscribe']);
+  batchUpdateSubscription.unsubscribe = jasmine.createSpy(
+    'Subscription.unsubscribe()'
+  );
   let store: MockStore<any>;
   let httpMock: HttpTestingController;
 
@@ -147,6 +153,7 @@ describe('ComicDetailListService', () => {
   describe('when messaging starts', () => {
     const COMIC_ADDED = COMIC_BOOK_1;
     const COMIC_REMOVED = COMIC_BOOK_2;
+    const COMICS_UPDATED = [COMIC_BOOK_1, COMIC_BOOK_2];
 
     beforeEach(() => {
       webSocketService.requestResponse.and.callFake(
@@ -161,6 +168,12 @@ describe('ComicDetailListService', () => {
           callback(COMIC_ADDED);
           return {} as Subscription;
         });
+      webSocketService.subscribe
+        .withArgs(COMIC_LIST_BATCH_UPDATE_TOPIC, jasmine.anything())
+        .and.callFake((destination, callback) => {
+          callback(COMICS_UPDATED);
+          return {} as Subscription;
+        });
       webSocketService.subscribe
         .withArgs(COMIC_LIST_REMOVAL_TOPIC, jasmine.anything())
         .and.callFake((destination, callback) => {
@@ -180,6 +193,13 @@ describe('ComicDetailListService', () => {
       );
     });
 
+    it('subscribes to the comic list batch update topic', () => {
+      expect(webSocketService.subscribe).toHaveBeenCalledWith(
+        COMIC_LIST_BATCH_UPDATE_TOPIC,
+        jasmine.anything()
+      );
+    });
+
     it('subscribes to the comic list removals topic', () => {
       expect(webSocketService.subscribe).toHaveBeenCalledWith(
         COMIC_LIST_REMOVAL_TOPIC,
@@ -193,6 +213,14 @@ describe('ComicDetailListService', () => {
       );
     });
 
+    it('processes comic batch updates', () => {
+      expect(store.dispatch).toHaveBeenCalledWith(
+        comicDetailsUpdated({
+          comicDetails: COMICS_UPDATED.map(comicBook => comicBook.detail)
+        })
+      );
+    });
+
     it('processes comic removals', () => {
       expect(store.dispatch).toHaveBeenCalledWith(
         comicDetailRemoved({ comicDetail: COMIC_REMOVED.detail })
@@ -204,6 +232,7 @@ describe('ComicDetailListService', () => {
     beforeEach(() => {
       service.updateSubscription = updateSubscription;
       service.removalSubscription = removalSubscription;
+      service.batchUpdateSubscription = batchUpdateSubscription;
       store.setState({
         ...initialState,
         [MESSAGING_FEATURE_KEY]: { ...initialMessagingState, started: false }
@@ -218,6 +247,14 @@ describe('ComicDetailListService', () => {
       expect(service.updateSubscription).toBeNull();
     });
 
+    it('unsubscribes from the comic list batch update queue', () => {
+      expect(batchUpdateSubscription.unsubscribe).toHaveBeenCalled();
+    });
+
+    it('clears the batch update subscription', () => {
+      expect(service.batchUpdateSubscription).toBeNull();
+    });
+
     it('unsubscribes from the comic list removal queue', () => {
       expect(removalSubscription.unsubscribe).toHaveBeenCalled();
     });
@@ -23,6 +23,7 @@ import { WebSocketService } from '@app/messaging';
 import { LoggerService } from '@angular-ru/cdk/logger';
 import { selectMessagingState } from '@app/messaging/selectors/messaging.selectors';
 import {
+  COMIC_LIST_BATCH_UPDATE_TOPIC,
   COMIC_LIST_REMOVAL_TOPIC,
   COMIC_LIST_UPDATE_TOPIC
 } from '@app/library/library.constants';
@@ -44,6 +45,7 @@ import {
 import { LoadComicDetailsByIdRequest } from '@app/comic-books/models/net/load-comic-details-by-id-request';
 import {
   comicDetailRemoved,
+  comicDetailsUpdated,
   comicDetailUpdated
 } from '@app/comic-books/actions/comic-details-list.actions';
 import { TagType } from '@app/collections/models/comic-collection.enum';
@@ -57,6 +59,7 @@ import { LoadComicDetailsForReadingListRequest } from '@app/comic-books/models/n
 export class ComicDetailListService {
   updateSubscription: Subscription;
   removalSubscription: Subscription;
+  batchUpdateSubscription: Subscription;
 
   constructor(
     private logger: LoggerService,
@@ -76,6 +79,17 @@ export class ComicDetailListService {
             );
           }
         );
+        this.logger.trace('Subscribing to comic list batch updates');
+        this.batchUpdateSubscription = this.webSocketService.subscribe<
+          ComicBook[]
+        >(COMIC_LIST_BATCH_UPDATE_TOPIC, comicBooks => {
+          this.logger.debug('Received comic list batch update:', comicBooks);
+          this.store.dispatch(
+            comicDetailsUpdated({
+              comicDetails: comicBooks.map(comicBook => comicBook.detail)
+            })
+          );
+        });
         this.logger.trace('Subscribing to comic list removals');
         this.removalSubscription = this.webSocketService.subscribe<ComicBook>(
           COMIC_LIST_REMOVAL_TOPIC,
@@ -93,6 +107,11 @@ export class ComicDetailListService {
         this.updateSubscription.unsubscribe();
         this.updateSubscription = null;
       }
+      if (!state.started && !!this.batchUpdateSubscription) {
+        this.logger.trace('Unsubscribing from comic list batch updates');
+        this.batchUpdateSubscription.unsubscribe();
+        this.batchUpdateSubscription = null;
+      }
       if (!state.started && !!this.removalSubscription) {
         this.logger.trace('Unsubscribing from comic list removals');
         this.removalSubscription.unsubscribe();
@@ -25,6 +25,11 @@ export const loadComicFileLists = createAction(
   props<{ directory: string; maximum: number }>()
 );
 
+export const loadComicFileListProgress = createAction(
+  '[Comic File] Received progress loading comics in a file system',
+  props<{ scanned: number; found: number }>()
+);
+
 export const loadComicFileListSuccess = createAction(
   '[Comic File] Loaded comics in a file system',
   props<{ groups: ComicFileGroup[] }>()
@@ -25,3 +25,5 @@ export const SCRAPE_FILENAME_URL = `${API_ROOT_URL}/files/metadata`;
 export const SKIP_METADATA_USER_PREFERENCE = 'preference.skip-metadata';
 export const SKIP_BLOCKING_PAGES_USER_PREFERENCE =
   'preference.skip-blocking-pages';
+
+export const LOAD_COMIC_FILES_STATUS_TOPIC = '/topic/load-comic-files.status';
@@ -71,6 +71,7 @@ import { ComicFileLoaderComponent } from '@app/comic-files/components/comic-file
 import { RouterTestingModule } from '@angular/router/testing';
 import { MatSortModule } from '@angular/material/sort';
 import {
+  LOAD_COMIC_FILES_STATUS_TOPIC,
   SKIP_BLOCKING_PAGES_USER_PREFERENCE,
   SKIP_METADATA_USER_PREFERENCE
 } from '@app/comic-files/comic-file.constants';
@@ -79,6 +80,7 @@ import { ComicFile } from '@app/comic-files/models/comic-file';
 import { SelectableListItem } from '@app/core/models/ui/selectable-list-item';
 import {
   clearComicFileSelections,
+  loadComicFileListProgress,
   setComicFilesSelectedState
 } from '@app/comic-files/actions/comic-file-list.actions';
 import { saveUserPreference } from '@app/user/actions/user.actions';
@@ -88,6 +90,13 @@ import {
 } from '@app/admin/reducers/feature-enabled.reducer';
 import { getFeatureEnabled } from '@app/admin/actions/feature-enabled.actions';
 import { BLOCKED_PAGES_ENABLED } from '@app/admin/admin.constants';
+import {
+  initialState as initialMessagingState,
+  MESSAGING_FEATURE_KEY
+} from '@app/messaging/reducers/messaging.reducer';
+import { WebSocketService } from '@app/messaging';
+import { Subscription } from 'webstomp-client';
+import { LoadComicFilesStatus } from '@app/comic-files/models/net/load-comic-files-status';
 
 describe('ImportComicsPageComponent', () => {
   const USER = USER_READER;
@@ -97,13 +106,20 @@ describe('ImportComicsPageComponent', () => {
   const SKIP_METADATA = Math.random() > 0.5;
   const SKIP_BLOCKING_PAGES = Math.random() > 0.5;
   const BLOCKED_PAGES_ENABLED_FEATURE_ENABLED = Math.random() > 0.5;
+  const LOAD_STATUS: LoadComicFilesStatus = {
+    active: true,
+    directory: '/home/comixed/comics',
+    scanned: 717,
+    found: 129
+  };
 
   const initialState = {
     [COMIC_FILE_LIST_FEATURE_KEY]: initialComicFileListState,
     [IMPORT_COMIC_FILES_FEATURE_KEY]: initialImportComicFilesState,
     [IMPORT_COMIC_BOOKS_FEATURE_KEY]: initialImportComicBooksComicsState,
     [USER_FEATURE_KEY]: { ...initialUserState, user: USER },
-    [FEATURE_ENABLED_FEATURE_KEY]: { ...initialFeatureEnabledState }
+    [FEATURE_ENABLED_FEATURE_KEY]: { ...initialFeatureEnabledState },
+    [MESSAGING_FEATURE_KEY]: initialMessagingState
   };
 
   let component: ImportComicsPageComponent;
@@ -115,6 +131,7 @@ describe('ImportComicsPageComponent', () => {
   let translateService: TranslateService;
   let dialog: MatDialog;
   let router: Router;
+  let webSocketService: jasmine.SpyObj<WebSocketService>;
 
   beforeEach(
     waitForAsync(() => {
@@ -148,7 +165,13 @@ describe('ImportComicsPageComponent', () => {
         providers: [
           provideMockStore({ initialState }),
           ConfirmationService,
-          TitleService
+          TitleService,
+          {
+            provide: WebSocketService,
+            useValue: {
+              subscribe: jasmine.createSpy('WebSocketService.subscribe()')
+            }
+          }
         ]
       }).compileComponents();
 
@@ -164,6 +187,9 @@ describe('ImportComicsPageComponent', () => {
       spyOn(dialog, 'open');
       router = TestBed.inject(Router);
       spyOn(router, 'navigateByUrl');
+      webSocketService = TestBed.inject(
+        WebSocketService
+      ) as jasmine.SpyObj<WebSocketService>;
       fixture.detectChanges();
     })
   );
@@ -267,6 +293,38 @@ describe('ImportComicsPageComponent', () => {
     });
   });
 
+  describe('when messaging starts', () => {
+    beforeEach(() => {
+      component.loadStatusSubscription = null;
+      webSocketService.subscribe
+        .withArgs(LOAD_COMIC_FILES_STATUS_TOPIC, jasmine.anything())
+        .and.callFake((topic, callback) => {
+          callback(LOAD_STATUS);
+          return {} as Subscription;
+        });
+      store.setState({
+        ...initialState,
+        [MESSAGING_FEATURE_KEY]: { ...initialMessagingState, started: true }
+      });
+    });
+
+    it('subscribes to load comic files status updates', () => {
+      expect(webSocketService.subscribe).toHaveBeenCalledWith(
+        LOAD_COMIC_FILES_STATUS_TOPIC,
+        jasmine.anything()
+      );
+    });
+
+    it('processes load comic files status updates', () => {
+      expect(store.dispatch).toHaveBeenCalledWith(
+        loadComicFileListProgress({
+          scanned: LOAD_STATUS.scanned,
+          found: LOAD_STATUS.found
+        })
+      );
+    });
+  });
+
   describe('when sending files', () => {
     describe('when sending starts', () => {
       beforeEach(() => {
@@ -53,12 +53,14 @@ import { SelectableListItem } from '@app/core/models/ui/selectable-list-item';
 import { QueryParameterService } from '@app/core/services/query-parameter.service';
 import {
   clearComicFileSelections,
+  loadComicFileListProgress,
   resetComicFileList,
   setComicFilesSelectedState
 } from '@app/comic-files/actions/comic-file-list.actions';
 import { Router } from '@angular/router';
 import { saveUserPreference } from '@app/user/actions/user.actions';
 import {
+  LOAD_COMIC_FILES_STATUS_TOPIC,
   SKIP_BLOCKING_PAGES_USER_PREFERENCE,
   SKIP_METADATA_USER_PREFERENCE
 } from '@app/comic-files/comic-file.constants';
@@ -66,6 +68,9 @@ import { selectFeatureEnabledState } from '@app/admin/selectors/feature-enabled.
 import { hasFeature, isFeatureEnabled } from '@app/admin';
 import { BLOCKED_PAGES_ENABLED } from '@app/admin/admin.constants';
 import { getFeatureEnabled } from '@app/admin/actions/feature-enabled.actions';
+import { MessagingSubscription, WebSocketService } from '@app/messaging';
+import { selectMessagingState } from '@app/messaging/selectors/messaging.selectors';
+import { LoadComicFilesStatus } from '@app/comic-files/models/net/load-comic-files-status';
 
 @Component({
   selector: 'cx-import-comics',
@@ -95,6 +100,11 @@ export class ImportComicsPageComponent
   user: User;
   comicImportStateSubscription$: Subscription;
   comicFileListStateSubscription$: Subscription;
+  loading = false;
+  scanned = 0;
+  found = 0;
+  messagingStateSubscription$: Subscription;
+  loadStatusSubscription: MessagingSubscription;
   sendComicFilesStateSubscription$: Subscription;
   selectedFilesSubscription$: Subscription;
   selectedFiles: ComicFile[] = [];
@@ -117,6 +127,7 @@ export class ImportComicsPageComponent
     private translateService: TranslateService,
     private titleService: TitleService,
     private router: Router,
+    private webSocketService: WebSocketService,
     public queryParameterService: QueryParameterService
   ) {
     this.translateSubscription$ = this.translateService.onLangChange.subscribe(
@@ -158,9 +169,31 @@ export class ImportComicsPageComponent
       });
     this.comicFileListStateSubscription$ = this.store
       .select(selectComicFileListState)
-      .subscribe(state =>
-        this.store.dispatch(setBusyState({ enabled: state.loading }))
-      );
+      .subscribe(state => {
+        this.loading = state.loading;
+        this.scanned = state.scanned;
+        this.found = state.found;
+        this.store.dispatch(setBusyState({ enabled: state.loading }));
+      });
+    this.messagingStateSubscription$ = this.store
+      .select(selectMessagingState)
+      .subscribe(state => {
+        if (state.started && !this.loadStatusSubscription) {
+          this.logger.trace('Subscribing to load comic files status updates');
+          this.loadStatusSubscription = this.webSocketService.subscribe(
+            LOAD_COMIC_FILES_STATUS_TOPIC,
+            (status: LoadComicFilesStatus) => {
+              this.logger.trace('Load comic files status received:', status);
+              this.store.dispatch(
+                loadComicFileListProgress({
+                  scanned: status.scanned,
+                  found: status.found
+                })
+              );
+            }
+          );
+        }
+      });
     this.sendComicFilesStateSubscription$ = this.store
       .select(selectImportComicFilesState)
       .subscribe(state =>
@@ -228,6 +261,13 @@ export class ImportComicsPageComponent
     this.selectedFilesSubscription$.unsubscribe();
     this.logger.trace('Unsubscribing from comic file list state updates');
     this.comicFileListStateSubscription$.unsubscribe();
+    this.logger.trace('Unsubscribing from messaging state updates');
+    this.messagingStateSubscription$.unsubscribe();
+    if (!!this.loadStatusSubscription) {
+      this.logger.trace('Unsubscribing from load comic files status updates');
+      this.loadStatusSubscription.unsubscribe();
+      this.loadStatusSubscription = null;
+    }
     this.logger.trace('Unsubscribing from send comic file state updates');
     this.sendComicFilesStateSubscription$.unsubscribe();
     this.logger.trace('Unsubscribing from import state updates');
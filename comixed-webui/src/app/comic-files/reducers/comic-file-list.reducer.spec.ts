@@ -30,6 +30,7 @@ import {
 import {
   clearComicFileSelections,
   loadComicFileListFailure,
+  loadComicFileListProgress,
   loadComicFileLists,
   loadComicFileListSuccess,
   resetComicFileList,
@@ -49,6 +50,8 @@ describe('ComicFileList Reducer', () => {
     }
   ];
   const FILES = [COMIC_FILE_1, COMIC_FILE_2, COMIC_FILE_3];
+  const SCANNED = 717;
+  const FOUND = 129;
 
   let state: ComicFileListState;
 
@@ -65,6 +68,14 @@ describe('ComicFileList Reducer', () => {
       expect(state.loading).toBeFalse();
     });
 
+    it('has no scanned files', () => {
+      expect(state.scanned).toEqual(0);
+    });
+
+    it('has no found files', () => {
+      expect(state.found).toEqual(0);
+    });
+
     it('has an empty set of files', () => {
       expect(state.files).toEqual([]);
     });
@@ -77,7 +88,7 @@ describe('ComicFileList Reducer', () => {
   describe('loading files in a directory', () => {
     beforeEach(() => {
       state = reducer(
-        { ...state, loading: false },
+        { ...state, loading: false, scanned: SCANNED, found: FOUND },
         loadComicFileLists({ directory: ROOT_DIRECTORY, maximum: 100 })
       );
     });
@@ -86,6 +97,31 @@ describe('ComicFileList Reducer', () => {
       expect(state.loading).toBeTrue();
     });
 
+    it('resets the scanned count', () => {
+      expect(state.scanned).toEqual(0);
+    });
+
+    it('resets the found count', () => {
+      expect(state.found).toEqual(0);
+    });
+
+    describe('receiving progress', () => {
+      beforeEach(() => {
+        state = reducer(
+          { ...state, scanned: 0, found: 0 },
+          loadComicFileListProgress({ scanned: SCANNED, found: FOUND })
+        );
+      });
+
+      it('sets the scanned count', () => {
+        expect(state.scanned).toEqual(SCANNED);
+      });
+
+      it('sets the found count', () => {
+        expect(state.found).toEqual(FOUND);
+      });
+    });
+
     describe('success', () => {
       beforeEach(() => {
         state = reducer(
@@ -21,6 +21,7 @@ import { ComicFile } from '@app/comic-files/models/comic-file';
 import {
   clearComicFileSelections,
   loadComicFileListFailure,
+  loadComicFileListProgress,
   loadComicFileLists,
   loadComicFileListSuccess,
   resetComicFileList,
@@ -32,6 +33,8 @@ export const COMIC_FILE_LIST_FEATURE_KEY = 'comic_file_list';
 
 export interface ComicFileListState {
   loading: boolean;
+  scanned: number;
+  found: number;
   groups: ComicFileGroup[];
   files: ComicFile[];
   selections: ComicFile[];
@@ -39,6 +42,8 @@ export interface ComicFileListState {
 
 export const initialState: ComicFileListState = {
   loading: false,
+  scanned: 0,
+  found: 0,
   groups: [],
   files: [],
   selections: []
@@ -47,7 +52,17 @@ export const initialState: ComicFileListState = {
 export const reducer = createReducer(
   initialState,
 
-  on(loadComicFileLists, state => ({ ...state, loading: true })),
+  on(loadComicFileLists, state => ({
+    ...state,
+    loading: true,
+    scanned: 0,
+    found: 0
+  })),
+  on(loadComicFileListProgress, (state, action) => ({
+    ...state,
+    scanned: action.scanned,
+    found: action.found
+  })),
   on(loadComicFileListSuccess, (state, action) => {
     const groups = action.groups;
     const files = action.groups
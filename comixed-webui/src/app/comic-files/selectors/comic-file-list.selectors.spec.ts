@@ -51,6 +51,8 @@ describe('ComicFileList Selectors', () => {
   beforeEach(() => {
     state = {
       loading: Math.random() > 0.5,
+      scanned: Math.floor(Math.random() * 1000),
+      found: Math.floor(Math.random() * 1000),
       groups: GROUPS,
       files: FILES,
       selections: FILES